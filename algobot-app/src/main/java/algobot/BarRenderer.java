@@ -0,0 +1,230 @@
+package algobot;
+
+import java.util.Arrays;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.Stop;
+import javafx.scene.text.Font;
+
+/**
+ * Draws the sorting page's bars. Paints and the font are built once. While every bar fits with its gap
+ * and label the bars are drawn in full (rounded, outlined, labelled); beyond that the canvas is cut into
+ * cells, one per bar or, when there are more bars than pixel columns, one per column showing the min/max
+ * of the bars it covers. In that compact mode a step only repaints the cells it {@link #touch touched},
+ * so a frame costs the same for a million bars as for a hundred.
+ */
+public class BarRenderer {
+
+    /** Colour class of a bar, in increasing priority (a compact cell takes its highest; the worker shades come last). */
+    public interface Shading {
+        int shadeOf(int index);
+    }
+
+    public static final int NORMAL = 0, SORTED = 1, SELECTED = 2, KEY = 3, COMPARE = 4;
+    /** First of the per-worker shades of the parallel sorts; see {@link #worker}. */
+    public static final int WORKER = 5;
+    private static final int WORKERS = 8;
+
+    private static final double MIN_BAR_WIDTH = 6;      // full bars below this width do not fit
+    private static final double LABEL_MIN_WIDTH = 10;   // value labels need this much room
+    private static final double USABLE_HEIGHT = 0.9, BASE_Y = 0.95; // fractions of the canvas height
+    private static final Font LABEL_FONT = Font.font("SF Pro Text", 10);
+    private static final Color OUTLINE = Color.web("#ffffff30");
+    private static final Color LABEL = Color.WHITE, LABEL_LOW = Color.web("#ffd54f");
+    // top/bottom colour per shade; the gradients are proportional, so one instance serves every bar
+    private static final Color[][] SHADES = {
+        {Color.web("#1e90ff"), Color.web("#104e8b")},
+        {Color.web("#27ae60"), Color.web("#1e8449")},
+        {Color.web("#f1c40f"), Color.web("#d4ac0d")},
+        {Color.web("#f39c12"), Color.web("#d68910")},
+        {Color.web("#e74c3c"), Color.web("#c0392b")},
+        // workers
+        {Color.web("#9b59b6"), Color.web("#7d3c98")},
+        {Color.web("#1abc9c"), Color.web("#148f77")},
+        {Color.web("#e67e22"), Color.web("#ba6418")},
+        {Color.web("#fd79a8"), Color.web("#d35d87")},
+        {Color.web("#00cec9"), Color.web("#00a19d")},
+        {Color.web("#fdcb6e"), Color.web("#d4a94f")},
+        {Color.web("#6c5ce7"), Color.web("#5546b8")},
+        {Color.web("#55efc4"), Color.web("#3cbf9a")},
+    };
+    private static final Paint[] FILL = new Paint[SHADES.length];
+    private static final Paint[] RANGE = new Paint[SHADES.length]; // min..max part of an aggregated column
+    static {
+        for (int s = 0; s < SHADES.length; s++) {
+            FILL[s] = new LinearGradient(0, 0, 0, 1, true, CycleMethod.NO_CYCLE, new Stop(0, SHADES[s][0]), new Stop(1, SHADES[s][1]));
+            RANGE[s] = SHADES[s][0].deriveColor(0, 1, 1, 0.4);
+        }
+    }
+
+    /** Shade of pool worker {@code k}; workers beyond the palette reuse its colours. */
+    public static int worker(int k) {
+        return WORKER + Math.floorMod(k, WORKERS);
+    }
+
+    private final Canvas canvas;
+    private int[] values = new int[0];
+    private int max = 1;
+    private Shading shading = i -> NORMAL;
+
+    // Compact mode: 'cells' cells across the canvas; touched cells wait in a bitmap plus a list
+    private boolean compact;
+    private int cells;
+    private boolean[] touched = new boolean[0];
+    private int[] touchedList = new int[16];
+    private int touchedCount;
+
+    public BarRenderer(Canvas canvas) {
+        this.canvas = canvas;
+    }
+
+    /** Repaints everything; later {@link #drawTouched} calls read the same array and shading. */
+    public void drawAll(int[] values, int max, Shading shading) {
+        this.values = values;
+        this.max = Math.max(1, max);
+        this.shading = shading;
+        double w = canvas.getWidth();
+        int n = values.length;
+        compact = n > 0 && fullBarWidth(n, w) < MIN_BAR_WIDTH;
+        cells = compact ? (int) Math.min(n, Math.max(1, Math.floor(w))) : n;
+        if (touched.length != cells) touched = new boolean[cells];
+        else Arrays.fill(touched, false);
+        touchedCount = 0;
+
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.clearRect(0, 0, w, canvas.getHeight());
+        if (n == 0) return;
+        if (!compact) {
+            drawFull(g);
+            return;
+        }
+        for (int c = 0; c < cells; c++) drawCell(g, c, false);
+    }
+
+    /** Marks bar {@code index} for the next {@link #drawTouched}; out-of-range indices are ignored. */
+    public void touch(int index) {
+        if (!compact || index < 0 || index >= values.length) return;
+        int c = cellOf(index);
+        if (touched[c]) return;
+        touched[c] = true;
+        if (touchedCount == touchedList.length) touchedList = Arrays.copyOf(touchedList, touchedCount * 2);
+        touchedList[touchedCount++] = c;
+    }
+
+    /** Repaints the touched cells (everything, while the bars are drawn in full). */
+    public void drawTouched() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        if (!compact) {
+            g.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            if (values.length > 0) drawFull(g);
+            return;
+        }
+        for (int k = 0; k < touchedCount; k++) {
+            int c = touchedList[k];
+            touched[c] = false;
+            drawCell(g, c, true);
+        }
+        touchedCount = 0;
+    }
+
+    /** Bar under canvas x, or -1. */
+    public int indexAt(double x) {
+        int n = values.length;
+        if (n == 0) return -1;
+        double w = canvas.getWidth();
+        if (compact) {
+            int c = (int) Math.floor(x / w * cells);
+            if (c < 0 || c >= cells) return -1;
+            return firstOf(c);
+        }
+        double gap = gap(w), barWidth = fullBarWidth(n, w);
+        for (int i = 0; i < n; i++) {
+            double bx = gap + i * (barWidth + gap);
+            if (x >= bx && x <= bx + barWidth) return i;
+        }
+        return -1;
+    }
+
+    private void drawFull(GraphicsContext g) {
+        double w = canvas.getWidth(), h = canvas.getHeight();
+        int n = values.length;
+        double gap = gap(w), barWidth = fullBarWidth(n, w);
+        double usableHeight = h * USABLE_HEIGHT, baseY = h * BASE_Y;
+        g.setStroke(OUTLINE);
+        g.setLineWidth(1);
+        g.setFont(LABEL_FONT);
+        for (int i = 0; i < n; i++) {
+            int val = values[i];
+            double barHeight = (double) val / max * usableHeight;
+            double x = gap + i * (barWidth + gap);
+            double y = baseY - barHeight;
+            g.setFill(FILL[shading.shadeOf(i)]);
+            g.fillRoundRect(x, y, barWidth, barHeight, 6, 6);
+            g.strokeRoundRect(x, y, barWidth, barHeight, 6, 6);
+            // Always show value (adjust placement for tiny bars)
+            if (barWidth < LABEL_MIN_WIDTH) continue;
+            String valStr = String.valueOf(val);
+            double tw = valStr.length() * 6.0; // approximate width
+            double textY;
+            if (barHeight > 18) {
+                textY = y - 3; // above bar for taller bars
+                g.setFill(LABEL);
+            } else if (barHeight > 8) {
+                textY = y + 12; // inside the bar
+                g.setFill(LABEL);
+            } else {
+                textY = baseY + 12; // very small bar: just below the base, in a contrasting colour
+                g.setFill(LABEL_LOW);
+            }
+            g.fillText(valStr, x + (barWidth - tw) / 2, Math.min(textY, h - 2));
+        }
+    }
+
+    // One cell: a plain bar, or the min/max of the bars under a pixel column
+    private void drawCell(GraphicsContext g, int c, boolean clear) {
+        double w = canvas.getWidth(), h = canvas.getHeight();
+        double x0 = Math.floor(c * w / cells), x1 = Math.floor((c + 1) * w / cells);
+        if (clear) g.clearRect(x0, 0, x1 - x0, h);
+        int lo = firstOf(c), hi = firstOf(c + 1);
+        int min = Integer.MAX_VALUE, top = Integer.MIN_VALUE, shade = NORMAL;
+        for (int i = lo; i < hi; i++) {
+            int v = values[i];
+            if (v < min) min = v;
+            if (v > top) top = v;
+            int s = shading.shadeOf(i);
+            if (s > shade) shade = s;
+        }
+        double usableHeight = h * USABLE_HEIGHT, baseY = h * BASE_Y;
+        double width = x1 - x0 >= 3 ? x1 - x0 - 1 : x1 - x0; // keep a 1px gap while cells are wide enough
+        double topY = baseY - (double) top / max * usableHeight;
+        double minY = baseY - (double) min / max * usableHeight;
+        if (top > min) {
+            g.setFill(RANGE[shade]);
+            g.fillRect(x0, topY, width, minY - topY);
+        }
+        g.setFill(FILL[shade]);
+        g.fillRect(x0, minY, width, baseY - minY);
+    }
+
+    private int cellOf(int index) {
+        return (int) ((long) index * cells / values.length);
+    }
+
+    // First bar of cell c (c == cells gives the bar count)
+    private int firstOf(int c) {
+        return (int) (((long) c * values.length + cells - 1) / cells);
+    }
+
+    private static double gap(double w) {
+        return Math.max(2, w * 0.01); // small gap relative to width
+    }
+
+    private static double fullBarWidth(int n, double w) {
+        return (w - gap(w) * (n + 1)) / n;
+    }
+}
@@ -21,6 +21,13 @@ import javafx.scene.paint.Stop;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
+import algobot.core.AvlListener;
+import algobot.core.AvlTree;
+import algobot.core.FenwickTree;
+import algobot.core.IndexedDaryHeap;
+import algobot.core.IndexedHeapListener;
+import algobot.core.IntHeap;
+import algobot.core.SegmentTree;
 import java.util.*;
 
 public class DataStructureManager {
@@ -31,14 +38,18 @@ public class DataStructureManager {
     private ComboBox<String> dsSelector;
     private TextField dsValueField, dsIndexField, dsRightField; // value / index / right (for range queries)
     private HBox dsOperationButtonsBox;
-    private enum DSKind { NONE, STACK, QUEUE, HEAP_MAX, HEAP_MIN, AVL, FENWICK, SEGMENT }
+    private enum DSKind { NONE, STACK, QUEUE, HEAP_MAX, HEAP_MIN, INDEXED_HEAP, AVL, FENWICK, SEGMENT }
     private DSKind currentDSKind = DSKind.NONE;
     // Backing data structures
     private Deque<Integer> stackData = new ArrayDeque<>();
     private Deque<Integer> queueData = new ArrayDeque<>();
-    private List<Integer> heapData = new ArrayList<>(); // array-based heap
-    private int fenwickSize = 0; private int[] fenwickTree = null; private List<Integer> fenwickSource = new ArrayList<>();
-    private int segSize = 0; private int[] segTree = null; private List<Integer> segSource = new ArrayList<>();
+    private List<Integer> heapData = new ArrayList<>(); // heap contents by position as drawn (keys for the indexed heap)
+    private IntHeap heap = new IntHeap(true);           // Max / Min heap page; heapData mirrors it for the animation
+    // Indexed heap page: keys 0..IH_CAPACITY-1, min priority on top; heapData mirrors it for the animation
+    private static final int IH_CAPACITY = 13, IH_ARITY = 3;
+    private final IndexedDaryHeap indexedHeap = new IndexedDaryHeap(IH_CAPACITY, IH_ARITY);
+    private FenwickTree fenwick = null;
+    private SegmentTree segTree = null;
     
     private Slider dsSpeedSlider;
     
@@ -49,43 +60,19 @@ public class DataStructureManager {
     private int heapHighlightA = -1, heapHighlightB = -1;
     private String currentHeapAction = null;
     
-    private AVLNode avlRoot = null;
+    private final AvlTree avlTree = new AvlTree();
+    private final Map<AvlTree.Node, double[]> avlLayout = new IdentityHashMap<>(); // node -> {x, y}
     private Timeline avlAnimationTimeline = null;
     private List<String> avlSteps = new ArrayList<>();
     private int avlStepIndex = 0;
-    private AVLNode avlHighlightedNode = null;
-    private List<AVLNode> avlRotationNodes = new ArrayList<>();
+    private boolean avlDeleting = false; // wording of the step text differs between insert and delete
+    private boolean avlSecondPhasePending = false;
+    private AvlTree.Node avlHighlightedNode = null;
+    private List<AvlTree.Node> avlRotationNodes = new ArrayList<>();
     
     private HBox currentHeapExtractOverlay; // reuse removal logic if multiple attempts
     private EventHandler<MouseEvent> outsideHeapExtractClickHandler;
     
-    private static class AVLNode {
-        int value;
-        int height;
-        AVLNode left, right;
-        double x, y; // layout position
-        boolean isAnimating = false;
-        boolean isHighlighted = false;
-        Color nodeColor = Color.web("#4ecdc4");
-        
-        AVLNode(int value) {
-            this.value = value;
-            this.height = 1;
-        }
-        
-        int getBalance() {
-            int leftHeight = (left != null) ? left.height : 0;
-            int rightHeight = (right != null) ? right.height : 0;
-            return leftHeight - rightHeight;
-        }
-        
-        void updateHeight() {
-            int leftHeight = (left != null) ? left.height : 0;
-            int rightHeight = (right != null) ? right.height : 0;
-            this.height = Math.max(leftHeight, rightHeight) + 1;
-        }
-    }
-    
     private static class HeapAnimStep {
         enum Type { INSERT_PLACE, EXTRACT_START, TARGET, REPLACE, COMPARE, SWAP, REMOVE, DONE }
         Type type; int a; int b; String explanation;
@@ -97,12 +84,10 @@ public class DataStructureManager {
         stackData.clear();
         queueData.clear();
         heapData.clear();
-        fenwickSize = 0;
-        fenwickTree = null;
-        fenwickSource.clear();
-        segSize = 0;
+        heap.clear();
+        indexedHeap.clear();
+        fenwick = null;
         segTree = null;
-        segSource.clear();
         if (dsSelector != null) {
             dsSelector.getSelectionModel().select("None");
         }
@@ -148,7 +133,7 @@ public class DataStructureManager {
         controlBar.setPadding(new Insets(6,0,6,0));
         
 	    dsSelector = new ComboBox<>();
-	    dsSelector.getItems().addAll("None","Stack","Queue","Max Heap","Min Heap","AVL Tree","Fenwick Tree","Segment Tree");
+	    dsSelector.getItems().addAll("None","Stack","Queue","Max Heap","Min Heap","Indexed Heap","AVL Tree","Fenwick Tree","Segment Tree");
 	    dsSelector.getSelectionModel().select("None");
 	    dsSelector.valueProperty().addListener((o,ov,nv)-> { changeDSKind(nv); redrawDS(); });
 	    String dsBaseStyle = "-fx-background-color: linear-gradient(to bottom,#07141c,#0d2533);" +
@@ -283,6 +268,7 @@ public class DataStructureManager {
             case STACK -> drawStack(g);
             case QUEUE -> drawQueue(g);
             case HEAP_MAX, HEAP_MIN -> drawHeap(g);
+            case INDEXED_HEAP -> drawIndexedHeap(g);
             case FENWICK -> drawFenwick(g);
             case SEGMENT -> drawSegment(g);
             case AVL -> drawAVLTree(g);
@@ -358,12 +344,46 @@ public class DataStructureManager {
                 btns = List.of(ins, ext);
                 break;
             }
+            case INDEXED_HEAP: {
+                // KEY goes in the index field, PRIORITY in the value field
+                Button ins = createDSOpButton("INSERT", () -> {
+                    Integer k = parseIndex();
+                    Integer p = parseValue();
+                    if (k != null && p != null && checkIndexedHeapKey(k)) {
+                        if (indexedHeap.contains(k)) { updateDSExplanation("Key " + k + " is already in the heap - use DECREASE-KEY."); return; }
+                        startIndexedHeapAnimation("insert", k, p);
+                        dsValueField.clear();
+                    }
+                });
+                Button dec = createDSOpButton("DECREASE-KEY", () -> {
+                    Integer k = parseIndex();
+                    Integer p = parseValue();
+                    if (k != null && p != null && checkIndexedHeapKey(k)) {
+                        if (!indexedHeap.contains(k)) { updateDSExplanation("Key " + k + " is not in the heap."); return; }
+                        if (p >= indexedHeap.priority(k)) { updateDSExplanation("New priority must be smaller than " + common.fmt(indexedHeap.priority(k)) + "."); return; }
+                        startIndexedHeapAnimation("decrease", k, p);
+                        dsValueField.clear();
+                    }
+                });
+                Button ext = createDSOpButton("EXTRACT-MIN", () -> {
+                    if (!indexedHeap.isEmpty()) startIndexedHeapAnimation("extract", -1, 0);
+                });
+                Button clr = createDSOpButton("CLEAR", () -> {
+                    if (heapAnimating) return;
+                    indexedHeap.clear();
+                    heapData.clear();
+                    updateDSExplanation("Indexed heap cleared.");
+                    redrawDS();
+                });
+                btns = List.of(ins, dec, ext, clr);
+                break;
+            }
             case FENWICK: {
                 Button upd = createDSOpButton("UPDATE", () -> {
                     Integer idx = parseIndex();
                     Integer v = parseValue();
                     if (idx != null && v != null) {
-                        fenwickPointUpdate(idx, v);
+                        fenwick.add(idx, v);
                         updateDSExplanation("UPDATE idx=" + idx + " +=" + v);
                         redrawDS();
                         dsValueField.clear();
@@ -372,14 +392,14 @@ public class DataStructureManager {
                 Button qry = createDSOpButton("PREFIX", () -> {
                     Integer idx = parseIndex();
                     if (idx != null) {
-                        updateDSExplanation("PREFIX(" + idx + ") = " + fenwickPrefix(idx));
+                        updateDSExplanation("PREFIX(" + idx + ") = " + fenwick.prefix(idx));
                     }
                 });
                 Button rng = createDSOpButton("RANGE", () -> {
                     Integer l = parseIndex();
                     Integer r = parseRight();
                     if (l != null && r != null) {
-                        int ans = fenwickPrefix(r) - fenwickPrefix(l - 1);
+                        int ans = fenwick.range(l, r);
                         updateDSExplanation("RANGE(" + l + "," + r + ") = " + ans);
                     }
                 });
@@ -391,7 +411,7 @@ public class DataStructureManager {
                     Integer idx = parseIndex();
                     Integer v = parseValue();
                     if (idx != null && v != null) {
-                        segPointUpdate(idx, v);
+                        segTree.set(idx, v);
                         updateDSExplanation("UPDATE idx=" + idx + " ->" + v);
                         redrawDS();
                         dsValueField.clear();
@@ -401,7 +421,7 @@ public class DataStructureManager {
                     Integer l = parseIndex();
                     Integer r = parseRight();
                     if (l != null && r != null) {
-                        int ans = segRangeQuery(l, r);
+                        int ans = segTree.query(l, r);
                         updateDSExplanation("RANGE(" + l + "," + r + ") = " + ans);
                     }
                 });
@@ -436,7 +456,7 @@ public class DataStructureManager {
                     }
                 });
                 Button Clear = createDSOpButton("CLEAR", () -> {
-                    avlRoot = null;
+                    avlTree.clear();
                     stopAVLAnimation();
                     redrawDS();
                     updateDSExplanation("AVL tree cleared.");
@@ -482,10 +502,11 @@ public class DataStructureManager {
         switch(label){
             case "Stack" -> currentDSKind = DSKind.STACK;
             case "Queue" -> currentDSKind = DSKind.QUEUE;
-            case "Max Heap" -> { currentDSKind = DSKind.HEAP_MAX; heapData.clear(); }
-            case "Min Heap" -> { currentDSKind = DSKind.HEAP_MIN; heapData.clear(); }
-            case "Fenwick Tree" -> { currentDSKind = DSKind.FENWICK; initFenwick(10); }
-            case "Segment Tree" -> { currentDSKind = DSKind.SEGMENT; initSegment(8); }
+            case "Max Heap" -> { currentDSKind = DSKind.HEAP_MAX; heapData.clear(); heap = new IntHeap(true); }
+            case "Min Heap" -> { currentDSKind = DSKind.HEAP_MIN; heapData.clear(); heap = new IntHeap(false); }
+            case "Indexed Heap" -> { currentDSKind = DSKind.INDEXED_HEAP; heapData.clear(); indexedHeap.clear(); }
+            case "Fenwick Tree" -> { currentDSKind = DSKind.FENWICK; fenwick = new FenwickTree(10); }
+            case "Segment Tree" -> { currentDSKind = DSKind.SEGMENT; segTree = new SegmentTree(8); }
             default -> currentDSKind = DSKind.AVL; // placeholder
         }
         buildDSOperationButtons();
@@ -500,6 +521,7 @@ public class DataStructureManager {
             case NONE -> { dsValueField.setVisible(false); dsIndexField.setVisible(false); dsRightField.setVisible(false); }
             case STACK, QUEUE -> { dsValueField.setDisable(false); dsValueField.setVisible(true); dsIndexField.setVisible(false); dsRightField.setVisible(false); }
             case HEAP_MAX, HEAP_MIN -> { dsValueField.setVisible(true); dsIndexField.setVisible(false); dsRightField.setVisible(false); }
+            case INDEXED_HEAP -> { dsValueField.setVisible(true); dsIndexField.setVisible(true); dsRightField.setVisible(false); }
             case FENWICK -> { dsValueField.setVisible(true); dsIndexField.setVisible(true); dsRightField.setVisible(true); }
             case SEGMENT -> { dsValueField.setVisible(true); dsIndexField.setVisible(true); dsRightField.setVisible(true); }
             case AVL -> { dsValueField.setVisible(true); dsIndexField.setVisible(false); dsRightField.setVisible(false); }
@@ -580,20 +602,77 @@ public class DataStructureManager {
             g.fillText(String.valueOf(heapData.get(i)), x, y);
         }
     }
+    private void drawIndexedHeap(GraphicsContext g){
+        int n = heapData.size();
+        if (n == 0) { g.setFill(Color.web("#ffffff66")); g.setFont(Font.font(14)); g.fillText("Indexed heap empty (keys 0-" + (IH_CAPACITY - 1) + ")", 60, 60); return; }
+        double nodeRadius = 22, levelGap = 90;
+        double[] xs = new double[n], ys = new double[n];
+        // level-by-level layout of the d-ary heap
+        for (int level = 0, levelStart = 0, levelCount = 1; levelStart < n; level++, levelStart += levelCount, levelCount *= IH_ARITY) {
+            double spacing = dsCanvas.getWidth() / (levelCount + 1);
+            for (int i = levelStart; i < Math.min(n, levelStart + levelCount); i++) {
+                xs[i] = spacing * (i - levelStart + 1);
+                ys[i] = 50 + level * levelGap;
+            }
+        }
+        g.setStroke(Color.web("#00d8ff55")); g.setLineWidth(2);
+        for (int i = 1; i < n; i++) {
+            int parent = (i - 1) / IH_ARITY;
+            g.strokeLine(xs[parent], ys[parent] + nodeRadius, xs[i], ys[i] - nodeRadius);
+        }
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        for (int i = 0; i < n; i++) {
+            int key = heapData.get(i);
+            double x = xs[i], y = ys[i];
+            boolean highlighted = (i==heapHighlightA || i==heapHighlightB);
+            Color highlightFill = currentHeapAction==null? Color.web("#00bcd4"): switch(currentHeapAction){
+                case "insert" -> Color.web("#4caf50");
+                case "compare" -> Color.web("#ffb300");
+                case "swap" -> Color.web("#e53935");
+                default -> Color.web("#00bcd4"); };
+            g.setFill(highlighted ? highlightFill : Color.web("#0097a7"));
+            g.fillOval(x-nodeRadius,y-nodeRadius,nodeRadius*2,nodeRadius*2);
+            g.setStroke(highlighted ? Color.web("#ffffff") : Color.web("#00ffff"));
+            g.setLineWidth(highlighted?3:2); g.strokeOval(x-nodeRadius,y-nodeRadius,nodeRadius*2,nodeRadius*2);
+            g.setFill(Color.WHITE);
+            g.setFont(Font.font("SF Pro Text", FontWeight.SEMI_BOLD, 14));
+            g.fillText("k" + key, x, y);
+            g.setFill(Color.web("#ffd54f"));
+            g.setFont(Font.font("SF Pro Text", 11));
+            g.fillText("p=" + common.fmt(indexedHeap.priority(key)), x, y + nodeRadius + 10);
+        }
+        // key -> position table (what makes decrease-key O(log n))
+        double boxW = 50, boxH = 36, baseX = 20, baseY = dsCanvas.getHeight() - 60;
+        g.setFont(Font.font("SF Pro Text", 11));
+        for (int key = 0; key < IH_CAPACITY; key++) {
+            double bx = baseX + key * (boxW + 6);
+            int p = heapData.indexOf(key);
+            g.setFill(p >= 0 ? Color.web("#0097a7") : Color.web("#ffffff14"));
+            g.fillRoundRect(bx, baseY, boxW, boxH, 8, 8);
+            g.setStroke(Color.web("#00ffff55")); g.setLineWidth(1);
+            g.strokeRoundRect(bx, baseY, boxW, boxH, 8, 8);
+            g.setFill(Color.WHITE);
+            g.fillText(p >= 0 ? String.valueOf(p) : "-", bx + boxW/2, baseY + boxH/2);
+            g.setFill(Color.web("#ffffff99"));
+            g.fillText("pos[" + key + "]", bx + boxW/2, baseY + boxH + 10);
+        }
+    }
+    
     private void drawFenwick(GraphicsContext g){
-        if (fenwickTree==null){ g.setFill(Color.web("#ffffff66")); g.fillText("Fenwick not init", 50,50); return; }
+        if (fenwick==null){ g.setFill(Color.web("#ffffff66")); g.fillText("Fenwick not init", 50,50); return; }
         g.setFont(Font.font("SF Pro Text",14));
-        for(int i=1;i<=fenwickSize;i++){
+        for(int i=1;i<=fenwick.size();i++){
             double x=40 + (i-1)*55; double y=200; double w=50,h=40;
             g.setFill(Color.web("#0097a7")); g.fillRoundRect(x,y,w,h,10,10);
             g.setStroke(Color.web("#00ffff")); g.strokeRoundRect(x,y,w,h,10,10);
-            g.setFill(Color.WHITE); g.fillText(String.valueOf(fenwickTree[i]), x+18, y+25);
+            g.setFill(Color.WHITE); g.fillText(String.valueOf(fenwick.raw(i)), x+18, y+25);
             g.setFill(Color.web("#ffffff99")); g.setFont(Font.font(10)); g.fillText("i="+i, x+14, y+h+12);
         }
     }
     private void drawSegment(GraphicsContext g){
         if (segTree==null){ g.setFill(Color.web("#ffffff66")); g.fillText("Segment tree not init", 50,50); return; }
-        int N = segSize; int total = 4*N; double baseY = 380; double nodeRadius = 18;
+        int N = segTree.length(); int total = 4*N; double baseY = 380; double nodeRadius = 18;
         // simple linear depiction of leaves
         for(int i=0;i<N;i++){
             double x = 50 + i*60; double y=baseY; 
@@ -607,7 +686,7 @@ public class DataStructureManager {
             g.setFont(Font.font("SF Pro Text", FontWeight.SEMI_BOLD, 12)); 
             g.setTextAlign(TextAlignment.CENTER);
             g.setTextBaseline(javafx.geometry.VPos.CENTER);
-            g.fillText(String.valueOf(segSource.get(i)), x, y);
+            g.fillText(String.valueOf(segTree.get(i)), x, y);
         }
         g.setFill(Color.web("#ffffffaa")); g.setFont(Font.font(12)); g.fillText("(Internal nodes omitted for brevity)", 50, baseY+40);
     }
@@ -616,7 +695,7 @@ public class DataStructureManager {
     private void drawAVLTree(GraphicsContext g) {
         g.clearRect(0, 0, dsCanvas.getWidth(), dsCanvas.getHeight());
         
-        if (avlRoot == null) {
+        if (avlTree.isEmpty()) {
             g.setFill(Color.web("#ffffff66")); 
             g.setFont(Font.font(16)); 
             g.fillText("AVL Tree is empty", 60, 80);
@@ -624,20 +703,20 @@ public class DataStructureManager {
         }
         
         // Calculate tree layout with better spacing
-        calculateAVLLayout(avlRoot, dsCanvas.getWidth() / 2, 40, dsCanvas.getWidth() / 2.5);
+        avlLayout.clear();
+        calculateAVLLayout(avlTree.root(), dsCanvas.getWidth() / 2, 40, dsCanvas.getWidth() / 2.5);
         
         // Draw edges first
-        drawAVLEdges(g, avlRoot);
+        drawAVLEdges(g, avlTree.root());
         
         // Draw nodes on top
-        drawAVLNodes(g, avlRoot);
+        drawAVLNodes(g, avlTree.root());
     }
     
-    private void calculateAVLLayout(AVLNode node, double x, double y, double hSpacing) {
+    private void calculateAVLLayout(AvlTree.Node node, double x, double y, double hSpacing) {
         if (node == null) return;
         
-        node.x = x;
-        node.y = y;
+        avlLayout.put(node, new double[]{x, y});
         
         double nextY = y + 80;  // Increased vertical spacing
         double nextSpacing = Math.max(hSpacing * 0.6, 40);  // Minimum spacing of 40
@@ -650,159 +729,68 @@ public class DataStructureManager {
         }
     }
     
-    private void drawAVLEdges(GraphicsContext g, AVLNode node) {
+    private void drawAVLEdges(GraphicsContext g, AvlTree.Node node) {
         if (node == null) return;
         
         g.setStroke(Color.web("#4ecdc4"));
         g.setLineWidth(2);
         
+        double[] p = avlLayout.get(node);
         if (node.left != null) {
-            g.strokeLine(node.x, node.y, node.left.x, node.left.y);
+            double[] c = avlLayout.get(node.left);
+            g.strokeLine(p[0], p[1], c[0], c[1]);
             drawAVLEdges(g, node.left);
         }
         if (node.right != null) {
-            g.strokeLine(node.x, node.y, node.right.x, node.right.y);
+            double[] c = avlLayout.get(node.right);
+            g.strokeLine(p[0], p[1], c[0], c[1]);
             drawAVLEdges(g, node.right);
         }
     }
     
-    private void drawAVLNodes(GraphicsContext g, AVLNode node) {
+    private void drawAVLNodes(GraphicsContext g, AvlTree.Node node) {
         if (node == null) return;
         
         double radius = 20;
+        double[] p = avlLayout.get(node);
+        double x = p[0], y = p[1];
         
         // Determine node color based on state
-        Color fillColor = node.nodeColor;
+        Color fillColor = Color.web("#4ecdc4");
         if (node == avlHighlightedNode) {
             fillColor = Color.web("#ff6b6b");
-        } else if (node.isAnimating) {
-            fillColor = Color.web("#ffeaa7");
         } else if (avlRotationNodes.contains(node)) {
             fillColor = Color.web("#fd79a8");
         }
         
         // Draw node circle
         g.setFill(fillColor);
-        g.fillOval(node.x - radius, node.y - radius, radius * 2, radius * 2);
+        g.fillOval(x - radius, y - radius, radius * 2, radius * 2);
         
         g.setStroke(Color.web("#00ffff"));
         g.setLineWidth(2);
-        g.strokeOval(node.x - radius, node.y - radius, radius * 2, radius * 2);
+        g.strokeOval(x - radius, y - radius, radius * 2, radius * 2);
         
         // Draw value
         g.setFill(Color.WHITE);
         g.setFont(Font.font("SF Pro Text", FontWeight.BOLD, 14));
         g.setTextAlign(TextAlignment.CENTER);
         g.setTextBaseline(VPos.CENTER);
-        g.fillText(String.valueOf(node.value), node.x, node.y);
+        g.fillText(String.valueOf(node.value), x, y);
         
         // Draw balance factor
         g.setFill(Color.web("#00ffff"));
         g.setFont(Font.font("SF Pro Text", FontWeight.NORMAL, 10));
-        g.fillText("B:" + node.getBalance(), node.x, node.y - 30);
+        g.fillText("B:" + node.getBalance(), x, y - 30);
         
         // Draw height
-        g.fillText("H:" + node.height, node.x, node.y + 35);
+        g.fillText("H:" + node.height, x, y + 35);
         
         // Recursively draw children
         drawAVLNodes(g, node.left);
         drawAVLNodes(g, node.right);
     }
     
-    // Fenwick helpers
-    private void initFenwick(int n) {
-        fenwickSize = n;
-        fenwickTree = new int[n + 2];
-        fenwickSource.clear();
-        for (int i = 0; i < n; i++) {
-            fenwickSource.add(0);
-        }
-    }
-
-    private void fenwickPointUpdate(int idx, int delta) {
-        if (idx < 1 || idx > fenwickSize) {
-            return;
-        }
-        fenwickSource.set(idx - 1, fenwickSource.get(idx - 1) + delta);
-        while (idx <= fenwickSize) {
-            fenwickTree[idx] += delta;
-            idx += idx & -idx;
-        }
-        redrawDS();
-    }
-
-    private int fenwickPrefix(int idx) {
-        idx = Math.max(0, Math.min(idx, fenwickSize));
-        int sum = 0;
-        while (idx > 0) {
-            sum += fenwickTree[idx];
-            idx -= idx & -idx;
-        }
-        return sum;
-    }
-
-    // Segment helpers (point update, sum query)
-    private void initSegment(int n) {
-        segSize = n;
-        segSource.clear();
-        for (int i = 0; i < n; i++) {
-            segSource.add(0);
-        }
-        int size = 1;
-        while (size < n) {
-            size <<= 1;
-        }
-        segTree = new int[2 * size];
-    }
-
-    private void segPointUpdate(int idx, int val) {
-        if (idx < 0 || idx >= segSize) {
-            return;
-        }
-        segSource.set(idx, val);
-        int size = 1;
-        while (size < segSize) {
-            size <<= 1;
-        }
-        int pos = size + idx;
-        segTree[pos] = val;
-        for (pos /= 2; pos >= 1; pos /= 2) {
-            segTree[pos] = segTree[2 * pos] + segTree[2 * pos + 1];
-            if (pos == 1) {
-                break;
-            }
-        }
-    }
-
-    private int segRangeQuery(int l, int r) {
-        if (l < 0) {
-            l = 0;
-        }
-        if (r >= segSize) {
-            r = segSize - 1;
-        }
-        if (l > r) {
-            return 0;
-        }
-        int size = 1;
-        while (size < segSize) {
-            size <<= 1;
-        }
-        int left = size + l, right = size + r;
-        int res = 0;
-        while (left <= right) {
-            if ((left & 1) == 1) {
-                res += segTree[left++];
-            }
-            if ((right & 1) == 0) {
-                res += segTree[right--];
-            }
-            left /= 2;
-            right /= 2;
-        }
-        return res;
-    }
-    
     private Integer parseValue(){ try { return Integer.parseInt(dsValueField.getText().trim()); } catch(Exception ex){ return null; } }
     private Integer parseIndex(){ try { return Integer.parseInt(dsIndexField.getText().trim()); } catch(Exception ex){ return null; } }
     private Integer parseRight(){ try { return Integer.parseInt(dsRightField.getText().trim()); } catch(Exception ex){ return null; } }
@@ -921,46 +909,18 @@ public class DataStructureManager {
         if (heapData.isEmpty()) return;
         
         heapAnimSteps.clear(); heapAnimIndex = 0; heapHighlightA=heapHighlightB=-1; currentHeapAction=null;
-        int n = heapData.size(); int lastIndex = n-1; int lastVal = heapData.get(lastIndex);
+        int lastIndex = heapData.size()-1;
         // Step 1: highlight target
         heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.TARGET, idx,-1, "Select target value "+target+" at index "+idx+"."));
         if (idx == lastIndex){
             // simple removal
+            heap.remove(target);
             heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.REMOVE, lastIndex,-1, "Remove the only/last occurrence."));
             heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.DONE,-1,-1, "Extraction complete."));
             return;
         }
-        // Step 2: swap with last
-        heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.SWAP, idx, lastIndex, "Swap target with last element "+lastVal+"."));
-        // Step 3: remove last (now holding target value)
-        heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.REMOVE, lastIndex,-1, "Remove former last (extracted value)."));
-        // After removal, we need to re-heapify from idx
-        // Build simulation list after swap+removal
-        List<Integer> sim = new ArrayList<>(heapData);
-        // simulate swap
-        Collections.swap(sim, idx, lastIndex);
-        sim.remove(lastIndex);
-        // Down-heap (siftDown) simulation
-        int cur = idx;
-        while(true){
-            int l=2*cur+1, r=2*cur+2; if(l>=sim.size()) break; int best=cur;
-            if(l<sim.size() && ((currentDSKind==DSKind.HEAP_MAX && sim.get(l)>sim.get(best)) || (currentDSKind==DSKind.HEAP_MIN && sim.get(l)<sim.get(best)))) best=l;
-            if(r<sim.size() && ((currentDSKind==DSKind.HEAP_MAX && sim.get(r)>sim.get(best)) || (currentDSKind==DSKind.HEAP_MIN && sim.get(r)<sim.get(best)))) best=r;
-            if(best!=cur){
-                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.COMPARE, best, cur, "Compare child "+sim.get(best)+" with parent "+sim.get(cur)+" (down-heap)."));
-                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.SWAP, best, cur, "Swap to restore heap (down-heap)."));
-                Collections.swap(sim, best, cur); cur=best; }
-            else break;
-        }
-        // Up-heap (siftUp) simulation if needed
-        while(cur>0){
-            int parent=(cur-1)/2; boolean violate = (currentDSKind==DSKind.HEAP_MAX)? sim.get(cur)>sim.get(parent): sim.get(cur)<sim.get(parent);
-            if(violate){
-                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.COMPARE, cur, parent, "Compare with parent (up-heap)."));
-                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.SWAP, cur, parent, "Swap upwards (up-heap)."));
-                Collections.swap(sim, cur, parent); cur=parent; }
-            else break;
-        }
+        // Swap with last, remove it, then re-heapify from idx (down, then up): the heap reports the steps
+        heap.remove(target, heapRecorder(new ArrayList<>(heapData), lastIndex));
         heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.DONE,-1,-1, "Extraction complete. Heap property restored."));
     }
 
@@ -1030,25 +990,114 @@ public class DataStructureManager {
         int idx = heapData.size() - 1;
         heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.INSERT_PLACE, idx, -1, "Insert value " + v + " at bottom (index " + idx + ")."));
 
-        // Use simulation list for planning swaps without mutating real heap yet (so animation shows swaps live)
+        // The heap inserts right away; its compares/swaps become steps, so the animation shows the swaps live
+        heap.insert(v, heapRecorder(new ArrayList<>(heapData), -1));
+        heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.DONE, -1, -1, "Insertion complete. Heap property restored."));
+
+        heapAnimating = true;
+        disableHeapButtons(true);
+        runHeapAnimTimeline();
+    }
+    
+    // Turns the Max / Min heap's compares and swaps into animation steps. sim follows the steps so the
+    // texts show the values being moved; removeLast >= 0 marks an extraction, whose first swap brings the
+    // last element into the target's slot and is followed by removing that last slot.
+    private IndexedHeapListener heapRecorder(List<Integer> sim, int removeLast) {
+        String order = currentDSKind == DSKind.HEAP_MAX ? "max" : "min";
+        int[] pendingRemove = {removeLast};
+        return new IndexedHeapListener() {
+            @Override
+            public void onCompare(int child, int parent) {
+                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.COMPARE, child, parent,
+                    "Compare child " + sim.get(child) + " with parent " + sim.get(parent) + " (" + order + ")."));
+            }
+            
+            @Override
+            public void onSwap(int a, int b) {
+                if (pendingRemove[0] >= 0) {
+                    heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.SWAP, a, b, "Swap target with last element " + sim.get(b) + "."));
+                    heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.REMOVE, pendingRemove[0], -1, "Remove former last (extracted value)."));
+                    Collections.swap(sim, a, b);
+                    sim.remove(pendingRemove[0]);
+                    pendingRemove[0] = -1;
+                    return;
+                }
+                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.SWAP, a, b, "Swap " + sim.get(a) + " with " + sim.get(b) + " to restore the heap."));
+                Collections.swap(sim, a, b);
+            }
+        };
+    }
+    
+    private boolean checkIndexedHeapKey(int k) {
+        if (k >= 0 && k < IH_CAPACITY) return true;
+        updateDSExplanation("Key must be between 0 and " + (IH_CAPACITY - 1) + ".");
+        return false;
+    }
+    
+    // Runs the operation on the indexed heap right away and records its compares/swaps as heap animation steps;
+    // heapData (keys by position) follows along as the steps play.
+    private void startIndexedHeapAnimation(String op, int key, int priority) {
+        if (heapAnimating) {
+            updateDSExplanation("Another heap animation in progress.");
+            return;
+        }
+        heapAnimSteps.clear();
+        heapAnimIndex = 0;
+        heapHighlightA = heapHighlightB = -1;
+        currentHeapAction = null;
+        
         List<Integer> sim = new ArrayList<>(heapData);
-        int cur = idx;
-        while (cur > 0) {
-            int parent = (cur - 1) / 2;
-            int childVal = sim.get(cur);
-            int parentVal = sim.get(parent);
-            heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.COMPARE, cur, parent, (currentDSKind == DSKind.HEAP_MAX ? "Compare child " + childVal + " with parent " + parentVal + " (max)" : "Compare child " + childVal + " with parent " + parentVal + " (min)")));
-            boolean needSwap = (currentDSKind == DSKind.HEAP_MAX) ? childVal > parentVal : childVal < parentVal;
-            if (needSwap) {
-                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.SWAP, cur, parent, "Swap " + childVal + " with parent " + parentVal + "."));
-                Collections.swap(sim, cur, parent); // only mutate simulation
-                cur = parent;
-            } else {
-                break;
+        int[] removeAfterFirstSwap = {-1};
+        IndexedHeapListener recorder = new IndexedHeapListener() {
+            @Override
+            public void onCompare(int child, int parent) {
+                int ck = sim.get(child), pk = sim.get(parent);
+                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.COMPARE, child, parent,
+                    "Compare child k" + ck + " (p=" + common.fmt(indexedHeap.priority(ck)) + ") with parent k" + pk + " (p=" + common.fmt(indexedHeap.priority(pk)) + ")."));
+            }
+            
+            @Override
+            public void onSwap(int a, int b) {
+                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.SWAP, a, b, "Swap k" + sim.get(a) + " and k" + sim.get(b) + "; pos[] of both keys updated."));
+                Collections.swap(sim, a, b);
+                if (removeAfterFirstSwap[0] >= 0) {
+                    heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.REMOVE, removeAfterFirstSwap[0], -1, "Remove extracted key from the last slot."));
+                    sim.remove(removeAfterFirstSwap[0]);
+                    removeAfterFirstSwap[0] = -1;
+                }
+            }
+        };
+        
+        switch (op) {
+            case "insert" -> {
+                updateDSExplanation("Begin INSERT key " + key + " with priority " + priority + ".");
+                heapData.add(key);
+                sim.add(key);
+                int idx = heapData.size() - 1;
+                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.INSERT_PLACE, idx, -1, "Place key " + key + " at the bottom (position " + idx + ")."));
+                indexedHeap.insert(key, priority, recorder);
+                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.DONE, -1, -1, "Insertion complete. Heap property restored."));
+            }
+            case "decrease" -> {
+                int at = heapData.indexOf(key);
+                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.TARGET, at, -1,
+                    "DECREASE-KEY " + key + ": p=" + common.fmt(indexedHeap.priority(key)) + " -> " + priority + " (pos[" + key + "] = " + at + ", no search needed)."));
+                indexedHeap.decreaseKey(key, priority, recorder);
+                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.DONE, -1, -1, "Decrease-key complete. Key sifted up to its place."));
+            }
+            default -> {
+                int top = heapData.get(0);
+                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.EXTRACT_START, 0, -1,
+                    "EXTRACT-MIN: key " + top + " (p=" + common.fmt(indexedHeap.priority(top)) + ") is at the root."));
+                removeAfterFirstSwap[0] = heapData.size() - 1;
+                indexedHeap.poll(recorder);
+                if (removeAfterFirstSwap[0] >= 0) { // single element: nothing to swap with
+                    heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.REMOVE, 0, -1, "Remove the only key."));
+                }
+                heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.DONE, -1, -1, "Extraction complete. Heap property restored."));
             }
         }
-        heapAnimSteps.add(new HeapAnimStep(HeapAnimStep.Type.DONE, -1, -1, "Insertion complete. Heap property restored."));
-
+        
         heapAnimating = true;
         disableHeapButtons(true);
         runHeapAnimTimeline();
@@ -1062,7 +1111,9 @@ public class DataStructureManager {
         updateDSExplanation("Starting AVL insertion of " + value);
         
         // Perform insertion and collect steps
-        avlRoot = avlInsertWithSteps(avlRoot, value);
+        avlDeleting = false;
+        avlSecondPhasePending = false;
+        avlTree.insert(value, this::recordAVLStep);
         
         // Start animation
         startAVLAnimation();
@@ -1077,72 +1128,124 @@ public class DataStructureManager {
         avlRotationNodes.clear();
     }
     
-    private AVLNode avlInsertWithSteps(AVLNode node, int value) {
-        // Step 1: Normal BST insertion
-        if (node == null) {
-            AVLNode newNode = new AVLNode(value);
-            avlSteps.add("INSERTION: Creating new leaf node " + value);
-            avlSteps.add("Node " + value + " has been placed at this position");
-            return newNode;
-        }
-        avlSteps.add("SEARCHING: Currently at node " + node.value + ", inserting " + value);
-        if (value < node.value) {
-            avlSteps.add("Direction: " + value + " < " + node.value + " → go LEFT");
-            node.left = avlInsertWithSteps(node.left, value);
-        } else if (value > node.value) {
-            avlSteps.add("Direction: " + value + " > " + node.value + " → go RIGHT");
-            node.right = avlInsertWithSteps(node.right, value);
-        } else {
-            avlSteps.add("DUPLICATE: Value " + value + " already exists - insertion skipped");
-            return node; // Duplicate values not allowed
-        }
-        // Step 2: Update height and check balance
-        int oldHeight = node.height;
-        node.updateHeight();
-        avlSteps.add("HEIGHT UPDATE: Node " + node.value + " height: " + oldHeight + " → " + node.height);
-        // Step 3: Check balance and determine rotation case
-        int balance = node.getBalance();
-        avlSteps.add("BALANCE CHECK: Node " + node.value + " balance factor = " + balance);
-        
-        if (Math.abs(balance) <= 1) {
-            avlSteps.add("BALANCED: Node " + node.value + " is balanced (|" + balance + "| ≤ 1)");
-        } else {
-            avlSteps.add("IMBALANCE DETECTED: Node " + node.value + " needs rebalancing!");
-        }
-        
-        // Step 4: Perform rotations if needed
-        if (balance > 1) {
-            int leftBalance = node.left.getBalance();
-            avlSteps.add("CASE ANALYSIS: Left-heavy (balance = " + balance + ")");
-            avlSteps.add("Left child " + node.left.value + " balance = " + leftBalance);
-            if (leftBalance >= 0) {
-                avlSteps.add("ROTATION CASE: Left-Left → Single Right Rotation");
-                return rotateRightDetailed(node);
-            } else {
-                avlSteps.add("ROTATION CASE: Left-Right → Double Rotation (Left then Right)");
+    // Turns the tree engine's step events into the explanation lines played back by startAVLAnimation
+    private void recordAVLStep(AvlListener.Step step, int a, int b, int c) {
+        switch (step) {
+            case VISIT -> avlSteps.add(avlDeleting
+                    ? "SEARCHING: At node " + a + ", looking for " + b
+                    : "SEARCHING: Currently at node " + a + ", inserting " + b);
+            case GO_LEFT -> avlSteps.add(avlDeleting
+                    ? "DIRECTION: " + a + " < " + b + " → go left"
+                    : "Direction: " + a + " < " + b + " → go LEFT");
+            case GO_RIGHT -> avlSteps.add(avlDeleting
+                    ? "DIRECTION: " + a + " > " + b + " → go right"
+                    : "Direction: " + a + " > " + b + " → go RIGHT");
+            case CREATED -> {
+                avlSteps.add("INSERTION: Creating new leaf node " + a);
+                avlSteps.add("Node " + a + " has been placed at this position");
+            }
+            case DUPLICATE -> avlSteps.add("DUPLICATE: Value " + a + " already exists - insertion skipped");
+            case NOT_FOUND -> avlSteps.add("SEARCH FAILED: Value " + a + " not found in tree");
+            case FOUND -> {
+                avlSteps.add("TARGET FOUND: Node " + a + " located for deletion");
+                avlSteps.add("CASE ANALYSIS: Checking children of node " + a);
+            }
+            case LEAF -> {
+                avlSteps.add("CASE 1: Leaf node (no children)");
+                avlSteps.add("ACTION: Direct removal of leaf node " + a);
+            }
+            case ONE_CHILD -> {
+                avlSteps.add("CASE 2: Node has one child");
+                avlSteps.add("Child found: " + b);
+                avlSteps.add("ACTION: Replace node " + a + " with child " + b);
+            }
+            case TWO_CHILDREN -> {
+                avlSteps.add("CASE 3: Node has two children");
+                avlSteps.add("Left child: " + b + ", Right child: " + c);
+                avlSteps.add("SUCCESSOR SEARCH: Finding inorder successor in right subtree");
+            }
+            case SUCCESSOR_START -> {
+                avlSteps.add("SUCCESSOR SEARCH: Starting from right child " + a);
+                avlSteps.add("GOAL: Find leftmost node (smallest value in right subtree)");
+            }
+            case SUCCESSOR_MOVE -> {
+                avlSteps.add("Step " + a + ": Current node " + b + " has left child " + c);
+                avlSteps.add("Step " + a + ": Moving left to " + c);
+            }
+            case SUCCESSOR_FOUND -> {
+                avlSteps.add("SUCCESSOR LOCATED: Node " + a + " (no left child = smallest)");
+                avlSteps.add("VERIFICATION: " + a + " is the inorder successor");
+            }
+            case REPLACED -> {
+                avlSteps.add("REPLACEMENT: Copying successor value to target node");
+                avlSteps.add("Node updated: " + a + " → " + b);
+                avlSteps.add("CLEANUP: Deleting successor node " + b + " from right subtree");
+            }
+            case HEIGHT -> avlSteps.add(avlDeleting
+                    ? "REBALANCING: Updating height and checking balance for node " + a
+                    : "HEIGHT UPDATE: Node " + a + " height: " + b + " → " + c);
+            case BALANCE -> {
+                avlSteps.add("BALANCE CHECK: Node " + a + " balance factor = " + b);
+                if (Math.abs(b) <= 1) {
+                    avlSteps.add(avlDeleting ? "BALANCED: Node " + a + " remains balanced"
+                            : "BALANCED: Node " + a + " is balanced (|" + b + "| ≤ 1)");
+                } else {
+                    avlSteps.add(avlDeleting ? "REBALANCE NEEDED: Node " + a + " requires rotation"
+                            : "IMBALANCE DETECTED: Node " + a + " needs rebalancing!");
+                }
+            }
+            case LEFT_HEAVY -> {
+                avlSteps.add((avlDeleting ? "CASE: " : "CASE ANALYSIS: ") + "Left-heavy (balance = " + a + ")");
+                avlSteps.add("Left child " + b + " balance = " + c);
+            }
+            case RIGHT_HEAVY -> {
+                avlSteps.add((avlDeleting ? "CASE: " : "CASE ANALYSIS: ") + "Right-heavy (balance = " + a + ")");
+                avlSteps.add("Right child " + b + " balance = " + c);
+            }
+            case CASE_LL -> avlSteps.add(avlDeleting ? "ROTATION: Left-Left case → Right rotation"
+                    : "ROTATION CASE: Left-Left → Single Right Rotation");
+            case CASE_RR -> avlSteps.add(avlDeleting ? "ROTATION: Right-Right case → Left rotation"
+                    : "ROTATION CASE: Right-Right → Single Left Rotation");
+            case CASE_LR -> {
+                avlSteps.add(avlDeleting ? "ROTATION: Left-Right case → Double rotation"
+                        : "ROTATION CASE: Left-Right → Double Rotation (Left then Right)");
                 avlSteps.add("Phase 1: Left rotation on left subtree");
-                node.left = rotateLeftDetailed(node.left);
-                avlSteps.add("Phase 2: Right rotation on main node");
-                return rotateRightDetailed(node);
+                avlSecondPhasePending = true;
             }
-        }
-        if (balance < -1) {
-            int rightBalance = node.right.getBalance();
-            avlSteps.add("CASE ANALYSIS: Right-heavy (balance = " + balance + ")");
-            avlSteps.add("Right child " + node.right.value + " balance = " + rightBalance);
-            if (rightBalance <= 0) {
-                avlSteps.add("ROTATION CASE: Right-Right → Single Left Rotation");
-                return rotateLeftDetailed(node);
-            } else {
-                avlSteps.add("ROTATION CASE: Right-Left → Double Rotation (Right then Left)");
+            case CASE_RL -> {
+                avlSteps.add(avlDeleting ? "ROTATION: Right-Left case → Double rotation"
+                        : "ROTATION CASE: Right-Left → Double Rotation (Right then Left)");
                 avlSteps.add("Phase 1: Right rotation on right subtree");
-                node.right = rotateRightDetailed(node.right);
-                avlSteps.add("Phase 2: Left rotation on main node");
-                return rotateLeftDetailed(node);
+                avlSecondPhasePending = true;
             }
+            case ROTATE_RIGHT -> {
+                // a = y (old root), b = x (its left child), c = x's right subtree
+                addAVLRotationSteps("RIGHT", "left", "right", a, b, c);
+            }
+            case ROTATE_LEFT -> {
+                // a = x (old root), b = y (its right child), c = y's left subtree
+                addAVLRotationSteps("LEFT", "right", "left", a, b, c);
+            }
+            case COMPLETE -> avlSteps.add("COMPLETION: Node " + a + (avlDeleting ? " deletion processing complete" : " processing complete"));
+        }
+    }
+    
+    private void addAVLRotationSteps(String dir, String childSide, String savedSide, int oldRoot, int newRoot, int saved) {
+        // second rotation of a double-rotation case: the first one just finished
+        if (avlSecondPhasePending && avlSteps.get(avlSteps.size() - 1).startsWith("RESULT:")) {
+            avlSteps.add("Phase 2: " + (dir.equals("RIGHT") ? "Right" : "Left") + " rotation on main node");
+            avlSecondPhasePending = false;
+        }
+        boolean hasSaved = saved != AvlListener.NONE;
+        avlSteps.add(dir + " ROTATION PROCESS:");
+        avlSteps.add("Before: " + oldRoot + " is root, " + newRoot + " is " + childSide + " child");
+        avlSteps.add("Step 1: Save " + newRoot + "'s " + savedSide + " subtree" + (hasSaved ? " (" + saved + ")" : " (null)"));
+        avlSteps.add("Step 2: Make " + newRoot + " the new root");
+        avlSteps.add("Step 3: " + oldRoot + " becomes " + (dir.equals("RIGHT") ? "right" : "left") + " child of " + newRoot);
+        if (hasSaved) {
+            avlSteps.add("Step 4: Attach saved subtree (" + saved + ") as " + childSide + " child of " + oldRoot);
         }
-        avlSteps.add("COMPLETION: Node " + node.value + " processing complete");
-        return node;
+        avlSteps.add("RESULT: " + newRoot + " is now the root of this subtree");
     }
     
     private void startAVLAnimation() {
@@ -1173,60 +1276,8 @@ public class DataStructureManager {
         avlAnimationTimeline.play();
     }
     
-    private AVLNode rotateRightDetailed(AVLNode y) {
-        AVLNode x = y.left;
-        AVLNode T2 = x.right;
-        
-        avlSteps.add("RIGHT ROTATION PROCESS:");
-        avlSteps.add("Before: " + y.value + " is root, " + x.value + " is left child");
-        avlSteps.add("Step 1: Save " + x.value + "'s right subtree" + (T2 != null ? " (" + T2.value + ")" : " (null)"));
-        avlSteps.add("Step 2: Make " + x.value + " the new root");
-        avlSteps.add("Step 3: " + y.value + " becomes right child of " + x.value);
-        if (T2 != null) {
-            avlSteps.add("Step 4: Attach saved subtree (" + T2.value + ") as left child of " + y.value);
-        }
-        
-        // Perform rotation
-        x.right = y;
-        y.left = T2;
-        
-        // Update heights
-        y.updateHeight();
-        x.updateHeight();
-        
-        avlSteps.add("RESULT: " + x.value + " is now the root of this subtree");
-        
-        return x;
-    }
-    
-    private AVLNode rotateLeftDetailed(AVLNode x) {
-        AVLNode y = x.right;
-        AVLNode T2 = y.left;
-        
-        avlSteps.add("LEFT ROTATION PROCESS:");
-        avlSteps.add("Before: " + x.value + " is root, " + y.value + " is right child");
-        avlSteps.add("Step 1: Save " + y.value + "'s left subtree" + (T2 != null ? " (" + T2.value + ")" : " (null)"));
-        avlSteps.add("Step 2: Make " + y.value + " the new root");
-        avlSteps.add("Step 3: " + x.value + " becomes left child of " + y.value);
-        if (T2 != null) {
-            avlSteps.add("Step 4: Attach saved subtree (" + T2.value + ") as right child of " + x.value);
-        }
-        
-        // Perform rotation
-        y.left = x;
-        x.right = T2;
-        
-        // Update heights
-        x.updateHeight();
-        y.updateHeight();
-        
-        avlSteps.add("RESULT: " + y.value + " is now the root of this subtree");
-        
-        return y;
-    }
-    
     private void avlDeleteAnimated(int value) {
-        if (avlRoot == null) {
+        if (avlTree.isEmpty()) {
             updateDSExplanation("Tree is empty, cannot delete " + value);
             return;
         }
@@ -1238,123 +1289,11 @@ public class DataStructureManager {
         updateDSExplanation("Starting AVL deletion of " + value);
         
         // Perform deletion and collect steps
-        avlRoot = avlDeleteWithSteps(avlRoot, value);
+        avlDeleting = true;
+        avlSecondPhasePending = false;
+        avlTree.delete(value, this::recordAVLStep);
         
         // Start animation
         startAVLAnimation();
     }
-    
-    private AVLNode avlDeleteWithSteps(AVLNode node, int value) {
-        // Step 1: Search for the node to delete
-        if (node == null) {
-            avlSteps.add("SEARCH FAILED: Value " + value + " not found in tree");
-            return null;
-        }
-        
-        avlSteps.add("SEARCHING: At node " + node.value + ", looking for " + value);
-        
-        if (value < node.value) {
-            avlSteps.add("DIRECTION: " + value + " < " + node.value + " → go left");
-            node.left = avlDeleteWithSteps(node.left, value);
-        } else if (value > node.value) {
-            avlSteps.add("DIRECTION: " + value + " > " + node.value + " → go right");
-            node.right = avlDeleteWithSteps(node.right, value);
-        } else {
-            // Node to delete found
-            avlSteps.add("TARGET FOUND: Node " + value + " located for deletion");
-            // Analyze deletion cases
-            avlSteps.add("CASE ANALYSIS: Checking children of node " + value);
-            
-            if (node.left == null && node.right == null) {
-                avlSteps.add("CASE 1: Leaf node (no children)");
-                avlSteps.add("ACTION: Direct removal of leaf node " + value);
-                return null;
-            } else if (node.left == null || node.right == null) {
-                AVLNode temp = (node.left != null) ? node.left : node.right;
-                avlSteps.add("CASE 2: Node has one child");
-                avlSteps.add("Child found: " + temp.value);
-                avlSteps.add("ACTION: Replace node " + value + " with child " + temp.value);
-                return temp;
-            } else {
-                // Node has two children - detailed successor replacement
-                avlSteps.add("CASE 3: Node has two children");
-                avlSteps.add("Left child: " + node.left.value + ", Right child: " + node.right.value);
-                avlSteps.add("SUCCESSOR SEARCH: Finding inorder successor in right subtree");
-                AVLNode successor = findMinWithSteps(node.right);
-                
-                avlSteps.add("REPLACEMENT: Copying successor value to target node");
-                int oldValue = node.value;
-                node.value = successor.value;
-                avlSteps.add("Node updated: " + oldValue + " → " + successor.value);
-                
-                avlSteps.add("CLEANUP: Deleting successor node " + successor.value + " from right subtree");
-                node.right = avlDeleteWithSteps(node.right, successor.value);
-            }
-        }
-        
-        // Step 2: Post-deletion rebalancing
-        avlSteps.add("REBALANCING: Updating height and checking balance for node " + node.value);
-        node.updateHeight();
-        
-        int balance = node.getBalance();
-        avlSteps.add("BALANCE CHECK: Node " + node.value + " balance factor = " + balance);
-        
-        if (Math.abs(balance) <= 1) {
-            avlSteps.add("BALANCED: Node " + node.value + " remains balanced");
-        } else {
-            avlSteps.add("REBALANCE NEEDED: Node " + node.value + " requires rotation");
-        }
-        
-        if (balance > 1) {
-            int leftBalance = node.left.getBalance();
-            avlSteps.add("CASE: Left-heavy (balance = " + balance + ")");
-            avlSteps.add("Left child " + node.left.value + " balance = " + leftBalance);
-            if (leftBalance >= 0) {
-                avlSteps.add("ROTATION: Left-Left case → Right rotation");
-                return rotateRightDetailed(node);
-            } else {
-                avlSteps.add("ROTATION: Left-Right case → Double rotation");
-                avlSteps.add("Phase 1: Left rotation on left subtree");
-                node.left = rotateLeftDetailed(node.left);
-                avlSteps.add("Phase 2: Right rotation on main node");
-                return rotateRightDetailed(node);
-            }
-        }
-        
-        if (balance < -1) {
-            int rightBalance = node.right.getBalance();
-            avlSteps.add("CASE: Right-heavy (balance = " + balance + ")");
-            avlSteps.add("Right child " + node.right.value + " balance = " + rightBalance);
-            if (rightBalance <= 0) {
-                avlSteps.add("ROTATION: Right-Right case → Left rotation");
-                return rotateLeftDetailed(node);
-            } else {
-                avlSteps.add("ROTATION: Right-Left case → Double rotation");
-                avlSteps.add("Phase 1: Right rotation on right subtree");
-                node.right = rotateRightDetailed(node.right);
-                avlSteps.add("Phase 2: Left rotation on main node");
-                return rotateLeftDetailed(node);
-            }
-        }
-        
-        avlSteps.add("COMPLETION: Node " + node.value + " deletion processing complete");
-        return node;
-    }
-    
-    private AVLNode findMinWithSteps(AVLNode node) {
-        avlSteps.add("SUCCESSOR SEARCH: Starting from right child " + node.value);
-        avlSteps.add("GOAL: Find leftmost node (smallest value in right subtree)");
-        
-        int stepCount = 1;
-        while (node.left != null) {
-            avlSteps.add("Step " + stepCount + ": Current node " + node.value + " has left child " + node.left.value);
-            avlSteps.add("Step " + stepCount + ": Moving left to " + node.left.value);
-            node = node.left;
-            stepCount++;
-        }
-        
-        avlSteps.add("SUCCESSOR LOCATED: Node " + node.value + " (no left child = smallest)");
-        avlSteps.add("VERIFICATION: " + node.value + " is the inorder successor");
-        return node;
-    }
 }
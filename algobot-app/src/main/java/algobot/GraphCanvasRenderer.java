@@ -0,0 +1,490 @@
+package algobot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.animation.AnimationTimer;
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Point2D;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import javafx.scene.transform.Affine;
+
+/**
+ * Draws the graph page onto a single Canvas instead of one scene-graph node per circle, label and line.
+ * Nodes and edges keep their Circle / Line objects as plain style holders (detached from the scene), so the
+ * algorithm animations keep calling setFill / setStroke as before; every pulse the renderer diffs those
+ * against what it last drew and repaints only the dirty rectangle. Draw calls are batched by paint,
+ * and labels, weights and glows are dropped when zoomed out.
+ */
+public class GraphCanvasRenderer {
+
+    // Level of detail (in screen pixels / zoom factor)
+    private static final double LABEL_MIN_RADIUS_PX = 9;   // node ids only when circles are this big on screen
+    private static final double DOT_MAX_RADIUS_PX = 1.5;   // below this nodes are drawn as squares
+    private static final double WEIGHT_MIN_SCALE = 0.7;
+    private static final double GLOW_MIN_SCALE = 0.5;
+    private static final double MIN_SCALE = 0.01, MAX_SCALE = 4;
+    private static final double FULL_REPAINT_FRACTION = 0.5; // dirty area beyond this share of the view -> repaint all
+    private static final Color GLOW = Color.web("#00ffff", 0.18);
+    private static final Color WEIGHT_BOX = Color.web("#002b36", 0.85);
+    private static final Font NODE_FONT = Font.font("System", FontWeight.EXTRA_BOLD, 16);
+    private static final Font WEIGHT_FONT = Font.font("System", FontWeight.BOLD, 12);
+
+    private final Pane host;
+    private final NodeGrid index;           // owned by the page; used for hit-testing
+    private final Canvas canvas = new Canvas();
+    private final Affine view = new Affine(); // world -> pane; shared with the overlay nodes still living in 'host'
+    private final AnimationTimer pulse;
+    private final ListChangeListener<Node> overlayTransformer;
+
+    private final List<NodeItem> nodes = new ArrayList<>();
+    private final Map<String, NodeItem> nodeById = new HashMap<>();
+    private final List<EdgeItem> edges = new ArrayList<>();
+    private final Map<Line, EdgeItem> edgeByLine = new HashMap<>();
+
+    private double scale = 1, tx = 0, ty = 0;
+    private boolean fullRepaint = true;
+    private double dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY; // world coords; empty when min > max
+    private double panAnchorX, panAnchorY;
+    private boolean panning;
+
+    public GraphCanvasRenderer(Pane host, NodeGrid index) {
+        this.host = host;
+        this.index = index;
+        clearDirty();
+        canvas.widthProperty().bind(host.widthProperty());
+        canvas.heightProperty().bind(host.heightProperty());
+        canvas.widthProperty().addListener((o, a, b) -> fullRepaint = true);
+        canvas.heightProperty().addListener((o, a, b) -> fullRepaint = true);
+
+        // Overlays (drag line, distance labels, weight input) stay scene nodes; keep them in world coords
+        overlayTransformer = c -> {
+            while (c.next()) {
+                for (Node n : c.getAddedSubList()) {
+                    if (n != canvas && !n.getTransforms().contains(view)) n.getTransforms().add(view);
+                }
+            }
+        };
+
+        // Scroll zooms around the cursor; dragging empty space (or with the secondary button) pans
+        canvas.setOnScroll(e -> {
+            double factor = Math.pow(1.0015, e.getDeltaY());
+            zoomAt(e.getX(), e.getY(), factor);
+            e.consume();
+        });
+        canvas.addEventHandler(javafx.scene.input.MouseEvent.MOUSE_PRESSED, e -> {
+            Point2D w = toWorld(e.getX(), e.getY());
+            panning = e.getButton() != MouseButton.PRIMARY || nodeAt(w.getX(), w.getY()) == null;
+            panAnchorX = e.getX();
+            panAnchorY = e.getY();
+        });
+        canvas.addEventHandler(javafx.scene.input.MouseEvent.MOUSE_DRAGGED, e -> {
+            if (!panning) return;
+            panBy(e.getX() - panAnchorX, e.getY() - panAnchorY);
+            panAnchorX = e.getX();
+            panAnchorY = e.getY();
+        });
+        canvas.addEventHandler(javafx.scene.input.MouseEvent.MOUSE_RELEASED, e -> panning = false);
+
+        pulse = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                collectChanges();
+                paint();
+            }
+        };
+    }
+
+    /** Puts the canvas under the host's remaining children and starts repainting. */
+    public void attach() {
+        host.getChildren().add(0, canvas);
+        for (Node n : host.getChildren()) {
+            if (n != canvas && !n.getTransforms().contains(view)) n.getTransforms().add(view);
+        }
+        host.getChildren().addListener(overlayTransformer);
+        fullRepaint = true;
+        pulse.start();
+    }
+
+    public void detach() {
+        pulse.stop();
+        host.getChildren().removeListener(overlayTransformer);
+        host.getChildren().remove(canvas);
+        for (Node n : host.getChildren()) n.getTransforms().remove(view);
+        nodes.clear();
+        nodeById.clear();
+        edges.clear();
+        edgeByLine.clear();
+    }
+
+    public Canvas getCanvas() { return canvas; }
+
+    public void addNode(String id, Circle circle) {
+        NodeItem item = new NodeItem(id, circle);
+        nodes.add(item);
+        nodeById.put(id, item);
+        markDirty(item);
+    }
+
+    public void removeNode(String id) {
+        NodeItem item = nodeById.remove(id);
+        if (item == null) return;
+        nodes.remove(item);
+        markDirty(item);
+    }
+
+    /** @param weightText drawn at the midpoint, or null for unweighted edges */
+    public void addEdge(Line line, String weightText, boolean arrow) {
+        EdgeItem item = new EdgeItem(line, weightText, arrow);
+        edges.add(item);
+        edgeByLine.put(line, item);
+        markDirty(item);
+    }
+
+    public void removeEdge(Line line) {
+        EdgeItem item = edgeByLine.remove(line);
+        if (item == null) return;
+        edges.remove(item);
+        markDirty(item);
+    }
+
+    public Point2D toWorld(double x, double y) {
+        return new Point2D((x - tx) / scale, (y - ty) / scale);
+    }
+
+    /** Node whose circle contains the world point, or null. */
+    public String nodeAt(double wx, double wy) {
+        return index.nodeAt(wx, wy);
+    }
+
+    public void panBy(double dx, double dy) {
+        tx += dx;
+        ty += dy;
+        updateView();
+    }
+
+    public void zoomAt(double x, double y, double factor) {
+        double next = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        // keep the world point under (x, y) fixed
+        tx = x - (x - tx) * (next / scale);
+        ty = y - (y - ty) * (next / scale);
+        scale = next;
+        updateView();
+    }
+
+    private void updateView() {
+        view.setToTransform(scale, 0, tx, 0, scale, ty);
+        fullRepaint = true;
+    }
+
+    // ---- change tracking ----
+
+    private void collectChanges() {
+        if (fullRepaint) {
+            for (NodeItem n : nodes) n.sync();
+            for (EdgeItem e : edges) e.sync();
+            return;
+        }
+        for (NodeItem n : nodes) {
+            if (n.changed()) {
+                markDirty(n);
+                n.sync();
+                markDirty(n);
+            }
+        }
+        for (EdgeItem e : edges) {
+            if (e.changed()) {
+                markDirty(e);
+                e.sync();
+                markDirty(e);
+            }
+        }
+    }
+
+    private void markDirty(NodeItem n) {
+        double pad = n.circle.getRadius() + n.strokeWidth + 8; // + glow
+        addDirty(n.x - pad, n.y - pad, n.x + pad, n.y + pad);
+    }
+
+    private void markDirty(EdgeItem e) {
+        double pad = e.width + 14; // arrow head
+        addDirty(Math.min(e.x1, e.x2) - pad, Math.min(e.y1, e.y2) - pad, Math.max(e.x1, e.x2) + pad, Math.max(e.y1, e.y2) + pad);
+        if (e.weightText != null) {
+            double mx = (e.x1 + e.x2) / 2, my = (e.y1 + e.y2) / 2;
+            addDirty(mx - 40, my - 14, mx + 40, my + 14);
+        }
+    }
+
+    private void addDirty(double x0, double y0, double x1, double y1) {
+        dirtyMinX = Math.min(dirtyMinX, x0);
+        dirtyMinY = Math.min(dirtyMinY, y0);
+        dirtyMaxX = Math.max(dirtyMaxX, x1);
+        dirtyMaxY = Math.max(dirtyMaxY, y1);
+    }
+
+    private void clearDirty() {
+        dirtyMinX = dirtyMinY = Double.POSITIVE_INFINITY;
+        dirtyMaxX = dirtyMaxY = Double.NEGATIVE_INFINITY;
+    }
+
+    // ---- painting ----
+
+    private void paint() {
+        double w = canvas.getWidth(), h = canvas.getHeight();
+        if (w <= 0 || h <= 0) return;
+        // Visible world rectangle
+        double vx0 = -tx / scale, vy0 = -ty / scale, vx1 = (w - tx) / scale, vy1 = (h - ty) / scale;
+        double x0 = vx0, y0 = vy0, x1 = vx1, y1 = vy1;
+        if (!fullRepaint) {
+            if (dirtyMinX > dirtyMaxX) return; // nothing changed
+            x0 = Math.max(vx0, dirtyMinX);
+            y0 = Math.max(vy0, dirtyMinY);
+            x1 = Math.min(vx1, dirtyMaxX);
+            y1 = Math.min(vy1, dirtyMaxY);
+            if (x0 >= x1 || y0 >= y1) { clearDirty(); return; } // changes are off screen
+            if ((x1 - x0) * (y1 - y0) > FULL_REPAINT_FRACTION * (vx1 - vx0) * (vy1 - vy0)) {
+                x0 = vx0; y0 = vy0; x1 = vx1; y1 = vy1;
+            }
+        }
+        fullRepaint = false;
+        clearDirty();
+
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.save();
+        g.setTransform(scale, 0, 0, scale, tx, ty);
+        // Clip to the repaint area (world coords) and clear it
+        g.beginPath();
+        g.rect(x0, y0, x1 - x0, y1 - y0);
+        g.closePath();
+        g.clip();
+        g.clearRect(x0, y0, x1 - x0, y1 - y0);
+
+        drawEdges(g, x0, y0, x1, y1);
+        drawNodes(g, x0, y0, x1, y1);
+        g.restore();
+    }
+
+    private void drawEdges(GraphicsContext g, double x0, double y0, double x1, double y1) {
+        // Lines: one path per run of edges sharing stroke / width / opacity
+        Paint runPaint = null;
+        double runWidth = -1, runAlpha = -1;
+        boolean open = false;
+        for (EdgeItem e : edges) {
+            if (!e.visible() || !e.intersects(x0, y0, x1, y1)) continue;
+            if (!e.stroke.equals(runPaint) || e.width != runWidth || e.opacity != runAlpha) {
+                if (open) g.stroke();
+                runPaint = e.stroke; runWidth = e.width; runAlpha = e.opacity;
+                g.setStroke(runPaint);
+                g.setLineWidth(runWidth);
+                g.setGlobalAlpha(runAlpha);
+                g.beginPath();
+                open = true;
+            }
+            g.moveTo(e.x1, e.y1);
+            g.lineTo(e.x2, e.y2);
+        }
+        if (open) g.stroke();
+
+        // Arrow heads, batched by colour
+        runPaint = null;
+        open = false;
+        for (EdgeItem e : edges) {
+            if (!e.arrow || !e.visible() || !e.intersects(x0, y0, x1, y1)) continue;
+            double dx = e.x2 - e.x1, dy = e.y2 - e.y1, len = Math.sqrt(dx * dx + dy * dy);
+            if (len == 0) continue;
+            if (!e.stroke.equals(runPaint) || e.opacity != runAlpha) {
+                if (open) g.fill();
+                runPaint = e.stroke; runAlpha = e.opacity;
+                g.setFill(runPaint);
+                g.setGlobalAlpha(runAlpha);
+                g.beginPath();
+                open = true;
+            }
+            dx /= len; dy /= len;
+            double size = 12, px = -dy * size * 0.5, py = dx * size * 0.5;
+            g.moveTo(e.x2, e.y2);
+            g.lineTo(e.x2 - dx * size + px, e.y2 - dy * size + py);
+            g.lineTo(e.x2 - dx * size - px, e.y2 - dy * size - py);
+            g.closePath();
+        }
+        if (open) g.fill();
+        g.setGlobalAlpha(1);
+
+        // Weights (level of detail)
+        if (scale < WEIGHT_MIN_SCALE) return;
+        g.setFont(WEIGHT_FONT);
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        g.setFill(WEIGHT_BOX);
+        for (EdgeItem e : edges) {
+            if (e.weightText == null || !e.visible() || !e.intersects(x0, y0, x1, y1)) continue;
+            double mx = (e.x1 + e.x2) / 2, my = (e.y1 + e.y2) / 2, bw = 8 + 7 * e.weightText.length();
+            g.fillRoundRect(mx - bw / 2, my - 10, bw, 20, 6, 6);
+        }
+        g.setFill(Color.WHITE);
+        for (EdgeItem e : edges) {
+            if (e.weightText == null || !e.visible() || !e.intersects(x0, y0, x1, y1)) continue;
+            g.fillText(e.weightText, (e.x1 + e.x2) / 2, (e.y1 + e.y2) / 2);
+        }
+    }
+
+    private void drawNodes(GraphicsContext g, double x0, double y0, double x1, double y1) {
+        double screenRadius = nodes.isEmpty() ? 0 : nodes.get(0).circle.getRadius() * scale;
+        boolean dots = screenRadius < DOT_MAX_RADIUS_PX;
+
+        // Glow (cheap stand-in for the DropShadow effect), dropped when zoomed out
+        if (!dots && scale >= GLOW_MIN_SCALE) {
+            g.setFill(GLOW);
+            g.beginPath();
+            for (NodeItem n : nodes) {
+                if (!n.intersects(x0, y0, x1, y1)) continue;
+                double r = n.circle.getRadius() + 5;
+                g.moveTo(n.x + r, n.y);
+                g.arc(n.x, n.y, r, r, 0, 360);
+            }
+            g.fill();
+        }
+
+        // Fill, one path per run of equal paint
+        Paint run = null;
+        boolean open = false;
+        for (NodeItem n : nodes) {
+            if (!n.intersects(x0, y0, x1, y1)) continue;
+            if (dots) {
+                if (!n.fill.equals(run)) { run = n.fill; g.setFill(run); }
+                double s = 2 / scale;
+                g.fillRect(n.x - s / 2, n.y - s / 2, s, s);
+                continue;
+            }
+            if (!n.fill.equals(run)) {
+                if (open) g.fill();
+                run = n.fill;
+                g.setFill(run);
+                g.beginPath();
+                open = true;
+            }
+            double r = n.circle.getRadius();
+            g.moveTo(n.x + r, n.y);
+            g.arc(n.x, n.y, r, r, 0, 360);
+        }
+        if (open) g.fill();
+        if (dots) return;
+
+        // Outline
+        run = null;
+        double runWidth = -1;
+        open = false;
+        for (NodeItem n : nodes) {
+            if (!n.intersects(x0, y0, x1, y1)) continue;
+            if (!n.stroke.equals(run) || n.strokeWidth != runWidth) {
+                if (open) g.stroke();
+                run = n.stroke; runWidth = n.strokeWidth;
+                g.setStroke(run);
+                g.setLineWidth(runWidth);
+                g.beginPath();
+                open = true;
+            }
+            double r = n.circle.getRadius();
+            g.moveTo(n.x + r, n.y);
+            g.arc(n.x, n.y, r, r, 0, 360);
+        }
+        if (open) g.stroke();
+
+        // Ids (level of detail)
+        if (screenRadius < LABEL_MIN_RADIUS_PX) return;
+        g.setFont(NODE_FONT);
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        g.setFill(Color.WHITE);
+        for (NodeItem n : nodes) {
+            if (n.intersects(x0, y0, x1, y1)) g.fillText(n.id, n.x, n.y);
+        }
+    }
+
+    // Last drawn state of a node, compared against its Circle each pulse
+    private static final class NodeItem {
+        final String id;
+        final Circle circle;
+        double x, y, strokeWidth;
+        Paint fill, stroke;
+
+        NodeItem(String id, Circle circle) {
+            this.id = id;
+            this.circle = circle;
+            sync();
+        }
+
+        boolean changed() {
+            return x != circle.getCenterX() || y != circle.getCenterY() || strokeWidth != circle.getStrokeWidth()
+                || !fill.equals(circle.getFill()) || !stroke.equals(circle.getStroke());
+        }
+
+        void sync() {
+            x = circle.getCenterX();
+            y = circle.getCenterY();
+            strokeWidth = circle.getStrokeWidth();
+            fill = circle.getFill() == null ? Color.TRANSPARENT : circle.getFill();
+            stroke = circle.getStroke() == null ? Color.TRANSPARENT : circle.getStroke();
+        }
+
+        boolean intersects(double x0, double y0, double x1, double y1) {
+            double r = circle.getRadius() + 6;
+            return x + r >= x0 && x - r <= x1 && y + r >= y0 && y - r <= y1;
+        }
+    }
+
+    // Last drawn state of an edge, compared against its Line each pulse
+    private static final class EdgeItem {
+        final Line line;
+        final String weightText;
+        final boolean arrow;
+        double x1, y1, x2, y2, width, opacity;
+        Paint stroke;
+
+        EdgeItem(Line line, String weightText, boolean arrow) {
+            this.line = line;
+            this.weightText = weightText;
+            this.arrow = arrow;
+            sync();
+        }
+
+        boolean changed() {
+            return x1 != line.getStartX() || y1 != line.getStartY() || x2 != line.getEndX() || y2 != line.getEndY()
+                || width != line.getStrokeWidth() || opacity != line.getOpacity() || !stroke.equals(line.getStroke());
+        }
+
+        void sync() {
+            x1 = line.getStartX();
+            y1 = line.getStartY();
+            x2 = line.getEndX();
+            y2 = line.getEndY();
+            width = line.getStrokeWidth();
+            opacity = line.getOpacity();
+            stroke = line.getStroke() == null ? Color.TRANSPARENT : line.getStroke();
+        }
+
+        boolean visible() {
+            return opacity > 0 && !Color.TRANSPARENT.equals(stroke);
+        }
+
+        boolean intersects(double x0, double y0, double x1, double y1) {
+            double pad = width + 14;
+            return Math.max(this.x1, x2) + pad >= x0 && Math.min(this.x1, x2) - pad <= x1
+                && Math.max(this.y1, y2) + pad >= y0 && Math.min(this.y1, y2) - pad <= y1;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package algobot;
+
+import java.io.File;
+
+import algobot.core.GraphFile;
+import javafx.scene.Node;
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+
+/**
+ * Open/save dialogs for the IMPORT and EXPORT buttons of the graph and network pages, and where loaded
+ * nodes are placed: at the generator's positions when it gave some, else on a circle or grid.
+ */
+final class GraphFileDialog {
+
+    private static File lastDir; // shared by both pages, so the dialogs reopen where the user left off
+
+    private GraphFileDialog() {}
+
+    static File chooseOpen(Node owner, String title) {
+        FileChooser chooser = chooser(title);
+        File file = chooser.showOpenDialog(window(owner));
+        if (file != null) lastDir = file.getParentFile();
+        return file;
+    }
+
+    /** The extension picks the format ({@link algobot.core.GraphFile.Format#of}). */
+    static File chooseSave(Node owner, String title, String defaultName) {
+        FileChooser chooser = chooser(title);
+        chooser.setInitialFileName(defaultName);
+        File file = chooser.showSaveDialog(window(owner));
+        if (file != null) lastDir = file.getParentFile();
+        return file;
+    }
+
+    private static FileChooser chooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("All graph files", "*.txt", "*.edges", "*.el", "*.gr", "*.max", "*.dimacs", "*.abg", "*.bin"),
+            new FileChooser.ExtensionFilter("Edge list (u v [w])", "*.txt", "*.edges", "*.el"),
+            new FileChooser.ExtensionFilter("DIMACS shortest path / max flow", "*.gr", "*.max", "*.dimacs"),
+            new FileChooser.ExtensionFilter("Binary graph (ABG1)", "*.abg", "*.bin"),
+            new FileChooser.ExtensionFilter("All files", "*.*"));
+        if (lastDir != null && lastDir.isDirectory()) chooser.setInitialDirectory(lastDir);
+        return chooser;
+    }
+
+    private static Window window(Node owner) {
+        return owner == null || owner.getScene() == null ? null : owner.getScene().getWindow();
+    }
+
+    /**
+     * Node centres {x0, y0, x1, y1, ...} inside {@code [margin, width-margin] × [margin, height-margin]}: a circle
+     * for small graphs, otherwise a grid. Neighbouring centres are at least {@code gap} apart, so a large
+     * grid runs past the area (the caller switches to the zoomable canvas in that case).
+     */
+    static double[] layout(int n, double width, double height, double margin, double gap) {
+        double[] xy = new double[2 * n];
+        double w = width - 2 * margin, h = height - 2 * margin;
+        double radius = Math.min(w, h) / 2;
+        if (n <= 16 && 2 * Math.PI * radius / Math.max(n, 1) >= gap) {
+            for (int i = 0; i < n; i++) {
+                double angle = -Math.PI / 2 + 2 * Math.PI * i / n;
+                xy[2 * i] = margin + w / 2 + radius * Math.cos(angle);
+                xy[2 * i + 1] = margin + h / 2 + radius * Math.sin(angle);
+            }
+            return xy;
+        }
+        int cols = Math.max(1, (int) Math.ceil(Math.sqrt(n * w / h)));
+        int rows = (n + cols - 1) / cols;
+        double dx = Math.max(gap, cols > 1 ? w / (cols - 1) : 0);
+        double dy = Math.max(gap, rows > 1 ? h / (rows - 1) : 0);
+        for (int i = 0; i < n; i++) {
+            xy[2 * i] = margin + (i % cols) * dx;
+            xy[2 * i + 1] = margin + (i / cols) * dy;
+        }
+        return xy;
+    }
+
+    /**
+     * Node centres for {@code g}. Positions in the unit square are stretched over the area, and beyond it when
+     * needed so that a grid of the same size would keep {@code gap} between neighbours.
+     */
+    static double[] place(GraphFile g, double width, double height, double margin, double gap) {
+        if (g.xy == null) return layout(g.n, width, height, margin, gap);
+        double w = width - 2 * margin, h = height - 2 * margin;
+        double scale = spread(g.n, w, h, gap);
+        double[] xy = new double[2 * g.n];
+        for (int i = 0; i < g.n; i++) {
+            xy[2 * i] = margin + g.xy[2 * i] * w * scale;
+            xy[2 * i + 1] = margin + g.xy[2 * i + 1] * h * scale;
+        }
+        return xy;
+    }
+
+    /** Whether {@link #place} keeps every centre inside the area. */
+    static boolean fits(GraphFile g, double width, double height, double margin, double gap) {
+        if (g.xy == null) return fits(g.n, width, height, margin, gap);
+        return spread(g.n, width - 2 * margin, height - 2 * margin, gap) <= 1;
+    }
+
+    private static double spread(int n, double w, double h, double gap) {
+        double side = Math.sqrt(Math.max(n, 1));
+        return Math.max(1, gap * (side - 1) / Math.min(w, h));
+    }
+
+    /** Whether {@link #layout} keeps every centre inside the area. */
+    static boolean fits(int n, double width, double height, double margin, double gap) {
+        double[] xy = layout(n, width, height, margin, gap);
+        for (int i = 0; i < xy.length; i += 2) {
+            if (xy[i] > width - margin + 1e-6 || xy[i + 1] > height - margin + 1e-6) return false;
+        }
+        return true;
+    }
+}
@@ -3,11 +3,14 @@ package algobot;
 import javafx.animation.*;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
+import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.layout.*;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
@@ -16,8 +19,31 @@ import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Stop;
 import javafx.scene.shape.*;
 import javafx.util.Duration;
+import algobot.core.BellmanFordEngine;
+import algobot.core.BellmanFordListener;
+import algobot.core.BfsEngine;
+import algobot.core.BlockedFloydWarshallEngine;
+import algobot.core.BoruvkaEngine;
+import algobot.core.BfsListener;
+import algobot.core.CsrGraph;
+import algobot.core.DfsEngine;
+import algobot.core.DfsListener;
+import algobot.core.DijkstraEngine;
+import algobot.core.DijkstraListener;
+import algobot.core.FloydWarshallEngine;
+import algobot.core.FloydWarshallListener;
+import algobot.core.GraphFile;
+import algobot.core.GraphGenerators;
+import algobot.core.JohnsonEngine;
+import algobot.core.KruskalEngine;
+import algobot.core.MstListener;
+import algobot.core.PrimEngine;
+import algobot.core.UnionFind;
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class GraphManager {
 	// Store graph algorithm checkboxes
@@ -29,6 +55,7 @@ public class GraphManager {
     private Button runGraphAlgosBtnRef;
     private Button resetVisualizationBtnRef;
     private Button pauseBtnRef;
+    private Button stepBackBtnRef, stepForwardBtnRef;
     
     private Map<String, GraphNode> graphNodes = new HashMap<>();
     private List<String> nodeOrder = new ArrayList<>();
@@ -36,6 +63,26 @@ public class GraphManager {
     private static final double NODE_RADIUS = 22;
     private static final double BOUNDARY_MARGIN = NODE_RADIUS + 15; // Safe boundary for node placement
     private Pane graphCanvas;
+    // Above this many nodes the page switches to drawing on a single Canvas (-Dalgobot.graph.canvasThreshold=N)
+    private static final int CANVAS_MODE_THRESHOLD = Integer.getInteger("algobot.graph.canvasThreshold", 400);
+    private GraphCanvasRenderer canvasRenderer; // non-null while in canvas mode
+    // From this many nodes all-pairs runs accelerated: Johnson or blocked Floyd-Warshall (-Dalgobot.graph.fwAcceleratedThreshold=N)
+    private static final int FW_ACCELERATED_THRESHOLD = Integer.getInteger("algobot.graph.fwAcceleratedThreshold", 40);
+    // From this many edges Kruskal runs filter-Kruskal and skips the full sorted listing (-Dalgobot.graph.filterKruskalThreshold=N)
+    private static final int FILTER_KRUSKAL_THRESHOLD = Integer.getInteger("algobot.graph.filterKruskalThreshold", 100);
+    // Largest imported or generated graph the page will build (-Dalgobot.graph.loadMaxNodes=N, -Dalgobot.graph.loadMaxEdges=N)
+    private static final int LOAD_MAX_NODES = Integer.getInteger("algobot.graph.loadMaxNodes", 500_000);
+    private static final int LOAD_MAX_EDGES = Integer.getInteger("algobot.graph.loadMaxEdges", 1_000_000);
+    // Nodes/edges added per frame while a loaded graph streams into the page (-Dalgobot.graph.loadBatch=N)
+    private static final int LOAD_BATCH = Integer.getInteger("algobot.graph.loadBatch", 5000);
+    // Rough heap cost of one node / edge on the page (shapes, records, index entries), for the load guard
+    private static final long NODE_BYTES = 3000, EDGE_BYTES = 2000;
+    private static final String GEN_ER = "Erdős–Rényi", GEN_BA = "Barabási–Albert", GEN_GRID = "2D grid", GEN_GEOMETRIC = "Random geometric";
+    private static final double GEN_AVERAGE_DEGREE = 8;
+    private AnimationTimer loadTimer;   // streams a loaded graph into the page, one batch per frame
+    private Job loadJob;                // a graph being read or generated off the FX thread; cancelled by clear
+    private boolean bulkLoading;        // defers per-edge checkbox updates until the load is complete
+    private String canvasDragNodeId;            // node pressed on the canvas, if any
     private boolean addNodeArmed = false; // true only after clicking ADD NODE before placing
     private Button addNodeButtonRef; // reference to update button text/style when armed/disarmed
     private boolean addEdgeArmed = false; // edge creation mode toggle
@@ -47,14 +94,19 @@ public class GraphManager {
     private boolean isConfigurationComplete = false;
     private RadioButton directedRadio, undirectedRadio, weightedRadio, unweightedRadio;
     private double animationSpeed = 1.0; // Speed multiplier for algorithm animations
-    private Timeline currentVisualizationTimeline; // Track current running animation for stopping
+    private final List<StepPlayer> activePlayers = new ArrayList<>(); // one per algorithm in the current run
     private boolean isPaused = false; // Track pause state
     // Edge data
     private Map<String, Circle> nodeCircles = new HashMap<>();
-    private Set<String> edgeKeys = new HashSet<>(); // undirected key: minId|maxId
+    private final NodeGrid nodeGrid = new NodeGrid(NODE_RADIUS); // hit-testing and placement checks
+    private Map<String, EdgeRecord> edgeIndex = new HashMap<>(); // (a,b) lookup, key from edgeKey(): a->b directed, minId|maxId undirected
     
     private String selectedNodeId = null;
     private List<EdgeRecord> edges = new ArrayList<>();
+    // Adjacency index kept in sync with 'edges' (each list in creation order)
+    private Map<String, List<EdgeRecord>> outEdges = new HashMap<>();
+    private Map<String, List<EdgeRecord>> inEdges = new HashMap<>();
+    private int nextEdgeSerial = 0;
     
     // Drag-to-create edge variables
     private boolean isDraggingEdge = false;
@@ -95,6 +147,8 @@ public class GraphManager {
         Label residualBackLabel;   // small label showing residual (flow) on back edge
         // Water flow animation state
         Timeline waterDashAnim;
+        // Creation order, used to merge the out/in adjacency lists
+        int serial;
         EdgeRecord(Line l, String a, String b, double w, Label wl, Polygon ah) {
             this.line = l; 
             this.a = a; 
@@ -126,6 +180,25 @@ public class GraphManager {
         }
     }
     
+    // Frozen primitive view of the graph for one run: node i = ids.get(i) = nodes[i], edge k = edges[k].
+    // Scripts run off the FX thread and read only this, never graphNodes / edges.
+    private static class GraphSnapshot {
+        final List<String> ids;
+        final Map<String, Integer> index;
+        final CsrGraph csr;
+        final GraphNode[] nodes;
+        final EdgeRecord[] edges;
+        GraphSnapshot(List<String> ids, Map<String, Integer> index, CsrGraph csr, GraphNode[] nodes, EdgeRecord[] edges) {
+            this.ids = List.copyOf(ids);
+            this.index = Map.copyOf(index);
+            this.csr = csr;
+            this.nodes = nodes;
+            this.edges = edges;
+        }
+    }
+    private GraphSnapshot runSnapshot; // built when the run starts
+    private GraphSnapshot loadedSnapshot; // a loaded graph's snapshot, built off the FX thread; dropped by the first edit
+    
 	public void createGraphPage() {
     	common.graphContainer = new VBox(10);
     	common.graphContainer.setAlignment(Pos.TOP_CENTER);
@@ -160,7 +233,12 @@ public class GraphManager {
 	    ButtonManager.setCompactButtonDisabled(addEdgeBtn);
         addEdgeButtonRef = addEdgeBtn;
         addEdgeBtn.setOnAction(e -> { toggleAddEdgeMode(); if(addNodeArmed) toggleAddNodeMode(); });
-        firstRowButtons.getChildren().addAll(addBtn, addEdgeBtn);
+        // Load / save the whole graph as an edge list, DIMACS or binary file
+        Button importBtn = ButtonManager.createCompactButton("IMPORT", "#00ffff");
+        importBtn.setOnAction(e -> importGraph());
+        Button exportBtn = ButtonManager.createCompactButton("EXPORT", "#00ffff");
+        exportBtn.setOnAction(e -> exportGraph());
+        firstRowButtons.getChildren().addAll(addBtn, addEdgeBtn, importBtn, exportBtn);
         
         // Second row: Undo and Clear buttons (compact)
         HBox secondRowButtons = new HBox(8); // reduced spacing
@@ -194,11 +272,36 @@ public class GraphManager {
 	    pauseBtnRef = ButtonManager.createCompactButton("PAUSE", "#ffaa00");
 	    pauseBtnRef.setDisable(true); // disabled until animation is running
 	    pauseBtnRef.setOnAction(e -> togglePauseVisualization());
+	    // Frame-by-frame stepping (pauses playback first)
+	    stepBackBtnRef = ButtonManager.createCompactButton("◀ STEP", "#ffaa00");
+	    stepBackBtnRef.setDisable(true);
+	    stepBackBtnRef.setOnAction(e -> stepVisualization(-1));
+	    stepForwardBtnRef = ButtonManager.createCompactButton("STEP ▶", "#ffaa00");
+	    stepForwardBtnRef.setDisable(true);
+	    stepForwardBtnRef.setOnAction(e -> stepVisualization(1));
 	    resetVisualizationBtnRef = ButtonManager.createCompactButton("RESET VISUALIZATION", "#ff6b35");
 	    resetVisualizationBtnRef.setDisable(true); // disabled until algorithms have been run
 	    resetVisualizationBtnRef.setOnAction(e -> resetVisualizationState());
-	    fourthRow.getChildren().addAll(pauseBtnRef, resetVisualizationBtnRef);
+	    fourthRow.getChildren().addAll(stepBackBtnRef, pauseBtnRef, stepForwardBtnRef, resetVisualizationBtnRef);
 	    buttonPanel.getChildren().add(fourthRow);
+	    
+	    // Fifth row: seeded synthetic graphs for load testing (direction/weights follow the radios when set)
+	    HBox fifthRow = new HBox(8);
+	    fifthRow.setAlignment(Pos.CENTER_RIGHT);
+	    ComboBox<String> generatorBox = new ComboBox<>();
+	    generatorBox.getItems().addAll(GEN_ER, GEN_BA, GEN_GRID, GEN_GEOMETRIC);
+	    generatorBox.getSelectionModel().selectFirst();
+	    generatorBox.setStyle("-fx-font-size: 11px;");
+	    TextField genNodesField = new TextField("100");
+	    genNodesField.setPromptText("nodes");
+	    genNodesField.setPrefWidth(80);
+	    TextField genSeedField = new TextField("42");
+	    genSeedField.setPromptText("seed");
+	    genSeedField.setPrefWidth(60);
+	    Button generateBtn = ButtonManager.createCompactButton("GENERATE", "#00ffff");
+	    generateBtn.setOnAction(e -> generateGraph(generatorBox.getValue(), genNodesField.getText(), genSeedField.getText()));
+	    fifthRow.getChildren().addAll(generatorBox, genNodesField, genSeedField, generateBtn);
+	    buttonPanel.getChildren().add(fifthRow);
         
         // Add spacer and button panel to title container
         Region spacer = new Region();
@@ -283,7 +386,7 @@ public class GraphManager {
 	    algoFlow.setAlignment(Pos.CENTER_LEFT);
 	    algoFlow.setPadding(new Insets(4,8,4,8));
 	    algoFlow.setStyle("-fx-background-color: rgba(10,15,22,0.65); -fx-background-radius:10; -fx-border-radius:10; -fx-border-color:#00ffff44; -fx-border-width:1;");
-	    String[] algoNames = {"BFS","DFS","Dijkstra","Bellman-Ford","Floyd-Warshall","Prim","Kruskal"};
+	    String[] algoNames = {"BFS","DFS","Dijkstra","Bellman-Ford","Floyd-Warshall","Prim","Borůvka","Kruskal"};
 	    graphAlgoChecks.clear();
 	        
 	    for (String name : algoNames) {
@@ -458,27 +561,62 @@ public class GraphManager {
     }
     
     private void togglePauseVisualization() {
-        if (currentVisualizationTimeline == null) {
+        if (activePlayers.isEmpty()) {
             return; // No animation running
         }
-        
-        if (isPaused) {
-            // Resume animation
-            currentVisualizationTimeline.play();
-            isPaused = false;
-            if (pauseBtnRef != null) {
+        setVisualizationPaused(!isPaused);
+    }
+    
+    private void setVisualizationPaused(boolean paused) {
+        for (StepPlayer p : activePlayers) {
+            if (paused) p.pause(); else p.play();
+        }
+        isPaused = paused;
+        if (pauseBtnRef != null) {
+            if (paused) {
+                pauseBtnRef.setText("RESUME");
+                pauseBtnRef.setStyle("-fx-background-color: linear-gradient(45deg, #00ff88, #00cc66); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 8; -fx-border-radius: 8; -fx-padding: 8 16; -fx-font-size: 12px; -fx-effect: dropshadow(gaussian, rgba(0,255,136,0.5),10,0.7,0,0);");
+            } else {
                 pauseBtnRef.setText("PAUSE");
                 pauseBtnRef.setStyle("-fx-background-color: linear-gradient(45deg, #ffaa00, #ff8800); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 8; -fx-border-radius: 8; -fx-padding: 8 16; -fx-font-size: 12px; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3),5,0,0,2);");
             }
+        }
+    }
+    
+    // Moves every algorithm of the current run one frame forward or back (pausing first).
+    // Going back restores the starting visuals and runs each player's script again up to the previous frame.
+    private void stepVisualization(int delta) {
+        if (activePlayers.isEmpty()) return;
+        setVisualizationPaused(true);
+        if (delta < 0) {
+            long[] targets = new long[activePlayers.size()];
+            for (int i = 0; i < targets.length; i++) targets[i] = Math.max(0, activePlayers.get(i).position() + delta);
+            // Shared visuals first, then each player restores its own labels
+            clearGraphExplanation();
+            resetNodeColors();
+            restoreEdgeWeightLabels();
+            for (StepPlayer p : activePlayers) p.rewind();
+            for (int i = 0; i < targets.length; i++) activePlayers.get(i).seek(targets[i]);
         } else {
-            // Pause animation
-            currentVisualizationTimeline.pause();
-            isPaused = true;
-            if (pauseBtnRef != null) {
-                pauseBtnRef.setText("RESUME");
-                pauseBtnRef.setStyle("-fx-background-color: linear-gradient(45deg, #00ff88, #00cc66); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 8; -fx-border-radius: 8; -fx-padding: 8 16; -fx-font-size: 12px; -fx-effect: dropshadow(gaussian, rgba(0,255,136,0.5),10,0.7,0,0);");
-            }
+            for (StepPlayer p : activePlayers) p.seek(p.position() + delta);
         }
+        if (pauseBtnRef != null) pauseBtnRef.setDisable(allPlayersFinished());
+    }
+    
+    private boolean allPlayersFinished() {
+        for (StepPlayer p : activePlayers) if (!p.isFinished()) return false;
+        return true;
+    }
+    
+    // Starts one algorithm's animation; the script records its frames while they play
+    private void playSteps(StepPlayer.Script script, Runnable reset) {
+        StepPlayer player = new StepPlayer(script, reset, () -> animationSpeed, common.sortingStatusLabel);
+        player.setOnFinished(() -> {
+            if (allPlayersFinished() && pauseBtnRef != null) pauseBtnRef.setDisable(true);
+        });
+        activePlayers.add(player);
+        enablePauseButton();
+        player.play();
     }
     
     private void disarmAddNodeMode() {
@@ -522,7 +660,9 @@ public class GraphManager {
     
     private void undoLastEdge() {
         if (edges.isEmpty()) return;
+        loadedSnapshot = null;
         EdgeRecord last = edges.remove(edges.size() - 1);
+        if (canvasRenderer != null) canvasRenderer.removeEdge(last.line);
         graphCanvas.getChildren().remove(last.line);
         if (last.weightLabel != null) {
             graphCanvas.getChildren().remove(last.weightLabel);
@@ -530,14 +670,8 @@ public class GraphManager {
         if (last.arrowHead != null) {
             graphCanvas.getChildren().remove(last.arrowHead);
         }
-        // Remove key respecting graph type
-        if (isDirected) {
-            edgeKeys.remove(last.a + "->" + last.b);
-        } else {
-            String na = last.a.compareTo(last.b) < 0 ? last.a : last.b;
-            String nb = last.a.compareTo(last.b) < 0 ? last.b : last.a;
-            edgeKeys.remove(na + "|" + nb);
-        }
+        // Remove from lookup + adjacency index
+        unindexEdge(last);
         // Clear selection highlight if it referenced a removed node pairing
         if (selectedNodeId != null) {
             highlightNode(selectedNodeId, false);
@@ -547,9 +681,11 @@ public class GraphManager {
     
     private void removePreviousNode() {
         if (nodeOrder.isEmpty()) return;
+        loadedSnapshot = null;
         String lastId = nodeOrder.remove(nodeOrder.size() - 1);
         GraphNode node = graphNodes.remove(lastId);
         if (node != null) {
+            if (canvasRenderer != null) canvasRenderer.removeNode(lastId);
             graphCanvas.getChildren().removeIf(n ->
                 (n instanceof Circle c && Math.abs(c.getCenterX() - node.getX()) < 0.1 && Math.abs(c.getCenterY() - node.getY()) < 0.1)
                 || (n instanceof Label lbl && lbl.getText().equals(lastId)) // legacy labels (before switch to Text)
@@ -560,6 +696,7 @@ public class GraphManager {
             while (eit.hasNext()) {
                 EdgeRecord er = eit.next();
                 if (er.a.equals(lastId) || er.b.equals(lastId)) {
+                    if (canvasRenderer != null) canvasRenderer.removeEdge(er.line);
                     graphCanvas.getChildren().remove(er.line);
                     if (er.weightLabel != null) {
                         graphCanvas.getChildren().remove(er.weightLabel);
@@ -567,11 +704,12 @@ public class GraphManager {
                     if (er.arrowHead != null) {
                         graphCanvas.getChildren().remove(er.arrowHead);
                     }
-                    edgeKeys.remove(er.a + "|" + er.b);
+                    unindexEdge(er);
                     eit.remove();
                 }
             }
             nodeCircles.remove(lastId);
+            nodeGrid.remove(lastId);
             selectedNodeId = null;
         }
         try {
@@ -619,17 +757,28 @@ public class GraphManager {
     }
     
     public void clearGraph() {
+        // Abandon a graph still streaming in (or still being generated), and any animation of the old one
+        stopLoading();
+        if (loadJob != null) loadJob.cancel();
+        stopCurrentVisualization();
+        
         // Clear data structures
+        loadedSnapshot = null;
         graphNodes.clear();
         nodeOrder.clear();
         nextNodeId = 0;
         nodeCircles.clear();
-        edgeKeys.clear();
+        nodeGrid.clear();
+        edgeIndex.clear();
         edges.clear();
+        outEdges.clear();
+        inEdges.clear();
+        nextEdgeSerial = 0;
         selectedNodeId = null;
         bfsSource = null; // reset chosen source
 
         // Clear UI nodes
+        exitCanvasMode();
         if (graphCanvas != null) {
             graphCanvas.getChildren().clear();
         }
@@ -663,6 +812,198 @@ public class GraphManager {
         updateGraphAlgoButtons();
     }
     
+    // Replaces the graph with one read from a file; its direction and weighting become the configuration
+    private void importGraph() {
+        File file = GraphFileDialog.chooseOpen(graphCanvas, "Import graph");
+        if (file == null) return;
+        // Plain edge lists do not say whether they are directed: follow the radio if one is chosen
+        boolean directedHint = directedRadio != null && directedRadio.isSelected();
+        String name = file.getName();
+        if (loadJob != null) loadJob.cancel();
+        common.sortingStatusLabel.setText("Reading " + name + "...");
+        loadJob = new Job("Import", common.sortingStatusLabel).start(
+            job -> prepareLoad(GraphFile.read(file.toPath(), directedHint)), load -> loadGraphFile(load, name));
+    }
+    
+    // Builds a synthetic graph on a worker thread, then streams it into the page
+    private void generateGraph(String kind, String nodesText, String seedText) {
+        int n;
+        long seed;
+        try {
+            n = Integer.parseInt(nodesText.trim());
+            seed = Long.parseLong(seedText.trim());
+        } catch (NumberFormatException ex) {
+            common.sortingStatusLabel.setText("Generate: nodes and seed must be whole numbers.");
+            return;
+        }
+        if (n < 2) {
+            common.sortingStatusLabel.setText("Generate: need at least 2 nodes.");
+            return;
+        }
+        boolean directed = directedRadio != null && directedRadio.isSelected();
+        int maxWeight = unweightedRadio != null && unweightedRadio.isSelected() ? 0 : 20;
+        if (loadJob != null) loadJob.cancel();
+        common.sortingStatusLabel.setText("Generating " + kind + " graph with " + n + " nodes...");
+        loadJob = new Job("Generate", common.sortingStatusLabel).start(job -> prepareLoad(switch (kind) {
+            case GEN_BA -> GraphGenerators.barabasiAlbert(n, (int) Math.min(n - 1, GEN_AVERAGE_DEGREE / 2), maxWeight, seed);
+            case GEN_GRID -> {
+                int cols = (int) Math.ceil(Math.sqrt(n));
+                yield GraphGenerators.grid((n + cols - 1) / cols, cols, maxWeight, seed);
+            }
+            case GEN_GEOMETRIC -> GraphGenerators.randomGeometric(n, Math.sqrt(GEN_AVERAGE_DEGREE / (Math.PI * n)), maxWeight, seed);
+            default -> GraphGenerators.erdosRenyi(n, Math.min(1, GEN_AVERAGE_DEGREE / (n - 1)), directed, maxWeight, seed);
+        }), load -> loadGraphFile(load, kind + " (seed " + seed + ")"));
+    }
+    
+    // A read or generated graph readied on the worker thread: self-loops and repeats dropped, and the
+    // run snapshot built straight from the file's arrays. The page only has to draw it.
+    private static final class LoadedGraph {
+        final GraphFile file;      // every edge becomes a page edge, in order (the raw file when too large to load)
+        final int skipped;         // self-loops and repeated edges dropped
+        final int[] rank;          // node i's snapshot index
+        final GraphSnapshot snap;  // nodes[] and edges[] are filled in as the page draws them; null when too large
+        LoadedGraph(GraphFile file, int skipped, int[] rank, GraphSnapshot snap) {
+            this.file = file;
+            this.skipped = skipped;
+            this.rank = rank;
+            this.snap = snap;
+        }
+    }
+    
+    private static LoadedGraph prepareLoad(GraphFile raw) {
+        if (raw.n > LOAD_MAX_NODES || raw.edgeCount() > LOAD_MAX_EDGES) return new LoadedGraph(raw, 0, null, null);
+        GraphFile g = raw.simple();
+        int n = g.n, m = g.edgeCount();
+        // Page node i has id "i"; snapshot indices follow the ids' string order, as in snapshotGraph
+        List<String> ids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) ids.add(String.valueOf(i));
+        ids.sort(String::compareTo);
+        Map<String, Integer> index = new HashMap<>(2 * n);
+        int[] rank = new int[n];
+        for (int r = 0; r < n; r++) {
+            index.put(ids.get(r), r);
+            rank[Integer.parseInt(ids.get(r))] = r;
+        }
+        int[] from = new int[m], to = new int[m];
+        for (int e = 0; e < m; e++) {
+            int a = rank[g.from[e]], b = rank[g.to[e]];
+            // undirected edges are stored with the smaller id first, as loadGraphFile draws them
+            from[e] = g.directed ? a : Math.min(a, b);
+            to[e] = g.directed ? b : Math.max(a, b);
+        }
+        CsrGraph csr = CsrGraph.of(n, from, to, g.weight, g.directed);
+        return new LoadedGraph(g, raw.edgeCount() - m, rank, new GraphSnapshot(ids, index, csr, new GraphNode[n], new EdgeRecord[m]));
+    }
+    
+    // Replaces the page's graph with the loaded one. Nodes and edges are added a batch per frame, so even a
+    // million-edge graph streams in without freezing the page.
+    private void loadGraphFile(LoadedGraph load, String name) {
+        GraphFile g = load.file;
+        if (load.snap == null) {
+            common.sortingStatusLabel.setText(name + ": " + g.n + " nodes / " + g.edgeCount() + " edges is too large to draw (limit "
+                + LOAD_MAX_NODES + " / " + LOAD_MAX_EDGES + ").");
+            return;
+        }
+        Runtime rt = Runtime.getRuntime();
+        long needed = g.n * NODE_BYTES + g.edgeCount() * EDGE_BYTES;
+        long available = rt.maxMemory() - (rt.totalMemory() - rt.freeMemory());
+        if (needed > available * 0.8) {
+            common.sortingStatusLabel.setText(name + " needs about " + (needed >> 20) + " MB of heap but only " + (available >> 20)
+                + " MB is free; start with a larger -Xmx.");
+            return;
+        }
+        stopCurrentVisualization();
+        clearVisualizationLabels();
+        clearGraph();
+        
+        isDirected = g.directed;
+        isWeighted = g.weighted;
+        (isDirected ? directedRadio : undirectedRadio).setSelected(true);
+        (isWeighted ? weightedRadio : unweightedRadio).setSelected(true);
+        for (RadioButton r : new RadioButton[]{directedRadio, undirectedRadio, weightedRadio, unweightedRadio}) r.setDisable(true);
+        checkConfigurationComplete();
+        
+        double width = graphCanvas.getWidth() > 0 ? graphCanvas.getWidth() : 900;
+        double height = graphCanvas.getHeight() > 0 ? graphCanvas.getHeight() : 520;
+        double gap = NODE_RADIUS * 2 + 16;
+        // Too many shapes for the scene graph, or more nodes than fit the view: start on the zoomable canvas
+        if (g.n >= CANVAS_MODE_THRESHOLD || g.edgeCount() >= CANVAS_MODE_THRESHOLD
+                || !GraphFileDialog.fits(g, width, height, BOUNDARY_MARGIN, gap)) {
+            enterCanvasMode();
+        }
+        double[] xy = GraphFileDialog.place(g, width, height, BOUNDARY_MARGIN, gap);
+        nextNodeId = g.n;
+        
+        bulkLoading = true;
+        int[] done = {0, 0}; // nodes added, edges added
+        loadTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                int budget = LOAD_BATCH;
+                for (; done[0] < g.n && budget > 0; done[0]++, budget--) {
+                    String id = String.valueOf(done[0]);
+                    addNodeAtPosition(id, xy[2 * done[0]], xy[2 * done[0] + 1]);
+                    load.snap.nodes[load.rank[done[0]]] = graphNodes.get(id);
+                }
+                for (; done[0] == g.n && done[1] < g.edgeCount() && budget > 0; done[1]++, budget--) {
+                    int e = done[1];
+                    CsrGraph csr = load.snap.csr;
+                    String a = load.snap.ids.get(csr.from[e]), b = load.snap.ids.get(csr.to[e]);
+                    finalizeEdgeCreation(a, b, edgeKey(a, b), nodeCircles.get(a), nodeCircles.get(b), g.weight[e]);
+                    load.snap.edges[e] = edges.get(edges.size() - 1);
+                }
+                if (done[0] < g.n || done[1] < g.edgeCount()) {
+                    common.sortingStatusLabel.setText("Loading " + name + ": " + done[0] + "/" + g.n + " nodes, "
+                        + done[1] + "/" + g.edgeCount() + " edges...");
+                    return;
+                }
+                stopLoading();
+                loadedSnapshot = load.snap;
+                enableAlgorithmCheckboxesIfReady();
+                updateGraphAlgoButtons();
+                common.sortingStatusLabel.setText("Loaded " + name + ": " + g.n + " nodes, " + edges.size() + " edges"
+                    + (load.skipped > 0 ? " (" + load.skipped + " self-loops/duplicates skipped)" : "") + ".");
+            }
+        };
+        loadTimer.start();
+    }
+    
+    private void stopLoading() {
+        if (loadTimer != null) loadTimer.stop();
+        loadTimer = null;
+        bulkLoading = false;
+    }
+    
+    // Writes the graph in the format the chosen extension names; nodes are renumbered 0..n-1 in id order
+    private void exportGraph() {
+        if (graphNodes.isEmpty()) {
+            common.sortingStatusLabel.setText("Nothing to export: add nodes first.");
+            return;
+        }
+        File file = GraphFileDialog.chooseSave(graphCanvas, "Export graph", "graph.txt");
+        if (file == null) return;
+        List<String> ids = new ArrayList<>(graphNodes.keySet());
+        ids.sort(Comparator.comparingInt(Integer::parseInt));
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) index.put(ids.get(i), i);
+        int m = edges.size();
+        int[] from = new int[m], to = new int[m];
+        double[] w = new double[m];
+        for (int k = 0; k < m; k++) {
+            EdgeRecord er = edges.get(k);
+            from[k] = index.get(er.a);
+            to[k] = index.get(er.b);
+            w[k] = er.weight;
+        }
+        int source = bfsSource != null ? index.get(bfsSource.getId()) : -1;
+        try {
+            GraphFile.write(file.toPath(), new GraphFile(ids.size(), from, to, w, isDirected, isWeighted, source, -1));
+            common.sortingStatusLabel.setText("Exported " + ids.size() + " nodes, " + m + " edges to " + file.getName() + ".");
+        } catch (IOException ex) {
+            common.sortingStatusLabel.setText("Export failed: " + ex.getMessage());
+        }
+    }
+    
     private void enableSourceSelection(){
         if (bfsSource != null) return; // already chosen
         common.sortingStatusLabel.setText("Select a node as the source.");
@@ -789,41 +1130,30 @@ public class GraphManager {
     }
     
     private void stopCurrentVisualization() {
-        // Stop any currently running visualization timeline
-        if (currentVisualizationTimeline != null) {
-            currentVisualizationTimeline.stop();
-            currentVisualizationTimeline = null;
-        }
-        // Reset pause state and disable pause button
+        // Stop any currently running visualization
+        for (StepPlayer p : activePlayers) p.stop();
+        activePlayers.clear();
+        // Reset pause state and disable pause/step buttons
         isPaused = false;
         if (pauseBtnRef != null) {
             pauseBtnRef.setDisable(true);
             pauseBtnRef.setText("PAUSE");
             pauseBtnRef.setStyle("-fx-background-color: linear-gradient(45deg, #ffaa00, #ff8800); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 8; -fx-border-radius: 8; -fx-padding: 8 16; -fx-font-size: 12px; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3),5,0,0,2);");
         }
+        if (stepBackBtnRef != null) stepBackBtnRef.setDisable(true);
+        if (stepForwardBtnRef != null) stepForwardBtnRef.setDisable(true);
     }
     
     private void enablePauseButton() {
-        // Enable pause button when animation starts
+        // Enable pause/step buttons when animation starts
         isPaused = false;
         if (pauseBtnRef != null) {
             pauseBtnRef.setDisable(false);
             pauseBtnRef.setText("PAUSE");
             pauseBtnRef.setStyle("-fx-background-color: linear-gradient(45deg, #ffaa00, #ff8800); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 8; -fx-border-radius: 8; -fx-padding: 8 16; -fx-font-size: 12px; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3),5,0,0,2);");
         }
-        
-        // Set up completion handler for current timeline
-        if (currentVisualizationTimeline != null) {
-            currentVisualizationTimeline.setOnFinished(e -> {
-                isPaused = false;
-                if (pauseBtnRef != null) {
-                    pauseBtnRef.setDisable(true);
-                    pauseBtnRef.setText("PAUSE");
-                    pauseBtnRef.setStyle("-fx-background-color: linear-gradient(45deg, #ffaa00, #ff8800); -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 8; -fx-border-radius: 8; -fx-padding: 8 16; -fx-font-size: 12px; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3),5,0,0,2);");
-                }
-                currentVisualizationTimeline = null;  // Clear reference when animation completes
-            });
-        }
+        if (stepBackBtnRef != null) stepBackBtnRef.setDisable(false);
+        if (stepForwardBtnRef != null) stepForwardBtnRef.setDisable(false);
     }
     
     private void restoreNodeClickHandlers(){
@@ -852,12 +1182,16 @@ public class GraphManager {
         System.out.println("DEBUG: Dijkstra selected=" + isSelected("Dijkstra"));
         System.out.println("DEBUG: Bellman-Ford selected=" + isSelected("Bellman-Ford"));
         
+        // Freeze the graph once; every algorithm below works on the same primitive snapshot
+        runSnapshot = snapshotGraph();
+        
         if (isSelected("BFS")) visualizeBFS(bfsSource);
         if (isSelected("DFS")) visualizeDFS(bfsSource);
         if (isSelected("Dijkstra")) visualizeDijkstra(bfsSource);
         if (isSelected("Bellman-Ford")) visualizeBellmanFord(bfsSource);
         if (isSelected("Floyd-Warshall")) visualizeFloydWarshall();
         if (isSelected("Prim")) visualizePrim();
+        if (isSelected("Borůvka")) visualizeBoruvka();
         if (isSelected("Kruskal")) visualizeKruskal();
         
         // Enable the Reset Visualization button after algorithms have been executed
@@ -876,136 +1210,134 @@ public class GraphManager {
     	return cb!=null && cb.isSelected(); 
     }
     
+    private GraphSnapshot snapshotGraph() {
+        if (loadedSnapshot != null) return loadedSnapshot;
+        List<String> ids = new ArrayList<>(graphNodes.keySet());
+        ids.sort(String::compareTo); // index order = id order (DFS explores neighbours in id order)
+        Map<String, Integer> index = new HashMap<>();
+        for(int i = 0; i < ids.size(); i++) index.put(ids.get(i), i);
+        GraphNode[] nodes = new GraphNode[ids.size()];
+        for(int i = 0; i < nodes.length; i++) nodes[i] = graphNodes.get(ids.get(i));
+        EdgeRecord[] recs = edges.toArray(new EdgeRecord[0]);
+        int m = recs.length;
+        int[] from = new int[m], to = new int[m];
+        double[] w = new double[m];
+        for(int k = 0; k < m; k++) {
+            EdgeRecord er = recs[k];
+            from[k] = index.get(er.a);
+            to[k] = index.get(er.b);
+            w[k] = er.weight;
+        }
+        return new GraphSnapshot(ids, index, CsrGraph.of(ids.size(), from, to, w, isDirected), nodes, recs);
+    }
+    
     private void visualizeBFS(GraphNode start){
         // Reset all node colors first
         resetNodeColors();
         
-        Queue<GraphNode> q = new ArrayDeque<>();
-        Set<GraphNode> visited = new HashSet<>();
-        q.add(start); visited.add(start);
-        
-        Timeline tl = new Timeline();
-        int step = 0;
-        
-        // Highlight starting node
-        Circle startCircle = start.getCircle();
-        tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(step * 600)), e -> {
-            startCircle.setFill(Color.web("#e74c3c")); // Red for start
-            startCircle.setStroke(Color.web("#c0392b"));
-            startCircle.setStrokeWidth(4);
-            common.sortingStatusLabel.setText("BFS: Starting from node " + start.getId());
-            updateGraphExplanation("BFS START: Enqueue " + start.getId());
-        }));
-        step++;
-        
-        while(!q.isEmpty()){
-            GraphNode current = q.poll();
-            Circle currentCircle = current.getCircle();
-            if(currentCircle == null) continue;
-            
-            final int currentStep = step;
-            
-            // Highlight current node being processed
-            tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(currentStep * 600)), e -> {
-                currentCircle.setFill(Color.web("#f39c12")); // Orange for processing
-                currentCircle.setStroke(Color.web("#e67e22"));
-                currentCircle.setStrokeWidth(4);
-                common.sortingStatusLabel.setText("BFS: Processing node " + current.getId());
-                updateGraphExplanation("BFS PROCESS: Dequeue " + current.getId());
-            }));
-            
-            // Find neighbors and add them to queue
-            List<GraphNode> neighbors = new ArrayList<>();
-            for(EdgeRecord er: edges) {
-                GraphNode neighbor = null;
-                Line edge = er.line;
-                
-                if(er.a.equals(current.getId())) {
-                    neighbor = graphNodes.get(er.b);
-                } else if(!isDirected && er.b.equals(current.getId())) {
-                    neighbor = graphNodes.get(er.a);
+        GraphSnapshot snap = runSnapshot;
+        playSteps(out -> {
+            int[] stepRef = {0};
+        
+            // Highlight starting node
+            Circle startCircle = start.getCircle();
+            out.at(stepRef[0] * 600, () -> {
+                startCircle.setFill(Color.web("#e74c3c")); // Red for start
+                startCircle.setStroke(Color.web("#c0392b"));
+                startCircle.setStrokeWidth(4);
+                common.sortingStatusLabel.setText("BFS: Starting from node " + start.getId());
+                updateGraphExplanation("BFS START: Enqueue " + start.getId());
+            });
+            stepRef[0]++;
+        
+            BfsEngine.run(snap.csr, snap.index.get(start.getId()), new BfsListener() {
+                @Override
+                public void onDequeue(int node) {
+                    final GraphNode current = snap.nodes[node];
+                    final Circle currentCircle = current.getCircle();
+                    // Highlight current node being processed
+                    out.at(stepRef[0] * 600, () -> {
+                        if(currentCircle != null) {
+                            currentCircle.setFill(Color.web("#f39c12")); // Orange for processing
+                            currentCircle.setStroke(Color.web("#e67e22"));
+                            currentCircle.setStrokeWidth(4);
+                        }
+                        common.sortingStatusLabel.setText("BFS: Processing node " + current.getId());
+                        updateGraphExplanation("BFS PROCESS: Dequeue " + current.getId());
+                    });
                 }
-                
-                if(neighbor != null && visited.add(neighbor)) {
-                    q.add(neighbor);
-                    neighbors.add(neighbor);
-                    
-                    final GraphNode finalNeighbor = neighbor;
-                    final Line finalEdge = edge;
-                    
+            
+                @Override
+                public void onDiscover(int edge, int from, int to) {
+                    final String currentId = snap.ids.get(from);
+                    final GraphNode neighbor = snap.nodes[to];
+                    final Line line = snap.edges[edge].line;
+                    final int currentStep = stepRef[0];
                     // Highlight edge traversal
-                    tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(currentStep * 600 + 200)), e -> {
-                        finalEdge.setStroke(Color.web("#3498db"));
-                        finalEdge.setStrokeWidth(4);
-                        updateGraphExplanation("BFS EDGE: Explore " + current.getId() + " → " + finalNeighbor.getId());
-                    }));
-                    
+                    out.at(currentStep * 600 + 200, () -> {
+                        line.setStroke(Color.web("#3498db"));
+                        line.setStrokeWidth(4);
+                        updateGraphExplanation("BFS EDGE: Explore " + currentId + " → " + neighbor.getId());
+                    });
+                
                     // Highlight discovered neighbor
-                    tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(currentStep * 600 + 400)), e -> {
-                        Circle nc = finalNeighbor.getCircle();
+                    out.at(currentStep * 600 + 400, () -> {
+                        Circle nc = neighbor.getCircle();
                         if(nc != null) {
                             nc.setFill(Color.web("#3498db")); // Blue for discovered
                             nc.setStroke(Color.web("#2980b9"));
                             nc.setStrokeWidth(3);
                         }
-                        updateGraphExplanation("BFS DISCOVER: Mark & enqueue " + finalNeighbor.getId());
-                    }));
+                        updateGraphExplanation("BFS DISCOVER: Mark & enqueue " + neighbor.getId());
+                    });
                 }
-            }
             
-            // Mark current node as completely processed
-            tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(currentStep * 600 + 600)), e -> {
-                currentCircle.setFill(Color.web("#27ae60")); // Green for completed
-                currentCircle.setStroke(Color.web("#229954"));
-                updateGraphExplanation("BFS DONE: Finished " + current.getId());
-            }));
-            
-            step++;
-        }
-        
-        // Final completion message
-        tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(step * 600)), e -> {
-        	common.sortingStatusLabel.setText("BFS: Traversal complete!");
-            updateGraphExplanation("BFS COMPLETE");
-        }));
+                @Override
+                public void onDone(int node) {
+                    final GraphNode current = snap.nodes[node];
+                    final Circle currentCircle = current.getCircle();
+                    // Mark current node as completely processed
+                    out.at(stepRef[0] * 600 + 600, () -> {
+                        if(currentCircle != null) {
+                            currentCircle.setFill(Color.web("#27ae60")); // Green for completed
+                            currentCircle.setStroke(Color.web("#229954"));
+                        }
+                        updateGraphExplanation("BFS DONE: Finished " + current.getId());
+                    });
+                    stepRef[0]++;
+                }
+            });
+            int step = stepRef[0];
         
-        // Store timeline for potential stopping and play
-        currentVisualizationTimeline = tl;
-        enablePauseButton();
-        tl.play();
+            // Final completion message
+            out.at(step * 600, () -> {
+            	common.sortingStatusLabel.setText("BFS: Traversal complete!");
+                updateGraphExplanation("BFS COMPLETE");
+            });
+        }, this::resetNodeColors);
     }
     private void visualizeDFS(GraphNode start){
         // Reset all node colors first
         resetNodeColors();
         
-        Set<GraphNode> visited = new HashSet<>();
-        List<DFSStep> dfsSteps = new ArrayList<>();
-        
-        // Generate DFS steps with proper recursion simulation
-        generateDFSSteps(start, visited, dfsSteps, 0);
-        
-        // Create timeline animation for the steps
-        Timeline tl = new Timeline();
-        
-        for(int i = 0; i < dfsSteps.size(); i++) {
-            DFSStep step = dfsSteps.get(i);
-            final int stepIndex = i;
+        GraphSnapshot snap = runSnapshot;
+        playSteps(out -> {
+            int[] stepIndex = {0};
             
-            tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(stepIndex * 600)), e -> {
-                executeDrawStep(step, stepIndex);
-            }));
-        }
-        
-        // Final completion message
-        tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(dfsSteps.size() * 600)), e -> {
-        	common.sortingStatusLabel.setText("DFS: Depth-first traversal complete!");
-            updateGraphExplanation("DFS COMPLETE");
-        }));
-        
-        // Store timeline for potential stopping and play
-        currentVisualizationTimeline = tl;
-        enablePauseButton();
-        tl.play();
+            // Generate DFS steps on the run snapshot, each one animated as it is produced
+            generateDFSSteps(snap, start, step -> {
+                final int index = stepIndex[0]++;
+                out.at(index * 600, () -> {
+                    executeDrawStep(step, index);
+                });
+            });
+            
+            // Final completion message
+            out.at(stepIndex[0] * 600, () -> {
+            	common.sortingStatusLabel.setText("DFS: Depth-first traversal complete!");
+                updateGraphExplanation("DFS COMPLETE");
+            });
+        }, this::resetNodeColors);
     }
     
     private void resetNodeColors() {
@@ -1025,10 +1357,6 @@ public class GraphManager {
         }
     }
     
-    private int getAnimationDelay(int baseDelay) {
-        return (int) (baseDelay / animationSpeed);
-    }
-    
     private void updateGraphExplanation(String text) {
         System.out.println("DEBUG: updateGraphExplanation called with text: " + text);
         System.out.println("DEBUG: graphExplanationArea is null: " + (graphExplanationArea == null));
@@ -1050,52 +1378,38 @@ public class GraphManager {
         System.out.println("DEBUG: graphExplanationArea updated successfully");
     }
     
-    private void generateDFSSteps(GraphNode current, Set<GraphNode> visited, List<DFSStep> steps, int depth) {
-        // Check if already visited
-        if (visited.contains(current)) {
-            return;
-        }
-        
-        // Visit current node
-        visited.add(current);
-        steps.add(new DFSStep(DFSStep.Type.VISIT, current.getId(), null, depth));
-        
-        // Find all neighbors in consistent order (by node ID)
-        List<String> neighbors = new ArrayList<>();
-        for(EdgeRecord er: edges) {
-            if(er.a.equals(current.getId())) {
-                // For directed graphs, only follow outgoing edges
-                neighbors.add(er.b);
-            } else if(!isDirected && er.b.equals(current.getId())) {
-                // For undirected graphs, can go both ways
-                neighbors.add(er.a);
+    private void generateDFSSteps(GraphSnapshot snap, GraphNode start, Consumer<DFSStep> steps) {
+        List<String> ids = snap.ids;
+        // Snapshot ids are in String order, so the engine's index order matches the old sorted-id exploration
+        DfsEngine.run(snap.csr, snap.index.get(start.getId()), new DfsListener() {
+            @Override
+            public void onVisit(int node, int depth) {
+                steps.accept(new DFSStep(DFSStep.Type.VISIT, ids.get(node), null, depth));
             }
-        }
-        
-        // Sort neighbors for consistent ordering
-        neighbors.sort(String::compareTo);
-        
-        // Explore each neighbor
-        for(String neighborId : neighbors) {
-            GraphNode neighbor = graphNodes.get(neighborId);
-            if(neighbor != null) {
+            
+            @Override
+            public void onExplore(int from, int to, int depth) {
                 // Always show edge exploration
-                steps.add(new DFSStep(DFSStep.Type.EXPLORE_EDGE, current.getId(), neighborId, depth));
-                
-                if(!visited.contains(neighbor)) {
-                    // Recursive exploration only if not visited
-                    generateDFSSteps(neighbor, visited, steps, depth + 1);
-                    // Add backtrack step after returning from recursion
-                    steps.add(new DFSStep(DFSStep.Type.BACKTRACK, current.getId(), neighborId, depth));
-                } else {
-                    // Neighbor already visited; schedule edge reset to remove orange highlight
-                    steps.add(new DFSStep(DFSStep.Type.EDGE_RESET, current.getId(), neighborId, depth));
-                }
+                steps.accept(new DFSStep(DFSStep.Type.EXPLORE_EDGE, ids.get(from), ids.get(to), depth));
             }
-        }
-        
-        // Finish processing current node
-        steps.add(new DFSStep(DFSStep.Type.FINISH, current.getId(), null, depth));
+            
+            @Override
+            public void onBacktrack(int from, int to, int depth) {
+                // Add backtrack step once the child is finished
+                steps.accept(new DFSStep(DFSStep.Type.BACKTRACK, ids.get(from), ids.get(to), depth));
+            }
+            
+            @Override
+            public void onSkip(int from, int to, int depth) {
+                // Neighbor already visited; schedule edge reset to remove orange highlight
+                steps.accept(new DFSStep(DFSStep.Type.EDGE_RESET, ids.get(from), ids.get(to), depth));
+            }
+            
+            @Override
+            public void onFinish(int node, int depth) {
+                steps.accept(new DFSStep(DFSStep.Type.FINISH, ids.get(node), null, depth));
+            }
+        });
     }
     
     private void executeDrawStep(DFSStep step, int stepIndex) {
@@ -1164,13 +1478,45 @@ public class GraphManager {
     }
     
     private EdgeRecord findEdge(String nodeA, String nodeB) {
-        for(EdgeRecord er : edges) {
-            if((er.a.equals(nodeA) && er.b.equals(nodeB)) ||
-               (!isDirected && er.b.equals(nodeA) && er.a.equals(nodeB))) {
-                return er;
-            }
+        if (!isDirected && nodeA.compareTo(nodeB) > 0) {
+            return edgeIndex.get(edgeKey(nodeB, nodeA));
         }
-        return null;
+        return edgeIndex.get(edgeKey(nodeA, nodeB));
+    }
+    
+    // Lookup key for an edge record (undirected records are stored with a < b)
+    private String edgeKey(String a, String b) {
+        return isDirected ? a + "->" + b : a + "|" + b;
+    }
+    
+    private void indexEdge(EdgeRecord er) {
+        er.serial = nextEdgeSerial++;
+        edgeIndex.put(edgeKey(er.a, er.b), er);
+        outEdges.computeIfAbsent(er.a, k -> new ArrayList<>()).add(er);
+        inEdges.computeIfAbsent(er.b, k -> new ArrayList<>()).add(er);
+    }
+    
+    private void unindexEdge(EdgeRecord er) {
+        edgeIndex.remove(edgeKey(er.a, er.b));
+        List<EdgeRecord> out = outEdges.get(er.a);
+        if (out != null) { out.remove(er); if (out.isEmpty()) outEdges.remove(er.a); }
+        List<EdgeRecord> in = inEdges.get(er.b);
+        if (in != null) { in.remove(er); if (in.isEmpty()) inEdges.remove(er.b); }
+    }
+    
+    // Edges leaving nodeId (plus entering ones when bothWays), in creation order like a scan of 'edges'
+    private List<EdgeRecord> adjacentEdges(String nodeId, boolean bothWays) {
+        List<EdgeRecord> out = outEdges.getOrDefault(nodeId, Collections.emptyList());
+        List<EdgeRecord> in = bothWays ? inEdges.getOrDefault(nodeId, Collections.emptyList()) : Collections.emptyList();
+        if (in.isEmpty()) return out;
+        if (out.isEmpty()) return in;
+        List<EdgeRecord> merged = new ArrayList<>(out.size() + in.size());
+        int i = 0, j = 0;
+        while (i < out.size() || j < in.size()) {
+            if (j >= in.size() || (i < out.size() && out.get(i).serial < in.get(j).serial)) merged.add(out.get(i++));
+            else merged.add(in.get(j++));
+        }
+        return merged;
     }
     
     private void visualizeDijkstra(GraphNode start){
@@ -1179,152 +1525,126 @@ public class GraphManager {
 	    // Clear previous labels & create fresh ∞ labels
 	    resetDijkstraLabels();
 	    for(GraphNode gn: graphNodes.values()) ensureDijkstraLabel(gn);
-	    updateGraphExplanation("Dijkstra INIT: All distances set to ∞ except source.");
 	    
 	    final int BASE_STEP_MS = 1200;          // Increased from 600 for slower visualization
 	    final int CHECK_EDGE_OFFSET = 300;      // Increased from 150 for more clear edge checking
 	    final int RELAX_OFFSET = 600;           // Increased from 300 for better relaxation visualization  
 	    final int SETTLE_OFFSET = 900;          // Increased from 450 for clearer node settling         
         
-        Map<String, Double> dist = new HashMap<>();
-        Map<String, String> parent = new HashMap<>();
-        Set<String> visited = new HashSet<>();
-        
-        // Initialize distances
-        for(String id: graphNodes.keySet()) {
-            dist.put(id, Double.POSITIVE_INFINITY);
-        }
-        dist.put(start.getId(), 0.0);
-        
-        PriorityQueue<String> pq = new PriorityQueue<>(Comparator.comparingDouble(dist::get));
-        pq.add(start.getId());
-        
-        Timeline tl = new Timeline();
-        int step = 0;
-        
-        // Highlight starting node with enhanced visibility
-        Circle startCircle = start.getCircle();
-        tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(step * BASE_STEP_MS)), e -> {
-            startCircle.setFill(Color.web("#e74c3c")); // Red for start
-            startCircle.setStroke(Color.web("#c0392b"));
-            startCircle.setStrokeWidth(6); // Thicker stroke for source node
-            common.sortingStatusLabel.setText("Dijkstra: Starting from node " + start.getId() + " (distance: 0)");
-            Label lbl = dijkstraDistLabels.get(start.getId()); if(lbl!=null) lbl.setText("0");
-            updateGraphExplanation("Source set: distance["+start.getId()+"] = 0");
-        }));
-        step++;
-        
-        while(!pq.isEmpty()) {
-            String currentId = pq.poll();
-            if(visited.contains(currentId)) continue;
-            visited.add(currentId);
-            
-            GraphNode current = graphNodes.get(currentId);
-            Circle currentCircle = current.getCircle();
-            if(currentCircle == null) continue;
-            
-            final int currentStep = step;
-            final double currentDist = dist.get(currentId);
-            
-            // Highlight current node being processed
-            tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(currentStep * BASE_STEP_MS)), e -> {
-                // Reset all edge colors to default first for better step-by-step visualization
-                for(EdgeRecord resetEdge : edges) {
-                    if(resetEdge.line != null) {
-                        resetEdge.line.setStroke(Color.web("#00ffff"));
-                        resetEdge.line.setStrokeWidth(1.0);
-                    }
+        // Engine events carry snapshot indices; map back to ids / lines when emitting frames
+        GraphSnapshot snap = runSnapshot;
+        List<String> ids = snap.ids;
+        double[] w = snap.csr.weight;
+        
+        playSteps(out -> {
+            int[] stepRef = {0};
+        
+            // Highlight starting node with enhanced visibility
+            Circle startCircle = start.getCircle();
+            out.at(stepRef[0] * BASE_STEP_MS, () -> {
+                startCircle.setFill(Color.web("#e74c3c")); // Red for start
+                startCircle.setStroke(Color.web("#c0392b"));
+                startCircle.setStrokeWidth(6); // Thicker stroke for source node
+                common.sortingStatusLabel.setText("Dijkstra: Starting from node " + start.getId() + " (distance: 0)");
+                Label lbl = dijkstraDistLabels.get(start.getId()); if(lbl!=null) lbl.setText("0");
+                updateGraphExplanation("Dijkstra INIT: All distances set to ∞ except source.");
+                updateGraphExplanation("Source set: distance["+start.getId()+"] = 0");
+            });
+            stepRef[0]++;
+        
+            DijkstraEngine.run(snap.csr, snap.index.get(start.getId()), new DijkstraListener() {
+                @Override
+                public void onExtract(int node, double currentDist) {
+                    final String currentId = ids.get(node);
+                    final Circle currentCircle = snap.nodes[node].getCircle();
+                    // Highlight current node being processed
+                    out.at(stepRef[0] * BASE_STEP_MS, () -> {
+                        // Reset all edge colors to default first for better step-by-step visualization
+                        for(EdgeRecord resetEdge : edges) {
+                            if(resetEdge.line != null) {
+                                resetEdge.line.setStroke(Color.web("#00ffff"));
+                                resetEdge.line.setStrokeWidth(1.0);
+                            }
+                        }
+                        if(currentCircle != null) {
+                            currentCircle.setFill(Color.web("#9b59b6")); // Purple for processing
+                            currentCircle.setStroke(Color.web("#8e44ad"));
+                            currentCircle.setStrokeWidth(4);
+                        }
+                        common.sortingStatusLabel.setText("Dijkstra: Processing node " + currentId + " (distance: " + formatDist(currentDist) + ")");
+                        updateGraphExplanation("EXTRACT MIN: " + currentId + " with distance " + formatDist(currentDist));
+                    });
                 }
-                
-                currentCircle.setFill(Color.web("#9b59b6")); // Purple for processing
-                currentCircle.setStroke(Color.web("#8e44ad"));
-                currentCircle.setStrokeWidth(4);
-                common.sortingStatusLabel.setText("Dijkstra: Processing node " + currentId + " (distance: " + formatDist(currentDist) + ")");
-                updateGraphExplanation("EXTRACT MIN: " + currentId + " with distance " + formatDist(currentDist));
-            }));
             
-            // Check all neighbors for relaxation
-            for(EdgeRecord er: edges) {
-                String neighborId = null;
-                double weight = er.weight;
-                
-                if(er.a.equals(currentId)) {
-                    neighborId = er.b;
-                } else if(!isDirected && er.b.equals(currentId)) {
-                    neighborId = er.a;
-                }
-                
-                if(neighborId != null && !visited.contains(neighborId)) {
-                    double newDist = dist.get(currentId) + weight;
+                @Override
+                public void onRelax(int edge, int u, int v, double newDist) {
+                    final String currentId = ids.get(u), neighborId = ids.get(v);
+                    final double weight = w[edge];
+                    final Line line = snap.edges[edge].line;
+                    final int currentStep = stepRef[0];
+                    // Highlight edge being relaxed with better visibility
+                    out.at(currentStep * BASE_STEP_MS + CHECK_EDGE_OFFSET, () -> {
+                        line.setStroke(Color.web("#f39c12")); // Orange for relaxation attempt
+                        line.setStrokeWidth(5); // Increased width for better visibility
+                        updateGraphExplanation("CHECK edge " + currentId + " → " + neighborId + " (w=" + formatDist(weight) + ")");
+                    });
+                    // Update neighbor distance (successful relaxation) with enhanced visual feedback
+                    out.at(currentStep * BASE_STEP_MS + RELAX_OFFSET, () -> {
+                        Circle nc = snap.nodes[v].getCircle();
+                        if(nc != null) {
+                            nc.setFill(Color.web("#3498db")); // Blue for updated
+                            nc.setStroke(Color.web("#2980b9"));
+                            nc.setStrokeWidth(4); // Increased for better visibility
+                        }
+                        // Make the relaxed edge green to show successful relaxation
+                        line.setStroke(Color.web("#27ae60")); // Green for successful relaxation
+                        line.setStrokeWidth(4);
                     
-                    if(newDist < dist.get(neighborId)) {
-                        dist.put(neighborId, newDist);
-                        parent.put(neighborId, currentId);
-                        pq.remove(neighborId);
-                        pq.add(neighborId);
-                        
-                        final String finalNeighborId = neighborId;
-                        final double finalNewDist = newDist;
-                        final Line edge = er.line;
-                        
-                        // Highlight edge being relaxed with better visibility
-                        tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(currentStep * BASE_STEP_MS + CHECK_EDGE_OFFSET)), e -> {
-                            edge.setStroke(Color.web("#f39c12")); // Orange for relaxation attempt
-                            edge.setStrokeWidth(5); // Increased width for better visibility
-                            updateGraphExplanation("CHECK edge " + currentId + " → " + finalNeighborId + " (w=" + formatDist(weight) + ")");
-                        }));
-
-                        // Update neighbor distance (successful relaxation) with enhanced visual feedback
-                        tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(currentStep * BASE_STEP_MS + RELAX_OFFSET)), e -> {
-                            Circle nc = graphNodes.get(finalNeighborId).getCircle();
-                            if(nc != null) {
-                                nc.setFill(Color.web("#3498db")); // Blue for updated
-                                nc.setStroke(Color.web("#2980b9"));
-                                nc.setStrokeWidth(4); // Increased for better visibility
-                            }
-                            // Make the relaxed edge green to show successful relaxation
-                            edge.setStroke(Color.web("#27ae60")); // Green for successful relaxation
-                            edge.setStrokeWidth(4);
-                            
-                            Label lbl = dijkstraDistLabels.get(finalNeighborId); if(lbl!=null) lbl.setText(formatDist(finalNewDist));
-                            common.sortingStatusLabel.setText("Dijkstra: Updated distance to " + finalNeighborId + ": " + formatDist(finalNewDist));
-                            updateGraphExplanation("RELAX: distance["+finalNeighborId+"] = " + formatDist(finalNewDist) + " via " + currentId);
-                        }));
-                    } else {
-                        final String skipNeighbor = neighborId;
-                        final double altDist = newDist;
-                        final Line edge2 = er.line;
-                        // Show edge being checked but not relaxed with better visual feedback
-                        tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(currentStep * BASE_STEP_MS + CHECK_EDGE_OFFSET)), e -> {
-                            edge2.setStroke(Color.web("#e74c3c")); // Red for no improvement
-                            edge2.setStrokeWidth(3); // Thicker for better visibility
-                            updateGraphExplanation("NO IMPROVEMENT: edge " + currentId + " → " + skipNeighbor + " alt=" + formatDist(altDist) + " ≥ current " + formatDist(dist.get(skipNeighbor)));
-                        }));
-                    }
+                        Label lbl = dijkstraDistLabels.get(neighborId); if(lbl!=null) lbl.setText(formatDist(newDist));
+                        common.sortingStatusLabel.setText("Dijkstra: Updated distance to " + neighborId + ": " + formatDist(newDist));
+                        updateGraphExplanation("RELAX: distance["+neighborId+"] = " + formatDist(newDist) + " via " + currentId);
+                    });
                 }
-            }
             
-            // Mark current node as completed with enhanced visual feedback
-            tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(currentStep * BASE_STEP_MS + SETTLE_OFFSET)), e -> {
-                currentCircle.setFill(Color.web("#27ae60")); // Green for completed
-                currentCircle.setStroke(Color.web("#229954"));
-                currentCircle.setStrokeWidth(5); // Thicker stroke for settled nodes
-                updateGraphExplanation("SETTLED: " + currentId + " final distance = " + formatDist(dist.get(currentId)));
-            }));
+                @Override
+                public void onNoImprovement(int edge, int u, int v, double alt, double current) {
+                    final String currentId = ids.get(u), skipNeighbor = ids.get(v);
+                    final Line line = snap.edges[edge].line;
+                    // Show edge being checked but not relaxed with better visual feedback
+                    out.at(stepRef[0] * BASE_STEP_MS + CHECK_EDGE_OFFSET, () -> {
+                        line.setStroke(Color.web("#e74c3c")); // Red for no improvement
+                        line.setStrokeWidth(3); // Thicker for better visibility
+                        updateGraphExplanation("NO IMPROVEMENT: edge " + currentId + " → " + skipNeighbor + " alt=" + formatDist(alt) + " ≥ current " + formatDist(current));
+                    });
+                }
             
-            step++;
-        }
-        
-        // Final completion message
-	    tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(step * BASE_STEP_MS)), e -> {
-	    	common.sortingStatusLabel.setText("Dijkstra: Shortest path algorithm complete!");
-	            updateGraphExplanation("DIJKSTRA COMPLETE");
-	    }));
-        
-        // Store timeline for potential stopping and play
-        currentVisualizationTimeline = tl;
-        enablePauseButton();
-        tl.play();
+                @Override
+                public void onSettle(int node, double finalDist) {
+                    final String currentId = ids.get(node);
+                    final Circle currentCircle = snap.nodes[node].getCircle();
+                    // Mark current node as completed with enhanced visual feedback
+                    out.at(stepRef[0] * BASE_STEP_MS + SETTLE_OFFSET, () -> {
+                        if(currentCircle != null) {
+                            currentCircle.setFill(Color.web("#27ae60")); // Green for completed
+                            currentCircle.setStroke(Color.web("#229954"));
+                            currentCircle.setStrokeWidth(5); // Thicker stroke for settled nodes
+                        }
+                        updateGraphExplanation("SETTLED: " + currentId + " final distance = " + formatDist(finalDist));
+                    });
+                    stepRef[0]++;
+                }
+            });
+            int step = stepRef[0];
+        
+            // Final completion message
+    	    out.at(step * BASE_STEP_MS, () -> {
+    	    	common.sortingStatusLabel.setText("Dijkstra: Shortest path algorithm complete!");
+    	            updateGraphExplanation("DIJKSTRA COMPLETE");
+    	    });
+        }, () -> {
+            resetNodeColors();
+            for (Label lbl : dijkstraDistLabels.values()) lbl.setText("∞");
+        });
     }
     
     private void resetDijkstraLabels(){
@@ -1483,9 +1803,6 @@ public class GraphManager {
         
         // Algorithm is applicable - proceed with normal execution
         System.out.println("DEBUG: Starting normal Bellman-Ford execution");
-        updateGraphExplanation("Starting Bellman-Ford from " + start.getId() + " (Source=0, Others=∞)");
-        
-        Map<String, Double> dist = new HashMap<>(); 
         
         // Clear any existing Bellman-Ford distance labels
         for (Label label : bellmanFordDistLabels.values()) {
@@ -1495,10 +1812,8 @@ public class GraphManager {
         }
         bellmanFordDistLabels.clear();
         
-        // Initialize distances and create distance labels
+        // Create distance labels (source=0, others=∞)
         for(String id: graphNodes.keySet()) {
-            dist.put(id, Double.POSITIVE_INFINITY);
-            
             // Create distance label for each node with cyan styling for Bellman-Ford
             GraphNode node = graphNodes.get(id);
             Label distLabel = new Label();
@@ -1533,206 +1848,217 @@ public class GraphManager {
             graphCanvas.getChildren().add(distLabel);
         }
         
-        dist.put(start.getId(), 0.0);
-        
-        Timeline tl=new Timeline(); 
-        int step=0; 
+        GraphSnapshot snap = runSnapshot;
         int n=graphNodes.size();
+        // Labels by snapshot index, so the script never touches the label map
+        Label[] distLabels = new Label[snap.nodes.length];
+        for(int i = 0; i < distLabels.length; i++) distLabels[i] = bellmanFordDistLabels.get(snap.ids.get(i));
+        playSteps(out -> {
+            int[] stepRef={0};
+        
+            out.at(0, () -> {
+                updateGraphExplanation("Starting Bellman-Ford from " + start.getId() + " (Source=0, Others=∞)");
+                updateGraphExplanation("Will run " + (n-1) + " iterations to relax all edges");
+            });
         
-        updateGraphExplanation("Will run " + (n-1) + " iterations to relax all edges");
-        
-        // Main relaxation loop (ALWAYS V-1 iterations - no early termination)
-        for(int i=0;i<n-1;i++){
-            final int iteration = i + 1;
+            // Main relaxation loop (ALWAYS V-1 iterations - no early termination) + negative cycle check, replayed from the engine.
+            // The cycle flag belongs to the script; frames get its value at the time they were recorded.
+            boolean[] hasNegativeCycle = {false};
+            BellmanFordEngine.run(snap.csr, snap.index.get(start.getId()), new BellmanFordListener() {
+                boolean firstEdgeInPass;
+            
+                // Add a clear separation before moving to the next edge
+                private void separator() {
+                    out.at(stepRef[0]++*600, () -> {
+                        updateGraphExplanation("---"); // Visual separator
+                    });
+                }
             
-            // Show iteration header
-            tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                updateGraphExplanation("Iteration " + iteration + "/" + (n-1) + " - Checking all edges for relaxation");
-            }));
+                // Reset edge and node colors after processing is complete, with delay
+                private void resetAfterEdge(EdgeRecord er) {
+                    out.at(stepRef[0]++*600, () -> {
+                        // Reset edge color and width
+                        er.line.setStroke(Color.WHITE);
+                        er.line.setStrokeWidth(2);
+                        // Reset node colors to default (but keep distance labels as they are)
+                        graphNodes.get(er.a).getCircle().setFill(Color.web("#3498db"));
+                        graphNodes.get(er.b).getCircle().setFill(Color.web("#3498db"));
+                    });
+                }
             
-            boolean[] anyRelaxedInIteration = {false};
+                @Override
+                public void onPass(int pass) {
+                    // Show iteration header
+                    out.at(stepRef[0]++*600, () -> {
+                        updateGraphExplanation("Iteration " + pass + "/" + (n-1) + " - Checking all edges for relaxation");
+                    });
+                    firstEdgeInPass = true;
+                }
             
-            for(EdgeRecord er: edges){ 
-                double w=er.weight;
-                
-                // Show which edge we're examining and highlight both nodes and edge
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    updateGraphExplanation("Examining edge " + er.a + "→" + er.b + " (weight " + w + ")");
-                    // Highlight the edge being examined
-                    er.line.setStroke(Color.web("#FFA500")); // Orange highlight
-                    er.line.setStrokeWidth(4);
-                    // Highlight both nodes involved in the edge
-                    graphNodes.get(er.a).getCircle().setFill(Color.web("#E67E22")); // Orange for source
-                    graphNodes.get(er.b).getCircle().setFill(Color.web("#F39C12")); // Lighter orange for target
-                }));
-                
-                if(dist.get(er.a)!=Double.POSITIVE_INFINITY && dist.get(er.a)+w<dist.get(er.b)){ 
-                    double oldDist = dist.get(er.b);
-                    dist.put(er.b, dist.get(er.a)+w); 
-                    anyRelaxedInIteration[0] = true;
-                    final String toNode = er.b;
-                    final double newDist = dist.get(er.a)+w;
-                    final Label distLabel = bellmanFordDistLabels.get(toNode);
-                    int delay= getAnimationDelay(step++*600);
-                    Circle c = graphNodes.get(er.b).getCircle();
-                    tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(delay), e-> {
+                @Override
+                public void onExamine(int edge) {
+                    if (!firstEdgeInPass) separator();
+                    firstEdgeInPass = false;
+                    EdgeRecord er = snap.edges[edge];
+                    double w = er.weight;
+                    // Show which edge we're examining and highlight both nodes and edge
+                    out.at(stepRef[0]++*600, () -> {
+                        updateGraphExplanation("Examining edge " + er.a + "→" + er.b + " (weight " + w + ")");
+                        // Highlight the edge being examined
+                        er.line.setStroke(Color.web("#FFA500")); // Orange highlight
+                        er.line.setStrokeWidth(4);
+                        // Highlight both nodes involved in the edge
+                        graphNodes.get(er.a).getCircle().setFill(Color.web("#E67E22")); // Orange for source
+                        graphNodes.get(er.b).getCircle().setFill(Color.web("#F39C12")); // Lighter orange for target
+                    });
+                }
+            
+                @Override
+                public void onRelax(int edge, boolean reverse, double oldDist, double newDist) {
+                    EdgeRecord er = snap.edges[edge];
+                    final String fromNode = reverse ? er.b : er.a;
+                    final String toNode = reverse ? er.a : er.b;
+                    final int toIndex = snap.index.get(toNode);
+                    final Label distLabel = distLabels[toIndex];
+                    long delay = stepRef[0]++*600;
+                    Circle c = snap.nodes[toIndex].getCircle();
+                    out.at(delay, () -> {
                         c.setFill(Color.web("#27AE60")); // Green for successful relaxation
                         // Update distance label with animation
                         distLabel.setText(String.format("%.1f", newDist));
                         distLabel.setStyle(distLabel.getStyle().replaceAll("-fx-background-color: rgba\\([^)]+\\);", "-fx-background-color: rgba(39, 174, 96, 0.9);")); // Green background when updated
-                        updateGraphExplanation("✓ Relaxed! " + er.b + ": " + String.format("%.1f", oldDist) + " → " + String.format("%.1f", newDist));
-                    }));
-                    
-                    // Add a pause to show the result before moving to next edge
-                    tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(delay + 600), e-> {
-                        updateGraphExplanation("Edge " + er.a + "→" + er.b + " processing complete");
-                    }));
-                } else {
+                        updateGraphExplanation("✓ Relaxed! " + toNode + ": " + String.format("%.1f", oldDist) + " → " + String.format("%.1f", newDist));
+                    });
+                
+                    // Add a pause to show the result before moving on
+                    out.at(delay + 600, () -> {
+                        if (reverse) {
+                            updateGraphExplanation("Reverse edge " + fromNode + "→" + toNode + " also processed");
+                        } else {
+                            updateGraphExplanation("Edge " + fromNode + "→" + toNode + " processing complete");
+                        }
+                    });
+                    if (!reverse) resetAfterEdge(er);
+                }
+            
+                @Override
+                public void onNoRelax(int edge, double alt, double current) {
+                    EdgeRecord er = snap.edges[edge];
                     // Edge not relaxed
-                    tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                        if (dist.get(er.a) == Double.POSITIVE_INFINITY) {
+                    out.at(stepRef[0]++*600, () -> {
+                        if (alt == Double.POSITIVE_INFINITY) {
                             updateGraphExplanation("✗ No relaxation: " + er.a + " unreachable");
                         } else {
-                            double currentPath = dist.get(er.a) + w;
-                            double existingDist = dist.get(er.b);
-                            String existingStr = existingDist == Double.POSITIVE_INFINITY ? "∞" : String.format("%.1f", existingDist);
-                            updateGraphExplanation("✗ No relaxation: " + String.format("%.1f", currentPath) + " ≥ " + existingStr);
+                            String existingStr = current == Double.POSITIVE_INFINITY ? "∞" : String.format("%.1f", current);
+                            updateGraphExplanation("✗ No relaxation: " + String.format("%.1f", alt) + " ≥ " + existingStr);
                         }
-                    }));
-                    
+                    });
+                
                     // Add a pause to show the result before moving to next edge
-                    tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step*600 + 300)), e-> {
+                    out.at(stepRef[0]*600 + 300, () -> {
                         updateGraphExplanation("Edge " + er.a + "→" + er.b + " processing complete");
-                    }));
-                    step++; // Increment step for next edge
+                    });
+                    stepRef[0]++; // Increment step for next edge
+                    resetAfterEdge(er);
                 }
+            
+                @Override
+                public void onPassEnd(int pass, boolean improved) {
+                    if (!firstEdgeInPass) separator();
+                    // Show iteration summary
+                    out.at(stepRef[0]++*600, () -> {
+                        if (improved) {
+                            updateGraphExplanation("Iteration " + pass + " complete: Distances improved");
+                        } else {
+                            updateGraphExplanation("Iteration " + pass + " complete: No improvements");
+                        }
+                    });
                 
-                // Reset edge and node colors after processing is complete, with delay
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    // Reset edge color and width
-                    er.line.setStroke(Color.WHITE);
-                    er.line.setStrokeWidth(2);
-                    // Reset node colors to default (but keep distance labels as they are)
-                    graphNodes.get(er.a).getCircle().setFill(Color.web("#3498db"));
-                    graphNodes.get(er.b).getCircle().setFill(Color.web("#3498db"));
-                }));
-                
-                // Handle undirected graphs
-                if(!isDirected && dist.get(er.b)!=Double.POSITIVE_INFINITY && dist.get(er.b)+w<dist.get(er.a)){ 
-                    double oldDist = dist.get(er.a);
-                    dist.put(er.a, dist.get(er.b)+w); 
-                    anyRelaxedInIteration[0] = true;
-                    final String toNode = er.a;
-                    final double newDist = dist.get(er.b)+w;
-                    final Label distLabel = bellmanFordDistLabels.get(toNode);
-                    int delay= getAnimationDelay(step++*600);
-                    Circle c2 = graphNodes.get(er.a).getCircle();
-                    tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(delay), e-> {
-                        c2.setFill(Color.web("#27AE60")); // Green for successful relaxation
-                        // Update distance label
-                        distLabel.setText(String.format("%.1f", newDist));
-                        distLabel.setStyle(distLabel.getStyle().replaceAll("-fx-background-color: rgba\\([^)]+\\);", "-fx-background-color: rgba(39, 174, 96, 0.9);")); // Green background when updated
-                        updateGraphExplanation("✓ Relaxed! " + er.a + ": " + String.format("%.1f", oldDist) + " → " + String.format("%.1f", newDist));
-                    }));
-                    
-                    // Add a pause for undirected edge result
-                    tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(delay + 600), e-> {
-                        updateGraphExplanation("Reverse edge " + er.b + "→" + er.a + " also processed");
-                    }));
+                    // Reset all distance label backgrounds to cyan after each iteration
+                    out.at(stepRef[0]++*600, () -> {
+                        // Reset distance label backgrounds to cyan
+                        for(Label label : bellmanFordDistLabels.values()) {
+                            label.setStyle(label.getStyle().replaceAll("-fx-background-color: rgba\\([^)]+\\);", "-fx-background-color: rgba(0, 255, 255, 0.85);"));
+                        }
+                        updateGraphExplanation("Ready for next iteration...");
+                    });
                 }
-                
-                // Add a clear separation before moving to the next edge
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    updateGraphExplanation("---"); // Visual separator
-                }));
-            }
             
-            // Show iteration summary
-            tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                if (anyRelaxedInIteration[0]) {
-                    updateGraphExplanation("Iteration " + iteration + " complete: Distances improved");
-                } else {
-                    updateGraphExplanation("Iteration " + iteration + " complete: No improvements");
+                @Override
+                public void onCheckPhase() {
+                    // Check for negative cycles
+                    out.at(stepRef[0]++*600, () -> {
+                        updateGraphExplanation("Phase 2: Checking for negative cycles");
+                    });
                 }
-            }));
             
-            // Reset all distance label backgrounds to cyan after each iteration
-            tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                // Reset distance label backgrounds to cyan
-                for(Label label : bellmanFordDistLabels.values()) {
-                    label.setStyle(label.getStyle().replaceAll("-fx-background-color: rgba\\([^)]+\\);", "-fx-background-color: rgba(0, 255, 255, 0.85);"));
+                @Override
+                public void onCycleCheck(int edge, boolean reverse, boolean canRelax) {
+                    EdgeRecord er = snap.edges[edge];
+                    if (canRelax) hasNegativeCycle[0] = true;
+                    if (reverse) {
+                        out.at(stepRef[0]++*600, () -> {
+                            er.line.setStroke(Color.web("#E74C3C"));
+                            er.line.setStrokeWidth(6);
+                            updateGraphExplanation("⚠ NEGATIVE CYCLE DETECTED! Edge " + er.b + "→" + er.a + " can still relax");
+                        });
+                        return;
+                    }
+                
+                    out.at(stepRef[0]++*600, () -> {
+                        updateGraphExplanation("Checking edge " + er.a + "→" + er.b + " for relaxation");
+                        er.line.setStroke(Color.web("#E74C3C")); // Red highlight during cycle check
+                        er.line.setStrokeWidth(4);
+                        // Highlight nodes involved
+                        graphNodes.get(er.a).getCircle().setFill(Color.web("#E74C3C"));
+                        graphNodes.get(er.b).getCircle().setFill(Color.web("#C0392B"));
+                    });
+                
+                    if (canRelax) {
+                        out.at(stepRef[0]++*600, () -> {
+                            er.line.setStroke(Color.web("#E74C3C"));
+                            er.line.setStrokeWidth(6);
+                            updateGraphExplanation("⚠ NEGATIVE CYCLE DETECTED! Edge " + er.a + "→" + er.b + " can still relax");
+                        });
+                    } else {
+                        out.at(stepRef[0]++*600, () -> {
+                            updateGraphExplanation("✓ Edge " + er.a + "→" + er.b + " cannot relax further");
+                            er.line.setStroke(Color.web("#27AE60")); // Green for good edge
+                            er.line.setStrokeWidth(3);
+                        });
+                    }
+                
+                    // Reset colors after processing each edge in negative cycle detection
+                    final boolean cycleFound = hasNegativeCycle[0];
+                    out.at(stepRef[0]++*600, () -> {
+                        if (!cycleFound) {
+                            // Only reset if no negative cycle was detected (keep red if cycle found)
+                            er.line.setStroke(Color.WHITE);
+                            er.line.setStrokeWidth(2);
+                        }
+                        graphNodes.get(er.a).getCircle().setFill(Color.web("#3498db"));
+                        graphNodes.get(er.b).getCircle().setFill(Color.web("#3498db"));
+                    });
                 }
-                updateGraphExplanation("Ready for next iteration...");
-            }));
-        }
-        
-        // Check for negative cycles
-        tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-            updateGraphExplanation("Phase 2: Checking for negative cycles");
-        }));
+            });
         
-        boolean[] hasNegativeCycle = {false};
-        for(EdgeRecord er: edges){ 
-            double w=er.weight; 
-            
-            tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                updateGraphExplanation("Checking edge " + er.a + "→" + er.b + " for relaxation");
-                er.line.setStroke(Color.web("#E74C3C")); // Red highlight during cycle check
-                er.line.setStrokeWidth(4);
-                // Highlight nodes involved
-                graphNodes.get(er.a).getCircle().setFill(Color.web("#E74C3C"));
-                graphNodes.get(er.b).getCircle().setFill(Color.web("#C0392B"));
-            }));
-            
-            if(dist.get(er.a)!=Double.POSITIVE_INFINITY && dist.get(er.a)+w<dist.get(er.b)){ 
-                hasNegativeCycle[0] = true;
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    er.line.setStroke(Color.web("#E74C3C"));
-                    er.line.setStrokeWidth(6);
-                    updateGraphExplanation("⚠ NEGATIVE CYCLE DETECTED! Edge " + er.a + "→" + er.b + " can still relax");
-                }));
-            } else {
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    updateGraphExplanation("✓ Edge " + er.a + "→" + er.b + " cannot relax further");
-                    er.line.setStroke(Color.web("#27AE60")); // Green for good edge
-                    er.line.setStrokeWidth(3);
-                }));
-            }
-            
-            // Reset colors after processing each edge in negative cycle detection
-            tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                if (!hasNegativeCycle[0]) {
-                    // Only reset if no negative cycle was detected (keep red if cycle found)
-                    er.line.setStroke(Color.WHITE);
-                    er.line.setStrokeWidth(2);
+            // Final completion message
+            final boolean negativeCycle = hasNegativeCycle[0];
+            out.at(stepRef[0]++*600, () -> {
+                if (negativeCycle) {
+                    updateGraphExplanation("❌ RESULT: Negative cycle found - no shortest paths exist");
+                } else {
+                    updateGraphExplanation("✅ RESULT: Bellman-Ford completed - shortest paths found");
                 }
-                graphNodes.get(er.a).getCircle().setFill(Color.web("#3498db"));
-                graphNodes.get(er.b).getCircle().setFill(Color.web("#3498db"));
-            }));
-            
-            if(!isDirected && dist.get(er.b)!=Double.POSITIVE_INFINITY && dist.get(er.b)+w<dist.get(er.a)){ 
-                hasNegativeCycle[0] = true;
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    er.line.setStroke(Color.web("#E74C3C"));
-                    er.line.setStrokeWidth(6);
-                    updateGraphExplanation("⚠ NEGATIVE CYCLE DETECTED! Edge " + er.b + "→" + er.a + " can still relax");
-                }));
-            }
-        }
-        
-        // Final completion message
-        tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-            if (hasNegativeCycle[0]) {
-                updateGraphExplanation("❌ RESULT: Negative cycle found - no shortest paths exist");
-            } else {
-                updateGraphExplanation("✅ RESULT: Bellman-Ford completed - shortest paths found");
+            });
+        }, () -> {
+            resetNodeColors();
+            for (Map.Entry<String, Label> entry : bellmanFordDistLabels.entrySet()) {
+                Label label = entry.getValue();
+                label.setText(entry.getKey().equals(start.getId()) ? "0" : "∞");
+                label.setStyle(label.getStyle().replaceAll("-fx-background-color: rgba\\([^)]+\\);", "-fx-background-color: rgba(0, 255, 255, 0.85);"));
             }
-        }));
-        
-        // Store timeline for potential stopping and play
-        currentVisualizationTimeline = tl;
-        enablePauseButton();
-        tl.play();
+        });
     }
     
     private void visualizeFloydWarshall(){
@@ -1749,100 +2075,183 @@ public class GraphManager {
             return;
         }
         
-        List<String> ids = new ArrayList<>(graphNodes.keySet());
-        double[][] dist = new double[n][n]; 
-        
-        // Initialize distance matrix
-        updateGraphExplanation("FLOYD-WARSHALL INITIALIZATION:");
-        updateGraphExplanation("Setting up distance matrix...");
-        
-        for(int i = 0; i < n; i++) {
-            Arrays.fill(dist[i], Double.POSITIVE_INFINITY); 
-        }
-        for(int i = 0; i < n; i++) {
-            dist[i][i] = 0;
-        }
-        
-        // Set edge weights
-        for(EdgeRecord er : edges){ 
-            int ai = ids.indexOf(er.a);
-            int bi = ids.indexOf(er.b); 
-            dist[ai][bi] = Math.min(dist[ai][bi], er.weight); 
-            if(!isDirected) {
-                dist[bi][ai] = Math.min(dist[bi][ai], er.weight); 
-            }
-        }
+        GraphSnapshot snap = runSnapshot;
+        List<String> ids = snap.ids;
         
         // Setup distance labels using Dijkstra's style
         resetFloydWarshallLabels();
         for(GraphNode gn : graphNodes.values()) {
             ensureFloydWarshallLabel(gn);
         }
+        if (n >= FW_ACCELERATED_THRESHOLD) {
+            visualizeAllPairsAccelerated(snap);
+            return;
+        }
         
-        updateGraphExplanation("Matrix initialized with direct edge weights");
-        updateGraphExplanation("Starting triple-nested loop algorithm...");
+        playSteps(out -> {
+            int[] stepDelay = {0};
         
-        Timeline tl = new Timeline(); 
-        int stepDelay = 0;
+            // Initialize distance matrix (done by the engine from the snapshot's edge list)
+            out.at(0, () -> {
+                updateGraphExplanation("FLOYD-WARSHALL INITIALIZATION:");
+                updateGraphExplanation("Setting up distance matrix...");
+                updateGraphExplanation("Matrix initialized with direct edge weights");
+                updateGraphExplanation("Starting triple-nested loop algorithm...");
+            });
         
-        for(int k = 0; k < n; k++){ 
-            String intermediateNode = ids.get(k);
-            final int fk = k;
+            FloydWarshallEngine.run(snap.csr, new FloydWarshallListener() {
+                @Override
+                public void onPhase(int k) {
+                    String intermediateNode = ids.get(k);
+                    // Highlight intermediate node
+                    out.at(stepDelay[0]++ * 600, () -> {
+                        updateGraphExplanation("PHASE " + (k + 1) + ": Using node " + intermediateNode + " as intermediate");
+                        GraphNode intermediate = graphNodes.get(intermediateNode);
+                        if (intermediate != null) {
+                            intermediate.getCircle().setFill(Color.web("#e74c3c")); // Red for intermediate
+                        }
+                    });
+                }
             
-            // Highlight intermediate node
-            tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(stepDelay++ * 600)), e -> {
-                updateGraphExplanation("PHASE " + (fk + 1) + ": Using node " + intermediateNode + " as intermediate");
-                GraphNode intermediate = graphNodes.get(intermediateNode);
-                if (intermediate != null) {
-                    intermediate.getCircle().setFill(Color.web("#e74c3c")); // Red for intermediate
+                @Override
+                public void onImprove(int i, int j, double oldDist, double newDist) {
+                    final String fromNode = ids.get(i);
+                    final String toNode = ids.get(j);
+                
+                    out.at(stepDelay[0]++ * 600, () -> {
+                        updateGraphExplanation("Improved path " + fromNode + " → " + toNode + ": " + 
+                            formatDist(oldDist) + " → " + formatDist(newDist));
+                    
+                        // Highlight source and destination
+                        GraphNode source = graphNodes.get(fromNode);
+                        GraphNode dest = graphNodes.get(toNode);
+                        if (source != null) source.getCircle().setFill(Color.web("#3498db")); // Blue for source
+                        if (dest != null) dest.getCircle().setFill(Color.web("#2ecc71")); // Green for destination
+                    
+                        // Update distance label
+                        Label label = floydWarshallDistLabels.get(toNode);
+                        if (label != null) {
+                            label.setText(formatDist(newDist));
+                        }
+                    });
+                
+                    // Reset colors after a brief delay
+                    out.at(stepDelay[0] * 600 + 300, () -> {
+                        resetNodeColors();
+                    });
                 }
-            }));
+            });
+        
+            // Final completion message
+            out.at(stepDelay[0] * 600, () -> {
+                updateGraphExplanation("FLOYD-WARSHALL COMPLETE: All shortest paths computed!");
+                resetNodeColors();
+            });
+        }, () -> {
+            resetNodeColors();
+            for (Label label : floydWarshallDistLabels.values()) label.setText("∞");
+        });
+    }
+    
+    // Large graphs: Johnson when sparse, otherwise the blocked parallel Floyd-Warshall animated per round
+    // (one step per block of intermediates, or per intermediate below one block, instead of per cell)
+    private void visualizeAllPairsAccelerated(GraphSnapshot snap) {
+        List<String> ids = snap.ids;
+        int n = ids.size();
+        // Labels follow one row of the matrix: the chosen source, or the first node
+        int anchor = bfsSource != null ? snap.index.get(bfsSource.getId()) : 0;
+        String anchorId = ids.get(anchor);
+        boolean sparse = preferJohnson(snap.csr);
+        
+        playSteps(out -> {
+            out.at(0, () -> {
+                updateGraphExplanation("ALL-PAIRS SHORTEST PATHS (ACCELERATED): " + n + " nodes, " + snap.csr.edgeCount() + " edges");
+                updateGraphExplanation(sparse
+                    ? "Sparse graph: Johnson's algorithm (Bellman-Ford reweighting + one Dijkstra per node, in parallel)"
+                    : "Dense graph: Floyd-Warshall in " + BlockedFloydWarshallEngine.BLOCK + "×" + BlockedFloydWarshallEngine.BLOCK + " blocks, tiles in parallel");
+                updateGraphExplanation("Labels show distances from node " + anchorId);
+            });
             
-            for(int i = 0; i < n; i++) {
-                for(int j = 0; j < n; j++){ 
-                    if(i != j && dist[i][k] + dist[k][j] < dist[i][j]){ 
-                        double oldDist = dist[i][j];
-                        dist[i][j] = dist[i][k] + dist[k][j]; 
-                        final double newDist = dist[i][j];
-                        final String fromNode = ids.get(i);
-                        final String toNode = ids.get(j);
-                        
-                        tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(stepDelay++ * 600)), e -> {
-                            updateGraphExplanation("Improved path " + fromNode + " → " + toNode + ": " + 
-                                formatDist(oldDist) + " → " + formatDist(newDist));
-                            
-                            // Highlight source and destination
-                            GraphNode source = graphNodes.get(fromNode);
-                            GraphNode dest = graphNodes.get(toNode);
-                            if (source != null) source.getCircle().setFill(Color.web("#3498db")); // Blue for source
-                            if (dest != null) dest.getCircle().setFill(Color.web("#2ecc71")); // Green for destination
-                            
-                            // Update distance label
-                            Label label = floydWarshallDistLabels.get(toNode);
-                            if (label != null) {
-                                label.setText(formatDist(newDist));
-                            }
-                        }));
-                        
-                        // Reset colors after a brief delay
-                        tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(stepDelay * 600 + 300)), e -> {
-                            resetNodeColors();
-                        }));
-                    } 
-                } 
+            // Solve first, so the reported time is the engine's alone
+            List<long[]> rounds = new ArrayList<>();      // kFrom, kTo, improved
+            List<double[]> roundRows = new ArrayList<>(); // anchor row after each round
+            // Johnson streams its rows: only the anchor's is kept
+            double[] finalRow = new double[n];
+            long t0 = System.nanoTime();
+            boolean ranJohnson = sparse && JohnsonEngine.run(snap.csr, (source, row) -> {
+                if (source == anchor) System.arraycopy(row, 0, finalRow, 0, n);
+            });
+            if (!ranJohnson) {
+                double[] dist = BlockedFloydWarshallEngine.run(snap.csr, new FloydWarshallListener() {
+                    @Override
+                    public void onRound(int kFrom, int kTo, long improved, double[] d) {
+                        rounds.add(new long[]{kFrom, kTo, improved});
+                        roundRows.add(Arrays.copyOfRange(d, anchor * n, anchor * n + n));
+                    }
+                });
+                System.arraycopy(dist, anchor * n, finalRow, 0, n);
             }
-        }
-        
-        // Final completion message
-        tl.getKeyFrames().add(new KeyFrame(Duration.millis(getAnimationDelay(stepDelay * 600)), e -> {
-            updateGraphExplanation("FLOYD-WARSHALL COMPLETE: All shortest paths computed!");
+            double ms = (System.nanoTime() - t0) / 1e6;
+            // Johnson only gives up on a negative cycle, and with one the matrix holds no valid distances
+            boolean negativeCycle = sparse && !ranJohnson;
+            
+            out.at(600, () -> {
+                if (negativeCycle) {
+                    updateGraphExplanation("⚠ NEGATIVE CYCLE DETECTED while reweighting: Johnson does not apply, fell back to Floyd-Warshall");
+                    updateGraphExplanation("❌ RESULT: Negative cycle found - no shortest paths exist");
+                }
+                updateGraphExplanation("Engine: " + (ranJohnson ? "Johnson" : "Floyd-Warshall (blocked)") +
+                    " computed all " + n + "×" + n + " distances in " + String.format("%.1f", ms) + " ms");
+            });
+            if (ranJohnson) {
+                out.at(1200, () -> {
+                    GraphNode source = graphNodes.get(anchorId);
+                    if (source != null) source.getCircle().setFill(Color.web("#3498db")); // Blue for source
+                    showAllPairsRow(ids, finalRow);
+                });
+            }
+            for (int r = 0; r < rounds.size(); r++) {
+                long[] round = rounds.get(r);
+                double[] row = roundRows.get(r);
+                int kFrom = (int) round[0], kTo = (int) round[1];
+                int number = r + 1;
+                out.at((r + 2) * 600L, () -> {
+                    updateGraphExplanation("ROUND " + number + ": " + (kTo - kFrom == 1
+                        ? "intermediate " + ids.get(kFrom)
+                        : "intermediates " + ids.get(kFrom) + " … " + ids.get(kTo - 1)) + " → " + round[2] + " distances improved");
+                    // Highlight this round's intermediate nodes
+                    for (int k = kFrom; k < kTo; k++) {
+                        GraphNode intermediate = graphNodes.get(ids.get(k));
+                        if (intermediate != null) intermediate.getCircle().setFill(Color.web("#e74c3c"));
+                    }
+                    showAllPairsRow(ids, row);
+                });
+                out.at((r + 2) * 600L + 300, () -> resetNodeColors());
+            }
+            
+            out.at((rounds.size() + 3) * 600L, () -> {
+                updateGraphExplanation(negativeCycle
+                    ? "FLOYD-WARSHALL COMPLETE: distances shown are not shortest paths (negative cycle)"
+                    : (ranJohnson ? "JOHNSON" : "FLOYD-WARSHALL") + " COMPLETE: All shortest paths computed!");
+                resetNodeColors();
+            });
+        }, () -> {
             resetNodeColors();
-        }));
-        
-        // Store timeline for potential stopping and play
-        currentVisualizationTimeline = tl;
-        enablePauseButton();
-        tl.play();
+            for (Label label : floydWarshallDistLabels.values()) label.setText("∞");
+        });
+    }
+    
+    // Johnson's O(nm log n) beats Floyd-Warshall's O(n^3) roughly while m log n < n^2
+    private boolean preferJohnson(CsrGraph g) {
+        double n = g.n;
+        return g.targets.length * (Math.log(n) / Math.log(2)) < n * n;
+    }
+    
+    private void showAllPairsRow(List<String> ids, double[] row) {
+        for (int v = 0; v < row.length; v++) {
+            Label label = floydWarshallDistLabels.get(ids.get(v));
+            if (label != null) label.setText(formatDist(row[v]));
+        }
     }
     
     // Floyd-Warshall distance labels (same style as Dijkstra)
@@ -1898,106 +2307,88 @@ public class GraphManager {
         if (graphNodes.isEmpty()) return false;
         if (graphNodes.size() == 1) return true;
         
-        // Use DFS to check if all nodes are reachable from any starting node
-        String startNodeId = graphNodes.keySet().iterator().next();
-        Set<String> visited = new HashSet<>();
-        dfsConnectivityCheck(startNodeId, visited);
-        
-        // Graph is connected if we visited all nodes
-        return visited.size() == graphNodes.size();
-    }
-    
-    private void dfsConnectivityCheck(String nodeId, Set<String> visited) {
-        visited.add(nodeId);
-        
-        // Visit all neighbors through edges
-        for (EdgeRecord edge : edges) {
-            String neighborId = null;
-            
-            // For undirected graphs, check both directions
-            if (edge.a.equals(nodeId)) {
-                neighborId = edge.b;
-            } else if (edge.b.equals(nodeId)) {
-                neighborId = edge.a;
-            }
-            
-            // If we found an unvisited neighbor, recursively visit it
-            if (neighborId != null && !visited.contains(neighborId)) {
-                dfsConnectivityCheck(neighborId, visited);
-            }
+        // Union the endpoints of every edge (both directions, connectivity is checked as undirected);
+        // connected means a single component is left
+        GraphSnapshot snap = runSnapshot != null ? runSnapshot : snapshotGraph();
+        CsrGraph g = snap.csr;
+        UnionFind components = new UnionFind(g.n);
+        for (int e = 0; e < g.edgeCount() && components.components() > 1; e++) {
+            components.union(g.from[e], g.to[e]);
         }
+        return components.components() == 1;
     }
     
-    private void visualizePrim(){ 
+    // Shows why an MST algorithm cannot run on this graph; title and algo name it in the messages
+    private boolean mstApplicable(String title, String algo) {
         if(isDirected) {
-            showErrorInExplanation("PRIM'S ALGORITHM ERROR!");
+            showErrorInExplanation(title + " ALGORITHM ERROR!");
             showErrorInExplanation("This algorithm is NOT APPLICABLE for directed graphs!");
             showErrorInExplanation("");
             showErrorInExplanation("WHY THIS ERROR OCCURRED:");
-            showErrorInExplanation("   • Prim's algorithm finds Minimum Spanning Tree (MST)");
+            showErrorInExplanation("   • " + algo + " algorithm finds Minimum Spanning Tree (MST)");
             showErrorInExplanation("   • MST concept only applies to undirected graphs");
             showErrorInExplanation("   • Directed graphs don't have traditional spanning trees");
             showErrorInExplanation("");
             showErrorInExplanation("HOW TO FIX:");
             showErrorInExplanation("   1. Disable 'Directed' option in graph settings");
             showErrorInExplanation("   2. Make sure graph is undirected");
-            showErrorInExplanation("   3. Then try running Prim's algorithm again");
-            return;
+            showErrorInExplanation("   3. Then try running " + algo + " algorithm again");
+            return false;
         }
         
         if (!isWeighted) {
-            showErrorInExplanation("PRIM'S ALGORITHM ERROR!");
+            showErrorInExplanation(title + " ALGORITHM ERROR!");
             showErrorInExplanation("This algorithm is NOT APPLICABLE for unweighted graphs!");
             showErrorInExplanation("");
             showErrorInExplanation("WHY THIS ERROR OCCURRED:");
-            showErrorInExplanation("   • Prim's algorithm finds Minimum Spanning Tree based on edge weights");
+            showErrorInExplanation("   • " + algo + " algorithm finds Minimum Spanning Tree based on edge weights");
             showErrorInExplanation("   • Without weights, all edges would be considered equal");
             showErrorInExplanation("   • The concept of 'minimum' requires weighted edges");
             showErrorInExplanation("");
             showErrorInExplanation("HOW TO FIX:");
             showErrorInExplanation("   1. Enable 'Weighted' option in graph settings");
             showErrorInExplanation("   2. Add weights to your edges");
-            showErrorInExplanation("   3. Then try running Prim's algorithm again");
-            return;
+            showErrorInExplanation("   3. Then try running " + algo + " algorithm again");
+            return false;
         }
         
         if(graphNodes.isEmpty()) {
-            showErrorInExplanation("PRIM'S ALGORITHM ERROR!");
+            showErrorInExplanation(title + " ALGORITHM ERROR!");
             showErrorInExplanation("This algorithm is NOT APPLICABLE - No nodes found!");
             showErrorInExplanation("");
             showErrorInExplanation("WHY THIS ERROR OCCURRED:");
-            showErrorInExplanation("   • Prim's algorithm needs nodes to create spanning tree");
+            showErrorInExplanation("   • " + algo + " algorithm needs nodes to create spanning tree");
             showErrorInExplanation("   • Cannot build MST without graph vertices");
             showErrorInExplanation("");
             showErrorInExplanation("HOW TO FIX:");
             showErrorInExplanation("   1. Add nodes to your graph");
             showErrorInExplanation("   2. Connect them with weighted edges");
-            showErrorInExplanation("   3. Then try running Prim's algorithm again");
-            return;
+            showErrorInExplanation("   3. Then try running " + algo + " algorithm again");
+            return false;
         }
         
         if (edges.isEmpty()) {
-            showErrorInExplanation("PRIM'S ALGORITHM ERROR!");
+            showErrorInExplanation(title + " ALGORITHM ERROR!");
             showErrorInExplanation("This algorithm is NOT APPLICABLE - No edges found!");
             showErrorInExplanation("");
             showErrorInExplanation("WHY THIS ERROR OCCURRED:");
-            showErrorInExplanation("   • Prim's algorithm needs edges to create spanning tree");
+            showErrorInExplanation("   • " + algo + " algorithm needs edges to create spanning tree");
             showErrorInExplanation("   • Cannot connect nodes without edges");
             showErrorInExplanation("");
             showErrorInExplanation("HOW TO FIX:");
             showErrorInExplanation("   1. Add weighted edges between nodes");
             showErrorInExplanation("   2. Make sure graph is connected");
-            showErrorInExplanation("   3. Then try running Prim's algorithm again");
-            return;
+            showErrorInExplanation("   3. Then try running " + algo + " algorithm again");
+            return false;
         }
         
         // Check if graph is connected (required for MST algorithms)
         if (!isGraphConnected()) {
-            showErrorInExplanation("PRIM'S ALGORITHM ERROR!");
+            showErrorInExplanation(title + " ALGORITHM ERROR!");
             showErrorInExplanation("This algorithm is NOT APPLICABLE - Graph is NOT CONNECTED!");
             showErrorInExplanation("");
             showErrorInExplanation("WHY THIS ERROR OCCURRED:");
-            showErrorInExplanation("   • Prim's algorithm requires a connected graph");
+            showErrorInExplanation("   • " + algo + " algorithm requires a connected graph");
             showErrorInExplanation("   • Some nodes are unreachable from other nodes");
             showErrorInExplanation("   • Cannot create spanning tree without connectivity");
             showErrorInExplanation("");
@@ -2010,32 +2401,181 @@ public class GraphManager {
             showErrorInExplanation("   1. Add edges to connect all isolated nodes");
             showErrorInExplanation("   2. Ensure every node has a path to every other node");
             showErrorInExplanation("   3. Remove any isolated components");
-            showErrorInExplanation("   4. Then try running Prim's algorithm again");
-            return;
+            showErrorInExplanation("   4. Then try running " + algo + " algorithm again");
+            return false;
         }
+        return true;
+    }
+    
+    // Prim grows one tree from the source, adding the cheapest edge that leaves it
+    private void visualizePrim(){ 
+        if (!mstApplicable("PRIM'S", "Prim's")) return;
         
         clearGraphExplanation();
         
         // Algorithm is applicable - proceed with educational Prim's implementation
         GraphNode start = bfsSource != null ? bfsSource : graphNodes.values().iterator().next();
-        updateGraphExplanation("PRIM'S MINIMUM SPANNING TREE ALGORITHM");
-        updateGraphExplanation("======================================");
-        updateGraphExplanation("Starting from node: " + start.getId());
-        updateGraphExplanation("Goal: Find minimum weight tree connecting all nodes");
-        updateGraphExplanation("");
-        updateGraphExplanation("ALGORITHM CONCEPT:");
-        updateGraphExplanation("   • Start with any node (we chose " + start.getId() + ")");
-        updateGraphExplanation("   • Repeatedly add the cheapest edge that connects");
-        updateGraphExplanation("     a node IN the tree to a node NOT in the tree");
-        updateGraphExplanation("   • Continue until all nodes are connected");
-        updateGraphExplanation("");
-        
-        Set<String> inMST = new HashSet<>();
-        Set<EdgeRecord> mstEdges = new HashSet<>();
-        Timeline tl = new Timeline();
-        int step = 0;
-        
-        // Create total cost label for smooth animation
+        GraphSnapshot snap = runSnapshot;
+        
+        Label totalCostLabel = addMstCostLabel();
+        
+        playSteps(out -> {
+            Set<String> inMST = new LinkedHashSet<>();
+            Set<EdgeRecord> mstEdges = new LinkedHashSet<>();
+            int[] stepRef = {0};
+            
+            out.at(0, () -> {
+                updateGraphExplanation("PRIM'S MINIMUM SPANNING TREE ALGORITHM");
+                updateGraphExplanation("======================================");
+                updateGraphExplanation("Starting from node: " + start.getId());
+                updateGraphExplanation("Goal: Find minimum weight tree connecting all nodes");
+                updateGraphExplanation("");
+                updateGraphExplanation("ALGORITHM CONCEPT:");
+                updateGraphExplanation("   • Start with any node (we chose " + start.getId() + ")");
+                updateGraphExplanation("   • Repeatedly add the cheapest edge that connects");
+                updateGraphExplanation("     a node IN the tree to a node NOT in the tree");
+                updateGraphExplanation("   • Continue until all nodes are connected");
+                updateGraphExplanation("");
+            });
+            
+            // Step 1: Initialize - Add starting node to MST
+            inMST.add(start.getId());
+            out.at(stepRef[0]++*600, () -> {
+                start.getCircle().setFill(Color.web("#9932cc")); // Purple for MST nodes
+                start.getCircle().setStroke(Color.web("#8b008b"));
+                start.getCircle().setStrokeWidth(4);
+            
+                updateGraphExplanation("INITIALIZATION COMPLETE");
+                updateGraphExplanation("   Added node " + start.getId() + " to MST");
+                updateGraphExplanation("   Nodes in MST: {" + start.getId() + "}");
+                updateGraphExplanation("   Total MST cost: 0.0");
+                updateGraphExplanation("");
+            });
+            
+            // Main Prim's algorithm loop, replayed from the engine. Edges offered by the node added last
+            // are buffered and shown under the next iteration header.
+            List<int[]> frontier = new ArrayList<>(); // {edge, from, to, improved}
+            int[] picked = PrimEngine.run(snap.csr, snap.index.get(start.getId()), new MstListener() {
+                @Override
+                public void onFrontier(int edge, int from, int to, boolean improved) {
+                    frontier.add(new int[]{edge, from, to, improved ? 1 : 0});
+                }
+            
+                @Override
+                public void onIteration(int iteration) {
+                    final String treeNodes = String.join(", ", inMST);
+                    out.at(stepRef[0]++*600, () -> {
+                        updateGraphExplanation("ITERATION " + iteration + " - FINDING CHEAPEST CUT EDGE");
+                        updateGraphExplanation("   Looking for minimum weight edge connecting:");
+                        updateGraphExplanation("   • A node IN the MST: " + treeNodes);
+                        updateGraphExplanation("   • A node NOT in MST");
+                        updateGraphExplanation("");
+                    });
+                
+                    // Show the cut edges just offered to the priority queue
+                    for(int i = 0; i < frontier.size(); i++) {
+                        final int[] f = frontier.get(i);
+                        final EdgeRecord candidate = snap.edges[f[0]];
+                        final int candidateNum = i + 1;
+                        final int totalCandidates = frontier.size();
+                        final String fromNode = snap.ids.get(f[1]);
+                        final String toNode = snap.ids.get(f[2]);
+                        final boolean improved = f[3] == 1;
+                        out.at(stepRef[0]++*600, () -> {
+                            candidate.line.setStroke(Color.web("#ffa500")); // Orange for examination
+                            candidate.line.setStrokeWidth(3);
+                            updateGraphExplanation("   🔎 Examining candidate " + candidateNum + "/" + totalCandidates + ": " + 
+                                                  fromNode + "→" + toNode + " (weight: " + String.format("%.1f", candidate.weight) + ")" +
+                                                  (improved ? " - new cheapest link to " + toNode : " - " + toNode + " already has a cheaper link"));
+                        });
+                    
+                        // Reset color after examination
+                        out.at(stepRef[0]++*600, () -> {
+                            candidate.line.setStroke(Color.WHITE);
+                            candidate.line.setStrokeWidth(2);
+                        });
+                    }
+                    frontier.clear();
+                }
+            
+                @Override
+                public void onAccept(int edge, int from, int to, double totalCost) {
+                    // Highlight and add the best edge
+                    final EdgeRecord finalBestEdge = snap.edges[edge];
+                    final String finalBestFromNode = snap.ids.get(from);
+                    final String finalBestToNode = snap.ids.get(to);
+                    final double finalBestWeight = finalBestEdge.weight;
+                    final double finalTotalCost = totalCost;
+                    inMST.add(finalBestToNode);
+                    mstEdges.add(finalBestEdge);
+                    final String treeNodes = String.join(", ", inMST);
+                
+                    out.at(stepRef[0]++*600, () -> {
+                        // Highlight the chosen edge
+                        finalBestEdge.line.setStroke(Color.web("#90EE90")); // Light green for MST edges (same as Kruskal)
+                        finalBestEdge.line.setStrokeWidth(5);
+                    
+                        // Add new node to MST and color it
+                        GraphNode newNode = graphNodes.get(finalBestToNode);
+                        newNode.getCircle().setFill(Color.web("#9932cc")); // Purple for MST nodes
+                        newNode.getCircle().setStroke(Color.web("#8b008b"));
+                        newNode.getCircle().setStrokeWidth(4);
+                    
+                        // Smooth total cost animation
+                        Timeline costAnimation = new Timeline();
+                        double startCost = finalTotalCost - finalBestWeight;
+                        for(int i = 0; i <= 20; i++) {
+                            final double animatedCost = startCost + (finalBestWeight * i / 20.0);
+                            costAnimation.getKeyFrames().add(new KeyFrame(
+                                javafx.util.Duration.millis(i * 30), // 30ms per frame for smooth animation
+                                ev -> totalCostLabel.setText(String.format("MST Cost: %.1f", animatedCost))
+                            ));
+                        }
+                        costAnimation.play();
+                    
+                        updateGraphExplanation("   BEST EDGE FOUND: " + finalBestFromNode + "→" + finalBestToNode + 
+                                              " (weight: " + String.format("%.1f", finalBestWeight) + ")");
+                        updateGraphExplanation("   Added node " + finalBestToNode + " to MST");
+                        updateGraphExplanation("   Edge cost: " + String.format("%.1f", finalBestWeight));
+                        updateGraphExplanation("   Total MST cost so far: " + String.format("%.1f", finalTotalCost));
+                    
+                        // Show current MST composition
+                        updateGraphExplanation("   Nodes in MST: {" + treeNodes + "}");
+                        updateGraphExplanation("");
+                    });
+                }
+            });
+        
+            finishMst(out, snap, stepRef[0], picked, mstEdges, "PRIM'S");
+        }, () -> {
+            resetNodeColors();
+            restoreEdgeWeightLabels();
+            totalCostLabel.setText("MST Cost: 0.0");
+        });
+    }
+    
+    // Borůvka has no start node: every component grabs its cheapest outgoing edge each round (one frame per round)
+    private void visualizeBoruvka() {
+        if (!mstApplicable("BORŮVKA'S", "Borůvka's")) return;
+        
+        clearGraphExplanation();
+        GraphSnapshot snap = runSnapshot;
+        Label totalCostLabel = addMstCostLabel();
+        
+        playSteps(out -> {
+            Set<EdgeRecord> mstEdges = new LinkedHashSet<>();
+            int[] stepRef = {0};
+            int[] picked = replayBoruvkaRounds(out, snap, stepRef, mstEdges, totalCostLabel);
+            finishMst(out, snap, stepRef[0], picked, mstEdges, "BORŮVKA'S");
+        }, () -> {
+            resetNodeColors();
+            restoreEdgeWeightLabels();
+            totalCostLabel.setText("MST Cost: 0.0");
+        });
+    }
+    
+    // Total cost label for smooth animation, top right of the canvas
+    private Label addMstCostLabel() {
         Label totalCostLabel = new Label("MST Cost: 0.0");
         totalCostLabel.setStyle(
             "-fx-background-color: rgba(0, 0, 0, 0.8); -fx-text-fill: #90EE90; " +
@@ -2047,146 +2587,89 @@ public class GraphManager {
         totalCostLabel.setLayoutY(20); // Top right position
         totalCostLabel.setMouseTransparent(true);
         graphCanvas.getChildren().add(totalCostLabel);
-        
-        // Step 1: Initialize - Add starting node to MST
-        inMST.add(start.getId());
-        tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-            start.getCircle().setFill(Color.web("#9932cc")); // Purple for MST nodes
-            start.getCircle().setStroke(Color.web("#8b008b"));
-            start.getCircle().setStrokeWidth(4);
-            
-            updateGraphExplanation("INITIALIZATION COMPLETE");
-            updateGraphExplanation("   Added node " + start.getId() + " to MST");
-            updateGraphExplanation("   Nodes in MST: {" + start.getId() + "}");
-            updateGraphExplanation("   Total MST cost: 0.0");
-            updateGraphExplanation("");
-        }));
-        
-        double totalCost = 0.0;
-        int iteration = 1;
-        
-        // Main Prim's algorithm loop
-        while(inMST.size() < graphNodes.size()) {
-            EdgeRecord bestEdge = null;
-            double bestWeight = Double.POSITIVE_INFINITY;
-            String bestFromNode = null;
-            String bestToNode = null;
-            
-            final int currentIteration = iteration;
-            tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                updateGraphExplanation("ITERATION " + currentIteration + " - FINDING CHEAPEST CUT EDGE");
-                updateGraphExplanation("   Looking for minimum weight edge connecting:");
-                updateGraphExplanation("   • A node IN the MST: " + String.join(", ", inMST));
-                updateGraphExplanation("   • A node NOT in MST");
-                updateGraphExplanation("");
-            }));
-            
-            // Examine all edges to find the minimum cut edge
-            List<EdgeRecord> candidateEdges = new ArrayList<>();
-            for(EdgeRecord er : edges) {
-                boolean aInMST = inMST.contains(er.a);
-                boolean bInMST = inMST.contains(er.b);
-                
-                // This edge crosses the cut (one node in MST, one not)
-                if(aInMST ^ bInMST) {
-                    candidateEdges.add(er);
-                    if(er.weight < bestWeight) {
-                        bestWeight = er.weight;
-                        bestEdge = er;
-                        bestFromNode = aInMST ? er.a : er.b; // Node in MST
-                        bestToNode = aInMST ? er.b : er.a;   // Node not in MST
+        return totalCostLabel;
+    }
+    
+    // Borůvka replay: one frame per round with all of its merges; returns the MST edges
+    private int[] replayBoruvkaRounds(StepPlayer.Frames out, GraphSnapshot snap, int[] stepRef,
+                                      Set<EdgeRecord> mstEdges, Label totalCostLabel) {
+        List<Integer> roundEdges = new ArrayList<>();
+        double[] costRef = {0.0};
+        Runnable flushRound = () -> {
+            if (roundEdges.isEmpty()) return;
+            final List<EdgeRecord> merged = new ArrayList<>();
+            for (int e : roundEdges) merged.add(snap.edges[e]);
+            final double cost = costRef[0];
+            roundEdges.clear();
+            out.at(stepRef[0]++*600, () -> {
+                for (EdgeRecord er : merged) {
+                    er.line.setStroke(Color.web("#90EE90")); // Light green for MST edges (same as Kruskal)
+                    er.line.setStrokeWidth(5);
+                    for (String id : new String[]{er.a, er.b}) {
+                        GraphNode node = snap.nodes[snap.index.get(id)];
+                        node.getCircle().setFill(Color.web("#9932cc")); // Purple for MST nodes
+                        node.getCircle().setStroke(Color.web("#8b008b"));
+                        node.getCircle().setStrokeWidth(4);
                     }
                 }
+                totalCostLabel.setText(String.format("MST Cost: %.1f", cost));
+                updateGraphExplanation("   ✅ " + merged.size() + " cheapest edges added at once");
+                updateGraphExplanation("   Total MST cost so far: " + String.format("%.1f", cost));
+                updateGraphExplanation("");
+            });
+        };
+        out.at(stepRef[0]++*600, () -> {
+            updateGraphExplanation("BORŮVKA'S MINIMUM SPANNING TREE ALGORITHM");
+            updateGraphExplanation("======================================");
+            updateGraphExplanation("Goal: Find minimum weight tree connecting all " + snap.csr.n + " nodes");
+            updateGraphExplanation("");
+            updateGraphExplanation("ALGORITHM CONCEPT:");
+            updateGraphExplanation("   • Every node starts as its own component");
+            updateGraphExplanation("   • Each round, every component picks its cheapest outgoing edge (in parallel)");
+            updateGraphExplanation("   • All picked edges join the tree together (at most log2 n rounds)");
+            updateGraphExplanation("");
+        });
+        int[] picked = BoruvkaEngine.run(snap.csr, new MstListener() {
+            @Override
+            public void onRound(int round, int components) {
+                flushRound.run();
+                out.at(stepRef[0]++*600, () -> {
+                    updateGraphExplanation("ROUND " + round + " - " + components + " COMPONENTS FIND THEIR CHEAPEST CUT EDGE");
+                });
             }
-            
-            if(bestEdge == null) {
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    updateGraphExplanation("GRAPH IS NOT CONNECTED!");
-                    updateGraphExplanation("   No edges found connecting MST to remaining nodes");
-                    updateGraphExplanation("   Cannot complete Minimum Spanning Tree");
-                }));
-                break;
-            }
-            
-            // Show all candidate edges being examined
-            for(int i = 0; i < candidateEdges.size(); i++) {
-                final EdgeRecord candidate = candidateEdges.get(i);
-                final int candidateNum = i + 1;
-                final int totalCandidates = candidateEdges.size();
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    candidate.line.setStroke(Color.web("#ffa500")); // Orange for examination
-                    candidate.line.setStrokeWidth(3);
-                    String fromNode = inMST.contains(candidate.a) ? candidate.a : candidate.b;
-                    String toNode = inMST.contains(candidate.a) ? candidate.b : candidate.a;
-                    updateGraphExplanation("   🔎 Examining candidate " + candidateNum + "/" + totalCandidates + ": " + 
-                                          fromNode + "→" + toNode + " (weight: " + String.format("%.1f", candidate.weight) + ")");
-                }));
-                
-                // Reset color after examination
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    candidate.line.setStroke(Color.WHITE);
-                    candidate.line.setStrokeWidth(2);
-                }));
+        
+            @Override
+            public void onAccept(int edge, int from, int to, double totalCost) {
+                roundEdges.add(edge);
+                mstEdges.add(snap.edges[edge]);
+                costRef[0] = totalCost;
             }
-            
-            // Highlight and add the best edge
-            final EdgeRecord finalBestEdge = bestEdge;
-            final String finalBestFromNode = bestFromNode;
-            final String finalBestToNode = bestToNode;
-            final double finalBestWeight = bestWeight;
-            
-            totalCost += bestWeight;
-            final double finalTotalCost = totalCost;
-            
-            tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                // Highlight the chosen edge
-                finalBestEdge.line.setStroke(Color.web("#90EE90")); // Light green for MST edges (same as Kruskal)
-                finalBestEdge.line.setStrokeWidth(5);
-                
-                // Add new node to MST and color it
-                GraphNode newNode = graphNodes.get(finalBestToNode);
-                newNode.getCircle().setFill(Color.web("#9932cc")); // Purple for MST nodes
-                newNode.getCircle().setStroke(Color.web("#8b008b"));
-                newNode.getCircle().setStrokeWidth(4);
-                
-                // Smooth total cost animation
-                Timeline costAnimation = new Timeline();
-                double startCost = finalTotalCost - finalBestWeight;
-                for(int i = 0; i <= 20; i++) {
-                    final double animatedCost = startCost + (finalBestWeight * i / 20.0);
-                    costAnimation.getKeyFrames().add(new KeyFrame(
-                        javafx.util.Duration.millis(i * 30), // 30ms per frame for smooth animation
-                        ev -> totalCostLabel.setText(String.format("MST Cost: %.1f", animatedCost))
-                    ));
-                }
-                costAnimation.play();
-                
-                updateGraphExplanation("   BEST EDGE FOUND: " + finalBestFromNode + "→" + finalBestToNode + 
-                                      " (weight: " + String.format("%.1f", finalBestWeight) + ")");
-                updateGraphExplanation("   Added node " + finalBestToNode + " to MST");
-                updateGraphExplanation("   Edge cost: " + String.format("%.1f", finalBestWeight));
-                updateGraphExplanation("   Total MST cost so far: " + String.format("%.1f", finalTotalCost));
-                
-                // Show current MST composition
-                Set<String> currentMST = new HashSet<>(inMST);
-                currentMST.add(finalBestToNode);
-                updateGraphExplanation("   Nodes in MST: {" + String.join(", ", currentMST) + "}");
-                updateGraphExplanation("");
-            }));
-            
-            inMST.add(bestToNode);
-            mstEdges.add(bestEdge);
-            iteration++;
+        });
+        flushRound.run();
+        return picked;
+    }
+    
+    // Disconnected notice, cleanup of non-tree edges and the final MST statistics; title names the algorithm that ran
+    private void finishMst(StepPlayer.Frames out, GraphSnapshot snap, int step, int[] picked, Set<EdgeRecord> mstEdges, String title) {
+        final int nodeCount = snap.nodes.length;
+        if(picked.length < nodeCount - 1) {
+            out.at(step++*600, () -> {
+                updateGraphExplanation("GRAPH IS NOT CONNECTED!");
+                updateGraphExplanation("   No edges found connecting MST to remaining nodes");
+                updateGraphExplanation("   Cannot complete Minimum Spanning Tree");
+            });
         }
-        
+        double totalCost = 0.0;
+        for(EdgeRecord er : mstEdges) totalCost += er.weight;
+    
         // Final completion message and cleanup
         final double finalTotalCostFinal = totalCost;
         final int finalMSTSize = mstEdges.size();
-        final Set<EdgeRecord> finalMSTEdges = new HashSet<>(mstEdges);
-        tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
+        final Set<EdgeRecord> finalMSTEdges = new LinkedHashSet<>(mstEdges);
+        out.at(step++*600, () -> {
             // Remove edges that are NOT in the MST
             List<EdgeRecord> edgesToRemove = new ArrayList<>();
-            for(EdgeRecord edge : edges) {
+            for(EdgeRecord edge : snap.edges) {
                 if(!finalMSTEdges.contains(edge)) {
                     edgesToRemove.add(edge);
                     // Fade out non-MST edges
@@ -2197,14 +2680,14 @@ public class GraphManager {
                     }
                 }
             }
-            
+        
             updateGraphExplanation("CLEANUP: Removed " + edgesToRemove.size() + " edges not in MST");
             updateGraphExplanation("======================================");
-            updateGraphExplanation("PRIM'S ALGORITHM COMPLETED SUCCESSFULLY!");
+            updateGraphExplanation(title + " ALGORITHM COMPLETED SUCCESSFULLY!");
             updateGraphExplanation("Minimum Spanning Tree constructed!");
             updateGraphExplanation("");
             updateGraphExplanation("FINAL MST STATISTICS:");
-            updateGraphExplanation("   Total nodes: " + graphNodes.size());
+            updateGraphExplanation("   Total nodes: " + nodeCount);
             updateGraphExplanation("   MST edges: " + finalMSTSize);
             updateGraphExplanation("   Total MST cost: " + String.format("%.1f", finalTotalCostFinal));
             updateGraphExplanation("");
@@ -2216,17 +2699,12 @@ public class GraphManager {
             }
             updateGraphExplanation("");
             updateGraphExplanation("PROPERTIES OF THIS MST:");
-            updateGraphExplanation("   Connects all " + graphNodes.size() + " nodes");
-            updateGraphExplanation("   Uses exactly " + (graphNodes.size()-1) + " edges");
+            updateGraphExplanation("   Connects all " + nodeCount + " nodes");
+            updateGraphExplanation("   Uses exactly " + (nodeCount-1) + " edges");
             updateGraphExplanation("   Has minimum possible total weight");
             updateGraphExplanation("   Contains no cycles");
             updateGraphExplanation("======================================");
-        }));
-        
-        // Store timeline for potential stopping and play
-        currentVisualizationTimeline = tl;
-        enablePauseButton();
-        tl.play(); 
+        });
     }
     private void visualizeKruskal(){ 
         if(isDirected) {
@@ -2317,250 +2795,230 @@ public class GraphManager {
         clearGraphExplanation();
         
         // Algorithm is applicable - proceed with educational Kruskal's implementation
-        updateGraphExplanation("KRUSKAL'S MINIMUM SPANNING TREE ALGORITHM");
-        updateGraphExplanation("======================================");
-        updateGraphExplanation("Goal: Find minimum weight tree connecting all nodes");
-        updateGraphExplanation("");
-        updateGraphExplanation("ALGORITHM CONCEPT:");
-        updateGraphExplanation("   • Sort ALL edges by weight (ascending order)");
-        updateGraphExplanation("   • Consider edges one by one from cheapest to most expensive");
-        updateGraphExplanation("   • Add edge to MST if it doesn't create a cycle");
-        updateGraphExplanation("   • Use Union-Find to detect cycles efficiently");
-        updateGraphExplanation("");
-        
-        // Sort edges by weight
-        List<EdgeRecord> sortedEdges = new ArrayList<>(edges);
-        sortedEdges.sort(Comparator.comparingDouble(e -> e.weight));
-        
-        // Union-Find data structure
-        Map<String, String> parent = new HashMap<>();
-        Map<String, Integer> rank = new HashMap<>();
-        for(String id : graphNodes.keySet()) {
-            parent.put(id, id);
-            rank.put(id, 0);
-        }
-        
-        // Find function with path compression
-        java.util.function.Function<String, String> find = new java.util.function.Function<String, String>() {
-            public String apply(String x) {
-                if (!parent.get(x).equals(x)) {
-                    parent.put(x, apply(parent.get(x))); // Path compression
-                }
-                return parent.get(x);
-            }
-        };
+        GraphSnapshot snap = runSnapshot;
         
-        // Union function with union by rank
-        java.util.function.BiConsumer<String, String> union = (x, y) -> {
-            String rootX = find.apply(x);
-            String rootY = find.apply(y);
-            if (!rootX.equals(rootY)) {
-                int rankX = rank.get(rootX);
-                int rankY = rank.get(rootY);
-                if (rankX < rankY) {
-                    parent.put(rootX, rootY);
-                } else if (rankX > rankY) {
-                    parent.put(rootY, rootX);
-                } else {
-                    parent.put(rootY, rootX);
-                    rank.put(rootX, rankX + 1);
-                }
-            }
-        };
-        
-        Set<EdgeRecord> mstEdges = new HashSet<>();
-        Timeline tl = new Timeline();
-        int step = 0;
-        double totalCost = 0.0;
-        
-        // Create total cost label for smooth animation
-        Label totalCostLabel = new Label("MST Cost: 0.0");
-        totalCostLabel.setStyle(
-            "-fx-background-color: rgba(0, 0, 0, 0.8); -fx-text-fill: #90EE90; " +
-            "-fx-font-weight: bold; -fx-font-size: 16px; -fx-background-radius: 10px; " +
-            "-fx-padding: 8px 12px; -fx-border-color: #90EE90; -fx-border-width: 2px; " +
-            "-fx-border-radius: 10px;"
-        );
-        totalCostLabel.setLayoutX(graphCanvas.getWidth() - 180);
-        totalCostLabel.setLayoutY(20); // Top right position
-        totalCostLabel.setMouseTransparent(true);
-        graphCanvas.getChildren().add(totalCostLabel);
+        Label totalCostLabel = addMstCostLabel();
         
-        // Step 1: Show sorted edges with more animation
-        tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-            updateGraphExplanation("STEP 1: SORT ALL EDGES BY WEIGHT");
-            updateGraphExplanation("   📋 Kruskal's algorithm processes edges in weight order");
-            updateGraphExplanation("");
-        }));
-        
-        // Highlight each edge in sorted order
-        for(int i = 0; i < sortedEdges.size(); i++) {
-            final EdgeRecord edge = sortedEdges.get(i);
-            final int edgeNum = i + 1;
-            tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                edge.line.setStroke(Color.web("#FFD700")); // Gold color for sorted list
-                edge.line.setStrokeWidth(3);
-                updateGraphExplanation("   " + edgeNum + ". " + edge.a + "↔" + edge.b + " (weight: " + String.format("%.1f", edge.weight) + ")");
-            }));
+        playSteps(out -> {
+            Set<EdgeRecord> mstEdges = new LinkedHashSet<>();
+            int[] stepRef = {0};
             
-            // Reset color after showing
-            tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                edge.line.setStroke(Color.WHITE);
-                edge.line.setStrokeWidth(2);
-            }));
-        }
-        
-        tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-            updateGraphExplanation("");
-            updateGraphExplanation("🔄 STEP 2: PROCESS EDGES ONE BY ONE");
-            updateGraphExplanation("   Each node starts disconnected (distance = ∞)");
-            updateGraphExplanation("   Goal: Connect all nodes with minimum total cost");
-            updateGraphExplanation("");
-        }));
-        
-        // Process each edge in sorted order
-        int edgeNumber = 1;
-        for(EdgeRecord currentEdge : sortedEdges) {
-            final int finalEdgeNumber = edgeNumber;
-            final int totalEdges = sortedEdges.size();
+            out.at(0, () -> {
+                updateGraphExplanation("KRUSKAL'S MINIMUM SPANNING TREE ALGORITHM");
+                updateGraphExplanation("======================================");
+                updateGraphExplanation("Goal: Find minimum weight tree connecting all nodes");
+                updateGraphExplanation("");
+                updateGraphExplanation("ALGORITHM CONCEPT:");
+                updateGraphExplanation("   • Sort ALL edges by weight (ascending order)");
+                updateGraphExplanation("   • Consider edges one by one from cheapest to most expensive");
+                updateGraphExplanation("   • Add edge to MST if it doesn't create a cycle");
+                updateGraphExplanation("   • Use Union-Find to detect cycles efficiently");
+                updateGraphExplanation("");
+            });
             
-            // Highlight current edge being considered with pulsing animation
-            tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                currentEdge.line.setStroke(Color.web("#FF6B6B")); // Bright red for consideration
-                currentEdge.line.setStrokeWidth(4);
-                currentEdge.line.getStrokeDashArray().setAll(5.0, 5.0); // Dashed line for emphasis
-                updateGraphExplanation("EXAMINING EDGE " + finalEdgeNumber + "/" + totalEdges + ": " + 
-                                      currentEdge.a + "↔" + currentEdge.b + " (weight: " + String.format("%.1f", currentEdge.weight) + ")");
-                updateGraphExplanation("   ❓ Checking if nodes are in different components...");
-            }));
+            // Large graphs: filter-Kruskal, which never sorts edges that cannot join two components
+            boolean filter = snap.csr.edgeCount() >= FILTER_KRUSKAL_THRESHOLD;
+            if (filter) {
+                out.at(stepRef[0]++*600, () -> {
+                    updateGraphExplanation("STEP 1: PARTITION EDGES AROUND RANDOM PIVOT WEIGHTS (FILTER-KRUSKAL)");
+                    updateGraphExplanation("   📋 " + snap.csr.edgeCount() + " edges: only the lighter part is sorted and scanned first");
+                    updateGraphExplanation("   Heavier edges whose ends are already connected are dropped unsorted");
+                    updateGraphExplanation("");
+                    updateGraphExplanation("🔄 STEP 2: PROCESS EDGES ONE BY ONE");
+                    updateGraphExplanation("");
+                });
+            }
             
-            // Check if adding this edge would create a cycle
-            String rootA = find.apply(currentEdge.a);
-            String rootB = find.apply(currentEdge.b);
+            // Sort + union-find run in the engine; its events are replayed as frames
+            MstListener kruskalSteps = new MstListener() {
+                int edgeNumber = 0;
             
-            if (!rootA.equals(rootB)) {
-                // No cycle - add edge to MST
-                mstEdges.add(currentEdge);
-                totalCost += currentEdge.weight;
-                final double currentTotalCost = totalCost;
-                final int finalMSTSize = mstEdges.size();
+                @Override
+                public void onSorted(int[] order) {
+                    // Step 1: Show sorted edges with more animation
+                    out.at(stepRef[0]++*600, () -> {
+                        updateGraphExplanation("STEP 1: SORT ALL EDGES BY WEIGHT");
+                        updateGraphExplanation("   📋 Kruskal's algorithm processes edges in weight order");
+                        updateGraphExplanation("");
+                    });
                 
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    // Accept the edge with bright green
-                    currentEdge.line.setStroke(Color.web("#90EE90")); // Light green for MST edges
-                    currentEdge.line.setStrokeWidth(5);
-                    currentEdge.line.getStrokeDashArray().clear(); // Remove dashes
+                    // Highlight each edge in sorted order
+                    for(int i = 0; i < order.length; i++) {
+                        final EdgeRecord edge = snap.edges[order[i]];
+                        final int edgeNum = i + 1;
+                        out.at(stepRef[0]++*600, () -> {
+                            edge.line.setStroke(Color.web("#FFD700")); // Gold color for sorted list
+                            edge.line.setStrokeWidth(3);
+                            updateGraphExplanation("   " + edgeNum + ". " + edge.a + "↔" + edge.b + " (weight: " + String.format("%.1f", edge.weight) + ")");
+                        });
                     
-                    // Smooth total cost animation
-                    Timeline costAnimation = new Timeline();
-                    double startCost = currentTotalCost - currentEdge.weight;
-                    for(int i = 0; i <= 20; i++) {
-                        final double animatedCost = startCost + (currentEdge.weight * i / 20.0);
-                        costAnimation.getKeyFrames().add(new KeyFrame(
-                            javafx.util.Duration.millis(i * 30), // 30ms per frame for smooth animation
-                            ev -> totalCostLabel.setText(String.format("MST Cost: %.1f", animatedCost))
-                        ));
+                        // Reset color after showing
+                        out.at(stepRef[0]++*600, () -> {
+                            edge.line.setStroke(Color.WHITE);
+                            edge.line.setStrokeWidth(2);
+                        });
                     }
-                    costAnimation.play();
-                    
-                    updateGraphExplanation("EDGE ACCEPTED! " + currentEdge.a + "↔" + currentEdge.b + " (weight: " + String.format("%.1f", currentEdge.weight) + ")");
-                    updateGraphExplanation("   Nodes " + currentEdge.a + " and " + currentEdge.b + " are now connected in MST");
-                    updateGraphExplanation("   Edge cost: " + String.format("%.1f", currentEdge.weight));
-                    updateGraphExplanation("   Total MST cost so far: " + String.format("%.1f", currentTotalCost));
-                    updateGraphExplanation("   📊 MST edges: " + finalMSTSize + "/" + (graphNodes.size()-1));
-                }));
                 
-                // Update Union-Find
-                union.accept(currentEdge.a, currentEdge.b);
-                
-                // Add completion check
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    if(finalMSTSize == graphNodes.size() - 1) {
+                    out.at(stepRef[0]++*600, () -> {
                         updateGraphExplanation("");
-                        updateGraphExplanation("MST COMPLETE!");
-                        updateGraphExplanation("   💎 Final minimum spanning tree cost: " + String.format("%.1f", currentTotalCost));
-                        updateGraphExplanation("   🔗 All " + graphNodes.size() + " nodes are now connected!");
-                        updateGraphExplanation("   ✨ Used " + finalMSTSize + " edges to connect the graph");
-                    } else {
+                        updateGraphExplanation("🔄 STEP 2: PROCESS EDGES ONE BY ONE");
+                        updateGraphExplanation("   Each node starts disconnected (distance = ∞)");
+                        updateGraphExplanation("   Goal: Connect all nodes with minimum total cost");
                         updateGraphExplanation("");
-                    }
-                }));
+                    });
+                }
+            
+                @Override
+                public void onCandidate(int edge) {
+                    final EdgeRecord currentEdge = snap.edges[edge];
+                    final int finalEdgeNumber = ++edgeNumber;
+                    final int totalEdges = snap.edges.length;
                 
-            } else {
-                // Cycle detected - reject edge with more dramatic animation
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    currentEdge.line.setStroke(Color.web("#FF4444")); // Darker red for rejected
-                    currentEdge.line.setStrokeWidth(3);
-                    currentEdge.line.getStrokeDashArray().setAll(10.0, 10.0); // Larger dashes for rejected
+                    // Highlight current edge being considered with pulsing animation
+                    out.at(stepRef[0]++*600, () -> {
+                        currentEdge.line.setStroke(Color.web("#FF6B6B")); // Bright red for consideration
+                        currentEdge.line.setStrokeWidth(4);
+                        currentEdge.line.getStrokeDashArray().setAll(5.0, 5.0); // Dashed line for emphasis
+                        updateGraphExplanation("EXAMINING EDGE " + finalEdgeNumber + "/" + totalEdges + ": " + 
+                                              currentEdge.a + "↔" + currentEdge.b + " (weight: " + String.format("%.1f", currentEdge.weight) + ")");
+                        updateGraphExplanation("   ❓ Checking if nodes are in different components...");
+                    });
+                }
+            
+                @Override
+                public void onAccept(int edge, int from, int to, double totalCost) {
+                    // No cycle - add edge to MST
+                    final EdgeRecord currentEdge = snap.edges[edge];
+                    mstEdges.add(currentEdge);
+                    final double currentTotalCost = totalCost;
+                    final int finalMSTSize = mstEdges.size();
+                
+                    out.at(stepRef[0]++*600, () -> {
+                        // Accept the edge with bright green
+                        currentEdge.line.setStroke(Color.web("#90EE90")); // Light green for MST edges
+                        currentEdge.line.setStrokeWidth(5);
+                        currentEdge.line.getStrokeDashArray().clear(); // Remove dashes
                     
-                    updateGraphExplanation("❌ EDGE REJECTED! " + currentEdge.a + "↔" + currentEdge.b + " (weight: " + String.format("%.1f", currentEdge.weight) + ")");
-                    updateGraphExplanation("   🔄 Both nodes are already in the same component");
-                    updateGraphExplanation("   ⚠️ Adding this edge would create a CYCLE");
-                    updateGraphExplanation("   ⏭️ Skipping and continuing with next edge...");
-                    updateGraphExplanation("");
-                }));
+                        // Smooth total cost animation
+                        Timeline costAnimation = new Timeline();
+                        double startCost = currentTotalCost - currentEdge.weight;
+                        for(int i = 0; i <= 20; i++) {
+                            final double animatedCost = startCost + (currentEdge.weight * i / 20.0);
+                            costAnimation.getKeyFrames().add(new KeyFrame(
+                                javafx.util.Duration.millis(i * 30), // 30ms per frame for smooth animation
+                                ev -> totalCostLabel.setText(String.format("MST Cost: %.1f", animatedCost))
+                            ));
+                        }
+                        costAnimation.play();
+                    
+                        updateGraphExplanation("EDGE ACCEPTED! " + currentEdge.a + "↔" + currentEdge.b + " (weight: " + String.format("%.1f", currentEdge.weight) + ")");
+                        updateGraphExplanation("   Nodes " + currentEdge.a + " and " + currentEdge.b + " are now connected in MST");
+                        updateGraphExplanation("   Edge cost: " + String.format("%.1f", currentEdge.weight));
+                        updateGraphExplanation("   Total MST cost so far: " + String.format("%.1f", currentTotalCost));
+                        updateGraphExplanation("   📊 MST edges: " + finalMSTSize + "/" + (graphNodes.size()-1));
+                    });
                 
-                // Fade out rejected edge
-                tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-                    currentEdge.line.setOpacity(0.3);
-                    currentEdge.line.setStroke(Color.GRAY);
-                    currentEdge.line.setStrokeWidth(1);
-                    currentEdge.line.getStrokeDashArray().clear();
-                }));
-            }
+                    // Add completion check
+                    out.at(stepRef[0]++*600, () -> {
+                        if(finalMSTSize == graphNodes.size() - 1) {
+                            updateGraphExplanation("");
+                            updateGraphExplanation("MST COMPLETE!");
+                            updateGraphExplanation("   💎 Final minimum spanning tree cost: " + String.format("%.1f", currentTotalCost));
+                            updateGraphExplanation("   🔗 All " + graphNodes.size() + " nodes are now connected!");
+                            updateGraphExplanation("   ✨ Used " + finalMSTSize + " edges to connect the graph");
+                        } else {
+                            updateGraphExplanation("");
+                        }
+                    });
+                }
             
-            edgeNumber++;
+                @Override
+                public void onFiltered(int count) {
+                    out.at(stepRef[0]++*600, () -> {
+                        updateGraphExplanation("🧹 FILTERED: " + count + " heavier edges dropped (both ends already in one component)");
+                        updateGraphExplanation("");
+                    });
+                }
             
-            // Check if MST is complete
-            if(mstEdges.size() == graphNodes.size() - 1) {
-                break; // MST is complete
-            }
-        }
+                @Override
+                public void onReject(int edge) {
+                    final EdgeRecord currentEdge = snap.edges[edge];
+                    // Cycle detected - reject edge with more dramatic animation
+                    out.at(stepRef[0]++*600, () -> {
+                        currentEdge.line.setStroke(Color.web("#FF4444")); // Darker red for rejected
+                        currentEdge.line.setStrokeWidth(3);
+                        currentEdge.line.getStrokeDashArray().setAll(10.0, 10.0); // Larger dashes for rejected
+                    
+                        updateGraphExplanation("❌ EDGE REJECTED! " + currentEdge.a + "↔" + currentEdge.b + " (weight: " + String.format("%.1f", currentEdge.weight) + ")");
+                        updateGraphExplanation("   🔄 Both nodes are already in the same component");
+                        updateGraphExplanation("   ⚠️ Adding this edge would create a CYCLE");
+                        updateGraphExplanation("   ⏭️ Skipping and continuing with next edge...");
+                        updateGraphExplanation("");
+                    });
+                
+                    // Fade out rejected edge
+                    out.at(stepRef[0]++*600, () -> {
+                        currentEdge.line.setOpacity(0.3);
+                        currentEdge.line.setStroke(Color.GRAY);
+                        currentEdge.line.setStrokeWidth(1);
+                        currentEdge.line.getStrokeDashArray().clear();
+                    });
+                }
+            };
+            if (filter) KruskalEngine.runFilter(snap.csr, kruskalSteps);
+            else KruskalEngine.run(snap.csr, kruskalSteps);
+            double totalCost = 0.0;
+            for(EdgeRecord er : mstEdges) totalCost += er.weight;
+            int step = stepRef[0];
         
-        // Final completion message and cleanup
-        final double finalTotalCost = totalCost;
-        final int finalMSTSize = mstEdges.size();
-        final Set<EdgeRecord> finalMSTEdges = new HashSet<>(mstEdges);
-        tl.getKeyFrames().add(new KeyFrame(javafx.util.Duration.millis(getAnimationDelay(step++*600)), e-> {
-            // Remove edges that are NOT in the MST (make them transparent)
-            for(EdgeRecord edge : edges) {
-                if(!finalMSTEdges.contains(edge)) {
-                    edge.line.setStroke(Color.TRANSPARENT);
-                    if(edge.weightLabel != null) {
-                        edge.weightLabel.setVisible(false);
+            // Final completion message and cleanup
+            final double finalTotalCost = totalCost;
+            final int finalMSTSize = mstEdges.size();
+            final Set<EdgeRecord> finalMSTEdges = new LinkedHashSet<>(mstEdges);
+            out.at(step++*600, () -> {
+                // Remove edges that are NOT in the MST (make them transparent)
+                for(EdgeRecord edge : edges) {
+                    if(!finalMSTEdges.contains(edge)) {
+                        edge.line.setStroke(Color.TRANSPARENT);
+                        if(edge.weightLabel != null) {
+                            edge.weightLabel.setVisible(false);
+                        }
                     }
                 }
-            }
             
-            updateGraphExplanation("CLEANUP: Removed " + (edges.size() - finalMSTSize) + " edges not in MST");
-            updateGraphExplanation("======================================");
-            updateGraphExplanation("KRUSKAL'S ALGORITHM COMPLETED SUCCESSFULLY!");
-            updateGraphExplanation("Minimum Spanning Tree constructed using Union-Find!");
-            updateGraphExplanation("");
-            updateGraphExplanation("FINAL MST STATISTICS:");
-            updateGraphExplanation("   Total nodes: " + graphNodes.size());
-            updateGraphExplanation("   MST edges: " + finalMSTSize);
-            updateGraphExplanation("   Total MST cost: " + String.format("%.1f", finalTotalCost));
-            updateGraphExplanation("");
-            updateGraphExplanation("MST EDGES SELECTED (in order processed):");
-            int edgeNum = 1;
-            for(EdgeRecord mstEdge : finalMSTEdges) {
-                updateGraphExplanation("   " + edgeNum + ". " + mstEdge.a + "↔" + mstEdge.b + " (weight: " + String.format("%.1f", mstEdge.weight) + ")");
-                edgeNum++;
+                updateGraphExplanation("CLEANUP: Removed " + (edges.size() - finalMSTSize) + " edges not in MST");
+                updateGraphExplanation("======================================");
+                updateGraphExplanation("KRUSKAL'S ALGORITHM COMPLETED SUCCESSFULLY!");
+                updateGraphExplanation("Minimum Spanning Tree constructed using Union-Find!");
+                updateGraphExplanation("");
+                updateGraphExplanation("FINAL MST STATISTICS:");
+                updateGraphExplanation("   Total nodes: " + graphNodes.size());
+                updateGraphExplanation("   MST edges: " + finalMSTSize);
+                updateGraphExplanation("   Total MST cost: " + String.format("%.1f", finalTotalCost));
+                updateGraphExplanation("");
+                updateGraphExplanation("MST EDGES SELECTED (in order processed):");
+                int edgeNum = 1;
+                for(EdgeRecord mstEdge : finalMSTEdges) {
+                    updateGraphExplanation("   " + edgeNum + ". " + mstEdge.a + "↔" + mstEdge.b + " (weight: " + String.format("%.1f", mstEdge.weight) + ")");
+                    edgeNum++;
+                }
+                updateGraphExplanation("");
+                updateGraphExplanation("KRUSKAL vs PRIM COMPARISON:");
+                updateGraphExplanation("   Kruskal: Processes edges globally by weight");
+                updateGraphExplanation("   Prim: Grows tree locally from a starting node");
+                updateGraphExplanation("   Both find the same MST (but in different ways)");
+                updateGraphExplanation("   Kruskal better for sparse graphs, Prim for dense");
+                updateGraphExplanation("======================================");
+            });
+        }, () -> {
+            resetNodeColors();
+            restoreEdgeWeightLabels();
+            for (EdgeRecord er : edges) {
+                er.line.getStrokeDashArray().clear();
+                er.line.setOpacity(1.0);
             }
-            updateGraphExplanation("");
-            updateGraphExplanation("KRUSKAL vs PRIM COMPARISON:");
-            updateGraphExplanation("   Kruskal: Processes edges globally by weight");
-            updateGraphExplanation("   Prim: Grows tree locally from a starting node");
-            updateGraphExplanation("   Both find the same MST (but in different ways)");
-            updateGraphExplanation("   Kruskal better for sparse graphs, Prim for dense");
-            updateGraphExplanation("======================================");
-        }));
-        
-        // Store timeline for potential stopping and play
-        currentVisualizationTimeline = tl;
-        enablePauseButton();
-        tl.play(); 
+            totalCostLabel.setText("MST Cost: 0.0");
+        });
     }
     
     private void checkConfigurationComplete() {
@@ -2583,11 +3041,12 @@ public class GraphManager {
         if (graphAlgoChecks==null || graphAlgoChecks.isEmpty()) return;
         List<String> issues = new ArrayList<>();
         boolean anyNegative = edges.stream().anyMatch(e -> e.weightLabel!=null && parseWeight(e.weightLabel.getText()) < 0);
-        boolean weightedNeeded = isSelected("Dijkstra")||isSelected("Bellman-Ford")||isSelected("Floyd-Warshall")||isSelected("Prim")||isSelected("Kruskal");
+        boolean weightedNeeded = isSelected("Dijkstra")||isSelected("Bellman-Ford")||isSelected("Floyd-Warshall")||isSelected("Prim")||isSelected("Borůvka")||isSelected("Kruskal");
         if (isSelected("Prim") && isDirected) issues.add("Prim needs UNDIRECTED");
+        if (isSelected("Borůvka") && isDirected) issues.add("Borůvka needs UNDIRECTED");
         if (isSelected("Kruskal") && isDirected) issues.add("Kruskal needs UNDIRECTED");
         if (isSelected("Dijkstra") && anyNegative) issues.add("No negative weights for Dijkstra");
-        if ((isSelected("Prim")||isSelected("Kruskal")||isSelected("Dijkstra")||isSelected("Bellman-Ford")||isSelected("Floyd-Warshall")) && !isWeighted) issues.add("Enable weights");
+        if ((isSelected("Prim")||isSelected("Borůvka")||isSelected("Kruskal")||isSelected("Dijkstra")||isSelected("Bellman-Ford")||isSelected("Floyd-Warshall")) && !isWeighted) issues.add("Enable weights");
         if (weightedNeeded && edges.isEmpty()) issues.add("Add edges");
         if (graphNodes.isEmpty()) issues.add("Add nodes");
         if (!issues.isEmpty() && common.sortingStatusLabel!=null) common.sortingStatusLabel.setText(String.join(" | ", issues));
@@ -2635,12 +3094,18 @@ public class GraphManager {
 	    // Add node only if user has armed add mode by pressing ADD NODE
 	    graphCanvas.setOnMouseClicked(e -> {
 	            if (!addNodeArmed) return;
-	            // Use the same boundary margin as defined above
-	            double x = common.clamp(e.getX(), BOUNDARY_MARGIN, graphCanvas.getWidth() - BOUNDARY_MARGIN);
-	            double y = common.clamp(e.getY(), BOUNDARY_MARGIN, graphCanvas.getHeight() - BOUNDARY_MARGIN);
-	            boolean tooClose = graphCanvas.getChildren().stream().anyMatch(n -> n instanceof Circle c &&
-	                    Math.hypot(c.getCenterX() - x, c.getCenterY() - y) < (NODE_RADIUS * 2 + 6));
-	            if (!tooClose) {
+	            double x, y;
+	            if (canvasRenderer != null) {
+	                // Canvas mode: the view can be panned/zoomed, so place the node at the world point
+	                Point2D w = canvasRenderer.toWorld(e.getX(), e.getY());
+	                x = w.getX();
+	                y = w.getY();
+	            } else {
+	                // Use the same boundary margin as defined above
+	                x = common.clamp(e.getX(), BOUNDARY_MARGIN, graphCanvas.getWidth() - BOUNDARY_MARGIN);
+	                y = common.clamp(e.getY(), BOUNDARY_MARGIN, graphCanvas.getHeight() - BOUNDARY_MARGIN);
+	            }
+	            if (!nodeGrid.anyWithin(x, y, NODE_RADIUS * 2 + 6)) {
 	                String id = String.valueOf(nextNodeId++);
 	                addNodeAtPosition(id, x, y);
 	            }
@@ -2650,6 +3115,8 @@ public class GraphManager {
     
     private void addNodeAtPosition(String nodeId, double x, double y) {
         if (graphNodes.containsKey(nodeId)) return;
+        loadedSnapshot = null;
+        if (canvasRenderer == null && graphNodes.size() >= CANVAS_MODE_THRESHOLD) enterCanvasMode();
 
 	    GraphNode node = new GraphNode(nodeId, x, y);
 	    graphNodes.put(nodeId, node);
@@ -2660,11 +3127,19 @@ public class GraphManager {
 	    circle.setFill(Color.web("#0097a7", 0.9));
 	    circle.setStroke(Color.web("#00ffff"));
 	    circle.setStrokeWidth(2.0);
-	    circle.setEffect(new DropShadow(16, Color.web("#00ffff55")));
 	    
 	    // CRUCIAL: Set the circle on the GraphNode object
 	    node.setCircle(circle);
 	    nodeCircles.put(nodeId, circle);
+	    nodeGrid.put(nodeId, x, y);
+	    if (canvasRenderer != null) {
+	        // Canvas mode: the circle only carries position/style; the renderer draws it and forwards its mouse events
+	        installNodeMouseHandlers(nodeId, node, circle, () -> {});
+	        canvasRenderer.addNode(nodeId, circle);
+	        enableAlgorithmCheckboxesIfReady();
+	        return;
+	    }
+	    circle.setEffect(new DropShadow(16, Color.web("#00ffff55")));
 	    // High-contrast numbering using Text with stroke for guaranteed visibility
 	    javafx.scene.text.Text numText = new javafx.scene.text.Text(nodeId);
 	    numText.setFill(Color.WHITE);
@@ -2690,6 +3165,14 @@ public class GraphManager {
 	    circle.centerXProperty().addListener((obs, o, n) -> centerText.run());
 	    circle.centerYProperty().addListener((obs, o, n) -> centerText.run());
 
+        installNodeMouseHandlers(nodeId, node, circle, centerText);
+	    graphCanvas.getChildren().addAll(circle, numText);
+	    
+	    // Check if algorithm checkboxes should be enabled
+	    enableAlgorithmCheckboxesIfReady();
+    }
+    
+    private void installNodeMouseHandlers(String nodeId, GraphNode node, Circle circle, Runnable centerText) {
         // Make nodes draggable
         circle.setOnMousePressed(e -> {
             if (addEdgeArmed) {
@@ -2713,6 +3196,7 @@ public class GraphManager {
                 centerText.run();
                 node.setX(nx);
                 node.setY(ny);
+                nodeGrid.put(nodeId, nx, ny);
             }
         });
 
@@ -2731,10 +3215,95 @@ public class GraphManager {
                 e.consume();
             }
         });
-	    graphCanvas.getChildren().addAll(circle, numText);
-	    
-	    // Check if algorithm checkboxes should be enabled
-	    enableAlgorithmCheckboxesIfReady();
+    }
+    
+    // Moves the page from one scene-graph node per shape to a single Canvas. Circles and lines stay as the
+    // style holders the algorithms animate; they just leave the scene graph.
+    private void enterCanvasMode() {
+        canvasRenderer = new GraphCanvasRenderer(graphCanvas, nodeGrid);
+        for (String id : nodeOrder) {
+            Circle c = nodeCircles.get(id);
+            c.setEffect(null);
+            canvasRenderer.addNode(id, c);
+        }
+        graphCanvas.getChildren().removeIf(n -> n instanceof Circle || n instanceof javafx.scene.text.Text);
+        for (EdgeRecord er : edges) {
+            graphCanvas.getChildren().remove(er.line);
+            er.line.setEffect(null);
+            if (er.weightLabel != null) {
+                graphCanvas.getChildren().remove(er.weightLabel);
+                er.weightLabel.setVisible(false); // keeps the old label listeners from re-running overlap layout
+                er.weightLabel = null;
+            }
+            if (er.arrowHead != null) {
+                graphCanvas.getChildren().remove(er.arrowHead);
+                er.arrowHead = null;
+            }
+            canvasRenderer.addEdge(er.line, isWeighted ? String.valueOf(er.weight) : null, isDirected);
+        }
+        canvasRenderer.attach();
+        installCanvasMouseHandlers(canvasRenderer.getCanvas());
+        common.sortingStatusLabel.setText("Large graph: drawing on canvas (scroll to zoom, drag empty space to pan).");
+    }
+    
+    private void exitCanvasMode() {
+        if (canvasRenderer == null) return;
+        canvasRenderer.detach();
+        canvasRenderer = null;
+        canvasDragNodeId = null;
+    }
+    
+    // Canvas mode has no per-node scene nodes, so hit-test here and hand the event to the circle's own handlers
+    private void installCanvasMouseHandlers(Canvas canvas) {
+        canvas.setOnMousePressed(e -> {
+            Point2D w = canvasRenderer.toWorld(e.getX(), e.getY());
+            canvasDragNodeId = e.getButton() == MouseButton.PRIMARY ? nodeGrid.nodeAt(w.getX(), w.getY()) : null;
+            if (canvasDragNodeId != null) fireNodeHandler(nodeCircles.get(canvasDragNodeId).getOnMousePressed(), e);
+        });
+        canvas.setOnMouseDragged(e -> {
+            if (isDraggingEdge) {
+                updateDragLine(e.getSceneX(), e.getSceneY());
+            } else if (canvasDragNodeId != null) {
+                Point2D w = canvasRenderer.toWorld(e.getX(), e.getY());
+                moveCanvasNode(canvasDragNodeId, w.getX(), w.getY());
+            }
+        });
+        canvas.setOnMouseReleased(e -> {
+            if (canvasDragNodeId != null) fireNodeHandler(nodeCircles.get(canvasDragNodeId).getOnMouseReleased(), e);
+            canvasDragNodeId = null;
+        });
+        canvas.setOnMouseClicked(e -> {
+            if (!e.isStillSincePress()) { e.consume(); return; } // end of a pan or drag, not a click
+            Point2D w = canvasRenderer.toWorld(e.getX(), e.getY());
+            String id = nodeGrid.nodeAt(w.getX(), w.getY());
+            if (id != null) {
+                fireNodeHandler(nodeCircles.get(id).getOnMouseClicked(), e);
+                e.consume();
+            }
+        });
+    }
+    
+    private void fireNodeHandler(EventHandler<? super MouseEvent> handler, MouseEvent e) {
+        if (handler != null) handler.handle(e);
+    }
+    
+    private void moveCanvasNode(String nodeId, double x, double y) {
+        Circle c = nodeCircles.get(nodeId);
+        GraphNode node = graphNodes.get(nodeId);
+        c.setCenterX(x);
+        c.setCenterY(y);
+        node.setX(x);
+        node.setY(y);
+        nodeGrid.put(nodeId, x, y);
+        for (EdgeRecord er : adjacentEdges(nodeId, true)) {
+            placeEdgeLine(er.line, nodeCircles.get(er.a), nodeCircles.get(er.b));
+        }
+    }
+    
+    // Pane-local point for a scene point; in canvas mode that is the world point under the pan/zoom
+    private Point2D graphPoint(double sceneX, double sceneY) {
+        Point2D local = graphCanvas.sceneToLocal(sceneX, sceneY);
+        return canvasRenderer == null ? local : canvasRenderer.toWorld(local.getX(), local.getY());
     }
     
     private void startEdgeDrag(String sourceNodeId, double sceneX, double sceneY) {
@@ -2766,7 +3335,7 @@ public class GraphManager {
     private void updateDragLine(double sceneX, double sceneY) {
         if (dragLine != null && dragSourceNodeId != null) {
             // Convert scene coordinates to canvas local coordinates
-            javafx.geometry.Point2D localPoint = graphCanvas.sceneToLocal(sceneX, sceneY);
+            Point2D localPoint = graphPoint(sceneX, sceneY);
             dragLine.setEndX(localPoint.getX());
             dragLine.setEndY(localPoint.getY());
         }
@@ -2789,20 +3358,8 @@ public class GraphManager {
     
     private String findNodeAtPosition(double sceneX, double sceneY) {
         // Convert scene coordinates to canvas coordinates
-        javafx.geometry.Point2D localPoint = graphCanvas.sceneToLocal(sceneX, sceneY);
-        
-        for (Map.Entry<String, Circle> entry : nodeCircles.entrySet()) {
-            Circle circle = entry.getValue();
-            double centerX = circle.getCenterX();
-            double centerY = circle.getCenterY();
-            double distance = Math.sqrt(Math.pow(localPoint.getX() - centerX, 2) + 
-                                      Math.pow(localPoint.getY() - centerY, 2));
-            
-            if (distance <= NODE_RADIUS) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        Point2D localPoint = graphPoint(sceneX, sceneY);
+        return nodeGrid.nodeAt(localPoint.getX(), localPoint.getY());
     }
     
     private void createEdge(String id1, String id2) {
@@ -2816,13 +3373,12 @@ public class GraphManager {
         if (isDirected) {
             a = id1; // source
             b = id2; // target
-            key = a + "->" + b;
         } else {
             a = id1.compareTo(id2) < 0 ? id1 : id2;
             b = id1.compareTo(id2) < 0 ? id2 : id1;
-            key = a + "|" + b;
         }
-        if (edgeKeys.contains(key)) return; // already exists (respecting direction if directed)
+        key = edgeKey(a, b);
+        if (edgeIndex.containsKey(key)) return; // already exists (respecting direction if directed)
         Circle c1 = nodeCircles.get(id1);
         Circle c2 = nodeCircles.get(id2);
         if (c1 == null || c2 == null) return;
@@ -2959,6 +3515,7 @@ public class GraphManager {
     }
     
     private void enableAlgorithmCheckboxesIfReady() {
+        if (bulkLoading) return; // checked once when the load completes
         if (graphAlgoChecks != null && !graphNodes.isEmpty() && !edges.isEmpty() && !graphAlgoSelectionLocked) {
             boolean hasNegativeEdges = hasNegativeWeights();
             
@@ -2989,42 +3546,27 @@ public class GraphManager {
     
     private void finalizeEdgeCreation(String a, String b, String key, Circle c1, Circle c2, double weight){
         final double finalWeight = weight;
+        loadedSnapshot = null;
         
         Line line = new Line();
         line.setStroke(Color.web("#00d8ff"));
         line.setStrokeWidth(3);
         line.setOpacity(0.75);
+        
+        if (canvasRenderer != null) {
+            // Canvas mode: no listeners, label or arrow nodes; moveCanvasNode re-places the line
+            placeEdgeLine(line, c1, c2);
+            canvasRenderer.addEdge(line, isWeighted ? String.valueOf(finalWeight) : null, isDirected);
+            EdgeRecord record = new EdgeRecord(line, a, b, finalWeight, null, null);
+            edges.add(record);
+            indexEdge(record);
+            enableAlgorithmCheckboxesIfReady();
+            return;
+        }
         line.setEffect(new DropShadow(10, Color.web("#00ffff66")));
         
         // Calculate edge points on circumference
-        Runnable updateLinePosition = () -> {
-            double c1X = c1.getCenterX();
-            double c1Y = c1.getCenterY();
-            double c2X = c2.getCenterX();
-            double c2Y = c2.getCenterY();
-            
-            // Calculate direction vector from c1 to c2
-            double dx = c2X - c1X;
-            double dy = c2Y - c1Y;
-            double distance = Math.sqrt(dx * dx + dy * dy);
-            
-            if (distance > 0) {
-                // Normalize direction vector
-                dx /= distance;
-                dy /= distance;
-                
-                // Calculate edge start and end points on circumference
-                double startX = c1X + dx * NODE_RADIUS;
-                double startY = c1Y + dy * NODE_RADIUS;
-                double endX = c2X - dx * NODE_RADIUS;
-                double endY = c2Y - dy * NODE_RADIUS;
-                
-                line.setStartX(startX);
-                line.setStartY(startY);
-                line.setEndX(endX);
-                line.setEndY(endY);
-            }
-        };
+        Runnable updateLinePosition = () -> placeEdgeLine(line, c1, c2);
         
 	    // Bind line position updates to circle position changes
 	    c1.centerXProperty().addListener((obs, o, n) -> updateLinePosition.run());
@@ -3159,13 +3701,39 @@ public class GraphManager {
         }
         
 	    // Store edge record. For directed graphs 'a' is the true source and 'b' the target.
-	    edges.add(new EdgeRecord(line, a, b, finalWeight, weightLabel, arrowHead));
-	    edgeKeys.add(key);
+	    EdgeRecord record = new EdgeRecord(line, a, b, finalWeight, weightLabel, arrowHead);
+	    edges.add(record);
+	    indexEdge(record);
         
         // Check if algorithm checkboxes should be enabled
         enableAlgorithmCheckboxesIfReady();
     }
     
+    // Puts the line between the two circles' circumferences
+    private void placeEdgeLine(Line line, Circle c1, Circle c2) {
+        double c1X = c1.getCenterX();
+        double c1Y = c1.getCenterY();
+        double c2X = c2.getCenterX();
+        double c2Y = c2.getCenterY();
+        
+        // Calculate direction vector from c1 to c2
+        double dx = c2X - c1X;
+        double dy = c2Y - c1Y;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        
+        if (distance > 0) {
+            // Normalize direction vector
+            dx /= distance;
+            dy /= distance;
+            
+            // Calculate edge start and end points on circumference
+            line.setStartX(c1X + dx * NODE_RADIUS);
+            line.setStartY(c1Y + dy * NODE_RADIUS);
+            line.setEndX(c2X - dx * NODE_RADIUS);
+            line.setEndY(c2Y - dy * NODE_RADIUS);
+        }
+    }
+    
     private void repositionAllWeightLabels() {
         // Delay repositioning to avoid excessive updates during animation
         Platform.runLater(() -> {
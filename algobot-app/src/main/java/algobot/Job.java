@@ -0,0 +1,121 @@
+package algobot;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+
+/**
+ * A computation that runs off the FX thread: engine runs feeding a {@link StepPlayer}, step logs,
+ * max-flow solves, graph generation. All jobs share one executor (virtual threads when the JVM has
+ * them, daemon threads otherwise). Progress text is coalesced into at most one pending FX update,
+ * results are handed back on the FX thread, and a cancelled job never calls back.
+ * {@link common#transitionToPage} cancels every running job, so nothing keeps computing for a page
+ * that is no longer shown; pages cancel their own jobs on reset.
+ */
+public final class Job {
+
+    /** The background part of a job. Check {@link Job#checkCancelled} in long loops. */
+    public interface Work<T> {
+        T run(Job job) throws Exception;
+    }
+
+    private static final System.Logger LOG = System.getLogger(Job.class.getName());
+    private static final ExecutorService EXECUTOR = createExecutor();
+    private static final Set<Job> RUNNING = ConcurrentHashMap.newKeySet();
+
+    private final String name;
+    private final Label status;           // progress and failures go here; may be null (failures are then logged)
+    private final AtomicReference<String> pendingStatus = new AtomicReference<>();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private Runnable onCancel;
+    private volatile Future<?> future;
+
+    public Job(String name, Label status) {
+        this.name = name;
+        this.status = status;
+    }
+
+    /** Runs on the FX thread when the job is cancelled (by its owner or by a page change). */
+    public void setOnCancel(Runnable onCancel) { this.onCancel = onCancel; }
+
+    /** Starts the work; {@code onDone} (may be null) gets its result on the FX thread unless the job was cancelled. */
+    public <T> Job start(Work<T> work, Consumer<T> onDone) {
+        RUNNING.add(this);
+        future = EXECUTOR.submit(() -> {
+            try {
+                T result = work.run(this);
+                checkCancelled();
+                Platform.runLater(() -> {
+                    if (!RUNNING.remove(this)) return; // cancelled while the result was on its way
+                    if (onDone != null) onDone.accept(result);
+                });
+            } catch (CancellationException | InterruptedException e) {
+                // abandoned by cancel()
+            } catch (Exception | OutOfMemoryError e) {
+                Platform.runLater(() -> {
+                    if (!RUNNING.remove(this)) return;
+                    if (status != null) status.setText(name + " failed: " + e);
+                    else LOG.log(System.Logger.Level.WARNING, name + " failed", e);
+                });
+            }
+        });
+        return this;
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get() || Thread.currentThread().isInterrupted();
+    }
+
+    /** Unwinds the work (from the job's own thread) once the job has been cancelled. */
+    public void checkCancelled() {
+        if (isCancelled()) throw new CancellationException(name);
+    }
+
+    /** Shows {@code text} in the status label; calls made faster than the FX thread keeps up only show the latest. */
+    public void progress(String text) {
+        if (status == null || cancelled.get()) return;
+        if (pendingStatus.getAndSet(text) != null) return; // an update is already queued and will pick this up
+        Platform.runLater(() -> {
+            String latest = pendingStatus.getAndSet(null);
+            if (latest != null && !cancelled.get()) status.setText(latest);
+        });
+    }
+
+    /** Stops the job; it will not call back. Safe to call more than once and after the job finished. */
+    public void cancel() {
+        if (!cancelled.compareAndSet(false, true)) return;
+        RUNNING.remove(this);
+        Future<?> f = future;
+        if (f != null) f.cancel(true);
+        if (onCancel == null) return;
+        if (Platform.isFxApplicationThread()) onCancel.run();
+        else Platform.runLater(onCancel);
+    }
+
+    /** Cancels every running job (page changes). */
+    public static void cancelAll() {
+        for (Job job : RUNNING.toArray(new Job[0])) job.cancel();
+    }
+
+    // Virtual threads are final from Java 21; the build targets 17, so look the factory up at runtime
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "algobot-job");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -14,6 +14,7 @@ import javafx.scene.paint.LinearGradient;
 import javafx.scene.paint.Stop;
 import javafx.scene.shape.*;
 import javafx.util.Duration;
+import algobot.core.UnionFind;
 import java.util.*;
 
 public class MazeManager {
@@ -397,8 +398,7 @@ public class MazeManager {
             }
         }
         Collections.shuffle(wallList);
-        int[] parent = new int[size*size];
-        for (int i=0;i<parent.length;i++) parent[i]=i;
+        UnionFind cells = new UnionFind(size*size);
         // Draw initial grid
         drawMaze(canvas, walls, size, start, end, null);
         // Timeline for steps
@@ -418,8 +418,7 @@ public class MazeManager {
             int x = wall[0], y = wall[1], dir = wall[2];
             int cell1 = y*size + x;
             int cell2 = (dir==1)? cell1+1 : cell1+size;
-            if (find(parent, cell1) != find(parent, cell2)) {
-                union(parent, cell1, cell2);
+            if (cells.union(cell1, cell2)) {
                 walls[x][y][dir] = false;
                 if (dir==1) walls[x+1][y][3] = false; else walls[x][y+1][0] = false;
                 // Visual emphasis: redraw
@@ -436,15 +435,6 @@ public class MazeManager {
         tl.play();
     }
     
-    private int find(int[] parent, int x) {
-        if (parent[x] != x) parent[x] = find(parent, parent[x]);
-        return parent[x];
-    }
-    
-    private void union(int[] parent, int x, int y) {
-        parent[find(parent, x)] = find(parent, y);
-    }
-    
  // Solve maze using BFS
     private List<int[]> solveMaze(boolean[][][] walls, int size, int[] start, int[] end) {
         Queue<int[]> queue = new LinkedList<>();
@@ -18,6 +18,15 @@ import javafx.scene.shape.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
+import algobot.core.DinicEngine;
+import algobot.core.EdmondsKarpEngine;
+import algobot.core.FlowListener;
+import algobot.core.FlowNetwork;
+import algobot.core.GraphFile;
+import algobot.core.GraphGenerators;
+import algobot.core.PushRelabelEngine;
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.function.BiConsumer;
 
@@ -31,6 +40,7 @@ public class NetworkManager {
     private boolean netSelectingSource = false, netSelectingSink = false;
     private Map<String, GraphNode> netNodes = new HashMap<>();
     private Map<String, Circle> netNodeCircles = new HashMap<>();
+    private final NodeGrid netNodeGrid = new NodeGrid(NODE_RADIUS); // hit-testing and placement checks
     private Map<String, javafx.scene.text.Text> netNodeTexts = new HashMap<>();
     private List<EdgeRecord> netEdges = new ArrayList<>();
     // Temporary overlays for min-cut highlighting
@@ -39,8 +49,17 @@ public class NetworkManager {
     private String netSelectedNodeId = null; // for edge creation
     private boolean netDraggingEdge = false; private String netDragSourceNodeId = null; private Line netDragLine = null;
     private GraphNode flowSource = null, flowSink = null;
+    private static final String ALG_EK = "Edmonds–Karp", ALG_DINIC = "Dinic", ALG_PUSH_RELABEL = "Push–Relabel";
+    private ComboBox<String> netAlgoSelector;
     private static final double NODE_RADIUS = 22;
     private static final double BOUNDARY_MARGIN = NODE_RADIUS + 15;
+    // Pipes are scene-graph shapes, so imported and generated networks are capped (-Dalgobot.network.loadMaxEdges=N)
+    private static final int LOAD_MAX_EDGES = Integer.getInteger("algobot.network.loadMaxEdges", 1000);
+    // Generated layered networks: arcs per node into the next layer, and the largest capacity drawn
+    private static final int GEN_DEGREE = 2, GEN_MAX_CAPACITY = 20;
+    private Job netGenerateJob;   // a network being read or generated off the FX thread; cancelled by clear
+    private GraphFile loadedNetwork; // arcs of the loaded network, numbered as runMaxFlow numbers them; dropped by the first edit
+    private Job flowJob;          // the max-flow solve feeding the current run's animation
     private Node netCurrentOverlay = null; 
     private EventHandler<MouseEvent> netOutsideHandler = null;
     
@@ -96,12 +115,13 @@ public class NetworkManager {
     }
     
     private static class Seg {
-        final int u, v;
+        final int u, v, edge; // edge index in the run; runs v -> u when back
         final boolean back;
 
-        Seg(int u, int v, boolean b) {
+        Seg(int u, int v, int edge, boolean b) {
             this.u = u;
             this.v = v;
+            this.edge = edge;
             this.back = b;
         }
     }
@@ -122,7 +142,7 @@ public class NetworkManager {
 
         HBox titleContainer = ButtonManager.createTitleWithBackButton("MAX FLOW / MIN CUT NETWORK");
 
-        // Compact control panel (mirrors graph UI, but fixed Directed+Weighted and only Edmonds–Karp)
+        // Compact control panel (mirrors graph UI, but fixed Directed+Weighted; max-flow engine picked below)
         VBox buttonPanel = new VBox(6);
         buttonPanel.setAlignment(Pos.CENTER_RIGHT);
         buttonPanel.setPadding(new Insets(25, 0, 0, 15));
@@ -134,7 +154,12 @@ public class NetworkManager {
         ButtonManager.setCompactButtonDisabled(netAddEdgeBtnRef);
         netAddNodeBtnRef.setOnAction(e -> { toggleNetAddNodeMode(); if (netAddEdgeArmed) toggleNetAddEdgeMode(); });
         netAddEdgeBtnRef.setOnAction(e -> { toggleNetAddEdgeMode(); if (netAddNodeArmed) toggleNetAddNodeMode(); });
-        row1.getChildren().addAll(netAddNodeBtnRef, netAddEdgeBtnRef);
+        // Load / save the network (DIMACS max-flow files keep the source and sink)
+        Button netImport = ButtonManager.createCompactButton("IMPORT", "#00ffff");
+        netImport.setOnAction(e -> importNetwork());
+        Button netExport = ButtonManager.createCompactButton("EXPORT", "#00ffff");
+        netExport.setOnAction(e -> exportNetwork());
+        row1.getChildren().addAll(netAddNodeBtnRef, netAddEdgeBtnRef, netImport, netExport);
 
         HBox row2 = new HBox(8);
         row2.setAlignment(Pos.CENTER_RIGHT);
@@ -173,10 +198,23 @@ public class NetworkManager {
             netSelectingSink = true; netSelectingSource = false; networkStatusLabel.setText("Click a node to set SINK");
         });
         netResetVisualizationBtnRef.setOnAction(e -> resetNetworkVisualization());
-        netRunBtnRef.setOnAction(e -> runEdmondsKarp());
+        netRunBtnRef.setOnAction(e -> runMaxFlow());
         row3.getChildren().addAll(netSetSourceBtnRef, netSetSinkBtnRef, netResetVisualizationBtnRef, netRunBtnRef);
 
-        buttonPanel.getChildren().addAll(row1, row2, row3);
+        // Seeded layered networks for load testing
+        HBox row4 = new HBox(8);
+        row4.setAlignment(Pos.CENTER_RIGHT);
+        TextField genNodesField = new TextField("40");
+        genNodesField.setPromptText("nodes");
+        genNodesField.setPrefWidth(70);
+        TextField genSeedField = new TextField("42");
+        genSeedField.setPromptText("seed");
+        genSeedField.setPrefWidth(60);
+        Button netGenerate = ButtonManager.createCompactButton("GENERATE", "#00ffff");
+        netGenerate.setOnAction(e -> generateNetwork(genNodesField.getText(), genSeedField.getText()));
+        row4.getChildren().addAll(genNodesField, genSeedField, netGenerate);
+
+        buttonPanel.getChildren().addAll(row1, row2, row3, row4);
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
         titleContainer.getChildren().addAll(spacer, buttonPanel);
@@ -190,6 +228,26 @@ public class NetworkManager {
         Label cfg = new Label("Graph: Directed • Weighted (capacities)");
         cfg.setTextFill(Color.web("#e0ffff"));
         cfg.setFont(Font.font("SF Pro Text", 12));
+
+        // Max-flow engine; all of them replay as augmenting paths and end with the same min cut
+        HBox algoBox = new HBox(8);
+        algoBox.setAlignment(Pos.CENTER);
+        Label algoLabel = new Label("Algorithm:");
+        algoLabel.setStyle("-fx-text-fill: white; -fx-font-size: 11px;");
+        netAlgoSelector = new ComboBox<>();
+        netAlgoSelector.getItems().addAll(ALG_EK, ALG_DINIC, ALG_PUSH_RELABEL);
+        netAlgoSelector.getSelectionModel().select(ALG_EK);
+        netAlgoSelector.setStyle("-fx-background-color: linear-gradient(to bottom,#07141c,#0d2533);" +
+            "-fx-border-color:#00ffff33; -fx-border-radius:8; -fx-background-radius:8; -fx-padding:0 6; -fx-font-size:11px;");
+        netAlgoSelector.setButtonCell(new ListCell<String>() {
+            @Override protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : item);
+                setTextFill(Color.web("#e0ffff"));
+            }
+        });
+        netAlgoSelector.valueProperty().addListener((o, ov, nv) -> netRunBtnRef.setText("RUN (" + nv.toUpperCase() + ")"));
+        algoBox.getChildren().addAll(algoLabel, netAlgoSelector);
         
         // Network animation speed control
         HBox speedBox = new HBox(10);
@@ -220,7 +278,7 @@ public class NetworkManager {
         networkStatusLabel.setTextFill(Color.web("#cccccc"));
         networkStatusLabel.setFont(Font.font("SF Pro Text", 12));
         Region cfgSpacer = new Region(); HBox.setHgrow(cfgSpacer, Priority.ALWAYS);
-        configPanel.getChildren().addAll(cfg, speedBox, cfgSpacer, networkStatusLabel);
+        configPanel.getChildren().addAll(cfg, algoBox, speedBox, cfgSpacer, networkStatusLabel);
 
         // Main split: canvas + explanation
         HBox mainSplit = new HBox(18);
@@ -299,6 +357,7 @@ public class NetworkManager {
     
     private void netUndoLastEdge(){ 
     	if (netEdges.isEmpty()) return; 
+    	loadedNetwork = null;
     	EdgeRecord last = netEdges.remove(netEdges.size()-1);
     	
 	    netStopWaterAnim(last, false);
@@ -314,8 +373,10 @@ public class NetworkManager {
 	    
 	    netEdgeKeys.remove(last.a+"->"+last.b); updateNetworkWorkflowButtons(); }
 		private void netRemovePreviousNode(){ if(netNodes.isEmpty()) return; // Remove last added node and its adjacent edges
+	    loadedNetwork = null;
 	    String lastId = String.valueOf(netNodes.size()-1);
 		Circle c = netNodeCircles.remove(lastId);
+		netNodeGrid.remove(lastId);
 		if(c!=null) networkCanvas.getChildren().remove(c);
 		javafx.scene.text.Text t = netNodeTexts.remove(lastId);
 		if(t!=null) networkCanvas.getChildren().remove(t);
@@ -399,8 +460,7 @@ public class NetworkManager {
             if (!netAddNodeArmed) return;
             double x = common.clamp(e.getX(), BOUNDARY_MARGIN, networkCanvas.getWidth() - BOUNDARY_MARGIN);
             double y = common.clamp(e.getY(), BOUNDARY_MARGIN, networkCanvas.getHeight() - BOUNDARY_MARGIN);
-            boolean tooClose = networkCanvas.getChildren().stream().anyMatch(n -> n instanceof Circle c && Math.hypot(c.getCenterX()-x, c.getCenterY()-y) < (NODE_RADIUS*2 + 6));
-            if (!tooClose) {
+            if (!netNodeGrid.anyWithin(x, y, NODE_RADIUS*2 + 6)) {
                 String id = String.valueOf(netNodes.size());
                 netAddNodeAtPosition(id, x, y);
             }
@@ -411,6 +471,7 @@ public class NetworkManager {
 	
 	private void netAddNodeAtPosition(String nodeId, double x, double y){
         if (netNodes.containsKey(nodeId)) return;
+        loadedNetwork = null;
         GraphNode node = new GraphNode(nodeId, x, y);
         netNodes.put(nodeId, node);
 
@@ -421,6 +482,7 @@ public class NetworkManager {
         circle.setEffect(new DropShadow(16, Color.web("#00ffff55")));
         node.setCircle(circle);
         netNodeCircles.put(nodeId, circle);
+        netNodeGrid.put(nodeId, x, y);
 
         javafx.scene.text.Text numText = new javafx.scene.text.Text(nodeId);
         numText.setFill(Color.WHITE);
@@ -433,7 +495,7 @@ public class NetworkManager {
         centerText.run(); numText.layoutBoundsProperty().addListener((o,ov,nv)->centerText.run()); circle.centerXProperty().addListener((o,ov,nv)->centerText.run()); circle.centerYProperty().addListener((o,ov,nv)->centerText.run());
 
         circle.setOnMousePressed(e -> { if (netAddEdgeArmed) { netStartEdgeDrag(nodeId, e.getSceneX(), e.getSceneY()); e.consume(); } });
-        circle.setOnMouseDragged(e -> { if (netDraggingEdge) { netUpdateDragLine(e.getSceneX(), e.getSceneY()); e.consume(); } else { double nx = common.clamp(e.getX(), BOUNDARY_MARGIN, networkCanvas.getWidth()-BOUNDARY_MARGIN); double ny = common.clamp(e.getY(), BOUNDARY_MARGIN, networkCanvas.getHeight()-BOUNDARY_MARGIN); circle.setCenterX(nx); circle.setCenterY(ny); centerText.run(); node.setX(nx); node.setY(ny);} });
+        circle.setOnMouseDragged(e -> { if (netDraggingEdge) { netUpdateDragLine(e.getSceneX(), e.getSceneY()); e.consume(); } else { double nx = common.clamp(e.getX(), BOUNDARY_MARGIN, networkCanvas.getWidth()-BOUNDARY_MARGIN); double ny = common.clamp(e.getY(), BOUNDARY_MARGIN, networkCanvas.getHeight()-BOUNDARY_MARGIN); circle.setCenterX(nx); circle.setCenterY(ny); centerText.run(); node.setX(nx); node.setY(ny); netNodeGrid.put(nodeId, nx, ny);} });
         circle.setOnMouseReleased(e -> { if (netDraggingEdge) { netFinishEdgeDrag(e.getSceneX(), e.getSceneY()); e.consume(); } });
         circle.setOnMouseClicked(e -> { if (!netAddEdgeArmed) { handleNetworkNodeClick(nodeId); e.consume(); } });
 
@@ -518,15 +580,7 @@ public class NetworkManager {
 
 	private String netFindNodeAt(double sceneX, double sceneY) {
 	    javafx.geometry.Point2D p = networkCanvas.sceneToLocal(sceneX, sceneY);
-
-	    for (Map.Entry<String, Circle> e : netNodeCircles.entrySet()) {
-	        Circle c = e.getValue();
-	        if (Math.hypot(p.getX() - c.getCenterX(), p.getY() - c.getCenterY()) <= NODE_RADIUS) {
-	            return e.getKey();
-	        }
-	    }
-
-	    return null;
+	    return netNodeGrid.nodeAt(p.getX(), p.getY());
 	}
 
 	private void netCreateEdge(String id1, String id2) {
@@ -659,6 +713,7 @@ public class NetworkManager {
 	}
 	
 	private void netFinalizeEdgeCreation(String a, String b, String key, Circle c1, Circle c2, double cap){
+	    loadedNetwork = null;
         // Build a layered "pipe": base (outer), inner, and a water overlay that we can animate
         Line base = new Line();
         base.setStroke(Color.web("#0b2a35"));
@@ -857,6 +912,8 @@ public class NetworkManager {
 	}
 	
 	public void clearNetwork() {
+	    if (netGenerateJob != null) netGenerateJob.cancel();
+	    if (flowJob != null) flowJob.cancel();
 	    if (networkCanvas != null) {
 	        networkCanvas.getChildren().clear();
 	    }
@@ -878,8 +935,10 @@ public class NetworkManager {
 	        networkCanvas.setClip(clip);
 	    }
 
+	    loadedNetwork = null;
 	    netNodes.clear();
 	    netNodeCircles.clear();
+	    netNodeGrid.clear();
 	    netNodeTexts.clear();
 	    // remove overlays already handled by clearing children; clear edge state maps
 	    netEdges.clear();
@@ -905,7 +964,115 @@ public class NetworkManager {
 	    updateNetworkWorkflowButtons();
 	}
 	
-	private void runEdmondsKarp(){
+	// Replaces the network with one read from a file; every edge is directed and its weight is the capacity
+	private void importNetwork() {
+	    File file = GraphFileDialog.chooseOpen(networkCanvas, "Import network");
+	    if (file == null) return;
+	    String name = file.getName();
+	    if (netGenerateJob != null) netGenerateJob.cancel();
+	    networkStatusLabel.setText("Reading " + name + "...");
+	    // Parsing and dropping self-loops and repeated arcs happen on the worker; the page only draws the result
+	    int[] skipped = {0};
+	    netGenerateJob = new Job("Import", networkStatusLabel).start(job -> {
+	        GraphFile raw = GraphFile.read(file.toPath(), true);
+	        GraphFile g = raw.simple();
+	        skipped[0] = raw.edgeCount() - g.edgeCount();
+	        return g;
+	    }, g -> loadNetworkFile(g, skipped[0], name));
+	}
+	
+	// Builds a seeded layered network (source, layers roughly matching the canvas aspect, sink) on a worker thread
+	private void generateNetwork(String nodesText, String seedText) {
+	    int n;
+	    long seed;
+	    try {
+	        n = Integer.parseInt(nodesText.trim());
+	        seed = Long.parseLong(seedText.trim());
+	    } catch (NumberFormatException ex) {
+	        networkStatusLabel.setText("Generate: nodes and seed must be whole numbers.");
+	        return;
+	    }
+	    if (n < 3) {
+	        networkStatusLabel.setText("Generate: need at least 3 nodes (source, one inner node, sink).");
+	        return;
+	    }
+	    int width = (int) Math.max(1, Math.round(Math.sqrt((n - 2) * 520.0 / 900.0)));
+	    int layers = Math.max(1, (n - 2) / width);
+	    if (netGenerateJob != null) netGenerateJob.cancel();
+	    networkStatusLabel.setText("Generating layered network...");
+	    netGenerateJob = new Job("Generate", networkStatusLabel).start(
+	        job -> GraphGenerators.layeredNetwork(layers, width, GEN_DEGREE, GEN_MAX_CAPACITY, seed).simple(),
+	        g -> loadNetworkFile(g, 0, "layered network (seed " + seed + ")"));
+	}
+	
+	// g must be simple (no self-loops or repeated arcs): every arc becomes a page edge, edge e of the page is arc e
+	private void loadNetworkFile(GraphFile g, int skipped, String name) {
+	    double gap = NODE_RADIUS * 2 + 16;
+	    // The canvas is clipped to 900x520 and does not zoom, so everything has to fit on it
+	    if (g.edgeCount() > LOAD_MAX_EDGES || !GraphFileDialog.fits(g, 900, 520, BOUNDARY_MARGIN, gap)) {
+	        networkStatusLabel.setText(name + ": " + g.n + " nodes / " + g.edgeCount() + " edges does not fit the network page.");
+	        return;
+	    }
+	    resetNetworkVisualization();
+	    clearNetwork();
+	    double[] xy = GraphFileDialog.place(g, 900, 520, BOUNDARY_MARGIN, gap);
+	    for (int i = 0; i < g.n; i++) netAddNodeAtPosition(String.valueOf(i), xy[2 * i], xy[2 * i + 1]);
+	    for (int e = 0; e < g.edgeCount(); e++) {
+	        String a = String.valueOf(g.from[e]), b = String.valueOf(g.to[e]);
+	        netFinalizeEdgeCreation(a, b, a + "->" + b, netNodeCircles.get(a), netNodeCircles.get(b), g.weight[e]);
+	    }
+	    loadedNetwork = g;
+	    // Terminals from a DIMACS max-flow file or a generator go through the same path as clicking SET SOURCE / SET SINK
+	    if (g.source >= 0 && g.source < g.n) { netSelectingSource = true; handleNetworkNodeClick(String.valueOf(g.source)); }
+	    if (g.sink >= 0 && g.sink < g.n && g.sink != g.source) { netSelectingSink = true; handleNetworkNodeClick(String.valueOf(g.sink)); }
+	    updateNetworkWorkflowButtons();
+	    networkStatusLabel.setText("Loaded " + name + ": " + g.n + " nodes, " + netEdges.size() + " edges"
+	        + (skipped > 0 ? " (" + skipped + " self-loops/duplicates skipped)" : "") + ".");
+	}
+	
+	// Arc i is edges[i]; the caller drops edges whose endpoints are not in idx
+	private static FlowNetwork networkOf(int n, Map<String, Integer> idx, List<EdgeRecord> edges) {
+	    int m = edges.size();
+	    int[] from = new int[m], to = new int[m];
+	    double[] capacity = new double[m];
+	    for (int i = 0; i < m; i++) {
+	        EdgeRecord e = edges.get(i);
+	        from[i] = idx.get(e.a); to[i] = idx.get(e.b); capacity[i] = e.weight;
+	    }
+	    return FlowNetwork.of(n, from, to, capacity);
+	}
+	
+	// Writes the network with the current source and sink; nodes are renumbered 0..n-1 in id order
+	private void exportNetwork() {
+	    if (netNodes.isEmpty()) {
+	        networkStatusLabel.setText("Nothing to export: add nodes first.");
+	        return;
+	    }
+	    File file = GraphFileDialog.chooseSave(networkCanvas, "Export network", "network.max");
+	    if (file == null) return;
+	    List<String> ids = new ArrayList<>(netNodes.keySet());
+	    ids.sort(Comparator.comparingInt(Integer::parseInt));
+	    Map<String, Integer> idx = new HashMap<>();
+	    for (int i = 0; i < ids.size(); i++) idx.put(ids.get(i), i);
+	    int m = netEdges.size();
+	    int[] from = new int[m], to = new int[m];
+	    double[] capacity = new double[m];
+	    for (int i = 0; i < m; i++) {
+	        EdgeRecord e = netEdges.get(i);
+	        from[i] = idx.get(e.a); to[i] = idx.get(e.b);
+	        capacity[i] = originalCapacities.getOrDefault(e.a + "->" + e.b, e.weight);
+	    }
+	    int s = flowSource != null ? idx.get(flowSource.getId()) : -1;
+	    int t = flowSink != null ? idx.get(flowSink.getId()) : -1;
+	    try {
+	        GraphFile.write(file.toPath(), new GraphFile(ids.size(), from, to, capacity, true, true, s, t));
+	        networkStatusLabel.setText("Exported " + ids.size() + " nodes, " + m + " edges to " + file.getName() + ".");
+	    } catch (IOException ex) {
+	        networkStatusLabel.setText("Export failed: " + ex.getMessage());
+	    }
+	}
+	
+	private void runMaxFlow(){
         if (flowSource==null || flowSink==null){ 
         	if(networkStatusLabel!=null) 
         		networkStatusLabel.setText("Set source and sink first."); 
@@ -922,37 +1089,105 @@ public class NetworkManager {
         List<String> ids = new ArrayList<>(netNodes.keySet()); Collections.sort(ids, Comparator.comparingInt(Integer::parseInt));
         int n = ids.size(); Map<String,Integer> idx = new HashMap<>(); for (int i=0;i<n;i++) idx.put(ids.get(i), i);
         int s = idx.get(flowSource.getId()); int t = idx.get(flowSink.getId());
-        double[][] cap = new double[n][n];
-        for (EdgeRecord e : netEdges){ Integer u = idx.get(e.a), v = idx.get(e.b); if(u!=null && v!=null) cap[u][v] += e.weight; }
-        double[][] flow = new double[n][n];
-        NetFlowRun run = new NetFlowRun(n, s, t, ids, idx, cap, flow);
-        appendNetworkLog("Starting Edmonds–Karp from "+flowSource.getId()+" to "+flowSink.getId()+"\n");
-        // Kick off iterative augment-animate loop
+        // Residual graph; edge i of the run is runEdges[i], the edges whose endpoints both exist.
+        // A loaded network that was not edited since already holds its arcs in this numbering.
+        List<EdgeRecord> runEdges = new ArrayList<>(netEdges.size());
+        for (EdgeRecord e : netEdges) if (idx.containsKey(e.a) && idx.containsKey(e.b)) runEdges.add(e);
+        FlowNetwork network = loadedNetwork != null && runEdges.size() == netEdges.size()
+            ? loadedNetwork.toFlowNetwork() : networkOf(n, idx, runEdges);
+        NetFlowRun run = new NetFlowRun(n, s, t, ids, idx, runEdges);
+        String algorithm = netAlgoSelector.getValue();
+        appendNetworkLog("Starting "+algorithm+" from "+flowSource.getId()+" to "+flowSink.getId()+"\n");
+        // Solve in the background (engine works on its own flow); each path is animated as soon as it is found
+        if (flowJob != null) flowJob.cancel();
+        flowJob = new Job(algorithm, networkStatusLabel).start(job -> {
+            int[] phases = {0}, paths = {0}; long[] pushes = {0}, relabels = {0};
+            FlowListener recorder = new FlowListener() {
+                @Override
+                public void onAugment(int[] path, int[] edges, boolean[] back, double amount, double totalFlow) {
+                    job.checkCancelled();
+                    FlowAugment a = new FlowAugment(path, edges, back, amount);
+                    job.progress(algorithm+": "+(++paths[0])+" augmenting path(s) found...");
+                    Platform.runLater(() -> { if (!job.isCancelled()) offerAugment(run, a); });
+                }
+                @Override
+                public void onPhase(int phase, int sinkLevel) { phases[0] = phase; job.checkCancelled(); }
+                @Override
+                public void onPush(int u, int v, double amount) { pushes[0]++; }
+                @Override
+                public void onRelabel(int v, int height) {
+                    if ((++relabels[0] & 0xFFF) == 0) job.checkCancelled();
+                }
+                @Override
+                public void onFinish(double maxFlow, boolean[] sourceSide) {
+                    run.sourceSide = sourceSide;
+                }
+            };
+            if (ALG_DINIC.equals(algorithm)) {
+                DinicEngine.run(network, s, t, recorder);
+                return phases[0]+" level graph(s), "+paths[0]+" augmenting path(s) in total\n\n";
+            } else if (ALG_PUSH_RELABEL.equals(algorithm)) {
+                PushRelabelEngine.run(network, s, t, recorder);
+                return pushes[0]+" pushes, "+relabels[0]+" relabels; replaying the flow as "+paths[0]+" source-to-sink path(s)\n\n";
+            }
+            EdmondsKarpEngine.run(network, s, t, recorder);
+            return "";
+        }, summary -> {
+            if (!summary.isEmpty()) appendNetworkLog(summary);
+            run.solved = true;
+            if (run.waiting) { run.waiting = false; AugmentStep(run); }
+        });
+        // Kick off iterative augment-animate loop; it waits for paths the solve has not found yet
         AugmentStep(run);
     }
 	
+	// A path from the background solve; resumes the animation if it was waiting for one
+	private void offerAugment(NetFlowRun run, FlowAugment a) {
+	    run.augments.add(a);
+	    if (run.waiting) { run.waiting = false; AugmentStep(run); }
+	}
+	
 	private void clearMinCutOverlays(){
         if(networkCanvas==null) { netMinCutOverlays.clear(); return; }
         for(Node n : netMinCutOverlays){ networkCanvas.getChildren().remove(n); }
         netMinCutOverlays.clear();
     }
 	
+	private static class FlowAugment {
+	    final int[] path;
+	    final int[] edges;
+	    final boolean[] back;
+	    final double amount;
+
+	    FlowAugment(int[] path, int[] edges, boolean[] back, double amount) {
+	        this.path = path;
+	        this.edges = edges;
+	        this.back = back;
+	        this.amount = amount;
+	    }
+	}
+	
 	private static class NetFlowRun {
 	    final int n, s, t;
 	    final List<String> ids;
 	    final Map<String, Integer> idx;
-	    final double[][] cap;
-	    final double[][] flow;
+	    final List<EdgeRecord> edges;
+	    final double[] flow; // per edge, flow shown so far (advanced as each path finishes animating)
+	    final List<FlowAugment> augments = new ArrayList<>();
+	    int nextAugment = 0;
+	    boolean solved;  // the background solve has reported every path
+	    boolean waiting; // the animation has shown every path found so far and waits for the next
+	    boolean[] sourceSide; // residual-reachable set from the engine, for the min cut
 	    double maxFlow = 0;
 
-	    NetFlowRun(int n, int s, int t, List<String> ids, Map<String, Integer> idx, double[][] cap, double[][] flow) {
+	    NetFlowRun(int n, int s, int t, List<String> ids, Map<String, Integer> idx, List<EdgeRecord> edges) {
 	        this.n = n;
 	        this.s = s;
 	        this.t = t;
 	        this.ids = ids;
 	        this.idx = idx;
-	        this.cap = cap;
-	        this.flow = flow;
+	        this.edges = edges;
+	        this.flow = new double[edges.size()];
 	    }
 	}
 	
@@ -968,43 +1203,29 @@ public class NetworkManager {
 	}
 	
 	private void AugmentStep(NetFlowRun run){
-        // BFS in residual network; parent[v] >=0 means forward parent; parent[v] <0 encodes back edge with parent = -(u+1)
-        int[] parent = new int[run.n]; Arrays.fill(parent, -1); parent[run.s]=run.s; double[] m = new double[run.n]; m[run.s]=Double.POSITIVE_INFINITY;
-        ArrayDeque<Integer> q = new ArrayDeque<>(); q.add(run.s);
-        while(!q.isEmpty() && parent[run.t]==-1){ int u = q.poll(); for(int v=0; v<run.n; v++){
-                double residualF = run.cap[u][v] - run.flow[u][v];
-                if(residualF > 1e-9 && parent[v]==-1){ parent[v]=u; m[v]=Math.min(m[u], residualF); q.add(v);} 
-                // back edge from u->v exists if there is flow from v to u
-                if(run.flow[v][u] > 1e-9 && parent[v]==-1){ parent[v] = -(u+1); m[v]=Math.min(m[u], run.flow[v][u]); q.add(v);} }
+        if(run.nextAugment >= run.augments.size() && !run.solved){
+            run.waiting = true;
+            return;
         }
-        if(parent[run.t]==-1){
+        if(run.nextAugment >= run.augments.size()){
             appendNetworkLog("No more augmenting paths. Max Flow = "+common.fmt(run.maxFlow)+"\n");
             if(networkStatusLabel!=null) networkStatusLabel.setText("Max Flow computed: "+common.fmt(run.maxFlow));
-            applyNetworkFlowToLabels(run.flow, run.idx);
+            applyNetworkFlowToLabels(run);
             // Update residual back-edge overlays one last time
-            updateNetworkResidualOverlays(run.flow, run.idx);
-            // Compute reachable set in residual graph and highlight min-cut edges
-            boolean[] reach = computeResidualReachable(run);
-            highlightMinCutEdges(run, reach);
+            updateNetworkResidualOverlays(run);
+            // Highlight min-cut edges from the engine's residual reachable set
+            highlightMinCutEdges(run, run.sourceSide);
             return;
         }
-        double aug = m[run.t];
-        // Reconstruct path segments from s to t
+        FlowAugment a = run.augments.get(run.nextAugment++);
+        double aug = a.amount;
+        // Path segments from s to t
         java.util.List<Seg> segs = new ArrayList<>(); List<String> pathNodes = new ArrayList<>();
-        int cur = run.t; pathNodes.add(run.ids.get(cur));
-        while(cur != run.s){ 
-        	int p = parent[cur]; 
-        	if(p>=0){ 
-        		segs.add(0, new Seg(p, cur, false)); 
-        		cur = p; 
-        	} 
-        	else { 
-        		int u = -p-1; 
-        		segs.add(0, new Seg(u, cur, true)); 
-        		cur = u; 
-        	} 
-        	
-        	pathNodes.add(0, run.ids.get(cur)); 
+        for(int k=0; k<a.back.length; k++){
+        	segs.add(new Seg(a.path[k], a.path[k+1], a.edges[k], a.back[k]));
+        }
+        for(int v : a.path){
+        	pathNodes.add(run.ids.get(v));
         }
         
         appendNetworkLog("Path: "+String.join(" -> ", pathNodes)+"  | bottleneck = "+common.fmt(aug)+"\n");
@@ -1012,11 +1233,10 @@ public class NetworkManager {
         animateAugmentPathAndApply(segs, aug, run, () -> AugmentStep(run));
     }
 	
-	private void applyNetworkFlowToLabels(double[][] flow, Map<String,Integer> idx){
-        for (EdgeRecord e : netEdges){
-            Integer u = idx.get(e.a), v = idx.get(e.b);
-            if (u==null || v==null) continue;
-            double f = flow[u][v];
+	private void applyNetworkFlowToLabels(NetFlowRun run){
+        for (int i = 0; i < run.edges.size(); i++){
+            EdgeRecord e = run.edges.get(i);
+            double f = run.flow[i];
             e.flow = f;
             // Show remaining capacity over total capacity to reflect decreased capacity after pushing flow
             double remaining = Math.max(0, e.weight - f);
@@ -1024,35 +1244,19 @@ public class NetworkManager {
         }
     }
 	
-    private void updateNetworkResidualOverlays(double[][] flow, Map<String,Integer> idx){
-        for(EdgeRecord e : netEdges){ Integer u = idx.get(e.a), v = idx.get(e.b); if(u==null||v==null) continue; double f = flow[u][v];
+    private void updateNetworkResidualOverlays(NetFlowRun run){
+        for(int i = 0; i < run.edges.size(); i++){ EdgeRecord e = run.edges.get(i); double f = run.flow[i];
             netEnsureBackOverlay(e);
             if(f > 1e-9){ netSetBackOverlayVisible(e, true); if(e.residualBackLabel!=null) e.residualBackLabel.setText(common.fmt(f)); }
             else { netSetBackOverlayVisible(e, false); }
         }
     }
     
-    private boolean[] computeResidualReachable(NetFlowRun run){
-        boolean[] reach = new boolean[run.n];
-        ArrayDeque<Integer> q = new ArrayDeque<>();
-        reach[run.s] = true; q.add(run.s);
-        while(!q.isEmpty()){
-            int u = q.poll();
-            for(int v=0; v<run.n; v++){
-                // forward residual capacity
-                if(!reach[v] && run.cap[u][v] - run.flow[u][v] > 1e-9){ reach[v]=true; q.add(v); }
-                // backward residual capacity (i.e., there is flow to cancel)
-                if(!reach[v] && run.flow[v][u] > 1e-9){ reach[v]=true; q.add(v); }
-            }
-        }
-        return reach;
-    }
-    
     private void highlightMinCutEdges(NetFlowRun run, boolean[] reach){
         clearMinCutOverlays();
         Color cutColor = Color.web("#ffd166"); // warm gold
         List<String> listed = new ArrayList<>();
-        for(EdgeRecord e : netEdges){
+        for(EdgeRecord e : run.edges){
             Integer u = run.idx.get(e.a), v = run.idx.get(e.b);
             if(u==null||v==null) continue;
             if(reach[u] && !reach[v]){
@@ -1134,8 +1338,8 @@ public class NetworkManager {
             if (cFrom == null || cTo == null) {
                 continue;
             }
-            // For water animation, always reference the forward edge a->b and use reverse flag for back segments
-            EdgeRecord er = netFindEdge(a, b);
+            // For water animation, reference the segment's own edge and use reverse flag for back segments
+            EdgeRecord er = run.edges.get(s.edge);
             if (er != null) {
                 waterEdges.add(er);
                 waterReverse.add(s.back);
@@ -1222,16 +1426,12 @@ public class NetworkManager {
         seq.setOnFinished(ev -> {
             // Apply augmentation to flow matrix
             for (Seg s : segs) {
-                if (!s.back) {
-                    run.flow[s.u][s.v] += aug;
-                } else {
-                    run.flow[s.v][s.u] -= aug;
-                }
+                run.flow[s.edge] += s.back ? -aug : aug;
             }
             run.maxFlow += aug;
             appendNetworkLog("Augmented by " + common.fmt(aug) + "  | Total flow now " + common.fmt(run.maxFlow) + "\n\n");
-            applyNetworkFlowToLabels(run.flow, run.idx);
-            updateNetworkResidualOverlays(run.flow, run.idx);
+            applyNetworkFlowToLabels(run);
+            updateNetworkResidualOverlays(run);
 
             // Fade out overlays then cleanup and continue
             Timeline fadeOut = new Timeline();
@@ -1286,7 +1486,8 @@ public class NetworkManager {
     
     // Reset network visualization to initial state
     private void resetNetworkVisualization() {
-        // Stop any running animations
+        // Stop the solve and any running animations
+        if (flowJob != null) flowJob.cancel();
         if (currentNetworkSequence != null) {
             currentNetworkSequence.stop();
             currentNetworkSequence = null;
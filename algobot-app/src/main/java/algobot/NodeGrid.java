@@ -0,0 +1,116 @@
+package algobot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid over node centres for hit-testing and placement checks.
+ * Cells are one node diameter wide, so a point lookup only visits the 3x3 cells around it
+ * no matter how many nodes the page holds. Callers keep it in step with the circles
+ * (put on add and move, remove on delete).
+ */
+public class NodeGrid {
+
+    private final double hitRadius;
+    private final double cellSize;
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public NodeGrid(double hitRadius) {
+        this.hitRadius = hitRadius;
+        this.cellSize = hitRadius * 2;
+    }
+
+    /** Adds the node, or moves it if it is already indexed. */
+    public void put(String id, double x, double y) {
+        long key = key(cell(x), cell(y));
+        Entry e = entries.get(id);
+        if (e == null) {
+            e = new Entry(id);
+            entries.put(id, e);
+        } else if (e.cellKey != key) {
+            unlink(e);
+        } else {
+            e.x = x;
+            e.y = y;
+            return;
+        }
+        e.x = x;
+        e.y = y;
+        e.cellKey = key;
+        cells.computeIfAbsent(key, k -> new ArrayList<>(2)).add(e);
+    }
+
+    public void remove(String id) {
+        Entry e = entries.remove(id);
+        if (e != null) unlink(e);
+    }
+
+    public void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    public int size() { return entries.size(); }
+
+    /** Node whose centre is closest to (x, y) within the hit radius, or null. */
+    public String nodeAt(double x, double y) {
+        Entry best = null;
+        double bestD2 = hitRadius * hitRadius;
+        int cx = cell(x), cy = cell(y);
+        for (int i = cx - 1; i <= cx + 1; i++) {
+            for (int j = cy - 1; j <= cy + 1; j++) {
+                List<Entry> list = cells.get(key(i, j));
+                if (list == null) continue;
+                for (Entry e : list) {
+                    double dx = e.x - x, dy = e.y - y, d2 = dx * dx + dy * dy;
+                    if (d2 <= bestD2) { bestD2 = d2; best = e; }
+                }
+            }
+        }
+        return best == null ? null : best.id;
+    }
+
+    /** True if some node centre lies closer than {@code distance} to (x, y). */
+    public boolean anyWithin(double x, double y, double distance) {
+        double d2max = distance * distance;
+        int x0 = cell(x - distance), x1 = cell(x + distance);
+        int y0 = cell(y - distance), y1 = cell(y + distance);
+        for (int i = x0; i <= x1; i++) {
+            for (int j = y0; j <= y1; j++) {
+                List<Entry> list = cells.get(key(i, j));
+                if (list == null) continue;
+                for (Entry e : list) {
+                    double dx = e.x - x, dy = e.y - y;
+                    if (dx * dx + dy * dy < d2max) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void unlink(Entry e) {
+        List<Entry> list = cells.get(e.cellKey);
+        if (list == null) return;
+        list.remove(e);
+        if (list.isEmpty()) cells.remove(e.cellKey);
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    private static final class Entry {
+        final String id;
+        double x, y;
+        long cellKey;
+
+        Entry(String id) { this.id = id; }
+    }
+}
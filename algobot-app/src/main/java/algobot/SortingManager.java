@@ -0,0 +1,931 @@
+package algobot;
+
+import javafx.animation.*;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.stage.FileChooser;
+import algobot.core.CountingSortEngine;
+import algobot.core.HeapSortEngine;
+import algobot.core.IntroSortEngine;
+import algobot.core.ParallelSortEngine;
+import algobot.core.ParallelSortListener;
+import algobot.core.QuickSortEngine;
+import algobot.core.RadixSortEngine;
+import algobot.core.ShellSortEngine;
+import algobot.core.SimpleSortStepper;
+import algobot.core.SortListener;
+import algobot.core.SortMetrics;
+import algobot.core.SortStepLog;
+import algobot.core.TimSortEngine;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class SortingManager {
+	// A frame stops stepping once it has used this much time (-Dalgobot.sort.frameBudgetMs=N)
+	private static final long FRAME_BUDGET_NS = Integer.getInteger("algobot.sort.frameBudgetMs", 8) * 1_000_000L;
+	private AnimationTimer sortingTimer; // runs the steps that fell due since the last frame, then repaints once
+	private long lastPulse;
+	private double owedSteps;            // steps due but not run yet (fractional at low speeds)
+	// Largest array CREATE BARS accepts (-Dalgobot.sort.maxCount=N); arrays above EDIT_COUNT start random
+	private static final int MAX_COUNT = Integer.getInteger("algobot.sort.maxCount", 1_000_000);
+	private static final int EDIT_COUNT = 120;
+	// Workers of the P-* and BITONIC sorts (-Dalgobot.sort.parallelism=N)
+	private static final ForkJoinPool SORT_POOL = new ForkJoinPool(
+	    Integer.getInteger("algobot.sort.parallelism", Runtime.getRuntime().availableProcessors()));
+	// Gap sequence SHELL starts with (-Dalgobot.sort.shellGaps=SHELL|KNUTH|CIURA); the page's selector changes it
+	private static final ShellSortEngine.Gaps DEFAULT_SHELL_GAPS = shellGaps();
+	private int[] sortingValues = new int[0];
+	private int valuesMax = 1;  // largest value in sortingValues (sorting only moves values around)
+	private int drawnScale = 1; // value drawn at full height in the last full repaint
+	private BarRenderer barRenderer;
+	private String activeSortingAlgo = null;
+    private int si = 0, sj = 0; // generic indices
+    private int passOrOuter = 0; // bubble pass / selection outer / insertion outer
+    private int auxIndex = -1;
+    private int[] owner = new int[0]; // parallel sorts: 1 + worker that last wrote each bar, 0 if none yet
+    private boolean flag = false; // bars were edited while paused
+    private SimpleSortStepper stepper; // bubble / insertion / selection, stepped live on sortingValues
+    private boolean sortingRunning = false;
+    private boolean sortingFinished = false;
+    private boolean barEditingEnabled = false;
+    private TextField sortingInputField; // legacy free-form input (deprecated in new workflow)
+    private TextField elementCountField; // new: number of elements
+    private TextField maxElementField;
+    private Button bubbleBtn, insertionBtn, selectionBtn, quickBtn, radixBtn;
+    private Button pMergeBtn, pQuickBtn, pRadixBtn, bitonicBtn;
+    private Button timBtn, introBtn, heapBtn, shellBtn, countingBtn;
+    private Button selectedAlgoButton; // remember which algorithm was chosen
+    private Button pauseResumeBtn;
+    private Button stepBackBtn, stepForwardBtn; // enabled while paused
+    private ComboBox<ShellSortEngine.Gaps> shellGapSelector;
+    private TextArea explanationArea;
+    private String lastExplanation = "";
+    private Canvas sortingCanvas;
+    private Button resetArrayButton;
+    private javafx.scene.control.Slider speedSlider; // speed control
+    private Label speedValueLabel; // shows steps per second
+    private double speedLog = 0.3; // slider value: log10 of steps per second (1 .. 10M)
+    private int declaredMaxElement = 100;
+    private boolean paused = false;
+    private SortStepLog stepLog = null; // delta-encoded precomputed run (quick / radix)
+    private Job stepJob;                // records stepLog in the background while the replay follows it
+    private boolean stepLogComplete = false;
+    private int preStepIndex = 0;
+    private int countedSteps = 0;       // log steps already counted in metrics (stepping back does not uncount)
+    private boolean usingPrecomputed = false;
+    private SortMetrics metrics;                              // counters of the current run
+    private final List<SortMetrics> metricRuns = new ArrayList<>(); // every run of the session, for EXPORT METRICS
+    private Label metricsLabel;
+	
+	public void createSortingPage() {
+    	common.sortingContainer = new VBox(15);
+    	common.sortingContainer.setAlignment(Pos.TOP_CENTER);
+    	// Increase top padding to move back button and title lower from the top border
+    	common.sortingContainer.setPadding(new Insets(80, 20, 20, 20));
+        // Match graph page dark gradient theme
+        LinearGradient gradient = new LinearGradient(0, 0, 1, 1, true, null,
+            new Stop(0, Color.web("#0c0c0c")),
+            new Stop(0.3, Color.web("#141e30")),
+            new Stop(0.6, Color.web("#243b55")),
+            new Stop(1, Color.web("#0f051d"))
+        );
+        
+        common.sortingContainer.setBackground(new Background(new BackgroundFill(gradient, null, null)));
+
+        HBox title = ButtonManager.createTitleWithBackButton("SORTING VISUALIZATION");
+        // Override back button action to also clear sorting state
+        if (!title.getChildren().isEmpty() && title.getChildren().get(0) instanceof Button b) {
+            b.setOnAction(e -> {
+                clearSortingState(); // will also clear explanation
+                common.transitionToPage(common.homeContainer);
+            });
+        }
+        
+        common.sortingContainer.getChildren().add(title);
+
+        // New parameter-driven input section (count + max). User then drags bars vertically.
+	    VBox inputSection = new VBox(6);
+	    inputSection.setAlignment(Pos.CENTER);
+	    Label prompt = new Label("Enter count & max, create bars, drag to adjust heights, then run.");
+	    prompt.setTextFill(Color.WHITE);
+	    prompt.setFont(Font.font("SF Pro Text", FontWeight.MEDIUM, 14));
+	    elementCountField = new TextField();
+	    elementCountField.setPromptText("Count");
+	    elementCountField.setPrefWidth(90);
+	    elementCountField.setStyle("-fx-background-radius:8; -fx-background-color: rgba(255,255,255,0.12); -fx-text-fill: white; -fx-padding:6 10; -fx-border-color: rgba(0,255,255,0.55); -fx-border-radius:8; -fx-border-width:1; -fx-font-size:13px; -fx-font-weight:600;");
+	    maxElementField = new TextField();
+	    maxElementField.setPromptText("Max");
+	    maxElementField.setPrefWidth(90);
+	    maxElementField.setStyle("-fx-background-radius:8; -fx-background-color: rgba(255,255,255,0.12); -fx-text-fill: white; -fx-padding:6 10; -fx-border-color: rgba(0,255,255,0.55); -fx-border-radius:8; -fx-border-width:1; -fx-font-size:13px; -fx-font-weight:600;");
+	    Button createBarsBtn = ButtonManager.createStyledButton("CREATE BARS", "#00ffff");
+	    resetArrayButton = ButtonManager.createStyledButton("RESET", "#00ffff");
+	    resetArrayButton.setDisable(false);
+	    HBox params = new HBox(12, new Label("n:"), elementCountField, new Label("max:"), maxElementField, createBarsBtn, resetArrayButton);
+	    params.setAlignment(Pos.CENTER);
+	    params.getChildren().forEach(n -> { if(n instanceof Label l){ l.setTextFill(Color.web("#e0ffff")); l.setFont(Font.font("SF Pro Text", 12)); }});
+	    // Legacy free-form hidden but retained (optional future toggle)
+	    sortingInputField = new TextField();
+	    sortingInputField.setVisible(false);
+	    inputSection.getChildren().addAll(prompt, params);
+	    common.sortingContainer.getChildren().add(inputSection);
+
+        // MAIN VISUAL + EXPLANATION SPLIT AREA
+        // Left: canvas + controls stacked. Right: large explanation panel.
+        HBox mainSplit = new HBox(18);
+        mainSplit.setAlignment(Pos.TOP_CENTER);
+        mainSplit.setFillHeight(true);
+
+        // Left side (visualization + controls)
+        VBox leftPane = new VBox(8);
+        leftPane.setAlignment(Pos.TOP_CENTER);
+
+        // Canvas (reduced height to make space for buttons)
+        sortingCanvas = new Canvas(680, 350);
+        barRenderer = new BarRenderer(sortingCanvas);
+        StackPane canvasWrapper = new StackPane(sortingCanvas);
+        canvasWrapper.setPadding(new Insets(8));
+        canvasWrapper.setStyle("-fx-background-color: rgba(255,255,255,0.05); -fx-background-radius:12; -fx-border-radius:12; -fx-border-color: rgba(255,255,255,0.15); -fx-border-width:1;");
+        leftPane.getChildren().add(canvasWrapper);
+
+        // Status label (smaller font)
+        common.sortingStatusLabel = new Label("Awaiting input...");
+        common.sortingStatusLabel.setTextFill(Color.web("#cccccc"));
+        common.sortingStatusLabel.setFont(Font.font("SF Pro Text", FontWeight.NORMAL, 11));
+        leftPane.getChildren().add(common.sortingStatusLabel);
+        metricsLabel = new Label();
+        metricsLabel.setTextFill(Color.web("#9fd8ff"));
+        metricsLabel.setFont(Font.font("SF Pro Text", FontWeight.NORMAL, 11));
+        leftPane.getChildren().add(metricsLabel);
+        updateMetricsLabel();
+
+        // Control row (speed + pause) with smaller fonts
+        HBox controlRow = new HBox(12);
+        controlRow.setAlignment(Pos.CENTER);
+	    // Logarithmic: one step per second at the left end, ten million at the right
+	    speedSlider = new javafx.scene.control.Slider(0, 7, speedLog);
+        speedSlider.setPrefWidth(200);
+        speedSlider.setShowTickMarks(false);
+        speedSlider.setStyle("-fx-padding:2 0 0 0;");
+        speedValueLabel = new Label("Speed: " + formatRate(stepsPerSecond()));
+        speedValueLabel.setTextFill(Color.web("#dddddd"));
+        speedValueLabel.setFont(Font.font("SF Pro Text", 11));
+        pauseResumeBtn = ButtonManager.createStyledButton("PAUSE", "#00ffff");
+        pauseResumeBtn.setFont(Font.font("SF Pro Text", 11));
+        pauseResumeBtn.setDisable(true);
+        stepBackBtn = ButtonManager.createStyledButton("\u25C0 STEP", "#00ffff");
+        stepBackBtn.setFont(Font.font("SF Pro Text", 11));
+        stepBackBtn.setDisable(true);
+        stepForwardBtn = ButtonManager.createStyledButton("STEP \u25B6", "#00ffff");
+        stepForwardBtn.setFont(Font.font("SF Pro Text", 11));
+        stepForwardBtn.setDisable(true);
+        Button exportMetricsBtn = ButtonManager.createStyledButton("EXPORT METRICS", "#00ffff");
+        exportMetricsBtn.setFont(Font.font("SF Pro Text", 11));
+        exportMetricsBtn.setOnAction(e -> exportMetrics());
+        // Gap sequence of SHELL, read when a run starts
+        Label gapsLabel = new Label("Shell gaps:");
+        gapsLabel.setTextFill(Color.web("#dddddd"));
+        gapsLabel.setFont(Font.font("SF Pro Text", 11));
+        shellGapSelector = new ComboBox<>();
+        shellGapSelector.getItems().addAll(ShellSortEngine.Gaps.values());
+        shellGapSelector.getSelectionModel().select(DEFAULT_SHELL_GAPS);
+        shellGapSelector.setStyle("-fx-background-color: linear-gradient(to bottom,#07141c,#0d2533);" +
+            "-fx-border-color:#00ffff33; -fx-border-radius:8; -fx-background-radius:8; -fx-padding:0 6; -fx-font-size:11px;");
+        shellGapSelector.setButtonCell(new ListCell<ShellSortEngine.Gaps>() {
+            @Override protected void updateItem(ShellSortEngine.Gaps item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : item.toString());
+                setTextFill(Color.web("#e0ffff"));
+            }
+        });
+        controlRow.getChildren().addAll(speedSlider, speedValueLabel, stepBackBtn, pauseResumeBtn, stepForwardBtn, exportMetricsBtn, gapsLabel, shellGapSelector);
+        leftPane.getChildren().add(controlRow);
+
+        // Algorithm buttons responsive grid (moved higher with reduced spacing)
+        FlowPane algoPane = new FlowPane();
+        algoPane.setHgap(6);
+        algoPane.setVgap(6);
+        algoPane.setAlignment(Pos.CENTER);
+        algoPane.setPrefWrapLength(660); // wrap within canvas width
+        algoPane.setPadding(new Insets(5, 0, 0, 0)); // minimal top padding
+        bubbleBtn = ButtonManager.createStyledButton("BUBBLE", "#00ffff");
+        insertionBtn = ButtonManager.createStyledButton("INSERTION", "#00ffff");
+        selectionBtn = ButtonManager.createStyledButton("SELECTION", "#00ffff");
+        quickBtn = ButtonManager.createStyledButton("QUICK", "#00ffff");
+        radixBtn = ButtonManager.createStyledButton("RADIX", "#00ffff");
+        pMergeBtn = ButtonManager.createStyledButton("P-MERGE", "#00ffff");
+        pQuickBtn = ButtonManager.createStyledButton("P-QUICK", "#00ffff");
+        pRadixBtn = ButtonManager.createStyledButton("P-RADIX", "#00ffff");
+        bitonicBtn = ButtonManager.createStyledButton("BITONIC", "#00ffff");
+        timBtn = ButtonManager.createStyledButton("TIMSORT", "#00ffff");
+        introBtn = ButtonManager.createStyledButton("INTROSORT", "#00ffff");
+        heapBtn = ButtonManager.createStyledButton("HEAP", "#00ffff");
+        shellBtn = ButtonManager.createStyledButton("SHELL", "#00ffff");
+        countingBtn = ButtonManager.createStyledButton("COUNTING", "#00ffff");
+        for (Button bAlgo : List.of(bubbleBtn,insertionBtn,selectionBtn,quickBtn,radixBtn,timBtn,introBtn,heapBtn,shellBtn,countingBtn,pMergeBtn,pQuickBtn,pRadixBtn,bitonicBtn)) {
+            bAlgo.setDisable(true);
+            bAlgo.setFont(Font.font("SF Pro Text", 11));
+            bAlgo.setPrefHeight(28); // slightly smaller height
+            bAlgo.setPrefWidth(95); // slightly smaller width
+        }
+        algoPane.getChildren().addAll(bubbleBtn, insertionBtn, selectionBtn, quickBtn, radixBtn, timBtn, introBtn, heapBtn, shellBtn, countingBtn,
+            pMergeBtn, pQuickBtn, pRadixBtn, bitonicBtn);
+        leftPane.getChildren().add(algoPane);
+
+	    VBox rightPane = new VBox(8);
+	    rightPane.setAlignment(Pos.TOP_LEFT);
+	    // Match sorting explanation panel size
+	    rightPane.setPrefWidth(340);
+        Label explLabel = new Label("STEP EXPLANATION");
+        explLabel.setTextFill(Color.web("#66d9ff"));
+        explLabel.setFont(Font.font("SF Pro Text", FontWeight.SEMI_BOLD, 12));
+        explanationArea = new javafx.scene.control.TextArea();
+        explanationArea.setEditable(false);
+        explanationArea.setWrapText(true);
+        explanationArea.setPrefWidth(340);
+        explanationArea.setPrefHeight(520); // larger vertical space
+        explanationArea.setStyle(
+            "-fx-control-inner-background: rgba(15,18,26,0.92);" +
+            "-fx-background-color: rgba(15,18,26,0.92);" +
+            "-fx-text-fill: #f5f7fa;" +
+            "-fx-highlight-fill: #3d6ef7;" +
+            "-fx-highlight-text-fill: white;" +
+            "-fx-font-family: 'SF Pro Text';" +
+            "-fx-font-size: 16px;" + // larger font per request
+            "-fx-prompt-text-fill: rgba(255,255,255,0.75);" +
+            "-fx-background-radius:12; -fx-border-radius:12;" +
+            "-fx-border-color: rgba(255,255,255,0.25); -fx-border-width:1;" +
+            "-fx-padding:8;"
+        );
+        explanationArea.setPromptText("Step-by-step explanation will appear here...");
+        VBox.setVgrow(explanationArea, Priority.ALWAYS);
+        rightPane.getChildren().addAll(explLabel, explanationArea);
+
+        HBox.setHgrow(leftPane, Priority.ALWAYS);
+        mainSplit.getChildren().addAll(leftPane, rightPane);
+        common.sortingContainer.getChildren().add(mainSplit);
+
+        createBarsBtn.setOnAction(e -> buildInteractiveArray());
+        resetArrayButton.setOnAction(e -> {
+            clearSortingState();
+            drawBars();
+            common.sortingStatusLabel.setText("Reset. Enter count & max, then CREATE BARS.");
+        });
+
+        bubbleBtn.setOnAction(e -> startSortingVisualization("BUBBLE"));
+        insertionBtn.setOnAction(e -> startSortingVisualization("INSERTION"));
+        selectionBtn.setOnAction(e -> startSortingVisualization("SELECTION"));
+        quickBtn.setOnAction(e -> startSortingVisualization("QUICK"));
+        radixBtn.setOnAction(e -> startSortingVisualization("RADIX"));
+        timBtn.setOnAction(e -> startSortingVisualization("TIMSORT"));
+        introBtn.setOnAction(e -> startSortingVisualization("INTROSORT"));
+        heapBtn.setOnAction(e -> startSortingVisualization("HEAP"));
+        shellBtn.setOnAction(e -> startSortingVisualization("SHELL"));
+        countingBtn.setOnAction(e -> startSortingVisualization("COUNTING"));
+        pMergeBtn.setOnAction(e -> startSortingVisualization("P-MERGE"));
+        pQuickBtn.setOnAction(e -> startSortingVisualization("P-QUICK"));
+        pRadixBtn.setOnAction(e -> startSortingVisualization("P-RADIX"));
+        bitonicBtn.setOnAction(e -> startSortingVisualization("BITONIC"));
+
+        pauseResumeBtn.setOnAction(e -> togglePause());
+        stepBackBtn.setOnAction(e -> stepWhilePaused(-1));
+        stepForwardBtn.setOnAction(e -> stepWhilePaused(1));
+        // sound toggle removed
+        // read every frame, so a change applies straight away
+        speedSlider.valueProperty().addListener((obs,o,n)->{
+            speedLog = n.doubleValue();
+            speedValueLabel.setText("Speed: " + formatRate(stepsPerSecond()));
+        });
+        
+        flag = false;
+        
+        // Mouse interactions for draggable bar height editing (only before starting visualization)
+        sortingCanvas.setOnMousePressed(e -> {
+            if((!barEditingEnabled || sortingRunning) && !paused) return;
+            int idx = barIndexAt(e.getX());
+            if(idx>=0) updateBarValueFromY(idx, e.getY());
+            
+            if(paused) {
+            	flag = true; 
+            	if (stepper != null && idx >= 0) stepper.edited(idx);
+            }
+        });
+        sortingCanvas.setOnMouseDragged(e -> {
+        	if((!barEditingEnabled || sortingRunning) && !paused) return;
+            int idx = barIndexAt(e.getX());
+            if(idx>=0) updateBarValueFromY(idx, e.getY());
+            
+            if(paused) {
+            	flag = true; 
+            	if (stepper != null && idx >= 0) stepper.edited(idx);
+            }
+        });
+    }
+	
+	private void clearSortingState() {
+        if (sortingTimer != null) sortingTimer.stop();
+        if (stepJob != null) stepJob.cancel();
+        sortingValues = new int[0];
+        
+        activeSortingAlgo = null; 
+        sortingRunning = false; 
+        sortingFinished = false; 
+        barEditingEnabled = false;
+        si = sj = passOrOuter = 0; 
+        auxIndex = -1;
+        stepper = null;
+        
+        if (sortingInputField != null) sortingInputField.clear();
+        if (elementCountField != null) elementCountField.clear();
+        if (maxElementField != null) maxElementField.clear();
+        
+        enableAlgoButtons(false);
+        
+        if (common.sortingStatusLabel != null) common.sortingStatusLabel.setText("Awaiting input...");
+        if (pauseResumeBtn != null) { 
+        	pauseResumeBtn.setDisable(true); 
+        	pauseResumeBtn.setText("PAUSE"); 
+        }
+        if (stepBackBtn != null) { stepBackBtn.setDisable(true); stepForwardBtn.setDisable(true); }
+        
+        clearExplanation();
+        
+        if (sortingCanvas != null) {
+            GraphicsContext g = sortingCanvas.getGraphicsContext2D();
+            g.clearRect(0,0,sortingCanvas.getWidth(), sortingCanvas.getHeight());
+        }
+        // restore algorithm button styles
+        if (selectedAlgoButton != null) {
+            Object original = selectedAlgoButton.getUserData();
+            if (original instanceof String s) selectedAlgoButton.setStyle(s);
+            selectedAlgoButton = null;
+        }
+    }
+	
+	private void enableAlgoButtons(boolean enable) {
+        for (Button b : List.of(bubbleBtn,insertionBtn,selectionBtn,quickBtn,radixBtn,timBtn,introBtn,heapBtn,shellBtn,countingBtn,pMergeBtn,pQuickBtn,pRadixBtn,bitonicBtn)) {
+            if (b != null) {
+                if (selectedAlgoButton != null && b == selectedAlgoButton) continue; // keep locked
+                b.setDisable(!enable);
+            }
+        }
+    }
+	
+	private void clearExplanation() {
+        if (explanationArea != null) explanationArea.clear();
+        lastExplanation = "";
+    }
+	
+	private void buildInteractiveArray(){
+        if (sortingRunning) return;
+        
+        Integer count = parsePositiveInt(elementCountField.getText());
+        Integer maxv = parsePositiveInt(maxElementField.getText());
+        
+        if(count==null){ common.sortingStatusLabel.setText("Invalid count"); return; }
+        if(maxv==null){ common.sortingStatusLabel.setText("Invalid max"); return; }
+        if(count<2){ common.sortingStatusLabel.setText("Need at least 2 elements"); return; }
+        if(count>MAX_COUNT){ common.sortingStatusLabel.setText("Count too large (<="+MAX_COUNT+")"); return; }
+        if(maxv<2){ common.sortingStatusLabel.setText("Max must be >=2"); return; }
+        if(maxv>100000){ common.sortingStatusLabel.setText("Max too large"); return; }
+        
+        declaredMaxElement = maxv;
+        sortingValues = new int[count];
+        
+        if (count <= EDIT_COUNT) {
+            Arrays.fill(sortingValues, Math.max(1, maxv/2));
+        } else {
+            // Too many bars to shape by hand: start from random heights instead
+            Random rnd = new Random();
+            for(int i=0;i<count;i++) sortingValues[i] = 1 + rnd.nextInt(maxv);
+        }
+        valuesMax = maxOf(sortingValues);
+        
+        barEditingEnabled = true;
+        sortingFinished = false; 
+        activeSortingAlgo = null; 
+        paused = false; 
+        selectedAlgoButton = null;
+        
+        drawBars();
+        enableAlgoButtons(true);
+        common.sortingStatusLabel.setText(count <= EDIT_COUNT
+            ? "Bars created. Drag to set heights (1.."+maxv+"). Choose algorithm to start."
+            : count+" random bars created (1.."+maxv+"). Choose algorithm to start.");
+        if (pauseResumeBtn != null) pauseResumeBtn.setDisable(true);
+        if (stepBackBtn != null) updateStepButtons();
+    }
+	
+	// ----------- Interactive bar creation helpers -----------
+    private Integer parsePositiveInt(String s){
+        if(s==null || s.isBlank()) 
+        	return null;
+        
+        try { 
+        	int v = Integer.parseInt(s.trim()); 
+        	return v>0? v: null; 
+        } 
+        catch(Exception ex){ 
+        	return null; 
+        }
+    }
+    
+    // Full repaint; the scale is the declared max while editing, else the largest value
+    private void drawBars() {
+        drawnScale = (barEditingEnabled || paused) ? declaredMaxElement : valuesMax;
+        barRenderer.drawAll(sortingValues, drawnScale, this::shadeOf);
+    }
+    
+    // Repaint after one step: only the bars it touched, unless the scale changed since the last full repaint
+    private void repaintBars() {
+        int scale = (barEditingEnabled || paused) ? declaredMaxElement : valuesMax;
+        if (scale != drawnScale) drawBars();
+        else barRenderer.drawTouched();
+    }
+    
+    // Bars whose colour depends on the step indices, before and after a step
+    private void touchHighlights() {
+        int n = sortingValues.length;
+        barRenderer.touch(si);
+        barRenderer.touch(sj);
+        barRenderer.touch(sj + 1);
+        barRenderer.touch(auxIndex);
+        barRenderer.touch(passOrOuter - 1);
+        barRenderer.touch(passOrOuter);
+        barRenderer.touch(n - passOrOuter - 1);
+        barRenderer.touch(n - passOrOuter);
+    }
+    
+    // Colour class of bar i for the running algorithm
+    private int shadeOf(int i) {
+        if (!sortingRunning || sortingFinished) return BarRenderer.NORMAL;
+        if (i == si || i == sj) return BarRenderer.COMPARE; // comparison highlighting overrides
+        if (activeSortingAlgo == null) return BarRenderer.NORMAL;
+        if (isParallel(activeSortingAlgo)) return owner[i] == 0 ? BarRenderer.NORMAL : BarRenderer.worker(owner[i] - 1);
+        switch (activeSortingAlgo) {
+            case "BUBBLE":
+                if (i >= sortingValues.length - passOrOuter) return BarRenderer.SORTED; // passOrOuter holds current pass count
+                break;
+            case "SELECTION":
+                if (i == auxIndex) return BarRenderer.SELECTED;
+                if (i < passOrOuter) return BarRenderer.SORTED;
+                break;
+            case "INSERTION":
+                if (i == passOrOuter) return BarRenderer.KEY;
+                if (i < passOrOuter) return BarRenderer.SORTED;
+                break;
+        }
+        return BarRenderer.NORMAL;
+    }
+    
+    // Everything but the three sorts stepped live on the page runs as an engine into the step log
+    private static boolean usesStepLog(String algo) {
+        return !algo.equals("BUBBLE") && !algo.equals("INSERTION") && !algo.equals("SELECTION");
+    }
+    
+    private static ShellSortEngine.Gaps shellGaps() {
+        try {
+            return ShellSortEngine.Gaps.valueOf(System.getProperty("algobot.sort.shellGaps", "CIURA").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ShellSortEngine.Gaps.CIURA;
+        }
+    }
+    
+    private static boolean isParallel(String algo) {
+        return algo.startsWith("P-") || algo.equals("BITONIC");
+    }
+    
+    private static int maxOf(int[] values) {
+        int max = 1;
+        for (int v : values) max = Math.max(max, v);
+        return max;
+    }
+    
+    // Counters COUNTING would allocate for the current values
+    private long countingRange() {
+        int min = Integer.MAX_VALUE;
+        for (int v : sortingValues) min = Math.min(min, v);
+        return (long) maxOf(sortingValues) - min + 1;
+    }
+    
+    private void startSortingVisualization(String algo) {
+        if (sortingValues.length == 0) { common.sortingStatusLabel.setText("Create bars first."); return; }
+        if (activeSortingAlgo != null) return; // already chosen
+        if (algo.equals("COUNTING") && countingRange() > CountingSortEngine.MAX_RANGE) {
+            // the engine would refuse the run, leaving the page locked on a log that never completes
+            common.sortingStatusLabel.setText("COUNTING needs a value range of at most " + CountingSortEngine.MAX_RANGE
+                + "; these values span " + countingRange() + ". Use a smaller max.");
+            return;
+        }
+        if (sortingTimer != null) sortingTimer.stop();
+        if (stepJob != null) stepJob.cancel();
+        
+        activeSortingAlgo = algo;
+        lockAndHighlightAlgorithmButton(algo);
+        
+        si = 0; sj = 0; 
+        passOrOuter = 0; 
+        auxIndex = -1; 
+        sortingFinished = false; 
+        sortingRunning = true; 
+        paused = false;
+        barEditingEnabled = false; // lock editing
+        
+        stepLog = null; 
+        usingPrecomputed = false; 
+        preStepIndex = 0;
+        countedSteps = 0;
+        
+        clearExplanation();
+        common.sortingStatusLabel.setText(algo + " sort started.");
+        // shell runs are told apart by their gaps in the exported metrics
+        metrics = new SortMetrics(algo.equals("SHELL") ? "SHELL-" + shellGapSelector.getValue() : algo, sortingValues.length);
+        metricRuns.add(metrics);
+        updateMetricsLabel();
+        
+        switch (algo) {
+            case "BUBBLE" -> updateExplanation("Bubble Sort: adjacent elements compared; largest values move to the end each pass.");
+            case "INSERTION" -> updateExplanation("Insertion Sort: build sorted prefix; insert current element into correct spot within prefix.");
+            case "SELECTION" -> updateExplanation("Selection Sort: scan remaining segment to select minimum and place it at current position.");
+            case "QUICK" -> updateExplanation("Quick Sort: choose pivot, partition around it, recurse on subarrays (shown via captured steps).");
+            case "RADIX" -> updateExplanation("Radix Sort: distribute numbers by digit (LSD first) into buckets, recombine; repeats per digit place.");
+            case "TIMSORT" -> updateExplanation("TimSort: find natural runs, extend short ones by binary insertion, merge runs from a stack; long winning streaks switch a merge to galloping.");
+            case "INTROSORT" -> updateExplanation("Introsort: quick sort with a median-of-three pivot; too-deep ranges fall back to heap sort, small ones to insertion sort.");
+            case "HEAP" -> updateExplanation("Heap Sort: build a max-heap in place, then repeatedly swap the root behind the heap and sift the new root down.");
+            case "SHELL" -> updateExplanation("Shell Sort (" + shellGapSelector.getValue() + " gaps): insertion sort over elements a gap apart, with the gap shrinking to 1.");
+            case "COUNTING" -> updateExplanation("Counting Sort: count how often each value occurs, then write the values back in order.");
+            case "P-MERGE" -> updateExplanation("Parallel Merge Sort: workers sort blocks, then merge neighbouring halves; colours show which worker wrote each bar.");
+            case "P-QUICK" -> updateExplanation("Parallel Quick Sort: partition, then hand both sides to the pool as separate tasks; colours show the workers.");
+            case "P-RADIX" -> updateExplanation("Parallel Radix Sort: each worker counts the digits of its chunk, then scatters the chunk to its buckets' slots.");
+            case "BITONIC" -> updateExplanation("Bitonic Sort: sort halves in opposite directions, then compare-exchange elements a power of two apart in parallel.");
+        }
+        
+        stepper = usesStepLog(algo) ? null : new SimpleSortStepper(SimpleSortStepper.Kind.valueOf(algo));
+        if (stepper != null) syncStepIndices();
+        if (usesStepLog(algo)) {
+            owner = new int[sortingValues.length];
+            generatePrecomputedSteps(algo);
+            usingPrecomputed = true;
+        }
+        
+        runSortingTimeline();
+        pauseResumeBtn.setDisable(false);
+        pauseResumeBtn.setText("PAUSE");
+        updateStepButtons();
+    }
+    
+    private void lockAndHighlightAlgorithmButton(String algo) {
+        List<Button> buttons = List.of(bubbleBtn,insertionBtn,selectionBtn,quickBtn,radixBtn,timBtn,introBtn,heapBtn,shellBtn,countingBtn,pMergeBtn,pQuickBtn,pRadixBtn,bitonicBtn);
+        for (Button b : buttons) {
+            if (b == null) continue;
+            if (b.getUserData() == null) b.setUserData(b.getStyle());
+            if (b.getText().equalsIgnoreCase(algo)) {
+                selectedAlgoButton = b;
+                b.setStyle(b.getStyle() + ";-fx-border-color:#ffffff;-fx-border-width:2;-fx-effect:dropshadow(gaussian,#ffffffaa,15,0,0,0);-fx-font-weight:900; ");
+            }
+            b.setDisable(true);
+        }
+    }
+    
+    private void updateExplanation(String text) {
+        if (explanationArea == null) return;
+        if (text == null) return;
+        if (text.isBlank()) return; // ignore blank so history stays
+        if (text.equals(lastExplanation)) return;
+        String existing = explanationArea.getText();
+        String combined = existing.isBlank()? text : existing + (existing.endsWith("\n")? "" : "\n") + text;
+        String[] lines = combined.split("\n");
+        if (lines.length > 60) {
+            lines = java.util.Arrays.copyOfRange(lines, lines.length-60, lines.length);
+            combined = String.join("\n", lines);
+        }
+        if (combined.length() > 12000) combined = combined.substring(combined.length()-12000);
+        explanationArea.setText(combined);
+        explanationArea.positionCaret(explanationArea.getText().length());
+        lastExplanation = text;
+    }
+    
+    // Records the run in the background; the timeline replays steps as soon as they are in the log
+    private void generatePrecomputedSteps(String algo) {
+        int[] base = sortingValues.clone();
+        SortStepLog log = new SortStepLog(base);
+        SortMetrics runMetrics = metrics;
+        ShellSortEngine.Gaps gaps = shellGapSelector.getValue();
+        long[] peakAux = {0}; // reported by the engine on the worker; applied when the run is recorded
+        stepLog = log;
+        stepLogComplete = false;
+        stepJob = new Job(algo + " sort", common.sortingStatusLabel).start(job -> {
+            // engines sort their own copy and report deltas into the log
+            SortListener recorder = new SortListener() {
+                @Override
+                public void onWrite(int index, int oldValue, int newValue) { log.onWrite(index, oldValue, newValue); }
+                @Override
+                public void onStep(byte action, int i, int j, int aux, byte specialMask, int lo, int hi, int arg) {
+                    log.onStep(action, i, j, aux, specialMask, lo, hi, arg);
+                    if ((log.size() & 0xFFF) == 0) {
+                        job.checkCancelled();
+                        job.progress(algo + " sort: " + log.size() + " steps computed...");
+                    }
+                }
+                @Override
+                public void onAux(long ints) { peakAux[0] = Math.max(peakAux[0], ints); }
+            };
+            // parallel blocks become one step each, carrying the range's contents and the worker in aux
+            ParallelSortListener blocks = new ParallelSortListener() {
+                @Override
+                public void onRange(int worker, byte action, int[] a, int lo, int hi) {
+                    for (int k = lo; k < hi; k++) log.onWrite(k, 0, a[k]);
+                    recorder.onStep(action, lo, hi - 1, worker, (byte) 0, 1, 0, hi - lo);
+                }
+                @Override
+                public void onAux(long ints) { recorder.onAux(ints); }
+            };
+            // small blocks, so even a short array is spread over the workers
+            int grain = parallelGrain(base.length);
+            switch (algo) {
+                case "QUICK" -> QuickSortEngine.sort(base.clone(), recorder);
+                case "RADIX" -> RadixSortEngine.sort(base.clone(), recorder);
+                case "TIMSORT" -> TimSortEngine.sort(base.clone(), recorder);
+                case "INTROSORT" -> IntroSortEngine.sort(base.clone(), recorder);
+                case "HEAP" -> HeapSortEngine.sort(base.clone(), recorder);
+                case "SHELL" -> ShellSortEngine.sort(base.clone(), gaps, recorder);
+                case "COUNTING" -> CountingSortEngine.sort(base.clone(), recorder);
+                case "P-MERGE" -> ParallelSortEngine.mergeSort(base.clone(), SORT_POOL, grain, blocks);
+                case "P-QUICK" -> ParallelSortEngine.quickSort(base.clone(), SORT_POOL, grain, blocks);
+                case "P-RADIX" -> ParallelSortEngine.radixSort(base.clone(), SORT_POOL, grain, blocks);
+                case "BITONIC" -> ParallelSortEngine.bitonicSort(base.clone(), SORT_POOL, grain, blocks);
+            }
+            return log.size();
+        }, steps -> {
+            stepLogComplete = true;
+            runMetrics.useAux(peakAux[0]);
+            updateMetricsLabel();
+        });
+    }
+    
+    // Small blocks, so even a short array is spread over the workers
+    private static int parallelGrain(int n) {
+        return Math.max(4, n / (4 * SORT_POOL.getParallelism()));
+    }
+    
+    private void updateMetricsLabel() {
+        if (metricsLabel == null) return;
+        if (metrics == null) { metricsLabel.setText("Comparisons: -   Swaps: -   Writes: -   Aux: -   Mean stride: -"); return; }
+        metricsLabel.setText(String.format(Locale.US, "Comparisons: %,d   Swaps: %,d   Writes: %,d   Aux: %,d ints   Mean stride: %.1f",
+            metrics.comparisons(), metrics.swaps(), metrics.writes(), metrics.auxInts(), metrics.meanStride()));
+    }
+    
+    // Every run of the session, CSV or JSON by extension
+    private void exportMetrics() {
+        if (metricRuns.isEmpty()) { common.sortingStatusLabel.setText("No sort runs to export yet."); return; }
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export sort metrics");
+        chooser.setInitialFileName("sort-metrics.csv");
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV", "*.csv"),
+            new FileChooser.ExtensionFilter("JSON", "*.json"));
+        File file = chooser.showSaveDialog(sortingCanvas.getScene() == null ? null : sortingCanvas.getScene().getWindow());
+        if (file == null) return;
+        try {
+            SortMetrics.write(file.toPath(), metricRuns);
+            common.sortingStatusLabel.setText("Exported metrics of " + metricRuns.size() + " runs to " + file.getName() + ".");
+        } catch (IOException ex) {
+            common.sortingStatusLabel.setText("Export failed: " + ex.getMessage());
+        }
+    }
+    
+    private String describeLoggedStep(int step) {
+        SortStepLog log = stepLog;
+        return switch (log.action(step)) {
+            case SortStepLog.PIVOT -> "Choose pivot index "+log.aux(step)+" (value="+log.arg(step)+")";
+            // quick sort and introsort partitions carry the pivot in aux
+            case SortStepLog.COMPARE -> log.aux(step) >= 0 ? "Compare arr["+log.i(step)+"] with pivot"
+                : log.j(step) >= 0 ? "Compare arr["+log.i(step)+"] with arr["+log.j(step)+"]"
+                : "Compare arr["+log.i(step)+"] with the run copied aside";
+            case SortStepLog.SWAP -> log.aux(step) >= 0 ? "Place element <= pivot at position "+log.i(step)
+                : log.sortedLo(step) <= log.sortedHi(step) ? "Move the heap maximum to position "+log.j(step)
+                : "Swap arr["+log.i(step)+"] and arr["+log.j(step)+"]";
+            case SortStepLog.PIVOT_FIXED -> log.i(step) < 0 ? "Element at "+log.sortedLo(step)+" fixed." : "Pivot positioned at index "+log.i(step);
+            case SortStepLog.BUCKET -> "Placing value by digit="+(log.arg(step)%10)+" (exp="+(log.arg(step)/10)+")";
+            case SortStepLog.PASS -> "After processing digit place exp="+log.arg(step);
+            case SortStepLog.DONE -> switch (activeSortingAlgo) {
+                case "RADIX" -> "Radix sort complete.";
+                case "QUICK" -> "Quick sort complete.";
+                default -> activeSortingAlgo + " complete.";
+            };
+            case SortStepLog.WRITE -> "Write "+log.arg(step)+" to arr["+log.i(step)+"]";
+            case SortStepLog.RUN -> (log.arg(step) == 1 ? "Descending run reversed: [" : "Run found: [")+log.i(step)+".."+log.j(step)+"]";
+            case SortStepLog.INSERT -> "Binary insertion: arr["+log.i(step)+"] moved to "+log.j(step)+", shifting "+log.arg(step)+" bars";
+            case SortStepLog.MERGE_RUNS -> "Merge runs ["+log.i(step)+".."+(log.aux(step)-1)+"] and ["+log.aux(step)+".."+log.j(step)+"] (minGallop="+log.arg(step)+")";
+            case SortStepLog.GALLOP -> "Galloping: "+log.arg(step)+" elements copied to ["+log.i(step)+".."+log.j(step)+"] at once";
+            case SortStepLog.SIFT -> "Sift down from index "+log.i(step)+" (heap size "+log.arg(step)+")";
+            case SortStepLog.GAP -> "New pass with gap "+log.arg(step);
+            case SortStepLog.COUNT -> "Count value "+log.arg(step)+" at index "+log.i(step);
+            case SortStepLog.FALLBACK -> (log.arg(step) == 0 ? "Recursion too deep: heap sort on [" : "Small range: insertion sort on [")+log.i(step)+".."+log.j(step)+"]";
+            case SortStepLog.LEAF -> "Worker "+log.aux(step)+" sorted block ["+log.i(step)+".."+log.j(step)+"]";
+            case SortStepLog.PARTITION -> "Worker "+log.aux(step)+" partitioned ["+log.i(step)+".."+log.j(step)+"] and split it into two tasks";
+            case SortStepLog.MERGE -> "Worker "+log.aux(step)+" merged ["+log.i(step)+".."+log.j(step)+"]";
+            case SortStepLog.SCATTER -> "Worker "+log.aux(step)+" scattered "+log.arg(step)+" values to ["+log.i(step)+".."+log.j(step)+"]";
+            case SortStepLog.EXCHANGE -> "Worker "+log.aux(step)+" compare-exchanged ["+log.i(step)+".."+log.j(step)+"]";
+            default -> "";
+        };
+    }
+    
+    // Each frame runs the steps that fell due since the previous one (as many as fit the frame budget)
+    // and repaints once, so the same loop serves one step per second and millions
+    private void runSortingTimeline() {
+        if (sortingTimer != null) sortingTimer.stop();
+        lastPulse = 0;
+        owedSteps = 0;
+        sortingTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (lastPulse != 0) owedSteps += (now - lastPulse) / 1e9 * stepsPerSecond();
+                lastPulse = now;
+                runDueSteps();
+            }
+        };
+        sortingTimer.start();
+    }
+    
+    private void runDueSteps() {
+        if (sortingFinished) { finishSorting(); return; }
+        long due = (long) owedSteps;
+        if (due == 0) return;
+        long deadline = System.nanoTime() + FRAME_BUDGET_NS;
+        boolean edited = flag; // a pause edit restarts the passes
+        long done = 0;
+        while (done < due && !sortingFinished) {
+            touchHighlights(); // where the highlights were, and (after the last step) where they are
+            if (!stepAlgorithm()) break;
+            done++;
+            if ((done & 1023) == 0 && System.nanoTime() > deadline) break;
+        }
+        // Steps that did not fit (or are still being computed) are dropped, so a slow frame cannot snowball
+        owedSteps = done == due ? owedSteps - done : 0;
+        if (done == 0) {
+            if (sortingFinished) finishSorting();
+            return;
+        }
+        if (edited) {
+            drawBars();
+        } else {
+            touchHighlights();
+            repaintBars();
+        }
+        // Intermediate states of a batch are never shown, so only the last step is explained
+        updateExplanation(usingPrecomputed ? describeLoggedStep(preStepIndex - 1) : dynamicExplanation());
+        updateMetricsLabel();
+        if (sortingFinished) finishSorting();
+    }
+    
+    private void finishSorting() {
+        sortingTimer.stop();
+        sortingRunning = false;
+        common.sortingStatusLabel.setText(activeSortingAlgo + " completed.");
+        metrics.finish();
+        updateMetricsLabel();
+        drawBars();
+    }
+    
+    private double stepsPerSecond() {
+        return Math.pow(10, speedLog);
+    }
+    
+    private static String formatRate(double r) {
+        if (r < 10) return String.format(Locale.US, "%.1f steps/s", r);
+        if (r < 1e3) return String.format(Locale.US, "%.0f steps/s", r);
+        if (r < 1e6) return String.format(Locale.US, "%.1fK steps/s", r / 1e3);
+        return String.format(Locale.US, "%.1fM steps/s", r / 1e6);
+    }
+    
+    // One step of the running algorithm; false when a precomputed run has no step to show (yet)
+    private boolean stepAlgorithm() {
+        if (usingPrecomputed) {
+            if (preStepIndex >= stepLog.size()) {
+                // Caught up with the background run: finished, or wait for its next step
+                if (stepLogComplete) sortingFinished = true;
+                return false;
+            }
+            int st = preStepIndex++;
+            // apply only this step's writes instead of copying a whole snapshot
+            stepLog.applyStep(st, sortingValues);
+            for (int k = stepLog.writesFrom(st); k < stepLog.writesTo(st); k++) barRenderer.touch(stepLog.writeIndex(k));
+            showLoggedIndices(st);
+            if (st == countedSteps) {
+                metrics.onStep(stepLog.action(st), si, sj, auxIndex, (byte) 0, stepLog.sortedLo(st), stepLog.sortedHi(st), stepLog.arg(st));
+                countedSteps++;
+            }
+            if (isParallel(activeSortingAlgo)) {
+                // a parallel block: colour its range by worker; i/j bound the range rather than mark two bars
+                for (int k = si; k <= sj; k++) { owner[k] = auxIndex + 1; barRenderer.touch(k); }
+                si = sj = auxIndex = -1;
+            }
+            // sound effect removed
+            if (stepLogComplete && preStepIndex >= stepLog.size()) sortingFinished = true;
+            return true;
+        }
+        flag = false;
+        if (!stepper.step(sortingValues, metrics)) sortingFinished = true;
+        syncStepIndices();
+        return true;
+    }
+
+    private void showLoggedIndices(int step) {
+        if (step < 0) { si = sj = auxIndex = -1; return; }
+        si = stepLog.i(step); sj = stepLog.j(step); auxIndex = stepLog.aux(step);
+    }
+
+    // STEP buttons while paused: a press moves a tenth of a second's worth of steps at the current speed.
+    // Precomputed runs go back through the log's seek (deltas reverted, or the nearest checkpoint replayed);
+    // the live steppers only go forward.
+    private void stepWhilePaused(int direction) {
+        if (!paused || activeSortingAlgo == null) return;
+        long count = Math.max(1, Math.round(stepsPerSecond() / 10));
+        if (direction > 0) {
+            for (long k = 0; k < count && !sortingFinished; k++) {
+                touchHighlights();
+                if (!stepAlgorithm()) break;
+            }
+        } else if (usingPrecomputed && preStepIndex > 0) {
+            int target = (int) Math.max(0, preStepIndex - count);
+            stepLog.seek(preStepIndex - 1, target - 1, sortingValues);
+            preStepIndex = target;
+            showLoggedIndices(target - 1);
+            if (isParallel(activeSortingAlgo)) si = sj = auxIndex = -1;
+            sortingFinished = false;
+            sortingRunning = true;
+        }
+        drawBars();
+        if (usingPrecomputed) updateExplanation(preStepIndex > 0 ? describeLoggedStep(preStepIndex - 1) : "Back at the input.");
+        else updateExplanation(dynamicExplanation());
+        updateMetricsLabel();
+        if (sortingFinished) finishSorting();
+    }
+
+    private void updateStepButtons() {
+        stepBackBtn.setDisable(!paused || !usingPrecomputed);
+        stepForwardBtn.setDisable(!paused);
+    }
+
+    // The highlighted bars and pass follow the live stepper
+    private void syncStepIndices() {
+        si = stepper.i();
+        sj = stepper.j();
+        passOrOuter = stepper.outer();
+        auxIndex = stepper.min();
+    }
+    
+    private String dynamicExplanation() {
+        return switch (activeSortingAlgo) {
+            case "BUBBLE" -> "Bubble: comparing indices " + si + (sj < sortingValues.length? (" and " + sj):"") + ", pass " + passOrOuter;
+            case "INSERTION" -> "Insertion: building sorted prefix up to index " + passOrOuter + "; comparing shifting position at j=" + sj;
+            case "SELECTION" -> "Selection: scanning for min in remaining; current min index=" + auxIndex + ", outer=" + passOrOuter;
+            default -> "";
+        };
+    }
+    
+    private void togglePause() {
+        if (sortingTimer == null) return;
+        if (paused) {
+            lastPulse = 0; // time spent paused is not owed
+            sortingTimer.start();
+            pauseResumeBtn.setText("PAUSE");
+        } else {
+            sortingTimer.stop();
+            pauseResumeBtn.setText("RESUME");
+        }
+        paused = !paused;
+        updateStepButtons();
+    }
+    
+    private int barIndexAt(double x){
+        return barRenderer.indexAt(x);
+    }
+
+    private void updateBarValueFromY(int index, double y){
+        if(index<0 || index>=sortingValues.length) return;
+        double h = sortingCanvas.getHeight();
+        double usableHeight = h * 0.9;
+        double baseY = h * 0.95;
+        y = Math.min(baseY, Math.max(baseY - usableHeight, y));
+        double barHeight = baseY - y;
+        int newVal = (int)Math.round((barHeight/usableHeight) * declaredMaxElement);
+        newVal = Math.max(1, Math.min(declaredMaxElement, newVal));
+        sortingValues[index] = newVal;
+        valuesMax = maxOf(sortingValues);
+        drawBars();
+        common.sortingStatusLabel.setText("Editing index="+index+" value="+newVal);
+    }
+}
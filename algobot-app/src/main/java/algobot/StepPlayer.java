@@ -0,0 +1,246 @@
+package algobot;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CancellationException;
+import java.util.function.DoubleSupplier;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.Label;
+
+/**
+ * Plays an algorithm animation one frame at a time on a single AnimationTimer.
+ * The script (normally an engine run with a listener) runs as a {@link Job} and hands its frames over
+ * through a small queue, the way {@link algobot.core.SortStepLog} is filled while the sorting page
+ * replays it: the first frame shows as soon as it is produced, the script only runs a small buffer
+ * ahead of playback, and frames are dropped once they have played, so memory does not grow with the
+ * length of the run. Seeking forward shows frames without waiting; seeking backward restores the
+ * starting visuals and runs the script again up to the target. Speed, pause and seek live here instead
+ * of being baked into KeyFrame times.
+ */
+public class StepPlayer {
+
+    /** Receives frames from a script; {@code baseMs} is the frame's time at 1.0x speed. */
+    public interface Frames {
+        // Times should not go backwards; a frame scheduled earlier than the previous one plays right after it
+        void at(long baseMs, Runnable frame);
+    }
+
+    /**
+     * Produces the frames of one run, on the worker thread. It must only read state frozen before the
+     * run started, since seeking backward runs it again; the frames themselves run on the FX thread.
+     */
+    public interface Script {
+        void play(Frames out);
+    }
+
+    private static final int BUFFER = 64; // frames produced ahead of playback
+
+    private final Script script;
+    private final Runnable reset;         // restores the visuals the script starts from (used when seeking back)
+    private final DoubleSupplier speed;   // read every pulse, so the speed slider applies mid-run
+    private final Label status;           // script failures are reported here; may be null
+    private final AnimationTimer timer;
+    private Runnable onFinished;
+
+    private Worker worker;                // the current run of the script; replaced when seeking back
+    private long played;                  // frames shown so far
+    private long seekTarget;              // frames up to here are shown without waiting, as they arrive
+    private double waitedMs;              // scaled time waited towards the next frame
+    private long lastPulse;
+    private boolean paused, finished;
+
+    public StepPlayer(Script script, Runnable reset, DoubleSupplier speed, Label status) {
+        this.script = script;
+        this.reset = reset;
+        this.speed = speed;
+        this.status = status;
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                pulse(now);
+            }
+        };
+    }
+
+    public void setOnFinished(Runnable onFinished) { this.onFinished = onFinished; }
+
+    public boolean isPaused() { return paused; }
+
+    public boolean isFinished() { return finished; }
+
+    /** Number of frames shown so far. */
+    public long position() { return played; }
+
+    public void play() {
+        if (worker == null) worker = new Worker();
+        paused = false;
+        if (!finished) {
+            lastPulse = 0;
+            timer.start();
+        }
+    }
+
+    public void pause() {
+        paused = true;
+        if (played >= seekTarget) timer.stop(); // a seek still waiting for frames keeps the timer
+    }
+
+    /** Stops playback for good and abandons the script. */
+    public void stop() {
+        timer.stop();
+        abandonWorker();
+        seekTarget = 0;
+        finished = true;
+    }
+
+    /** Goes back to frame 0 and restores the starting visuals; the script starts over when frames are needed. */
+    public void rewind() {
+        timer.stop();
+        abandonWorker();
+        reset.run();
+        played = 0;
+        seekTarget = 0;
+        waitedMs = 0;
+        finished = false;
+        if (!paused) play();
+    }
+
+    /**
+     * Shows frames without waiting until {@code target} frames have been shown (or the run ends).
+     * Frames already produced are shown at once; the rest are shown as the script produces them,
+     * so a seek never blocks the FX thread. Seeking backwards rewinds and runs the script again.
+     */
+    public void seek(long target) {
+        if (target < played) rewind();
+        if (worker == null) worker = new Worker();
+        while (played < target) {
+            Frame f = worker.poll();
+            if (f == null) break;
+            f.action.run();
+            played++;
+        }
+        waitedMs = 0;
+        if (played < target) {
+            if (worker.ended()) {
+                finish();
+            } else {
+                seekTarget = target;
+                timer.start();
+            }
+        }
+        request();
+    }
+
+    private void pulse(long now) {
+        if (worker == null) return;
+        double elapsed = lastPulse == 0 ? 0 : (now - lastPulse) / 1_000_000.0;
+        lastPulse = now;
+        waitedMs += elapsed * speed.getAsDouble();
+        while (!finished) {
+            Frame f = worker.peek();
+            if (f == null) {
+                // script still computing; show its next frame as soon as it lands
+                if (worker.ended()) finish(); else waitedMs = 0;
+                break;
+            }
+            if (played >= seekTarget) {
+                if (paused) { timer.stop(); break; }
+                if (waitedMs < f.delayMs) break;
+                waitedMs -= f.delayMs;
+            }
+            worker.poll();
+            f.action.run();
+            played++;
+        }
+        request();
+    }
+
+    private void finish() {
+        timer.stop();
+        finished = true;
+        seekTarget = 0;
+        if (onFinished != null) onFinished.run();
+    }
+
+    private void abandonWorker() {
+        Worker w = worker;
+        worker = null; // first, so the job's cancel hook knows the player let go of it
+        if (w != null) w.job.cancel();
+    }
+
+    // Lets the script produce up to BUFFER frames past what playback (or a pending seek) has reached
+    private void request() {
+        if (worker != null) worker.request(Math.max(played, seekTarget));
+    }
+
+    private static final class Frame {
+        final long delayMs;       // since the previous frame, at 1.0x
+        final Runnable action;
+
+        Frame(long delayMs, Runnable action) {
+            this.delayMs = delayMs;
+            this.action = action;
+        }
+    }
+
+    // One run of the script, as a background job; a failure shows in the status label
+    private final class Worker implements Frames {
+        final Job job = new Job("Step computation", status);
+        // Produced frames not played yet; the lock also guards the counters below
+        private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+        private long produced;            // frames handed over so far
+        private long wanted;              // the script may produce up to wanted + BUFFER frames
+        private boolean recorded;         // the script has returned
+        private long lastBaseMs;          // worker thread only
+
+        Worker() {
+            // Cancelled from outside (page change): the run cannot continue, so the player stops too
+            job.setOnCancel(() -> { if (worker == this) stop(); });
+            job.start(j -> {
+                try {
+                    script.play(this);
+                } finally {
+                    synchronized (frames) { recorded = true; } // the frames produced so far still play
+                }
+                return null;
+            }, null);
+        }
+
+        Frame peek() {
+            synchronized (frames) { return frames.peekFirst(); }
+        }
+
+        Frame poll() {
+            synchronized (frames) { return frames.pollFirst(); }
+        }
+
+        boolean ended() {
+            synchronized (frames) { return recorded && frames.isEmpty(); }
+        }
+
+        void request(long upTo) {
+            synchronized (frames) {
+                if (upTo > wanted) {
+                    wanted = upTo;
+                    frames.notifyAll();
+                }
+            }
+        }
+
+        @Override
+        public void at(long baseMs, Runnable frame) {
+            long delay = Math.max(0, baseMs - lastBaseMs);
+            lastBaseMs = Math.max(lastBaseMs, baseMs);
+            synchronized (frames) {
+                try {
+                    while (produced >= wanted + BUFFER) frames.wait();
+                } catch (InterruptedException e) {
+                    throw new CancellationException("step computation");
+                }
+                frames.addLast(new Frame(delay, frame));
+                produced++;
+            }
+            job.checkCancelled();
+        }
+    }
+}
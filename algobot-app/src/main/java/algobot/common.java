@@ -35,6 +35,8 @@ public class common {
         if (mainStackPane.getChildren().contains(targetPage)) {
             return; // Already on this page
         }
+        // Background work belongs to the page being left
+        Job.cancelAll();
 
         // If navigating to graph page, reset it so it's always clean
         if (targetPage == common.graphContainer) {
@@ -73,6 +75,8 @@ public class common {
         if (common.mainStackPane.getChildren().contains(targetPage)) {
             return; // Already on this page
         }
+        // Background work belongs to the page being left
+        Job.cancelAll();
 
         // If navigating to graph page, reset it so it's always clean
         // This check needs to be more robust if other visualizers have reset methods
@@ -4,6 +4,7 @@ module algobot {
     requires javafx.graphics;
     requires javafx.base;
     requires java.desktop; // for optional Toolkit beep
+    requires algobot.core; // headless algorithm engines
     
     exports algobot;
 }
@@ -0,0 +1,58 @@
+package algobot.bench;
+
+import algobot.core.BlockedFloydWarshallEngine;
+import algobot.core.CsrGraph;
+import algobot.core.FloydWarshallEngine;
+import algobot.core.FloydWarshallListener;
+import algobot.core.JohnsonEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Floyd-Warshall on dense matrices (cost is O(n^3) regardless of density, which only changes
+ * how many improvements are reported), textbook and blocked/parallel, against Johnson (n parallel Dijkstra
+ * runs, which is where density matters).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllPairsBenchmark {
+
+    @Param({"100", "400"})
+    int nodes;
+
+    @Param({"SPARSE", "DENSE"})
+    BenchInputs.Density density;
+
+    CsrGraph g;
+
+    static final FloydWarshallListener NONE = new FloydWarshallListener() {};
+
+    @Setup
+    public void setup() {
+        BenchInputs.Graph edges = BenchInputs.graph(nodes, density);
+        g = CsrGraph.of(edges.n, edges.from, edges.to, edges.weight, false);
+    }
+
+    @Benchmark
+    public double[][] floydWarshall() {
+        return FloydWarshallEngine.run(g, NONE);
+    }
+
+    @Benchmark
+    public double[] floydWarshallBlocked() {
+        return BlockedFloydWarshallEngine.run(g, NONE);
+    }
+
+    // Rows are streamed, not stored: keep one number per row so the work cannot be dropped
+    @Benchmark
+    public double[] johnson() {
+        double[] far = new double[g.n];
+        JohnsonEngine.run(g, (source, row) -> far[source] = row[g.n - 1]);
+        return far;
+    }
+}
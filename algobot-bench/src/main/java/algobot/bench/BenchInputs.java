@@ -0,0 +1,83 @@
+package algobot.bench;
+
+import algobot.core.FlowNetwork;
+
+import java.util.Random;
+
+/**
+ * Seeded inputs shared by the benchmarks, so every run (and every release) measures the same data.
+ * Public only because the JMH-generated classes live in a subpackage.
+ */
+public final class BenchInputs {
+
+    static final long SEED = 0x5EEDL;
+
+    private BenchInputs() {}
+
+    /** Array shapes for the sorting benchmarks. */
+    public enum Shape { RANDOM, SORTED, REVERSE }
+
+    /** Edge density for the graph benchmarks: SPARSE ~ 4 edges per node, DENSE ~ n/4 edges per node. */
+    public enum Density { SPARSE, DENSE }
+
+    /** Values in [1, 1000], like the bars generated on the sorting page. */
+    static int[] values(int n, Shape shape) {
+        Random rnd = new Random(SEED);
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) a[i] = 1 + rnd.nextInt(1000);
+        if (shape != Shape.RANDOM) {
+            java.util.Arrays.sort(a);
+            if (shape == Shape.REVERSE) {
+                for (int i = 0, j = n - 1; i < j; i++, j--) { int t = a[i]; a[i] = a[j]; a[j] = t; }
+            }
+        }
+        return a;
+    }
+
+    /** Connected random graph as parallel edge arrays: a random spanning tree plus extra random edges. */
+    static final class Graph {
+        final int n;
+        final int[] from, to;
+        final double[] weight;
+
+        Graph(int n, int[] from, int[] to, double[] weight) {
+            this.n = n; this.from = from; this.to = to; this.weight = weight;
+        }
+
+        int edgeCount() { return from.length; }
+    }
+
+    static Graph graph(int n, Density density) {
+        Random rnd = new Random(SEED);
+        long perNode = density == Density.SPARSE ? 4 : Math.max(4, n / 4);
+        int m = (int) Math.min((long) n * perNode, (long) n * (n - 1) / 2);
+        m = Math.max(m, n - 1);
+        int[] from = new int[m], to = new int[m];
+        double[] w = new double[m];
+        for (int v = 1; v < n; v++) {
+            from[v - 1] = rnd.nextInt(v);
+            to[v - 1] = v;
+        }
+        for (int e = n - 1; e < m; e++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n - 1);
+            if (b >= a) b++;
+            from[e] = a; to[e] = b;
+        }
+        for (int e = 0; e < m; e++) w[e] = 1 + rnd.nextInt(100);
+        return new Graph(n, from, to, w);
+    }
+
+    /** Max-flow network: a layered network from node 0 to node n-1 (edges point from lower to higher ids). */
+    static FlowNetwork flowNetwork(int n, Density density) {
+        Graph g = graph(n, density);
+        int m = g.edgeCount();
+        int[] from = new int[m], to = new int[m];
+        double[] cap = new double[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = Math.min(g.from[e], g.to[e]);
+            to[e] = Math.max(g.from[e], g.to[e]);
+            cap[e] = g.weight[e];
+        }
+        return FlowNetwork.of(n, from, to, cap);
+    }
+}
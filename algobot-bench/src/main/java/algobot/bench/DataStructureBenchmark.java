@@ -0,0 +1,80 @@
+package algobot.bench;
+
+import algobot.core.AvlListener;
+import algobot.core.AvlTree;
+import algobot.core.FenwickTree;
+import algobot.core.IntHeap;
+import algobot.core.SegmentTree;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operation mixes for the data structure page: each benchmark performs {@code ops} operations
+ * over keys drawn from the input shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataStructureBenchmark {
+
+    @Param({"1000", "100000"})
+    int ops;
+
+    @Param({"RANDOM", "SORTED", "REVERSE"})
+    BenchInputs.Shape shape;
+
+    int[] keys;
+
+    static final AvlListener NONE = (step, a, b, c) -> {};
+
+    @Setup
+    public void setup() {
+        keys = BenchInputs.values(ops, shape);
+        // widen the key range so the AVL tree is not dominated by duplicates
+        for (int i = 0; i < ops; i++) keys[i] = keys[i] * ops + i;
+    }
+
+    @Benchmark
+    public void maxHeapInsertExtract(Blackhole bh) {
+        IntHeap heap = new IntHeap(true);
+        for (int k : keys) heap.insert(k);
+        while (!heap.isEmpty()) bh.consume(heap.extract());
+    }
+
+    @Benchmark
+    public void minHeapInsertExtract(Blackhole bh) {
+        IntHeap heap = new IntHeap(false);
+        for (int k : keys) heap.insert(k);
+        while (!heap.isEmpty()) bh.consume(heap.extract());
+    }
+
+    @Benchmark
+    public AvlTree avlInsertDelete() {
+        AvlTree tree = new AvlTree();
+        for (int k : keys) tree.insert(k, NONE);
+        for (int i = 0; i < keys.length; i += 2) tree.delete(keys[i], NONE);
+        return tree;
+    }
+
+    @Benchmark
+    public void fenwickUpdateQuery(Blackhole bh) {
+        FenwickTree ft = new FenwickTree(ops);
+        for (int i = 0; i < ops; i++) ft.add(1 + keys[i] % ops, 1);
+        for (int i = 0; i < ops; i++) bh.consume(ft.prefix(1 + keys[i] % ops));
+    }
+
+    @Benchmark
+    public void segmentUpdateQuery(Blackhole bh) {
+        SegmentTree st = new SegmentTree(ops);
+        for (int i = 0; i < ops; i++) st.set(keys[i] % ops, i);
+        for (int i = 0; i < ops; i++) {
+            int a = keys[i] % ops, b = keys[ops - 1 - i] % ops;
+            bh.consume(st.query(Math.min(a, b), Math.max(a, b)));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package algobot.bench;
+
+import algobot.core.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-source traversals and spanning trees on connected random graphs.
+ * All engines run with no-op listeners, so this measures the algorithm itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBenchmark {
+
+    @Param({"500", "2000"})
+    int nodes;
+
+    @Param({"SPARSE", "DENSE"})
+    BenchInputs.Density density;
+
+    @Param({"false", "true"})
+    boolean directed;
+
+    CsrGraph g;
+
+    static final BfsListener BFS = new BfsListener() {};
+    static final DfsListener DFS = new DfsListener() {};
+    static final DijkstraListener DIJKSTRA = new DijkstraListener() {};
+    static final BellmanFordListener BELLMAN_FORD = new BellmanFordListener() {};
+    static final MstListener MST = new MstListener() {};
+
+    @Setup
+    public void setup() {
+        BenchInputs.Graph edges = BenchInputs.graph(nodes, density);
+        g = CsrGraph.of(edges.n, edges.from, edges.to, edges.weight, directed);
+    }
+
+    @Benchmark
+    public int[] bfs() {
+        return BfsEngine.run(g, 0, BFS);
+    }
+
+    @Benchmark
+    public boolean[] dfs() {
+        return DfsEngine.run(g, 0, DFS);
+    }
+
+    @Benchmark
+    public double[] dijkstra() {
+        return DijkstraEngine.run(g, 0, DIJKSTRA);
+    }
+
+    @Benchmark
+    public double[] bellmanFord() {
+        return BellmanFordEngine.run(g, 0, BELLMAN_FORD);
+    }
+
+    @Benchmark
+    public void prim(Blackhole bh) {
+        // MST is only offered for undirected graphs; the directed flag is ignored here
+        bh.consume(PrimEngine.run(g, 0, MST));
+    }
+
+    @Benchmark
+    public void kruskal(Blackhole bh) {
+        bh.consume(KruskalEngine.run(g, MST));
+    }
+
+    @Benchmark
+    public void filterKruskal(Blackhole bh) {
+        bh.consume(KruskalEngine.runFilter(g, MST));
+    }
+
+    @Benchmark
+    public void boruvka(Blackhole bh) {
+        bh.consume(BoruvkaEngine.run(g, MST));
+    }
+}
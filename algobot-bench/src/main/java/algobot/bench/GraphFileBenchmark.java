@@ -0,0 +1,61 @@
+package algobot.bench;
+
+import algobot.core.GraphFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a sparse random graph from each file format into edge arrays. Files are written once per
+ * trial to a temporary directory, so later iterations read from the page cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class GraphFileBenchmark {
+
+    @Param({"250000", "2500000"})
+    int nodes; // SPARSE: 4 edges per node, so up to 10M edges
+
+    Path dir, edgeList, dimacs, binary;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchInputs.Graph g = BenchInputs.graph(nodes, BenchInputs.Density.SPARSE);
+        GraphFile file = new GraphFile(g.n, g.from, g.to, g.weight, false, true, -1, -1);
+        dir = Files.createTempDirectory("algobot-bench");
+        edgeList = dir.resolve("graph.txt");
+        dimacs = dir.resolve("graph.gr");
+        binary = dir.resolve("graph.abg");
+        GraphFile.write(edgeList, file);
+        GraphFile.write(dimacs, file);
+        GraphFile.write(binary, file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (Path p : new Path[]{edgeList, dimacs, binary}) Files.deleteIfExists(p);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public GraphFile readEdgeList() throws IOException {
+        return GraphFile.readEdgeList(edgeList, false);
+    }
+
+    @Benchmark
+    public GraphFile readDimacs() throws IOException {
+        return GraphFile.readDimacs(dimacs);
+    }
+
+    @Benchmark
+    public GraphFile readBinary() throws IOException {
+        return GraphFile.readBinary(binary);
+    }
+}
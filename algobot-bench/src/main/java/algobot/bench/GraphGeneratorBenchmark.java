@@ -0,0 +1,50 @@
+package algobot.bench;
+
+import algobot.core.GraphFile;
+import algobot.core.GraphGenerators;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building synthetic graphs with an average degree of about 8, i.e. roughly 1M edges at the larger size.
+ * Every generator is linear in the number of edges it emits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class GraphGeneratorBenchmark {
+
+    @Param({"25000", "250000"})
+    int nodes;
+
+    @Benchmark
+    public GraphFile erdosRenyi() {
+        return GraphGenerators.erdosRenyi(nodes, 8.0 / (nodes - 1), false, 20, 42);
+    }
+
+    @Benchmark
+    public GraphFile barabasiAlbert() {
+        return GraphGenerators.barabasiAlbert(nodes, 4, 20, 42);
+    }
+
+    @Benchmark
+    public GraphFile grid() {
+        int side = (int) Math.ceil(Math.sqrt(nodes));
+        return GraphGenerators.grid(side, side, 20, 42);
+    }
+
+    @Benchmark
+    public GraphFile randomGeometric() {
+        return GraphGenerators.randomGeometric(nodes, Math.sqrt(8 / (Math.PI * nodes)), 20, 42);
+    }
+
+    @Benchmark
+    public GraphFile layeredNetwork() {
+        int width = (int) Math.sqrt(nodes);
+        return GraphGenerators.layeredNetwork(nodes / width, width, 4, 20, 42);
+    }
+}
@@ -0,0 +1,55 @@
+package algobot.bench;
+
+import algobot.core.DinicEngine;
+import algobot.core.EdmondsKarpEngine;
+import algobot.core.FlowListener;
+import algobot.core.FlowNetwork;
+import algobot.core.PushRelabelEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Max flow from node 0 to node n-1 with each engine on the same adjacency-array residual graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaxFlowBenchmark {
+
+    @Param({"100", "500"})
+    int nodes;
+
+    @Param({"SPARSE", "DENSE"})
+    BenchInputs.Density density;
+
+    FlowNetwork network;
+
+    static final FlowListener NONE = new FlowListener() {};
+
+    @Setup
+    public void setup() {
+        network = BenchInputs.flowNetwork(nodes, density);
+    }
+
+    @Benchmark
+    public double edmondsKarp() {
+        network.reset();
+        return EdmondsKarpEngine.run(network, 0, nodes - 1, NONE);
+    }
+
+    @Benchmark
+    public double dinic() {
+        network.reset();
+        return DinicEngine.run(network, 0, nodes - 1, NONE);
+    }
+
+    @Benchmark
+    public double pushRelabel() {
+        network.reset();
+        return PushRelabelEngine.run(network, 0, nodes - 1, NONE);
+    }
+}
@@ -0,0 +1,89 @@
+package algobot.bench;
+
+import algobot.core.ParallelSortEngine;
+import algobot.core.ParallelSortListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The fork/join sorts on pools of 1..8 workers, headless (no listener work). Speedup is the
+ * threads=1 time over the threads=N time of the same engine; {@link #sequential} (Arrays.sort, the
+ * dual-pivot quick sort) and {@link #jdkParallel} (Arrays.parallelSort) are the references.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ParallelSortBenchmark {
+
+    private static final ParallelSortListener NONE = new ParallelSortListener() {};
+
+    @Param({"1000000", "10000000"})
+    int size;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    int[] input;
+    ForkJoinPool pool;
+    int grain;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        input = BenchInputs.values(size, BenchInputs.Shape.RANDOM);
+        pool = new ForkJoinPool(threads);
+        grain = ParallelSortEngine.defaultGrain(size, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] mergeSort() {
+        int[] a = input.clone();
+        ParallelSortEngine.mergeSort(a, pool, grain, NONE);
+        return a;
+    }
+
+    @Benchmark
+    public int[] quickSort() {
+        int[] a = input.clone();
+        ParallelSortEngine.quickSort(a, pool, grain, NONE);
+        return a;
+    }
+
+    @Benchmark
+    public int[] radixSort() {
+        int[] a = input.clone();
+        ParallelSortEngine.radixSort(a, pool, grain, NONE);
+        return a;
+    }
+
+    @Benchmark
+    public int[] bitonicSort() {
+        int[] a = input.clone();
+        ParallelSortEngine.bitonicSort(a, pool, grain, NONE);
+        return a;
+    }
+
+    @Benchmark
+    public int[] sequential() {
+        int[] a = input.clone();
+        Arrays.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] jdkParallel() {
+        int[] a = input.clone();
+        Arrays.parallelSort(a); // uses the common pool, so 'threads' does not apply
+        return a;
+    }
+}
@@ -0,0 +1,119 @@
+package algobot.bench;
+
+import algobot.core.CountingSortEngine;
+import algobot.core.HeapSortEngine;
+import algobot.core.IntroSortEngine;
+import algobot.core.QuickSortEngine;
+import algobot.core.RadixSortEngine;
+import algobot.core.SortListener;
+import algobot.core.ShellSortEngine;
+import algobot.core.SortStepLog;
+import algobot.core.TimSortEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting step generators: the bare engine (events only) and the engine feeding the SortStepLog,
+ * which is what the sorting page precomputes before playback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSE"})
+    BenchInputs.Shape shape;
+
+    int[] input;
+
+    @Setup
+    public void setup() {
+        input = BenchInputs.values(size, shape);
+    }
+
+    /** Counts events so the JIT cannot drop them. */
+    static final class Sink implements SortListener {
+        final Blackhole bh;
+        Sink(Blackhole bh) { this.bh = bh; }
+        @Override public void onWrite(int index, int oldValue, int newValue) { bh.consume(newValue); }
+        @Override public void onStep(byte action, int i, int j, int aux, byte specialMask, int sortedLo, int sortedHi, int arg) { bh.consume(i); }
+    }
+
+    @Benchmark
+    public int[] quickSortEvents(Blackhole bh) {
+        int[] a = input.clone();
+        QuickSortEngine.sort(a, new Sink(bh));
+        return a;
+    }
+
+    @Benchmark
+    public int[] radixSortEvents(Blackhole bh) {
+        int[] a = input.clone();
+        RadixSortEngine.sort(a, new Sink(bh));
+        return a;
+    }
+
+    @Benchmark
+    public int[] timSortEvents(Blackhole bh) {
+        int[] a = input.clone();
+        TimSortEngine.sort(a, new Sink(bh));
+        return a;
+    }
+
+    @Benchmark
+    public int[] introSortEvents(Blackhole bh) {
+        int[] a = input.clone();
+        IntroSortEngine.sort(a, new Sink(bh));
+        return a;
+    }
+
+    @Benchmark
+    public int[] heapSortEvents(Blackhole bh) {
+        int[] a = input.clone();
+        HeapSortEngine.sort(a, new Sink(bh));
+        return a;
+    }
+
+    @Benchmark
+    public int[] shellSortEvents(Blackhole bh) {
+        int[] a = input.clone();
+        ShellSortEngine.sort(a, new Sink(bh));
+        return a;
+    }
+
+    @Benchmark
+    public int[] countingSortEvents(Blackhole bh) {
+        int[] a = input.clone();
+        CountingSortEngine.sort(a, new Sink(bh));
+        return a;
+    }
+
+    @Benchmark
+    public SortStepLog quickSortStepLog() {
+        SortStepLog log = new SortStepLog(input);
+        QuickSortEngine.sort(input.clone(), log);
+        return log;
+    }
+
+    @Benchmark
+    public SortStepLog radixSortStepLog() {
+        SortStepLog log = new SortStepLog(input);
+        RadixSortEngine.sort(input.clone(), log);
+        return log;
+    }
+
+    @Benchmark
+    public SortStepLog timSortStepLog() {
+        SortStepLog log = new SortStepLog(input);
+        TimSortEngine.sort(input.clone(), log);
+        return log;
+    }
+}
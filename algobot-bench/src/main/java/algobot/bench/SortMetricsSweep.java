@@ -0,0 +1,136 @@
+package algobot.bench;
+
+import algobot.core.CountingSortEngine;
+import algobot.core.HeapSortEngine;
+import algobot.core.IntroSortEngine;
+import algobot.core.ParallelSortEngine;
+import algobot.core.QuickSortEngine;
+import algobot.core.RadixSortEngine;
+import algobot.core.ShellSortEngine;
+import algobot.core.SimpleSortStepper;
+import algobot.core.SortMetrics;
+import algobot.core.TimSortEngine;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Headless operation counts: runs each sort of the sorting page, through the same engines, on random arrays
+ * of growing n and prints the measured comparisons, writes and auxiliary ints (as the engines report them)
+ * next to the textbook curve, with their ratio (a flat ratio means the curve fits). With a file argument
+ * the same table is also written as CSV, ready to plot.
+ * <pre>java -cp benchmarks.jar algobot.bench.SortMetricsSweep [out.csv] [maxN]</pre>
+ */
+public final class SortMetricsSweep {
+
+    private static final String[] ALGORITHMS = {"BUBBLE", "INSERTION", "SELECTION", "QUICK", "RADIX", "TIMSORT",
+        "INTROSORT", "HEAP", "SHELL", "COUNTING", "P-MERGE", "P-QUICK", "P-RADIX", "BITONIC"};
+    // Block size of the parallel sorts: fixed, so the counts do not depend on the core count
+    private static final int PARALLEL_GRAIN = 256;
+
+    private SortMetricsSweep() {}
+
+    public static void main(String[] args) throws IOException {
+        Path out = args.length > 0 ? Path.of(args[0]) : null;
+        int maxN = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 16;
+        StringBuilder csv = new StringBuilder("algorithm,n,counter,measured,theory,ratio\n");
+        PrintStream o = System.out;
+        o.printf("%-10s %9s %-12s %15s %15s %7s%n", "algorithm", "n", "counter", "measured", "theory", "ratio");
+        for (int n = 16; n <= maxN; n *= 4) {
+            for (String algo : ALGORITHMS) {
+                // the quadratic sorts stop at 16K: their counts are exact formulas by then
+                if (n > 1 << 14 && (algo.equals("BUBBLE") || algo.equals("INSERTION") || algo.equals("SELECTION"))) continue;
+                int[] a = BenchInputs.values(n, BenchInputs.Shape.RANDOM);
+                int max = Arrays.stream(a).max().orElse(0), min = Arrays.stream(a).min().orElse(0);
+                SortMetrics m = run(algo, a);
+                // radix and counting sort do not compare; parallel blocks compare inside the workers, unreported
+                if (theoryComparisons(algo, n) > 0) row(csv, o, algo, n, "comparisons", m.comparisons(), theoryComparisons(algo, n));
+                row(csv, o, algo, n, "writes", m.writes(), theoryWrites(algo, n, max));
+                if (m.auxInts() > 0) row(csv, o, algo, n, "aux_ints", m.auxInts(), theoryAux(algo, n, max - min + 1));
+            }
+        }
+        if (out != null) Files.writeString(out, csv);
+    }
+
+    private static void row(StringBuilder csv, PrintStream o, String algo, int n, String counter, long measured, double theory) {
+        double ratio = theory > 0 ? measured / theory : 0;
+        o.printf(Locale.US, "%-10s %9d %-12s %15d %15.0f %7.3f%n", algo, n, counter, measured, theory, ratio);
+        csv.append(String.format(Locale.US, "%s,%d,%s,%d,%.1f,%.4f%n", algo, n, counter, measured, theory, ratio));
+    }
+
+    // The engines the sorting page runs; parallel sorts on the common pool with a fixed block size
+    private static SortMetrics run(String algo, int[] a) {
+        SortMetrics m = new SortMetrics(algo, a.length);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        switch (algo) {
+            case "BUBBLE", "INSERTION", "SELECTION" -> SimpleSortStepper.sort(a, SimpleSortStepper.Kind.valueOf(algo), m);
+            case "QUICK" -> QuickSortEngine.sort(a, m);
+            case "RADIX" -> RadixSortEngine.sort(a, m);
+            case "TIMSORT" -> TimSortEngine.sort(a, m);
+            case "INTROSORT" -> IntroSortEngine.sort(a, m);
+            case "HEAP" -> HeapSortEngine.sort(a, m);
+            case "SHELL" -> ShellSortEngine.sort(a, ShellSortEngine.Gaps.CIURA, m);
+            case "COUNTING" -> CountingSortEngine.sort(a, m);
+            case "P-MERGE" -> ParallelSortEngine.mergeSort(a, pool, PARALLEL_GRAIN, m);
+            case "P-QUICK" -> ParallelSortEngine.quickSort(a, pool, PARALLEL_GRAIN, m);
+            case "P-RADIX" -> ParallelSortEngine.radixSort(a, pool, PARALLEL_GRAIN, m);
+            case "BITONIC" -> ParallelSortEngine.bitonicSort(a, pool, PARALLEL_GRAIN, m);
+        }
+        return m;
+    }
+
+    // Expected counts on distinct random keys. The inputs hold values 1..1000, so from a few thousand
+    // elements on they repeat, which Lomuto partitioning (quick sort, introsort: equal keys all go left) pays for
+    private static double theoryComparisons(String algo, int n) {
+        return switch (algo) {
+            case "BUBBLE", "SELECTION" -> n * (n - 1) / 2.0;
+            case "INSERTION" -> n * (n - 1) / 4.0 + n - 1;
+            case "QUICK", "INTROSORT" -> 2 * n * Math.log(n);
+            case "TIMSORT" -> n * log2(n);                   // upper bound; fewer on presorted data
+            case "HEAP" -> 2 * n * log2(n);
+            case "SHELL" -> n * log2(n);                      // Ciura's gaps: no proven bound, about n log n at these sizes
+            default -> 0;
+        };
+    }
+
+    private static double theoryWrites(String algo, int n, int max) {
+        int digits = String.valueOf(max).length();
+        double levels = Math.max(0, Math.ceil(log2((n + PARALLEL_GRAIN - 1) / PARALLEL_GRAIN))); // above the leaf blocks
+        return switch (algo) {
+            case "BUBBLE", "INSERTION" -> n * (n - 1) / 2.0; // two writes per inversion
+            case "SELECTION" -> 2.0 * (n - 1);
+            case "QUICK" -> 2 * n * Math.log(n);              // Lomuto: ~ n ln n swaps
+            case "RADIX" -> 2.0 * n * digits;                 // per digit pass: to the buffer and back
+            case "TIMSORT" -> n * log2(n);                    // every merge level rewrites (at most) all of it
+            case "INTROSORT" -> 2 * n * Math.log(n);
+            case "HEAP" -> 2 * n * log2(n);                   // ~ n log2 n swaps, most of them sifting down
+            case "SHELL" -> n * log2(n);
+            case "COUNTING" -> n;
+            case "P-MERGE", "P-QUICK" -> n * (1 + levels);    // the leaves, then every merge / partition level
+            case "P-RADIX" -> n * Math.ceil((32 - Integer.numberOfLeadingZeros(max)) / 8.0); // passes on constant digits are skipped
+            case "BITONIC" -> n * (1 + levels + levels * (levels + 1) / 2); // merging 2^k leaves: k exchange levels + the leaves
+            default -> 0;
+        };
+    }
+
+    private static double theoryAux(String algo, int n, int range) {
+        return switch (algo) {
+            case "QUICK" -> 64;                               // fixed segment stack (grows only past 32 pending segments)
+            case "RADIX" -> n + 10;                           // output buffer + digit counts
+            case "TIMSORT" -> n / 2.0;                        // merge buffer
+            case "COUNTING" -> range;                         // one counter per value
+            case "P-MERGE" -> n;                              // merge buffer
+            case "P-RADIX" -> n + 2.0 * 256 * ((n + PARALLEL_GRAIN - 1) / PARALLEL_GRAIN); // buffer + per-chunk counts and offsets
+            default -> 0;
+        };
+    }
+
+    private static double log2(int n) {
+        return Math.log(n) / Math.log(2);
+    }
+}
@@ -0,0 +1,36 @@
+package algobot.core;
+
+/**
+ * Step events of {@link AvlTree}. Arguments are node values unless stated otherwise.
+ */
+public interface AvlListener {
+    enum Step {
+        VISIT,          // a = node, b = key being inserted / deleted
+        GO_LEFT,        // a = key, b = node
+        GO_RIGHT,       // a = key, b = node
+        CREATED,        // a = key
+        DUPLICATE,      // a = key
+        NOT_FOUND,      // a = key
+        FOUND,          // a = key
+        LEAF,           // a = key (removed directly)
+        ONE_CHILD,      // a = key, b = child replacing it
+        TWO_CHILDREN,   // a = key, b = left child, c = right child
+        SUCCESSOR_START,// a = right child where the search starts
+        SUCCESSOR_MOVE, // a = step number, b = current node, c = its left child
+        SUCCESSOR_FOUND,// a = successor
+        REPLACED,       // a = old value, b = successor value copied in
+        HEIGHT,         // a = node, b = old height, c = new height
+        BALANCE,        // a = node, b = balance factor
+        LEFT_HEAVY,     // a = node balance, b = left child, c = left child balance
+        RIGHT_HEAVY,    // a = node balance, b = right child, c = right child balance
+        CASE_LL, CASE_LR, CASE_RR, CASE_RL,
+        ROTATE_RIGHT,   // a = old root, b = new root, c = moved subtree (NONE if empty)
+        ROTATE_LEFT,    // a = old root, b = new root, c = moved subtree (NONE if empty)
+        COMPLETE        // a = node
+    }
+
+    /** Used for an absent subtree in rotation events. */
+    int NONE = Integer.MIN_VALUE;
+
+    void onStep(Step step, int a, int b, int c);
+}
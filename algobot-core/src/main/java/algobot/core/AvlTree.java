@@ -0,0 +1,166 @@
+package algobot.core;
+
+/**
+ * AVL tree of distinct ints that reports every search, rebalance and rotation step.
+ */
+public class AvlTree {
+
+    public static final class Node {
+        public int value;
+        public int height = 1;
+        public Node left, right;
+
+        Node(int value) { this.value = value; }
+
+        public int getBalance() {
+            return height(left) - height(right);
+        }
+
+        void updateHeight() {
+            height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    private Node root;
+
+    public Node root() { return root; }
+
+    public boolean isEmpty() { return root == null; }
+
+    public void clear() { root = null; }
+
+    public void insert(int value, AvlListener l) {
+        root = insert(root, value, l);
+    }
+
+    public void delete(int value, AvlListener l) {
+        root = delete(root, value, l);
+    }
+
+    private static int height(Node n) { return n == null ? 0 : n.height; }
+
+    private Node insert(Node node, int value, AvlListener l) {
+        // Step 1: Normal BST insertion
+        if (node == null) {
+            l.onStep(AvlListener.Step.CREATED, value, 0, 0);
+            return new Node(value);
+        }
+        l.onStep(AvlListener.Step.VISIT, node.value, value, 0);
+        if (value < node.value) {
+            l.onStep(AvlListener.Step.GO_LEFT, value, node.value, 0);
+            node.left = insert(node.left, value, l);
+        } else if (value > node.value) {
+            l.onStep(AvlListener.Step.GO_RIGHT, value, node.value, 0);
+            node.right = insert(node.right, value, l);
+        } else {
+            l.onStep(AvlListener.Step.DUPLICATE, value, 0, 0);
+            return node; // Duplicate values not allowed
+        }
+        // Step 2: Update height
+        int oldHeight = node.height;
+        node.updateHeight();
+        l.onStep(AvlListener.Step.HEIGHT, node.value, oldHeight, node.height);
+        return rebalance(node, l);
+    }
+
+    private Node delete(Node node, int value, AvlListener l) {
+        // Step 1: Search for the node to delete
+        if (node == null) {
+            l.onStep(AvlListener.Step.NOT_FOUND, value, 0, 0);
+            return null;
+        }
+        l.onStep(AvlListener.Step.VISIT, node.value, value, 0);
+        if (value < node.value) {
+            l.onStep(AvlListener.Step.GO_LEFT, value, node.value, 0);
+            node.left = delete(node.left, value, l);
+        } else if (value > node.value) {
+            l.onStep(AvlListener.Step.GO_RIGHT, value, node.value, 0);
+            node.right = delete(node.right, value, l);
+        } else {
+            l.onStep(AvlListener.Step.FOUND, value, 0, 0);
+            if (node.left == null && node.right == null) {
+                l.onStep(AvlListener.Step.LEAF, value, 0, 0);
+                return null;
+            } else if (node.left == null || node.right == null) {
+                Node temp = (node.left != null) ? node.left : node.right;
+                l.onStep(AvlListener.Step.ONE_CHILD, value, temp.value, 0);
+                return temp;
+            } else {
+                l.onStep(AvlListener.Step.TWO_CHILDREN, value, node.left.value, node.right.value);
+                Node successor = findMin(node.right, l);
+                int oldValue = node.value;
+                node.value = successor.value;
+                l.onStep(AvlListener.Step.REPLACED, oldValue, successor.value, 0);
+                node.right = delete(node.right, successor.value, l);
+            }
+        }
+        // Step 2: Post-deletion rebalancing
+        int oldHeight = node.height;
+        node.updateHeight();
+        l.onStep(AvlListener.Step.HEIGHT, node.value, oldHeight, node.height);
+        return rebalance(node, l);
+    }
+
+    private Node findMin(Node node, AvlListener l) {
+        l.onStep(AvlListener.Step.SUCCESSOR_START, node.value, 0, 0);
+        int stepCount = 1;
+        while (node.left != null) {
+            l.onStep(AvlListener.Step.SUCCESSOR_MOVE, stepCount, node.value, node.left.value);
+            node = node.left;
+            stepCount++;
+        }
+        l.onStep(AvlListener.Step.SUCCESSOR_FOUND, node.value, 0, 0);
+        return node;
+    }
+
+    private Node rebalance(Node node, AvlListener l) {
+        int balance = node.getBalance();
+        l.onStep(AvlListener.Step.BALANCE, node.value, balance, 0);
+        if (balance > 1) {
+            int leftBalance = node.left.getBalance();
+            l.onStep(AvlListener.Step.LEFT_HEAVY, balance, node.left.value, leftBalance);
+            if (leftBalance >= 0) {
+                l.onStep(AvlListener.Step.CASE_LL, node.value, 0, 0);
+                return rotateRight(node, l);
+            }
+            l.onStep(AvlListener.Step.CASE_LR, node.value, 0, 0);
+            node.left = rotateLeft(node.left, l);
+            return rotateRight(node, l);
+        }
+        if (balance < -1) {
+            int rightBalance = node.right.getBalance();
+            l.onStep(AvlListener.Step.RIGHT_HEAVY, balance, node.right.value, rightBalance);
+            if (rightBalance <= 0) {
+                l.onStep(AvlListener.Step.CASE_RR, node.value, 0, 0);
+                return rotateLeft(node, l);
+            }
+            l.onStep(AvlListener.Step.CASE_RL, node.value, 0, 0);
+            node.right = rotateRight(node.right, l);
+            return rotateLeft(node, l);
+        }
+        l.onStep(AvlListener.Step.COMPLETE, node.value, 0, 0);
+        return node;
+    }
+
+    private Node rotateRight(Node y, AvlListener l) {
+        Node x = y.left;
+        Node t2 = x.right;
+        l.onStep(AvlListener.Step.ROTATE_RIGHT, y.value, x.value, t2 != null ? t2.value : AvlListener.NONE);
+        x.right = y;
+        y.left = t2;
+        y.updateHeight();
+        x.updateHeight();
+        return x;
+    }
+
+    private Node rotateLeft(Node x, AvlListener l) {
+        Node y = x.right;
+        Node t2 = y.left;
+        l.onStep(AvlListener.Step.ROTATE_LEFT, x.value, y.value, t2 != null ? t2.value : AvlListener.NONE);
+        y.left = x;
+        x.right = t2;
+        x.updateHeight();
+        y.updateHeight();
+        return y;
+    }
+}
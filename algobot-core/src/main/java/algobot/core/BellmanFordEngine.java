@@ -0,0 +1,57 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Bellman-Ford: always n-1 passes over the edge list (no early exit, as the graph page shows them all),
+ * then one checking pass for negative cycles.
+ */
+public final class BellmanFordEngine {
+
+    private BellmanFordEngine() {}
+
+    /** Returns the distance array; the listener learns about negative cycles through onCycleCheck. */
+    public static double[] run(CsrGraph g, int source, BellmanFordListener l) {
+        int n = g.n;
+        int[] from = g.from, to = g.to;
+        double[] weight = g.weight;
+        boolean directed = g.directed;
+        double inf = Double.POSITIVE_INFINITY;
+        double[] dist = new double[n];
+        Arrays.fill(dist, inf);
+        dist[source] = 0.0;
+        int m = from.length;
+        for (int pass = 1; pass < n; pass++) {
+            l.onPass(pass);
+            boolean improved = false;
+            for (int e = 0; e < m; e++) {
+                int a = from[e], b = to[e];
+                double w = weight[e];
+                l.onExamine(e);
+                if (dist[a] != inf && dist[a] + w < dist[b]) {
+                    double old = dist[b];
+                    dist[b] = dist[a] + w;
+                    improved = true;
+                    l.onRelax(e, false, old, dist[b]);
+                } else {
+                    l.onNoRelax(e, dist[a] == inf ? inf : dist[a] + w, dist[b]);
+                }
+                if (!directed && dist[b] != inf && dist[b] + w < dist[a]) {
+                    double old = dist[a];
+                    dist[a] = dist[b] + w;
+                    improved = true;
+                    l.onRelax(e, true, old, dist[a]);
+                }
+            }
+            l.onPassEnd(pass, improved);
+        }
+        l.onCheckPhase();
+        for (int e = 0; e < m; e++) {
+            int a = from[e], b = to[e];
+            double w = weight[e];
+            l.onCycleCheck(e, false, dist[a] != inf && dist[a] + w < dist[b]);
+            if (!directed && dist[b] != inf && dist[b] + w < dist[a]) l.onCycleCheck(e, true, true);
+        }
+        return dist;
+    }
+}
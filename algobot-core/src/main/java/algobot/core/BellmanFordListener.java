@@ -0,0 +1,15 @@
+package algobot.core;
+
+/**
+ * Step events of {@link BellmanFordEngine}. {@code reverse} marks the second direction of an undirected edge.
+ */
+public interface BellmanFordListener {
+    default void onPass(int pass) {}
+    default void onExamine(int edge) {}
+    default void onRelax(int edge, boolean reverse, double oldDist, double newDist) {}
+    default void onNoRelax(int edge, double alt, double current) {}
+    default void onPassEnd(int pass, boolean improved) {}
+    /** The negative-cycle checking pass starts. */
+    default void onCheckPhase() {}
+    default void onCycleCheck(int edge, boolean reverse, boolean canRelax) {}
+}
@@ -0,0 +1,33 @@
+package algobot.core;
+
+/**
+ * Breadth-first traversal; neighbours are discovered in edge order.
+ */
+public final class BfsEngine {
+
+    private BfsEngine() {}
+
+    /** Returns the BFS level of every node (-1 when unreachable). */
+    public static int[] run(CsrGraph g, int source, BfsListener l) {
+        int n = g.n;
+        int[] level = new int[n];
+        java.util.Arrays.fill(level, -1);
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        queue[tail++] = source; level[source] = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            l.onDequeue(u);
+            for (int k = g.offsets[u]; k < g.offsets[u + 1]; k++) {
+                int e = g.arcEdge[k];
+                int v = g.targets[k];
+                if (level[v] >= 0) continue;
+                level[v] = level[u] + 1;
+                queue[tail++] = v;
+                l.onDiscover(e, u, v);
+            }
+            l.onDone(u);
+        }
+        return level;
+    }
+}
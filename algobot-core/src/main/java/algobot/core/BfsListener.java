@@ -0,0 +1,10 @@
+package algobot.core;
+
+/**
+ * Step events of {@link BfsEngine}.
+ */
+public interface BfsListener {
+    default void onDequeue(int node) {}
+    default void onDiscover(int edge, int from, int to) {}
+    default void onDone(int node) {}
+}
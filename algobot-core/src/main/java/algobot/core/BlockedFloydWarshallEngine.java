@@ -0,0 +1,147 @@
+package algobot.core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Tiled Floyd-Warshall on a flat row-major matrix. Intermediates are taken a block of {@link #BLOCK} at a
+ * time: first the diagonal tile, then the tiles in its row and column, then every other tile. Tiles of
+ * the last two steps are independent of each other and run in parallel on a ForkJoinPool.
+ * Results match {@link FloydWarshallEngine}; only the event granularity differs: one round per block, or
+ * one per intermediate when the graph fits in a single tile.
+ */
+public final class BlockedFloydWarshallEngine {
+
+    /** Tile side; three 64×64 tiles of doubles stay within a typical L2 cache. */
+    public static final int BLOCK = 64;
+
+    /** Largest graph whose n×n matrix fits in one Java array (46340² cells). */
+    public static final int MAX_NODES = 46_340;
+
+    private BlockedFloydWarshallEngine() {}
+
+    /**
+     * Distance matrix with direct edge weights (parallel edges keep the minimum), row-major n×n.
+     * Throws IllegalArgumentException above {@link #MAX_NODES} nodes.
+     */
+    public static double[] initialMatrix(CsrGraph g) {
+        int n = g.n;
+        long cells = (long) n * n;
+        if (n > MAX_NODES) {
+            throw new IllegalArgumentException(n + " nodes need a " + cells + "-cell distance matrix; the limit is "
+                + MAX_NODES + " nodes (" + (long) MAX_NODES * MAX_NODES + " cells)");
+        }
+        double[] dist = new double[(int) cells];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < n; i++) dist[i * n + i] = 0;
+        for (int e = 0; e < g.from.length; e++) {
+            int a = g.from[e], b = g.to[e];
+            dist[a * n + b] = Math.min(dist[a * n + b], g.weight[e]);
+            if (!g.directed) dist[b * n + a] = Math.min(dist[b * n + a], g.weight[e]);
+        }
+        return dist;
+    }
+
+    public static double[] run(CsrGraph g, FloydWarshallListener l) {
+        return run(g, ForkJoinPool.commonPool(), l);
+    }
+
+    /** Runs to completion and returns the row-major n×n distance matrix; see {@link #initialMatrix} for the size limit. */
+    public static double[] run(CsrGraph g, ForkJoinPool pool, FloydWarshallListener l) {
+        int n = g.n;
+        double[] dist = initialMatrix(g);
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        int[] rows = new int[2 * blocks], cols = new int[2 * blocks];
+        int[] allRows = new int[blocks * blocks], allCols = new int[blocks * blocks];
+        if (blocks == 1) {
+            // The diagonal tile is the whole matrix, so it is final after every intermediate
+            for (int k = 0; k < n; k++) l.onRound(k, k + 1, relax(dist, n, k, k + 1, 0, 0), dist);
+            return dist;
+        }
+        for (int kb = 0; kb < blocks; kb++) {
+            long improved = tile(dist, n, kb, kb, kb);
+
+            // Row and column of the diagonal tile
+            int c = 0;
+            for (int b = 0; b < blocks; b++) {
+                if (b == kb) continue;
+                rows[c] = kb; cols[c++] = b;
+                rows[c] = b; cols[c++] = kb;
+            }
+            improved += pool.invoke(new Tiles(dist, n, kb, rows, cols, 0, c));
+
+            // Everything else
+            c = 0;
+            for (int bi = 0; bi < blocks; bi++) {
+                if (bi == kb) continue;
+                for (int bj = 0; bj < blocks; bj++) {
+                    if (bj == kb) continue;
+                    allRows[c] = bi; allCols[c++] = bj;
+                }
+            }
+            improved += pool.invoke(new Tiles(dist, n, kb, allRows, allCols, 0, c));
+
+            l.onRound(kb * BLOCK, Math.min(n, (kb + 1) * BLOCK), improved, dist);
+        }
+        return dist;
+    }
+
+    // Relaxes tile (bi, bj) through the intermediates of block kb; returns the number of improvements
+    private static long tile(double[] d, int n, int kb, int bi, int bj) {
+        return relax(d, n, kb * BLOCK, Math.min(n, (kb + 1) * BLOCK), bi, bj);
+    }
+
+    // Relaxes tile (bi, bj) through intermediates k0..k1-1
+    private static long relax(double[] d, int n, int k0, int k1, int bi, int bj) {
+        int i0 = bi * BLOCK, i1 = Math.min(n, i0 + BLOCK);
+        int j0 = bj * BLOCK, j1 = Math.min(n, j0 + BLOCK);
+        boolean diagonal = bi == bj; // only these tiles hold (i, i) cells, which stay as they are
+        long improved = 0;
+        for (int k = k0; k < k1; k++) {
+            int rowK = k * n;
+            for (int i = i0; i < i1; i++) {
+                int rowI = i * n;
+                double dik = d[rowI + k];
+                if (dik == Double.POSITIVE_INFINITY) continue;
+                for (int j = j0; j < j1; j++) {
+                    double alt = dik + d[rowK + j];
+                    if (alt < d[rowI + j] && !(diagonal && i == j)) {
+                        d[rowI + j] = alt;
+                        improved++;
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    // Independent tiles [lo, hi) of one step, split in halves across the pool
+    private static final class Tiles extends RecursiveTask<Long> {
+        final double[] d;
+        final int n, kb, lo, hi;
+        final int[] rows, cols;
+
+        Tiles(double[] d, int n, int kb, int[] rows, int[] cols, int lo, int hi) {
+            this.d = d;
+            this.n = n;
+            this.kb = kb;
+            this.rows = rows;
+            this.cols = cols;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Long compute() {
+            if (hi - lo <= 1) {
+                return hi > lo ? tile(d, n, kb, rows[lo], cols[lo]) : 0L;
+            }
+            int mid = (lo + hi) >>> 1;
+            Tiles left = new Tiles(d, n, kb, rows, cols, lo, mid);
+            left.fork();
+            long right = new Tiles(d, n, kb, rows, cols, mid, hi).compute();
+            return left.join() + right;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package algobot.core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Borůvka's algorithm: in every round each component picks its cheapest outgoing edge and all of them
+ * join the tree at once, so there are at most log2 n rounds. The cheapest-edge search of a round is
+ * split across a ForkJoinPool over edge ranges; ties are broken by edge index, which keeps the picks
+ * cycle-free and the result identical to {@link KruskalEngine} on every pool size.
+ */
+public final class BoruvkaEngine {
+
+    private static final int EDGES_PER_TASK = 4096;
+
+    private BoruvkaEngine() {}
+
+    public static int[] run(CsrGraph g, MstListener l) {
+        return run(g, ForkJoinPool.commonPool(), l);
+    }
+
+    /** Returns the MST edge indices, round by round (fewer than n-1 when disconnected). */
+    public static int[] run(CsrGraph g, ForkJoinPool pool, MstListener l) {
+        int n = g.n;
+        UnionFind dsu = new UnionFind(n);
+        int[] comp = new int[n];
+        AtomicIntegerArray best = new AtomicIntegerArray(n);
+        int[] picked = new int[Math.max(0, n - 1)];
+        int count = 0;
+        double total = 0.0;
+        for (int round = 1; dsu.components() > 1; round++) {
+            l.onRound(round, dsu.components());
+            for (int v = 0; v < n; v++) {
+                comp[v] = dsu.find(v);
+                best.set(v, -1);
+            }
+            pool.invoke(new Cheapest(g, comp, best, 0, g.edgeCount()));
+
+            // Merge sequentially in node order; two components choosing the same edge add it once
+            boolean merged = false;
+            for (int c = 0; c < n; c++) {
+                int e = best.get(c);
+                if (e < 0 || !dsu.union(g.from[e], g.to[e])) continue;
+                merged = true;
+                total += g.weight[e];
+                picked[count++] = e;
+                l.onAccept(e, g.from[e], g.to[e], total);
+            }
+            if (!merged) break; // the remaining components have no edges between them
+        }
+        return Arrays.copyOf(picked, count);
+    }
+
+    // (weight, index) order, the same one Kruskal sorts by
+    static boolean lighter(double[] weight, int a, int b) {
+        int c = Double.compare(weight[a], weight[b]);
+        return c < 0 || (c == 0 && a < b);
+    }
+
+    // Cheapest edge leaving each component, over edges [lo, hi)
+    private static final class Cheapest extends RecursiveAction {
+        final CsrGraph g;
+        final int[] comp;
+        final AtomicIntegerArray best;
+        final int lo, hi;
+
+        Cheapest(CsrGraph g, int[] comp, AtomicIntegerArray best, int lo, int hi) {
+            this.g = g;
+            this.comp = comp;
+            this.best = best;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > EDGES_PER_TASK) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Cheapest(g, comp, best, lo, mid), new Cheapest(g, comp, best, mid, hi));
+                return;
+            }
+            for (int e = lo; e < hi; e++) {
+                int cu = comp[g.from[e]], cv = comp[g.to[e]];
+                if (cu == cv) continue;
+                offer(cu, e);
+                offer(cv, e);
+            }
+        }
+
+        private void offer(int c, int e) {
+            while (true) {
+                int cur = best.get(c);
+                if (cur >= 0 && !lighter(g.weight, e, cur)) return;
+                if (best.compareAndSet(c, cur, e)) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package algobot.core;
+
+/**
+ * Counting sort over the value range [min, max]: one COUNT step per element, then the array is rewritten
+ * from the counts with one WRITE step per element. Needs max - min + 1 counters, so it suits small ranges.
+ */
+public final class CountingSortEngine {
+
+    /** Largest value range sorted; wider ranges are rejected rather than allocating a huge count array. */
+    public static final int MAX_RANGE = 1 << 24;
+
+    private CountingSortEngine() {}
+
+    public static void sort(int[] arr, SortListener l) {
+        int n = arr.length;
+        if (n == 0) {
+            l.onStep(SortListener.DONE, -1, -1, -1, (byte) 0, 0, -1, 0);
+            return;
+        }
+        int min = arr[0], max = arr[0];
+        for (int v : arr) {
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+        if ((long) max - min + 1 > MAX_RANGE) {
+            throw new IllegalArgumentException("value range " + min + ".." + max + " is too wide for counting sort");
+        }
+        int[] count = new int[max - min + 1];
+        l.onAux(count.length);
+        for (int i = 0; i < n; i++) {
+            count[arr[i] - min]++;
+            l.onStep(SortListener.COUNT, i, -1, -1, SortListener.SPECIAL_I, 0, -1, arr[i]);
+        }
+        int pos = 0;
+        for (int k = 0; k < count.length; k++) {
+            int v = min + k;
+            for (int c = count[k]; c > 0; c--, pos++) {
+                int old = arr[pos];
+                arr[pos] = v;
+                l.onWrite(pos, old, v);
+                l.onStep(SortListener.WRITE, pos, -1, -1, SortListener.SPECIAL_I, 0, pos, v);
+            }
+        }
+        l.onStep(SortListener.DONE, -1, -1, -1, (byte) 0, 0, n - 1, 0);
+    }
+}
@@ -0,0 +1,74 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Frozen graph snapshot in compressed sparse row form, built once per algorithm run.
+ * <p>
+ * Nodes are {@code 0..n-1}. Edge {@code e} keeps the caller's numbering ({@code from[e]}, {@code to[e]},
+ * {@code weight[e]}), so step events can be mapped back to the caller's edge records.
+ * The arcs of node {@code u} are {@code offsets[u] .. offsets[u+1]-1}: arc {@code k} leads to
+ * {@code targets[k]} with {@code weights[k]} along edge {@code arcEdge[k]}. Arcs of a node are in edge
+ * order; undirected edges appear under both endpoints (self-loops once).
+ */
+public final class CsrGraph {
+
+    public final int n;
+    public final boolean directed;
+
+    // edge list
+    public final int[] from;
+    public final int[] to;
+    public final double[] weight;
+
+    // arcs
+    public final int[] offsets;
+    public final int[] targets;
+    public final double[] weights;
+    public final int[] arcEdge;
+
+    private CsrGraph(int n, boolean directed, int[] from, int[] to, double[] weight,
+                     int[] offsets, int[] targets, double[] weights, int[] arcEdge) {
+        this.n = n;
+        this.directed = directed;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.arcEdge = arcEdge;
+    }
+
+    /** Builds the snapshot; the edge arrays are kept (not copied), so do not modify them afterwards. */
+    public static CsrGraph of(int n, int[] from, int[] to, double[] weight, boolean directed) {
+        int m = from.length;
+        if (to.length != m || weight.length != m) {
+            throw new IllegalArgumentException("edge arrays differ in length");
+        }
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[from[e] + 1]++;
+            if (!directed && from[e] != to[e]) offsets[to[e] + 1]++;
+        }
+        for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+        int arcs = offsets[n];
+        int[] targets = new int[arcs];
+        double[] weights = new double[arcs];
+        int[] arcEdge = new int[arcs];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            int k = fill[from[e]]++;
+            targets[k] = to[e]; weights[k] = weight[e]; arcEdge[k] = e;
+            if (!directed && from[e] != to[e]) {
+                k = fill[to[e]]++;
+                targets[k] = from[e]; weights[k] = weight[e]; arcEdge[k] = e;
+            }
+        }
+        return new CsrGraph(n, directed, from, to, weight, offsets, targets, weights, arcEdge);
+    }
+
+    public int edgeCount() { return from.length; }
+
+    public int degree(int u) { return offsets[u + 1] - offsets[u]; }
+}
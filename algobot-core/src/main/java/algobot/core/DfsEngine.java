@@ -0,0 +1,50 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Depth-first traversal from one source. Neighbours are explored in ascending node index,
+ * so callers that number nodes in their display order get the same step sequence.
+ */
+public final class DfsEngine {
+
+    private DfsEngine() {}
+
+    /** Returns the visited flags. */
+    public static boolean[] run(CsrGraph g, int source, DfsListener l) {
+        int[] off = g.offsets;
+        // sorted neighbour list per node (duplicates kept: parallel edges are explored twice)
+        int[] nbr = g.targets.clone();
+        for (int u = 0; u < g.n; u++) Arrays.sort(nbr, off[u], off[u + 1]);
+        boolean[] visited = new boolean[g.n];
+
+        // Explicit stack instead of recursion, so a path of any length fits: the node at each depth
+        // and the next neighbour slot it will explore. Events come out exactly as the recursive walk's.
+        int[] node = new int[g.n], next = new int[g.n];
+        int top = 0;
+        visited[source] = true;
+        l.onVisit(source, 0);
+        node[top] = source; next[top++] = off[source];
+        while (top > 0) {
+            int depth = top - 1;
+            int u = node[depth];
+            int k = next[depth];
+            if (k == off[u + 1]) {
+                l.onFinish(u, depth);
+                if (--top > 0) l.onBacktrack(node[top - 1], u, top - 1);
+                continue;
+            }
+            next[depth] = k + 1;
+            int v = nbr[k];
+            l.onExplore(u, v, depth);
+            if (!visited[v]) {
+                visited[v] = true;
+                l.onVisit(v, depth + 1);
+                node[top] = v; next[top++] = off[v];
+            } else {
+                l.onSkip(u, v, depth);
+            }
+        }
+        return visited;
+    }
+}
@@ -0,0 +1,13 @@
+package algobot.core;
+
+/**
+ * Step events of {@link DfsEngine}, matching the graph page's VISIT / EXPLORE_EDGE / BACKTRACK /
+ * EDGE_RESET / FINISH steps.
+ */
+public interface DfsListener {
+    default void onVisit(int node, int depth) {}
+    default void onExplore(int from, int to, int depth) {}
+    default void onBacktrack(int from, int to, int depth) {}
+    default void onSkip(int from, int to, int depth) {}
+    default void onFinish(int node, int depth) {}
+}
@@ -0,0 +1,51 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Single-source shortest paths with non-negative weights.
+ * For undirected graphs every edge is usable both ways.
+ * Neighbours of a node are visited in edge order, which is what the graph page animates.
+ */
+public final class DijkstraEngine {
+
+    /** 4-ary: half the depth of a binary heap, so decrease-key sifts up fewer levels. */
+    static final int HEAP_ARITY = 4;
+
+    private DijkstraEngine() {}
+
+    /** Returns the distance array (infinity for unreachable nodes). */
+    public static double[] run(CsrGraph g, int source, DijkstraListener l) {
+        int n = g.n;
+        int[] off = g.offsets, targets = g.targets, arcEdge = g.arcEdge;
+        double[] weights = g.weights;
+
+        double[] dist = new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        boolean[] visited = new boolean[n];
+        dist[source] = 0.0;
+        IndexedDaryHeap pq = new IndexedDaryHeap(n, HEAP_ARITY);
+        pq.insert(source, 0.0);
+
+        while (!pq.isEmpty()) {
+            int u = pq.poll();
+            visited[u] = true;
+            l.onExtract(u, dist[u]);
+            for (int k = off[u]; k < off[u + 1]; k++) {
+                int e = arcEdge[k];
+                int v = targets[k];
+                if (visited[v]) continue;
+                double alt = dist[u] + weights[k];
+                if (alt < dist[v]) {
+                    dist[v] = alt;
+                    pq.offer(v, alt); // insert or decrease-key
+                    l.onRelax(e, u, v, alt);
+                } else {
+                    l.onNoImprovement(e, u, v, alt, dist[v]);
+                }
+            }
+            l.onSettle(u, dist[u]);
+        }
+        return dist;
+    }
+}
@@ -0,0 +1,11 @@
+package algobot.core;
+
+/**
+ * Step events of {@link DijkstraEngine}. Nodes and edges are the indices the engine was given.
+ */
+public interface DijkstraListener {
+    default void onExtract(int node, double dist) {}
+    default void onRelax(int edge, int from, int to, double newDist) {}
+    default void onNoImprovement(int edge, int from, int to, double alt, double current) {}
+    default void onSettle(int node, double dist) {}
+}
@@ -0,0 +1,73 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Dinic max flow: BFS level graph from the source, then a blocking flow of shortest augmenting paths
+ * found with per-node current-arc pointers. Every path is reported like an Edmonds–Karp augment.
+ */
+public final class DinicEngine {
+    private static final double EPS = EdmondsKarpEngine.EPS;
+
+    private DinicEngine() {}
+
+    /** Runs to completion on {@code g} (which keeps the final flow) and returns the max flow. */
+    public static double run(FlowNetwork g, int s, int t, FlowListener l) {
+        int n = g.n;
+        int[] level = new int[n];
+        int[] it = new int[n];
+        int[] queue = new int[n];
+        int[] pathArcs = new int[n];
+        double maxFlow = 0;
+        for (int phase = 1; s != t && buildLevels(g, s, t, level, queue); phase++) {
+            l.onPhase(phase, level[t]);
+            System.arraycopy(g.start, 0, it, 0, n);
+            // Blocking flow: walk forward along level arcs, retreating (and pruning) at dead ends
+            int u = s, len = 0;
+            while (true) {
+                if (u == t) {
+                    double aug = Double.POSITIVE_INFINITY;
+                    for (int k = 0; k < len; k++) aug = Math.min(aug, g.residual[pathArcs[k]]);
+                    for (int k = 0; k < len; k++) {
+                        int a = pathArcs[k];
+                        g.residual[a] -= aug;
+                        g.residual[g.twin[a]] += aug;
+                    }
+                    maxFlow += aug;
+                    g.reportAugment(s, pathArcs, len, aug, maxFlow, l);
+                    // Restart from the source; saturated arcs are skipped by the arc pointers
+                    u = s;
+                    len = 0;
+                    continue;
+                }
+                int end = g.start[u + 1];
+                while (it[u] < end && !(g.residual[it[u]] > EPS && level[g.head[it[u]]] == level[u] + 1)) it[u]++;
+                if (it[u] < end) {
+                    pathArcs[len++] = it[u];
+                    u = g.head[it[u]];
+                } else {
+                    level[u] = -1; // dead end for the rest of this phase
+                    if (len == 0) break;
+                    u = g.tail(pathArcs[--len]);
+                    it[u]++;
+                }
+            }
+        }
+        l.onFinish(maxFlow, g.residualReachable(s));
+        return maxFlow;
+    }
+
+    private static boolean buildLevels(FlowNetwork g, int s, int t, int[] level, int[] queue) {
+        Arrays.fill(level, -1);
+        int qh = 0, qt = 0;
+        level[s] = 0; queue[qt++] = s;
+        while (qh < qt) {
+            int u = queue[qh++];
+            for (int a = g.start[u]; a < g.start[u + 1]; a++) {
+                int v = g.head[a];
+                if (level[v] < 0 && g.residual[a] > EPS) { level[v] = level[u] + 1; queue[qt++] = v; }
+            }
+        }
+        return level[t] >= 0;
+    }
+}
@@ -0,0 +1,55 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Edmonds–Karp max flow (shortest augmenting paths by BFS) on a {@link FlowNetwork}.
+ * Each BFS scans every residual arc at most once, so an augmentation costs O(V+E).
+ */
+public final class EdmondsKarpEngine {
+    static final double EPS = 1e-9;
+
+    private EdmondsKarpEngine() {}
+
+    /** Runs to completion on {@code g} (which keeps the final flow) and returns the max flow. */
+    public static double run(FlowNetwork g, int s, int t, FlowListener l) {
+        int n = g.n;
+        double maxFlow = 0;
+        int[] parentArc = new int[n]; // arc the BFS reached each node by; -1 unvisited
+        int[] queue = new int[n];
+        int[] pathArcs = new int[n];
+        while (s != t) {
+            Arrays.fill(parentArc, -1);
+            parentArc[s] = Integer.MAX_VALUE; // visited, no arc
+            int qh = 0, qt = 0;
+            queue[qt++] = s;
+            while (qh < qt && parentArc[t] == -1) {
+                int u = queue[qh++];
+                for (int a = g.start[u]; a < g.start[u + 1]; a++) {
+                    int v = g.head[a];
+                    if (parentArc[v] == -1 && g.residual[a] > EPS) { parentArc[v] = a; queue[qt++] = v; }
+                }
+            }
+            if (parentArc[t] == -1) break;
+            int len = 0;
+            for (int cur = t; cur != s; cur = g.tail(parentArc[cur])) len++;
+            double aug = Double.POSITIVE_INFINITY;
+            int cur = t;
+            for (int k = len - 1; k >= 0; k--) {
+                int a = parentArc[cur];
+                pathArcs[k] = a;
+                aug = Math.min(aug, g.residual[a]);
+                cur = g.tail(a);
+            }
+            for (int k = 0; k < len; k++) {
+                int a = pathArcs[k];
+                g.residual[a] -= aug;
+                g.residual[g.twin[a]] += aug;
+            }
+            maxFlow += aug;
+            g.reportAugment(s, pathArcs, len, aug, maxFlow, l);
+        }
+        l.onFinish(maxFlow, g.residualReachable(s));
+        return maxFlow;
+    }
+}
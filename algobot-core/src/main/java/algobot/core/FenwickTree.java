@@ -0,0 +1,28 @@
+package algobot.core;
+
+/**
+ * Binary indexed tree over 1-based positions (point add, prefix sum).
+ */
+public final class FenwickTree {
+
+    private final int[] tree;
+
+    public FenwickTree(int n) { tree = new int[n + 1]; }
+
+    public int size() { return tree.length - 1; }
+    public int raw(int idx) { return tree[idx]; }
+
+    public void add(int idx, int delta) {
+        if (idx < 1 || idx >= tree.length) return;
+        for (; idx < tree.length; idx += idx & -idx) tree[idx] += delta;
+    }
+
+    public int prefix(int idx) {
+        idx = Math.max(0, Math.min(idx, size()));
+        int sum = 0;
+        for (; idx > 0; idx -= idx & -idx) sum += tree[idx];
+        return sum;
+    }
+
+    public int range(int l, int r) { return prefix(r) - prefix(l - 1); }
+}
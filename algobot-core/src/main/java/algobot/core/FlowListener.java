@@ -0,0 +1,25 @@
+package algobot.core;
+
+/**
+ * Step events of the max-flow engines.
+ */
+public interface FlowListener {
+    /**
+     * An augmenting path was found. {@code path} lists the nodes from source to sink; segment k goes
+     * path[k] -> path[k+1] along input edge {@code edges[k]}, and {@code back[k]} is true when it cancels
+     * flow on that edge (which then runs path[k+1] -> path[k]).
+     */
+    default void onAugment(int[] path, int[] edges, boolean[] back, double amount, double totalFlow) {}
+
+    /** Dinic: a new level graph was built; {@code sinkLevel} is the length of the shortest augmenting path. */
+    default void onPhase(int phase, int sinkLevel) {}
+
+    /** Push-relabel: {@code amount} of excess moved along {@code u -> v} (a back move when it cancels flow). */
+    default void onPush(int u, int v, double amount) {}
+
+    /** Push-relabel: {@code v} was lifted to {@code height}. */
+    default void onRelabel(int v, int height) {}
+
+    /** No augmenting path left; {@code sourceSide[v]} is true for nodes reachable in the residual graph. */
+    default void onFinish(double maxFlow, boolean[] sourceSide) {}
+}
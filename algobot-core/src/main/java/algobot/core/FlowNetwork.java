@@ -0,0 +1,123 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Residual graph for the max-flow engines, in adjacency-array form.
+ * <p>
+ * Every input edge {@code e} ({@code from[e] -> to[e]}, capacity {@code cap[e]}) becomes a forward arc and a
+ * reverse arc that are each other's {@code twin}. The arcs leaving node {@code u} are
+ * {@code start[u] .. start[u+1]-1}; arc {@code a} leads to {@code head[a]} with residual capacity
+ * {@code residual[a]}. Memory is O(V+E). Parallel edges stay separate arcs.
+ * The engines push flow into the residual capacities; {@link #reset()} restores the empty flow.
+ */
+public final class FlowNetwork {
+
+    public final int n;
+
+    // edge list
+    public final int[] from;
+    public final int[] to;
+    public final double[] cap;
+
+    // arcs
+    final int[] start;
+    final int[] head;
+    final int[] twin;
+    final int[] arcEdge;    // edge of the arc; ~e on the reverse arc of e
+    final double[] residual;
+    final int[] forwardArc; // forward arc of each edge
+
+    private FlowNetwork(int n, int[] from, int[] to, double[] cap,
+                        int[] start, int[] head, int[] twin, int[] arcEdge, int[] forwardArc) {
+        this.n = n;
+        this.from = from;
+        this.to = to;
+        this.cap = cap;
+        this.start = start;
+        this.head = head;
+        this.twin = twin;
+        this.arcEdge = arcEdge;
+        this.forwardArc = forwardArc;
+        this.residual = new double[head.length];
+        reset();
+    }
+
+    /** Builds the network; the edge arrays are kept (not copied), so do not modify them afterwards. */
+    public static FlowNetwork of(int n, int[] from, int[] to, double[] cap) {
+        int m = from.length;
+        if (to.length != m || cap.length != m) {
+            throw new IllegalArgumentException("edge arrays differ in length");
+        }
+        int[] start = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            start[from[e] + 1]++;
+            start[to[e] + 1]++;
+        }
+        for (int u = 0; u < n; u++) start[u + 1] += start[u];
+        int[] head = new int[2 * m];
+        int[] twin = new int[2 * m];
+        int[] arcEdge = new int[2 * m];
+        int[] forwardArc = new int[m];
+        int[] fill = Arrays.copyOf(start, n);
+        for (int e = 0; e < m; e++) {
+            int a = fill[from[e]]++;
+            int r = fill[to[e]]++;
+            head[a] = to[e]; twin[a] = r; arcEdge[a] = e;
+            head[r] = from[e]; twin[r] = a; arcEdge[r] = ~e;
+            forwardArc[e] = a;
+        }
+        return new FlowNetwork(n, from, to, cap, start, head, twin, arcEdge, forwardArc);
+    }
+
+    public int edgeCount() { return from.length; }
+
+    /** Clears all flow. */
+    public void reset() {
+        for (int a = 0; a < head.length; a++) {
+            int e = arcEdge[a];
+            residual[a] = e >= 0 ? cap[e] : 0;
+        }
+    }
+
+    /** Flow currently on edge {@code e}. */
+    public double flow(int e) {
+        return residual[twin[forwardArc[e]]];
+    }
+
+    /** Nodes reachable from {@code s} in the residual graph (the source side of a min cut once the flow is maximal). */
+    public boolean[] residualReachable(int s) {
+        boolean[] reach = new boolean[n];
+        int[] queue = new int[n];
+        int qh = 0, qt = 0;
+        reach[s] = true; queue[qt++] = s;
+        while (qh < qt) {
+            int u = queue[qh++];
+            for (int a = start[u]; a < start[u + 1]; a++) {
+                int v = head[a];
+                if (!reach[v] && residual[a] > EdmondsKarpEngine.EPS) { reach[v] = true; queue[qt++] = v; }
+            }
+        }
+        return reach;
+    }
+
+    // Tail of an arc
+    int tail(int a) {
+        return head[twin[a]];
+    }
+
+    // Path event for the listener: nodes s..t along 'arcs', with back[k] set where arc k cancels flow
+    void reportAugment(int s, int[] arcs, int len, double amount, double total, FlowListener l) {
+        int[] path = new int[len + 1];
+        int[] edges = new int[len];
+        boolean[] back = new boolean[len];
+        path[0] = s;
+        for (int k = 0; k < len; k++) {
+            int e = arcEdge[arcs[k]];
+            path[k + 1] = head[arcs[k]];
+            back[k] = e < 0;
+            edges[k] = e < 0 ? ~e : e;
+        }
+        l.onAugment(path, edges, back, amount, total);
+    }
+}
@@ -0,0 +1,52 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Textbook Floyd-Warshall on a dense matrix.
+ */
+public final class FloydWarshallEngine {
+
+    private FloydWarshallEngine() {}
+
+    /** Distance matrix with direct edge weights (parallel edges keep the minimum). */
+    public static double[][] initialMatrix(CsrGraph g) {
+        int n = g.n;
+        int[] from = g.from, to = g.to;
+        double[] weight = g.weight;
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(dist[i], Double.POSITIVE_INFINITY);
+            dist[i][i] = 0;
+        }
+        for (int e = 0; e < from.length; e++) {
+            int a = from[e], b = to[e];
+            dist[a][b] = Math.min(dist[a][b], weight[e]);
+            if (!g.directed) dist[b][a] = Math.min(dist[b][a], weight[e]);
+        }
+        return dist;
+    }
+
+    public static double[][] run(CsrGraph g, FloydWarshallListener l) {
+        int n = g.n;
+        double[][] dist = initialMatrix(g);
+        for (int k = 0; k < n; k++) {
+            l.onPhase(k);
+            double[] dk = dist[k];
+            for (int i = 0; i < n; i++) {
+                double[] di = dist[i];
+                double dik = di[k];
+                if (dik == Double.POSITIVE_INFINITY) continue;
+                for (int j = 0; j < n; j++) {
+                    double alt = dik + dk[j];
+                    if (i != j && alt < di[j]) {
+                        double old = di[j];
+                        di[j] = alt;
+                        l.onImprove(i, j, old, alt);
+                    }
+                }
+            }
+        }
+        return dist;
+    }
+}
@@ -0,0 +1,16 @@
+package algobot.core;
+
+/**
+ * Step events of the all-pairs engines.
+ */
+public interface FloydWarshallListener {
+    default void onPhase(int k) {}
+    default void onImprove(int i, int j, double oldDist, double newDist) {}
+
+    /**
+     * Blocked engine: intermediates {@code kFrom..kTo-1} are done, {@code improved} distances went down.
+     * Rounds cover a block of intermediates, or a single one when the graph fits in one block.
+     * {@code dist} is the live row-major n×n matrix, only valid during the call.
+     */
+    default void onRound(int kFrom, int kTo, long improved, double[] dist) {}
+}
@@ -0,0 +1,529 @@
+package algobot.core;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A graph as read from or written to a file: parallel edge arrays over nodes {@code 0..n-1}, the same
+ * shape {@link CsrGraph} and {@link FlowNetwork} are built from.
+ * <p>
+ * Formats:
+ * <ul>
+ *   <li>{@link Format#EDGE_LIST}: one {@code u v [w]} per line, 0-based ids, {@code #} or {@code %} comments;
+ *       n is the largest id + 1. Direction is not stored, so the reader is told.</li>
+ *   <li>{@link Format#DIMACS}: {@code p sp n m} / {@code p max n m}, {@code a u v w} arcs and
+ *       {@code n id s|t} for the flow terminals, 1-based; always directed.</li>
+ *   <li>{@link Format#BINARY}: a 32-byte little-endian header (magic {@code ABG1}, flags, n, m, source, sink)
+ *       followed by the {@code from}, {@code to} and, when weighted, {@code weight} columns. Read through a
+ *       memory-mapped FileChannel with bulk copies straight into the arrays.</li>
+ * </ul>
+ * Text is parsed from raw bytes, without a String per line or token.
+ */
+public final class GraphFile {
+
+    public enum Format {
+        EDGE_LIST, DIMACS, BINARY;
+
+        /** By extension: {@code .abg}/{@code .bin} binary, {@code .gr}/{@code .max}/{@code .dimacs} DIMACS, else edge list. */
+        public static Format of(Path path) {
+            String name = path.getFileName().toString().toLowerCase();
+            if (name.endsWith(".abg") || name.endsWith(".bin")) return BINARY;
+            if (name.endsWith(".gr") || name.endsWith(".max") || name.endsWith(".dimacs")) return DIMACS;
+            return EDGE_LIST;
+        }
+    }
+
+    static final int MAGIC = 0x31474241; // "ABG1" read little-endian
+    static final int HEADER_BYTES = 32;
+    private static final int FLAG_DIRECTED = 1, FLAG_WEIGHTED = 2;
+    private static final int IO_BUFFER = 1 << 20;
+    private static final long MAP_WINDOW = 1L << 30; // a mapping covers at most 2 GB; stay well below
+
+    public final int n;
+    public final boolean directed;
+    public final boolean weighted;  // false: every weight is 1
+    public final int[] from;
+    public final int[] to;
+    public final double[] weight;
+    public final int source, sink;  // flow terminals, -1 when unknown
+    public final double[] xy;       // node positions {x0, y0, x1, ...} in the unit square, or null (files carry none)
+
+    public GraphFile(int n, int[] from, int[] to, double[] weight, boolean directed, boolean weighted,
+                     int source, int sink) {
+        this(n, from, to, weight, directed, weighted, source, sink, null);
+    }
+
+    public GraphFile(int n, int[] from, int[] to, double[] weight, boolean directed, boolean weighted,
+                     int source, int sink, double[] xy) {
+        int m = from.length;
+        if (to.length != m || weight.length != m) {
+            throw new IllegalArgumentException("edge arrays differ in length");
+        }
+        if (xy != null && xy.length != 2 * n) {
+            throw new IllegalArgumentException("need two coordinates per node");
+        }
+        this.xy = xy;
+        this.n = n;
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+        this.directed = directed;
+        this.weighted = weighted;
+        this.source = source;
+        this.sink = sink;
+    }
+
+    public int edgeCount() { return from.length; }
+
+    /** Same graph with node positions attached. */
+    public GraphFile withPositions(double[] xy) {
+        return new GraphFile(n, from, to, weight, directed, weighted, source, sink, xy);
+    }
+
+    /**
+     * Same graph without self-loops and repeated edges (for undirected graphs {@code u v} repeats {@code v u}),
+     * keeping the first occurrence of each edge and the edge order. Returns this graph when nothing is dropped.
+     */
+    public GraphFile simple() {
+        int m = from.length;
+        // open addressing over packed (u, v) keys; -1 marks a free slot
+        long[] seen = new long[Integer.highestOneBit(Math.max(1, m)) << 2];
+        Arrays.fill(seen, -1L);
+        int mask = seen.length - 1;
+        int shift = 64 - Integer.numberOfTrailingZeros(seen.length); // top bits of the product pick the slot
+        Edges kept = new Edges(Math.max(1, m));
+        for (int e = 0; e < m; e++) {
+            int u = from[e], v = to[e];
+            if (u == v) continue;
+            long key = directed || u < v ? (long) u << 32 | v : (long) v << 32 | u;
+            int slot = (int) (key * 0x9E3779B97F4A7C15L >>> shift);
+            while (seen[slot] != -1L && seen[slot] != key) slot = (slot + 1) & mask;
+            if (seen[slot] == key) continue;
+            seen[slot] = key;
+            kept.add(u, v, weight[e]);
+        }
+        if (kept.m == m) return this;
+        return kept.toGraph(n, directed, weighted, source, sink).withPositions(xy);
+    }
+
+    public CsrGraph toCsr() {
+        return CsrGraph.of(n, from, to, weight, directed);
+    }
+
+    /** Weights become capacities. */
+    public FlowNetwork toFlowNetwork() {
+        return FlowNetwork.of(n, from, to, weight);
+    }
+
+    /** Reads {@code path} in the format its extension names; {@code directed} only matters for edge lists. */
+    public static GraphFile read(Path path, boolean directed) throws IOException {
+        switch (Format.of(path)) {
+            case BINARY: return readBinary(path);
+            case DIMACS: return readDimacs(path);
+            default: return readEdgeList(path, directed);
+        }
+    }
+
+    public static void write(Path path, GraphFile g) throws IOException {
+        switch (Format.of(path)) {
+            case BINARY: writeBinary(path, g); break;
+            case DIMACS: writeDimacs(path, g); break;
+            default: writeEdgeList(path, g);
+        }
+    }
+
+    // ---------------------------------------------------------------- binary
+
+    public static GraphFile readBinary(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES) throw new IOException(path + ": not an ABG1 graph (too short)");
+            ByteBuffer head = ch.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (head.getInt(0) != MAGIC) throw new IOException(path + ": not an ABG1 graph (bad magic)");
+            int flags = head.getInt(4);
+            int n = head.getInt(8);
+            long m = head.getLong(12);
+            int source = head.getInt(20), sink = head.getInt(24);
+            boolean weighted = (flags & FLAG_WEIGHTED) != 0;
+            long expected = HEADER_BYTES + m * (weighted ? 16 : 8);
+            if (n < 0 || m < 0 || m > Integer.MAX_VALUE - 8 || size < expected) {
+                throw new IOException(path + ": truncated ABG1 graph (n=" + n + ", m=" + m + ", " + size + " bytes)");
+            }
+            int edges = (int) m;
+            int[] from = new int[edges], to = new int[edges];
+            double[] weight = new double[edges];
+            long at = HEADER_BYTES;
+            at = mapInts(ch, at, from);
+            at = mapInts(ch, at, to);
+            if (weighted) mapDoubles(ch, at, weight);
+            else Arrays.fill(weight, 1.0);
+            for (int e = 0; e < edges; e++) {
+                if (from[e] < 0 || from[e] >= n || to[e] < 0 || to[e] >= n) {
+                    throw new IOException(path + ": edge " + e + " has a node outside 0.." + (n - 1));
+                }
+            }
+            return new GraphFile(n, from, to, weight, (flags & FLAG_DIRECTED) != 0, weighted, source, sink);
+        }
+    }
+
+    // Copies dst.length ints starting at byte 'at', one mapped window at a time; returns the end offset
+    private static long mapInts(FileChannel ch, long at, int[] dst) throws IOException {
+        int done = 0;
+        while (done < dst.length) {
+            int count = (int) Math.min(dst.length - done, MAP_WINDOW / 4);
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, at, 4L * count);
+            map.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(dst, done, count);
+            done += count;
+            at += 4L * count;
+        }
+        return at;
+    }
+
+    private static long mapDoubles(FileChannel ch, long at, double[] dst) throws IOException {
+        int done = 0;
+        while (done < dst.length) {
+            int count = (int) Math.min(dst.length - done, MAP_WINDOW / 8);
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, at, 8L * count);
+            map.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(dst, done, count);
+            done += count;
+            at += 8L * count;
+        }
+        return at;
+    }
+
+    public static void writeBinary(Path path, GraphFile g) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(IO_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(MAGIC)
+               .putInt((g.directed ? FLAG_DIRECTED : 0) | (g.weighted ? FLAG_WEIGHTED : 0))
+               .putInt(g.n)
+               .putLong(g.edgeCount())
+               .putInt(g.source)
+               .putInt(g.sink)
+               .putInt(0); // reserved
+            for (int[] column : new int[][]{g.from, g.to}) {
+                for (int v : column) {
+                    if (buf.remaining() < 4) drain(ch, buf);
+                    buf.putInt(v);
+                }
+            }
+            if (g.weighted) {
+                for (double w : g.weight) {
+                    if (buf.remaining() < 8) drain(ch, buf);
+                    buf.putDouble(w);
+                }
+            }
+            drain(ch, buf);
+        }
+    }
+
+    private static void drain(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+
+    // ---------------------------------------------------------------- edge list
+
+    public static GraphFile readEdgeList(Path path, boolean directed) throws IOException {
+        try (Tokens in = new Tokens(path)) {
+            Edges edges = new Edges(1024);
+            boolean weighted = false;
+            int maxId = -1;
+            int c;
+            while ((c = in.skipBlanks()) != -1) {
+                if (c == '\n' || c == '#' || c == '%') { in.skipLine(); continue; }
+                int u = in.nextId(), v = in.nextId();
+                double w = 1.0;
+                if (!in.atLineEnd()) {
+                    w = in.nextDouble();
+                    weighted = true;
+                }
+                in.skipLine();
+                edges.add(u, v, w);
+                maxId = Math.max(maxId, Math.max(u, v));
+            }
+            return edges.toGraph(maxId + 1, directed, weighted, -1, -1);
+        }
+    }
+
+    public static void writeEdgeList(Path path, GraphFile g) throws IOException {
+        try (Ascii out = new Ascii(path)) {
+            out.text("# algobot edge list: ").num(g.n).text(" nodes, ").num(g.edgeCount()).text(" edges, ")
+               .text(g.directed ? "directed" : "undirected").text("\n");
+            for (int e = 0; e < g.edgeCount(); e++) {
+                out.num(g.from[e]).text(" ").num(g.to[e]);
+                if (g.weighted) out.text(" ").num(g.weight[e]);
+                out.text("\n");
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- DIMACS
+
+    public static GraphFile readDimacs(Path path) throws IOException {
+        try (Tokens in = new Tokens(path)) {
+            Edges edges = null;
+            int n = -1, source = -1, sink = -1;
+            int c;
+            while ((c = in.skipBlanks()) != -1) {
+                if (c == '\n') { in.skipLine(); continue; }
+                in.next();
+                if (c == 'p') {
+                    in.nextWord(); // problem type: sp, max, ...
+                    n = in.nextId();
+                    long m = in.nextLong();
+                    edges = new Edges((int) Math.min(Math.max(m, 16), Integer.MAX_VALUE - 8));
+                } else if (c == 'a') {
+                    if (edges == null) throw in.error("arc before the 'p' line");
+                    int u = in.nextId() - 1, v = in.nextId() - 1;
+                    double w = in.nextDouble();
+                    if (u < 0 || v < 0 || u >= n || v >= n) throw in.error("arc node outside 1.." + n);
+                    edges.add(u, v, w);
+                } else if (c == 'n') {
+                    int id = in.nextId() - 1;
+                    int kind = in.skipBlanks();
+                    if (kind == 's') source = id;
+                    else if (kind == 't') sink = id;
+                }
+                in.skipLine(); // 'c' comments and anything unrecognised
+            }
+            if (edges == null) throw new IOException(path + ": no 'p' line");
+            return edges.toGraph(n, true, true, source, sink);
+        }
+    }
+
+    /** Writes {@code p max} with the terminals when they are known, else {@code p sp}. Undirected edges become two arcs. */
+    public static void writeDimacs(Path path, GraphFile g) throws IOException {
+        boolean flow = g.source >= 0 && g.sink >= 0;
+        long arcs = g.directed ? g.edgeCount() : 2L * g.edgeCount();
+        try (Ascii out = new Ascii(path)) {
+            out.text("c algobot graph\n");
+            out.text(flow ? "p max " : "p sp ").num(g.n).text(" ").num(arcs).text("\n");
+            if (flow) {
+                out.text("n ").num(g.source + 1).text(" s\n");
+                out.text("n ").num(g.sink + 1).text(" t\n");
+            }
+            for (int e = 0; e < g.edgeCount(); e++) {
+                out.text("a ").num(g.from[e] + 1).text(" ").num(g.to[e] + 1).text(" ").num(g.weight[e]).text("\n");
+                if (!g.directed) {
+                    out.text("a ").num(g.to[e] + 1).text(" ").num(g.from[e] + 1).text(" ").num(g.weight[e]).text("\n");
+                }
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- plumbing
+
+    // Growable edge columns (also used by GraphGenerators)
+    static final class Edges {
+        int[] from, to;
+        double[] weight;
+        int m;
+
+        Edges(int capacity) {
+            from = new int[capacity];
+            to = new int[capacity];
+            weight = new double[capacity];
+        }
+
+        void add(int u, int v, double w) {
+            if (m == from.length) {
+                int grown = (int) Math.min(Integer.MAX_VALUE - 8L, 2L * m);
+                if (grown == m) throw new IllegalStateException("too many edges (" + m + ")");
+                from = Arrays.copyOf(from, grown);
+                to = Arrays.copyOf(to, grown);
+                weight = Arrays.copyOf(weight, grown);
+            }
+            from[m] = u; to[m] = v; weight[m++] = w;
+        }
+
+        GraphFile toGraph(int n, boolean directed, boolean weighted, int source, int sink) {
+            return new GraphFile(n, Arrays.copyOf(from, m), Arrays.copyOf(to, m), Arrays.copyOf(weight, m),
+                    directed, weighted, source, sink);
+        }
+    }
+
+    // Byte-level tokenizer over a FileChannel; tokens never cross a line unless skipLine() is called
+    private static final class Tokens implements Closeable {
+        private final Path path;
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocate(IO_BUFFER);
+        private final byte[] b = buf.array();
+        private final byte[] tok = new byte[64];
+        private int pos, lim;
+        private long line = 1;
+
+        Tokens(Path path) throws IOException {
+            this.path = path;
+            this.ch = FileChannel.open(path, StandardOpenOption.READ);
+        }
+
+        // Next byte without consuming it, or -1 at end of file
+        private int peek() throws IOException {
+            if (pos == lim) {
+                buf.clear();
+                int r;
+                do { r = ch.read(buf); } while (r == 0);
+                if (r < 0) return -1;
+                pos = 0;
+                lim = r;
+            }
+            return b[pos];
+        }
+
+        void next() { pos++; }
+
+        /** Skips spaces, tabs and carriage returns; returns the next byte (not consumed). */
+        int skipBlanks() throws IOException {
+            int c;
+            while ((c = peek()) == ' ' || c == '\t' || c == '\r') pos++;
+            return c;
+        }
+
+        boolean atLineEnd() throws IOException {
+            int c = skipBlanks();
+            return c == '\n' || c == -1 || c == '#' || c == '%';
+        }
+
+        void skipLine() throws IOException {
+            int c;
+            while ((c = peek()) != -1) {
+                pos++;
+                if (c == '\n') { line++; return; }
+            }
+        }
+
+        void nextWord() throws IOException {
+            int c = skipBlanks();
+            while (c != -1 && c != ' ' && c != '\t' && c != '\r' && c != '\n') { pos++; c = peek(); }
+        }
+
+        long nextLong() throws IOException {
+            int c = skipBlanks();
+            boolean negative = c == '-';
+            if (negative || c == '+') { pos++; c = peek(); }
+            if (c < '0' || c > '9') throw error("number expected");
+            long v = 0;
+            while (c >= '0' && c <= '9') {
+                v = v * 10 + (c - '0');
+                pos++;
+                c = peek();
+            }
+            return negative ? -v : v;
+        }
+
+        int nextId() throws IOException {
+            long v = nextLong();
+            if (v < 0 || v > Integer.MAX_VALUE - 1) throw error("node id out of range: " + v);
+            return (int) v;
+        }
+
+        double nextDouble() throws IOException {
+            int c = skipBlanks();
+            int len = 0;
+            while (c != -1 && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                if (len == tok.length) throw error("number too long");
+                tok[len++] = (byte) c;
+                pos++;
+                c = peek();
+            }
+            if (len == 0) throw error("number expected");
+            double v = parseSimple(tok, len);
+            if (!Double.isNaN(v)) return v;
+            String text = new String(tok, 0, len, StandardCharsets.US_ASCII); // exponents, NaN, long mantissas
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException ex) {
+                throw error("bad number '" + text + "'");
+            }
+        }
+
+        // [-+]digits[.digits] with at most 15 significant digits is exact as mantissa / 10^scale; NaN otherwise
+        private static double parseSimple(byte[] t, int len) {
+            int i = 0;
+            boolean negative = t[0] == '-';
+            if (negative || t[0] == '+') i++;
+            long mantissa = 0;
+            int digits = 0, scale = 0;
+            boolean dot = false, any = false;
+            for (; i < len; i++) {
+                int c = t[i];
+                if (c >= '0' && c <= '9') {
+                    any = true;
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) digits++;
+                    if (dot) scale++;
+                } else if (c == '.' && !dot) {
+                    dot = true;
+                } else {
+                    return Double.NaN;
+                }
+            }
+            if (!any || digits > 15 || scale >= POW10.length) return Double.NaN;
+            double v = mantissa / POW10[scale];
+            return negative ? -v : v;
+        }
+
+        IOException error(String what) {
+            return new IOException(path + ":" + line + ": " + what);
+        }
+
+        @Override
+        public void close() throws IOException {
+            ch.close();
+        }
+    }
+
+    private static final double[] POW10 = new double[23];
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) POW10[i] = POW10[i - 1] * 10;
+    }
+
+    // ASCII writer that formats numbers into its own buffer
+    private static final class Ascii implements Closeable {
+        private final OutputStream out;
+        private final byte[] digits = new byte[20];
+
+        Ascii(Path path) throws IOException {
+            out = new BufferedOutputStream(Files.newOutputStream(path), IO_BUFFER);
+        }
+
+        Ascii text(String s) throws IOException {
+            out.write(s.getBytes(StandardCharsets.US_ASCII));
+            return this;
+        }
+
+        Ascii num(long v) throws IOException {
+            if (v < 0) { out.write('-'); v = -v; }
+            int k = digits.length;
+            do { digits[--k] = (byte) ('0' + v % 10); v /= 10; } while (v > 0);
+            out.write(digits, k, digits.length - k);
+            return this;
+        }
+
+        /** Whole numbers without a fraction, the rest in Java's shortest round-trip form. */
+        Ascii num(double v) throws IOException {
+            if (v == Math.rint(v) && Math.abs(v) < 1e15) return num((long) v);
+            return text(Double.toString(v));
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
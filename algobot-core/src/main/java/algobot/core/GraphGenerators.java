@@ -0,0 +1,208 @@
+package algobot.core;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Seeded synthetic graphs for load testing, as {@link GraphFile}s. The same arguments and seed always give
+ * the same graph. Every generator runs in time linear in its output, so million-edge graphs take well
+ * under a second.
+ * <p>
+ * {@code maxWeight > 0} draws integer weights from {@code 1..maxWeight}; otherwise the graph is unweighted.
+ * Grid, geometric and layered graphs come with node positions ({@link GraphFile#xy}).
+ */
+public final class GraphGenerators {
+
+    // Edge arrays start at most this large and grow as needed: estimates for dense parameters
+    // (G(n, 1) on 100k nodes) would otherwise ask for arrays of ~2^31 entries up front
+    private static final int MAX_INITIAL_CAPACITY = 1 << 20;
+
+    private GraphGenerators() {}
+
+    /**
+     * Erdős–Rényi G(n, p): every pair (ordered pair when directed, no self-loops) is an edge with probability p.
+     * Skips straight to the next edge with geometric jumps (Batagelj–Brandes), so the cost is O(n + m).
+     */
+    public static GraphFile erdosRenyi(int n, double p, boolean directed, int maxWeight, long seed) {
+        Random rnd = new Random(seed);
+        long pairs = directed ? (long) n * (n - 1) : (long) n * (n - 1) / 2;
+        GraphFile.Edges edges = new GraphFile.Edges(capacity(p * pairs));
+        if (p > 0 && n > 1) {
+            double logq = Math.log(1 - Math.min(p, 1));
+            // Pair index k: directed k = u*(n-1) + t with v = t or t+1 (skipping u); undirected v < u as below
+            long k = -1, v = -1;
+            int u = 1;
+            while (true) {
+                long skip = p >= 1 ? 1 : 1 + (long) Math.floor(Math.log(1 - rnd.nextDouble()) / logq);
+                if (directed) {
+                    k += skip;
+                    if (k >= pairs || k < 0) break;
+                    int a = (int) (k / (n - 1)), t = (int) (k % (n - 1));
+                    edges.add(a, t >= a ? t + 1 : t, weight(rnd, maxWeight));
+                } else {
+                    v += skip;
+                    if (v < 0) break; // a skip past every pair
+                    while (v >= u && u < n) { v -= u; u++; }
+                    if (u >= n) break;
+                    edges.add(u, (int) v, weight(rnd, maxWeight));
+                }
+            }
+        }
+        return edges.toGraph(n, directed, maxWeight > 0, -1, -1);
+    }
+
+    /**
+     * Barabási–Albert preferential attachment, undirected: starts from a clique on {@code k+1} nodes, then every
+     * new node links to {@code k} distinct earlier nodes chosen with probability proportional to their degree.
+     */
+    public static GraphFile barabasiAlbert(int n, int k, int maxWeight, long seed) {
+        if (k < 1 || n <= k) throw new IllegalArgumentException("need 1 <= k < n (k=" + k + ", n=" + n + ")");
+        Random rnd = new Random(seed);
+        long m = (long) k * (k + 1) / 2 + (long) (n - k - 1) * k;
+        GraphFile.Edges edges = new GraphFile.Edges(capacity(m));
+        int[] ends = new int[(int) Math.min(Integer.MAX_VALUE - 8, 2 * m)]; // every edge end once: a degree-weighted urn
+        int filled = 0;
+        for (int a = 0; a <= k; a++) {
+            for (int b = 0; b < a; b++) {
+                edges.add(a, b, weight(rnd, maxWeight));
+                ends[filled++] = a;
+                ends[filled++] = b;
+            }
+        }
+        int[] picked = new int[k];
+        for (int v = k + 1; v < n; v++) {
+            int count = 0;
+            while (count < k) {
+                int target = ends[rnd.nextInt(filled)];
+                boolean seen = false;
+                for (int i = 0; i < count && !seen; i++) seen = picked[i] == target;
+                if (!seen) picked[count++] = target;
+            }
+            for (int i = 0; i < k; i++) {
+                edges.add(v, picked[i], weight(rnd, maxWeight));
+                ends[filled++] = v;
+                ends[filled++] = picked[i];
+            }
+        }
+        return edges.toGraph(n, false, maxWeight > 0, -1, -1);
+    }
+
+    /** {@code rows × cols} 4-neighbour grid, undirected; node {@code r*cols + c}. */
+    public static GraphFile grid(int rows, int cols, int maxWeight, long seed) {
+        Random rnd = new Random(seed);
+        int n = rows * cols;
+        GraphFile.Edges edges = new GraphFile.Edges(capacity(2.0 * n));
+        double[] xy = new double[2 * n];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int v = r * cols + c;
+                xy[2 * v] = cols > 1 ? (double) c / (cols - 1) : 0.5;
+                xy[2 * v + 1] = rows > 1 ? (double) r / (rows - 1) : 0.5;
+                if (c + 1 < cols) edges.add(v, v + 1, weight(rnd, maxWeight));
+                if (r + 1 < rows) edges.add(v, v + cols, weight(rnd, maxWeight));
+            }
+        }
+        return edges.toGraph(n, false, maxWeight > 0, -1, -1).withPositions(xy);
+    }
+
+    /**
+     * Random geometric graph: n uniform points in the unit square, an undirected edge between every two points
+     * closer than {@code radius}. Points are bucketed into cells at least {@code radius} wide, so only
+     * neighbouring cells are compared. Weights grow with distance ({@code maxWeight} at {@code radius}).
+     */
+    public static GraphFile randomGeometric(int n, double radius, int maxWeight, long seed) {
+        Random rnd = new Random(seed);
+        double[] xy = new double[2 * n];
+        for (int i = 0; i < 2 * n; i++) xy[i] = rnd.nextDouble();
+        int side = (int) Math.max(1, Math.min(1 / radius, Math.ceil(Math.sqrt(n))));
+        // Counting sort of the points by cell
+        int[] start = new int[side * side + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            int cx = Math.min(side - 1, (int) (xy[2 * i] * side)), cy = Math.min(side - 1, (int) (xy[2 * i + 1] * side));
+            cellOf[i] = cy * side + cx;
+            start[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < side * side; c++) start[c + 1] += start[c];
+        int[] fill = Arrays.copyOf(start, side * side);
+        int[] points = new int[n];
+        for (int i = 0; i < n; i++) points[fill[cellOf[i]]++] = i;
+
+        double expected = Math.PI * radius * radius * n * (n - 1) / 2;
+        GraphFile.Edges edges = new GraphFile.Edges(capacity(expected));
+        double r2 = radius * radius;
+        for (int i = 0; i < n; i++) {
+            int cx = cellOf[i] % side, cy = cellOf[i] / side;
+            for (int dy = -1; dy <= 1; dy++) {
+                int y = cy + dy;
+                if (y < 0 || y >= side) continue;
+                for (int dx = -1; dx <= 1; dx++) {
+                    int x = cx + dx;
+                    if (x < 0 || x >= side) continue;
+                    int cell = y * side + x;
+                    for (int q = start[cell]; q < start[cell + 1]; q++) {
+                        int j = points[q];
+                        if (j <= i) continue;
+                        double ex = xy[2 * i] - xy[2 * j], ey = xy[2 * i + 1] - xy[2 * j + 1];
+                        double d2 = ex * ex + ey * ey;
+                        if (d2 >= r2) continue;
+                        double w = maxWeight > 0 ? Math.max(1, Math.ceil(maxWeight * Math.sqrt(d2) / radius)) : 1;
+                        edges.add(i, j, w);
+                    }
+                }
+            }
+        }
+        return edges.toGraph(n, false, maxWeight > 0, -1, -1).withPositions(xy);
+    }
+
+    /**
+     * Layered flow network: source 0, {@code layers} layers of {@code width} nodes, sink {@code n-1}. The source
+     * feeds every node of the first layer, each node sends {@code degree} arcs to distinct random nodes of the
+     * next layer and the last layer drains into the sink. Capacities are drawn from {@code 1..maxCapacity}.
+     */
+    public static GraphFile layeredNetwork(int layers, int width, int degree, int maxCapacity, long seed) {
+        if (layers < 1 || width < 1) throw new IllegalArgumentException("need at least one layer of one node");
+        Random rnd = new Random(seed);
+        int n = layers * width + 2, sink = n - 1;
+        int fanOut = Math.max(1, Math.min(degree, width));
+        int cap = Math.max(1, maxCapacity);
+        GraphFile.Edges edges = new GraphFile.Edges(capacity(2.0 * width + (double) (layers - 1) * width * fanOut));
+        double[] xy = new double[2 * n];
+        xy[0] = 0; xy[1] = 0.5;
+        xy[2 * sink] = 1; xy[2 * sink + 1] = 0.5;
+        int[] order = new int[width]; // identity between nodes: every shuffle below is undone
+        for (int j = 0; j < width; j++) order[j] = j;
+        int[] picks = new int[fanOut];
+        for (int l = 0; l < layers; l++) {
+            for (int i = 0; i < width; i++) {
+                int v = 1 + l * width + i;
+                xy[2 * v] = (l + 1.0) / (layers + 1);
+                xy[2 * v + 1] = width > 1 ? (double) i / (width - 1) : 0.5;
+                if (l == 0) edges.add(0, v, weight(rnd, cap));
+                if (l == layers - 1) {
+                    edges.add(v, sink, weight(rnd, cap));
+                    continue;
+                }
+                // fanOut distinct targets in the next layer: a partial Fisher-Yates shuffle, O(fanOut) per node
+                for (int j = 0; j < fanOut; j++) {
+                    int pick = j + rnd.nextInt(width - j);
+                    picks[j] = pick;
+                    int t = order[pick]; order[pick] = order[j]; order[j] = t;
+                    edges.add(v, 1 + (l + 1) * width + t, weight(rnd, cap));
+                }
+                for (int j = fanOut - 1; j >= 0; j--) {
+                    int t = order[picks[j]]; order[picks[j]] = order[j]; order[j] = t;
+                }
+            }
+        }
+        return edges.toGraph(n, true, true, 0, sink).withPositions(xy);
+    }
+
+    private static double weight(Random rnd, int maxWeight) {
+        return maxWeight > 0 ? 1 + rnd.nextInt(maxWeight) : 1;
+    }
+
+    private static int capacity(double expectedEdges) {
+        return (int) Math.max(16, Math.min(MAX_INITIAL_CAPACITY, expectedEdges * 1.05 + 16));
+    }
+}
@@ -0,0 +1,45 @@
+package algobot.core;
+
+/**
+ * In-place heap sort: a max-heap is built bottom-up, then the root is swapped behind the heap until it is empty.
+ * Reports every compare and swap; each sift-down starts with a SIFT step and each extraction grows the sorted suffix.
+ */
+public final class HeapSortEngine {
+
+    private HeapSortEngine() {}
+
+    public static void sort(int[] arr, SortListener l) {
+        sort(arr, 0, arr.length - 1, l);
+        l.onStep(SortListener.DONE, -1, -1, -1, (byte) 0, 0, arr.length - 1, 0);
+    }
+
+    /** Sorts arr[lo..hi]; the heap is laid out from lo (introsort's fallback). */
+    static void sort(int[] arr, int lo, int hi, SortListener l) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(arr, lo, i, n, l);
+        for (int end = n - 1; end > 0; end--) {
+            QuickSortEngine.swap(arr, lo, lo + end, l);
+            l.onStep(SortListener.SWAP, lo, lo + end, -1, SortListener.SPECIAL_J, lo + end, hi, 0);
+            siftDown(arr, lo, 0, end, l);
+        }
+    }
+
+    // Heap positions are relative to lo: the children of k are 2k+1 and 2k+2
+    private static void siftDown(int[] arr, int lo, int k, int size, SortListener l) {
+        l.onStep(SortListener.SIFT, lo + k, -1, -1, SortListener.SPECIAL_I, 0, -1, size);
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= size) return;
+            if (child + 1 < size) {
+                l.onStep(SortListener.COMPARE, lo + child, lo + child + 1, -1, (byte) 0, 0, -1, 0);
+                if (arr[lo + child + 1] > arr[lo + child]) child++;
+            }
+            l.onStep(SortListener.COMPARE, lo + k, lo + child, -1, SortListener.SPECIAL_I, 0, -1, 0);
+            if (arr[lo + k] >= arr[lo + child]) return;
+            QuickSortEngine.swap(arr, lo + k, lo + child, l);
+            l.onStep(SortListener.SWAP, lo + k, lo + child, -1, (byte) 0, 0, -1, 0);
+            k = child;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package algobot.core;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Min-ordered d-ary heap over int keys {@code 0..capacity-1} with double priorities.
+ * Every key is in the heap at most once and its position is tracked, so
+ * {@link #decreaseKey} is O(log_d n) and nothing is boxed. Children of position p are
+ * {@code d*p+1 .. d*p+d}.
+ */
+public final class IndexedDaryHeap {
+
+    private final int d;
+    private final int[] heap;     // position -> key
+    private final int[] pos;      // key -> position, -1 when absent
+    private final double[] prio;  // key -> priority
+    private int size;
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("arity must be at least 2");
+        d = arity;
+        heap = new int[capacity];
+        pos = new int[capacity];
+        prio = new double[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public int capacity() { return pos.length; }
+    public int arity() { return d; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public boolean contains(int key) { return pos[key] >= 0; }
+    public int positionOf(int key) { return pos[key]; }
+    public int keyAt(int position) { return heap[position]; }
+    public double priority(int key) { return prio[key]; }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException("heap empty");
+        return heap[0];
+    }
+
+    public void insert(int key, double priority) { insert(key, priority, IndexedHeapListener.NONE); }
+
+    public void insert(int key, double priority, IndexedHeapListener l) {
+        if (pos[key] >= 0) throw new IllegalArgumentException("key " + key + " already in heap");
+        prio[key] = priority;
+        heap[size] = key;
+        pos[key] = size;
+        siftUp(size++, l);
+    }
+
+    public void decreaseKey(int key, double priority) { decreaseKey(key, priority, IndexedHeapListener.NONE); }
+
+    public void decreaseKey(int key, double priority, IndexedHeapListener l) {
+        if (pos[key] < 0) throw new IllegalArgumentException("key " + key + " not in heap");
+        if (priority > prio[key]) throw new IllegalArgumentException("new priority is larger than current");
+        prio[key] = priority;
+        siftUp(pos[key], l);
+    }
+
+    /** Inserts the key, or lowers its priority; returns false (and does nothing) if it is already at or below. */
+    public boolean offer(int key, double priority) {
+        if (pos[key] < 0) { insert(key, priority); return true; }
+        if (priority >= prio[key]) return false;
+        decreaseKey(key, priority);
+        return true;
+    }
+
+    public int poll() { return poll(IndexedHeapListener.NONE); }
+
+    /** Removes and returns the key with the smallest priority. */
+    public int poll(IndexedHeapListener l) {
+        int top = peek();
+        int last = --size;
+        pos[top] = -1;
+        if (last > 0) {
+            l.onSwap(0, last);
+            heap[0] = heap[last];
+            pos[heap[0]] = 0;
+            siftDown(0, l);
+        }
+        return top;
+    }
+
+    private void siftUp(int i, IndexedHeapListener l) {
+        int key = heap[i];
+        double p = prio[key];
+        while (i > 0) {
+            int parent = (i - 1) / d;
+            l.onCompare(i, parent);
+            int pk = heap[parent];
+            if (p >= prio[pk]) break;
+            l.onSwap(i, parent);
+            heap[i] = pk;
+            pos[pk] = i;
+            i = parent;
+        }
+        heap[i] = key;
+        pos[key] = i;
+    }
+
+    private void siftDown(int i, IndexedHeapListener l) {
+        int key = heap[i];
+        double p = prio[key];
+        while (true) {
+            int first = d * i + 1;
+            if (first >= size) break;
+            int best = first;
+            double bp = prio[heap[first]];
+            int end = Math.min(first + d, size);
+            for (int c = first + 1; c < end; c++) {
+                double cp = prio[heap[c]];
+                if (cp < bp) { best = c; bp = cp; }
+            }
+            l.onCompare(best, i);
+            if (bp >= p) break;
+            l.onSwap(best, i);
+            int bk = heap[best];
+            heap[i] = bk;
+            pos[bk] = i;
+            i = best;
+        }
+        heap[i] = key;
+        pos[key] = i;
+    }
+}
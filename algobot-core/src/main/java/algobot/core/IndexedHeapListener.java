@@ -0,0 +1,12 @@
+package algobot.core;
+
+/**
+ * Step events of {@link IndexedDaryHeap} and {@link IntHeap} operations, by heap position.
+ * Sifting is reported as a sequence of swaps even though the heap moves a hole internally.
+ */
+public interface IndexedHeapListener {
+    IndexedHeapListener NONE = new IndexedHeapListener() {};
+
+    default void onCompare(int pos, int otherPos) {}
+    default void onSwap(int pos, int otherPos) {}
+}
@@ -0,0 +1,101 @@
+package algobot.core;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Array-backed binary heap of ints, max- or min-ordered; the data structure page's Max / Min heap.
+ * Operations can report their compares and swaps to an {@link IndexedHeapListener}, by position.
+ */
+public final class IntHeap {
+
+    private final boolean max;
+    private int[] data = new int[16];
+    private int size;
+
+    public IntHeap(boolean max) { this.max = max; }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public void clear() { size = 0; }
+    public int get(int i) { return data[i]; }
+
+    /** Position of the first occurrence of value, or -1. */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) if (data[i] == value) return i;
+        return -1;
+    }
+
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException("heap empty");
+        return data[0];
+    }
+
+    public void insert(int value) { insert(value, IndexedHeapListener.NONE); }
+
+    public void insert(int value, IndexedHeapListener l) {
+        if (size == data.length) data = Arrays.copyOf(data, size * 2);
+        data[size] = value;
+        siftUp(size++, l);
+    }
+
+    public int extract() {
+        int top = peek();
+        removeAt(0, IndexedHeapListener.NONE);
+        return top;
+    }
+
+    public boolean remove(int value) { return remove(value, IndexedHeapListener.NONE); }
+
+    /**
+     * Removes the first occurrence of value (linear search, as on the page); false when absent.
+     * The last element is swapped into its place (reported as a swap) and sifted down, then up.
+     */
+    public boolean remove(int value, IndexedHeapListener l) {
+        int i = indexOf(value);
+        if (i < 0) return false;
+        removeAt(i, l);
+        return true;
+    }
+
+    private void removeAt(int i, IndexedHeapListener l) {
+        int last = --size;
+        if (i == last) return;
+        l.onSwap(i, last);
+        data[i] = data[last];
+        if (siftDown(i, l) == i) siftUp(i, l); // a value that moved down cannot need to go up
+    }
+
+    private boolean above(int a, int b) { return max ? a > b : a < b; }
+
+    // Both sifts move a hole and drop the value in at the end; each move is reported as a swap
+    private void siftUp(int i, IndexedHeapListener l) {
+        int v = data[i];
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            l.onCompare(i, p);
+            if (!above(v, data[p])) break;
+            l.onSwap(i, p);
+            data[i] = data[p];
+            i = p;
+        }
+        data[i] = v;
+    }
+
+    // Returns the value's final position
+    private int siftDown(int i, IndexedHeapListener l) {
+        int v = data[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int c = 2 * i + 1;
+            if (c + 1 < size && above(data[c + 1], data[c])) c++;
+            l.onCompare(c, i);
+            if (!above(data[c], v)) break;
+            l.onSwap(c, i);
+            data[i] = data[c];
+            i = c;
+        }
+        data[i] = v;
+        return i;
+    }
+}
@@ -0,0 +1,86 @@
+package algobot.core;
+
+/**
+ * Introsort: quick sort with a median-of-three pivot that hands a range to heap sort once the recursion
+ * is 2·log2(n) levels deep (so the worst case stays n log n) and finishes ranges of at most
+ * {@value #INSERTION_CUTOFF} elements with insertion sort. Partitioning reports the same steps as
+ * {@link QuickSortEngine}; the switches to heap or insertion sort are FALLBACK steps.
+ */
+public final class IntroSortEngine {
+
+    static final int INSERTION_CUTOFF = 16;
+
+    private IntroSortEngine() {}
+
+    public static void sort(int[] arr, SortListener l) {
+        int n = arr.length;
+        if (n > 1) sort(arr, 0, n - 1, 2 * (31 - Integer.numberOfLeadingZeros(n)), l);
+        l.onStep(SortListener.DONE, -1, -1, -1, (byte) 0, 0, n - 1, 0);
+    }
+
+    // Recurses into the smaller side and loops on the larger, so the stack stays O(log n)
+    private static void sort(int[] arr, int lo, int hi, int depth, SortListener l) {
+        while (hi - lo + 1 > INSERTION_CUTOFF) {
+            if (depth == 0) {
+                l.onStep(SortListener.FALLBACK, lo, hi, -1, (byte) 0, 0, -1, 0);
+                HeapSortEngine.sort(arr, lo, hi, l);
+                return;
+            }
+            depth--;
+            int p = partition(arr, lo, hi, l);
+            if (p - lo < hi - p) {
+                sort(arr, lo, p - 1, depth, l);
+                lo = p + 1;
+            } else {
+                sort(arr, p + 1, hi, depth, l);
+                hi = p - 1;
+            }
+        }
+        if (hi > lo) {
+            l.onStep(SortListener.FALLBACK, lo, hi, -1, (byte) 0, 0, -1, 1);
+            insertionSort(arr, lo, hi, l);
+        }
+    }
+
+    // Orders arr[lo], arr[mid], arr[hi], moves the median to hi and partitions around it (Lomuto)
+    private static int partition(int[] arr, int lo, int hi, SortListener l) {
+        int mid = (lo + hi) >>> 1;
+        compareSwap(arr, lo, mid, l);
+        compareSwap(arr, mid, hi, l);
+        compareSwap(arr, lo, mid, l);
+        QuickSortEngine.swap(arr, mid, hi, l);
+        l.onStep(SortListener.SWAP, mid, hi, -1, (byte) 0, 0, -1, 0);
+        int pivot = arr[hi];
+        l.onStep(SortListener.PIVOT, -1, -1, hi, SortListener.SPECIAL_AUX, 0, -1, pivot);
+        int i = lo - 1;
+        for (int j = lo; j < hi; j++) {
+            l.onStep(SortListener.COMPARE, j, hi, hi, (byte) (SortListener.SPECIAL_I | SortListener.SPECIAL_AUX), 0, -1, 0);
+            if (arr[j] <= pivot) {
+                i++;
+                QuickSortEngine.swap(arr, i, j, l);
+                l.onStep(SortListener.SWAP, i, j, hi, (byte) (SortListener.SPECIAL_I | SortListener.SPECIAL_AUX), 0, -1, 0);
+            }
+        }
+        QuickSortEngine.swap(arr, i + 1, hi, l);
+        l.onStep(SortListener.PIVOT_FIXED, i + 1, hi, hi, (byte) 0, i + 1, i + 1, 0);
+        return i + 1;
+    }
+
+    private static void compareSwap(int[] arr, int i, int j, SortListener l) {
+        l.onStep(SortListener.COMPARE, i, j, -1, (byte) 0, 0, -1, 0);
+        if (arr[i] <= arr[j]) return;
+        QuickSortEngine.swap(arr, i, j, l);
+        l.onStep(SortListener.SWAP, i, j, -1, (byte) 0, 0, -1, 0);
+    }
+
+    private static void insertionSort(int[] arr, int lo, int hi, SortListener l) {
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo; j--) {
+                l.onStep(SortListener.COMPARE, j - 1, j, -1, SortListener.SPECIAL_J, 0, -1, 0);
+                if (arr[j - 1] <= arr[j]) break;
+                QuickSortEngine.swap(arr, j - 1, j, l);
+                l.onStep(SortListener.SWAP, j - 1, j, -1, SortListener.SPECIAL_J, 0, -1, 0);
+            }
+        }
+    }
+}
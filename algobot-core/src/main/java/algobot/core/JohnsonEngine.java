@@ -0,0 +1,128 @@
+package algobot.core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Johnson's all-pairs shortest paths for sparse graphs: a Bellman-Ford pass from a virtual source
+ * gives potentials {@code h} that make every arc weight non-negative ({@code w + h[u] - h[v]}), then one
+ * Dijkstra per source runs on the reweighted arcs, in parallel on a ForkJoinPool. O(nm log n) instead of
+ * Floyd-Warshall's O(n^3).
+ * <p>
+ * Results are streamed one source row at a time to a {@link RowListener}, so memory stays O(n + m) per
+ * worker; the caller keeps whichever rows it needs instead of an n×n matrix.
+ */
+public final class JohnsonEngine {
+
+    private static final int SOURCES_PER_TASK = 8; // one heap per task, reused across its sources
+
+    /** Receives the distances from one source. */
+    public interface RowListener {
+        /**
+         * Called from pool threads, for each source once, in no particular order. {@code row[v]} is the
+         * distance to v (infinity when unreachable); the array is reused after the call returns.
+         */
+        void onRow(int source, double[] row);
+    }
+
+    private JohnsonEngine() {}
+
+    public static boolean run(CsrGraph g, RowListener l) {
+        return run(g, ForkJoinPool.commonPool(), l);
+    }
+
+    /**
+     * Runs to completion, handing every source's row to {@code l}. Returns false, without calling
+     * {@code l}, when there is a negative cycle (any negative undirected edge is one).
+     */
+    public static boolean run(CsrGraph g, ForkJoinPool pool, RowListener l) {
+        int n = g.n;
+        double[] h = potentials(g);
+        if (h == null) return false;
+        double[] reweighted = new double[g.targets.length];
+        for (int u = 0; u < n; u++) {
+            for (int k = g.offsets[u]; k < g.offsets[u + 1]; k++) {
+                // Non-negative in exact arithmetic; clamp rounding noise so Dijkstra stays valid
+                reweighted[k] = Math.max(0, g.weights[k] + h[u] - h[g.targets[k]]);
+            }
+        }
+        pool.invoke(new Sources(g, h, reweighted, l, 0, n));
+        return true;
+    }
+
+    // Bellman-Ford from a virtual source joined to every node by a 0 edge (so all potentials start at 0);
+    // stops early once a pass changes nothing. Null on a negative cycle.
+    static double[] potentials(CsrGraph g) {
+        int n = g.n;
+        double[] h = new double[n];
+        boolean negative = false;
+        for (double w : g.weight) negative |= w < 0;
+        if (!negative) return h;
+        if (!g.directed) return null;
+        for (int pass = 0; pass < n; pass++) {
+            boolean changed = false;
+            for (int e = 0; e < g.from.length; e++) {
+                double alt = h[g.from[e]] + g.weight[e];
+                if (alt < h[g.to[e]]) { h[g.to[e]] = alt; changed = true; }
+            }
+            if (!changed) return h;
+        }
+        return null; // still relaxing after n passes (n+1 nodes with the virtual one)
+    }
+
+    // Dijkstra from sources [lo, hi), splitting the range across the pool
+    private static final class Sources extends RecursiveAction {
+        final CsrGraph g;
+        final double[] h, reweighted;
+        final RowListener l;
+        final int lo, hi;
+
+        Sources(CsrGraph g, double[] h, double[] reweighted, RowListener l, int lo, int hi) {
+            this.g = g;
+            this.h = h;
+            this.reweighted = reweighted;
+            this.l = l;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > SOURCES_PER_TASK) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Sources(g, h, reweighted, l, lo, mid), new Sources(g, h, reweighted, l, mid, hi));
+                return;
+            }
+            int n = g.n;
+            IndexedDaryHeap pq = new IndexedDaryHeap(n, DijkstraEngine.HEAP_ARITY);
+            double[] d = new double[n];
+            boolean[] done = new boolean[n];
+            for (int s = lo; s < hi; s++) {
+                Arrays.fill(d, Double.POSITIVE_INFINITY);
+                Arrays.fill(done, false);
+                d[s] = 0;
+                pq.insert(s, 0);
+                while (!pq.isEmpty()) {
+                    int u = pq.poll();
+                    done[u] = true;
+                    for (int k = g.offsets[u]; k < g.offsets[u + 1]; k++) {
+                        int v = g.targets[k];
+                        if (done[v]) continue;
+                        double alt = d[u] + reweighted[k];
+                        if (alt < d[v]) {
+                            d[v] = alt;
+                            pq.offer(v, alt);
+                        }
+                    }
+                }
+                // Undo the reweighting in place: d(s, v) = d'(s, v) - h[s] + h[v]
+                for (int v = 0; v < n; v++) {
+                    if (d[v] != Double.POSITIVE_INFINITY) d[v] = d[v] - h[s] + h[v];
+                }
+                d[s] = 0;
+                l.onRow(s, d);
+            }
+        }
+    }
+}
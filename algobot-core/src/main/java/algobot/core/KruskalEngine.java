@@ -0,0 +1,146 @@
+package algobot.core;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Kruskal's algorithm: stable sort of the edges by weight, then {@link UnionFind}.
+ * <p>
+ * Edges are ordered by (weight, edge index) on primitive arrays with {@link Arrays#parallelSort}, so ties
+ * keep edge order and nothing is boxed. {@link #runFilter} is filter-Kruskal: it partitions the edges
+ * around random pivots, handles the light side first and drops heavy edges whose ends are already
+ * joined before they are ever sorted. Both accept the same edges in the same order.
+ */
+public final class KruskalEngine {
+
+    /** Filter-Kruskal sorts ranges up to this size (or n, if larger) directly. */
+    static final int FILTER_BASE = 4096;
+
+    private KruskalEngine() {}
+
+    /** Returns the MST edge indices in acceptance order. */
+    public static int[] run(CsrGraph g, MstListener l) {
+        int m = g.edgeCount();
+        int[] sorted = new int[m];
+        for (int e = 0; e < m; e++) sorted[e] = e;
+        sortByWeight(sorted, 0, m, g.weight);
+        l.onSorted(sorted);
+
+        Scan scan = new Scan(g, l);
+        scan.scan(sorted, 0, m);
+        return scan.result();
+    }
+
+    /**
+     * Filter-Kruskal. Only edges that reach a sorted range are reported (candidate, then accept or reject);
+     * edges dropped by a filter pass are only counted through {@link MstListener#onFiltered}. No onSorted.
+     */
+    public static int[] runFilter(CsrGraph g, MstListener l) {
+        int m = g.edgeCount();
+        int[] es = new int[m];
+        for (int e = 0; e < m; e++) es[e] = e;
+        Scan scan = new Scan(g, l);
+        int base = Math.max(FILTER_BASE, g.n);
+        Random rnd = new Random(m); // deterministic pivots, so replays match
+        // Explicit stack of pending heavy ranges [lo, hi): process light halves first
+        int[] stackLo = new int[64], stackHi = new int[64];
+        int top = 0;
+        stackLo[top] = 0; stackHi[top++] = m;
+        while (top > 0 && !scan.done()) {
+            int lo = stackLo[--top], hi = stackHi[top];
+            // Filter: heavy ranges are visited after everything lighter, so drop edges already inside a tree
+            int kept = lo;
+            for (int i = lo; i < hi; i++) {
+                int e = es[i];
+                if (!scan.dsu.connected(g.from[e], g.to[e])) es[kept++] = e;
+            }
+            if (kept < hi) l.onFiltered(hi - kept);
+            hi = kept;
+            while (hi - lo > base) {
+                int pivot = es[lo + rnd.nextInt(hi - lo)];
+                int mid = partition(es, lo, hi, pivot, g.weight);
+                if (mid == hi) break; // pivot was the heaviest; nothing to split off
+                if (top == stackLo.length) {
+                    stackLo = Arrays.copyOf(stackLo, top * 2);
+                    stackHi = Arrays.copyOf(stackHi, top * 2);
+                }
+                stackLo[top] = mid; stackHi[top++] = hi;
+                hi = mid;
+            }
+            sortByWeight(es, lo, hi, g.weight);
+            scan.scan(es, lo, hi);
+        }
+        return scan.result();
+    }
+
+    /** Sorts {@code es[lo..hi)} by (weight, edge index) using primitive parallel sorts. */
+    static void sortByWeight(int[] es, int lo, int hi, double[] weight) {
+        int len = hi - lo;
+        if (len < 2) return;
+        // Rank the distinct weights, then sort (rank << 32 | edge) as plain longs
+        double[] distinct = new double[len];
+        for (int i = 0; i < len; i++) distinct[i] = weight[es[lo + i]];
+        Arrays.parallelSort(distinct);
+        int d = 0;
+        for (int i = 0; i < len; i++) {
+            if (i == 0 || Double.compare(distinct[i], distinct[d - 1]) != 0) distinct[d++] = distinct[i];
+        }
+        long[] keys = new long[len];
+        for (int i = 0; i < len; i++) {
+            int e = es[lo + i];
+            long rank = Arrays.binarySearch(distinct, 0, d, weight[e]);
+            keys[i] = rank << 32 | e;
+        }
+        Arrays.parallelSort(keys);
+        for (int i = 0; i < len; i++) es[lo + i] = (int) keys[i];
+    }
+
+    // Moves edges ordered at or before 'pivot' to the front of es[lo..hi); returns where the rest start
+    private static int partition(int[] es, int lo, int hi, int pivot, double[] weight) {
+        double pw = weight[pivot];
+        int i = lo, j = hi - 1;
+        while (i <= j) {
+            int e = es[i];
+            int c = Double.compare(weight[e], pw);
+            if (c < 0 || (c == 0 && e <= pivot)) {
+                i++;
+            } else {
+                es[i] = es[j];
+                es[j--] = e;
+            }
+        }
+        return i;
+    }
+
+    // The Kruskal scan shared by both variants
+    private static final class Scan {
+        final CsrGraph g;
+        final MstListener l;
+        final UnionFind dsu;
+        final int[] picked;
+        int count;
+        double total;
+
+        Scan(CsrGraph g, MstListener l) {
+            this.g = g;
+            this.l = l;
+            this.dsu = new UnionFind(g.n);
+            this.picked = new int[Math.max(0, g.n - 1)];
+        }
+
+        boolean done() { return count >= g.n - 1; }
+
+        void scan(int[] es, int lo, int hi) {
+            for (int k = lo; k < hi && !done(); k++) {
+                int e = es[k];
+                l.onCandidate(e);
+                if (!dsu.union(g.from[e], g.to[e])) { l.onReject(e); continue; }
+                total += g.weight[e];
+                picked[count++] = e;
+                l.onAccept(e, g.from[e], g.to[e], total);
+            }
+        }
+
+        int[] result() { return Arrays.copyOf(picked, count); }
+    }
+}
@@ -0,0 +1,21 @@
+package algobot.core;
+
+/**
+ * Step events of the minimum spanning tree engines ({@link PrimEngine}, {@link KruskalEngine}, {@link BoruvkaEngine}).
+ */
+public interface MstListener {
+    /** Kruskal: edge indices in the order they will be considered. */
+    default void onSorted(int[] order) {}
+    /** Prim: a new cut search starts. */
+    default void onIteration(int iteration) {}
+    /** Prim: edge from a newly added tree node to an outside node; improved = it is now that node's cheapest link. */
+    default void onFrontier(int edge, int from, int to, boolean improved) {}
+    /** Kruskal: edge is next in weight order. */
+    default void onCandidate(int edge) {}
+    default void onAccept(int edge, int from, int to, double totalCost) {}
+    default void onReject(int edge) {}
+    /** Borůvka: a round starts; every one of these components will pick its cheapest outgoing edge. */
+    default void onRound(int round, int components) {}
+    /** Filter-Kruskal: this many edges were dropped unsorted because their ends were already joined. */
+    default void onFiltered(int edges) {}
+}
@@ -0,0 +1,349 @@
+package algobot.core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join sorts on a given {@link ForkJoinPool}: merge sort, quick sort with task splitting, LSD radix
+ * (8-bit digits) with one histogram per chunk, and bitonic sort (Lang's network, so any n works).
+ * Ranges of at most {@code grain} elements are sorted by a single worker with {@link Arrays#sort}; every
+ * block a worker finishes is reported with that worker's pool index, so a viewer can colour the array
+ * by thread. All sort ascending, in place, and accept negative values.
+ */
+public final class ParallelSortEngine {
+
+    private static final int RADIX_BITS = 8, BUCKETS = 1 << RADIX_BITS;
+    private static final int MAX_CHUNKS = 1024; // bounds the radix histograms at 1 MB
+
+    private ParallelSortEngine() {}
+
+    /** Block size for a headless run: enough blocks to keep every worker busy, each big enough to amortise its task. */
+    public static int defaultGrain(int n, ForkJoinPool pool) {
+        return Math.max(8192, n / (pool.getParallelism() * 8));
+    }
+
+    public static void mergeSort(int[] a, ParallelSortListener l) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        mergeSort(a, pool, defaultGrain(a.length, pool), l);
+    }
+
+    public static void mergeSort(int[] a, ForkJoinPool pool, int grain, ParallelSortListener l) {
+        if (a.length < 2) return;
+        Run run = new Run(a, pool, grain, l);
+        l.onAux(a.length);
+        pool.invoke(new MergeTask(run, new int[a.length], 0, a.length));
+    }
+
+    public static void quickSort(int[] a, ParallelSortListener l) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        quickSort(a, pool, defaultGrain(a.length, pool), l);
+    }
+
+    public static void quickSort(int[] a, ForkJoinPool pool, int grain, ParallelSortListener l) {
+        if (a.length < 2) return;
+        pool.invoke(new QuickTask(new Run(a, pool, grain, l), 0, a.length));
+    }
+
+    public static void radixSort(int[] a, ParallelSortListener l) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        radixSort(a, pool, defaultGrain(a.length, pool), l);
+    }
+
+    /**
+     * Each pass counts digits per chunk in parallel, turns the counts into per-chunk offsets (digit-major,
+     * so the sort stays stable) and scatters the chunks in parallel. Passes where every key has the same
+     * digit are skipped. Blocks are reported per (digit, chunk) range of the pass's output.
+     */
+    public static void radixSort(int[] a, ForkJoinPool pool, int grain, ParallelSortListener l) {
+        int n = a.length;
+        if (n < 2) return;
+        Run run = new Run(a, pool, grain, l);
+        int chunks = (int) Math.min(MAX_CHUNKS, (n + (long) run.grain - 1) / run.grain);
+        int[][] count = new int[chunks][BUCKETS];
+        int[][] start = new int[chunks][BUCKETS];
+        int[] workerOf = new int[chunks];
+        int[] src = a, dst = new int[n];
+        // the buffer, the histograms and offsets, and one offsets copy per scattering chunk at most
+        l.onAux(n + (2L * BUCKETS + 1) * chunks + (long) BUCKETS * Math.min(chunks, pool.getParallelism()));
+        for (int shift = 0; shift < 32; shift += RADIX_BITS) {
+            pool.invoke(new RadixTask(run, false, src, dst, shift, count, start, workerOf, 0, chunks));
+            boolean trivial = false;
+            int pos = 0;
+            for (int d = 0; d < BUCKETS; d++) {
+                int total = 0;
+                for (int c = 0; c < chunks; c++) {
+                    start[c][d] = pos + total;
+                    total += count[c][d];
+                }
+                if (total == n) trivial = true;
+                pos += total;
+            }
+            if (trivial) continue; // every key has this digit: the pass would not move anything
+            pool.invoke(new RadixTask(run, true, src, dst, shift, count, start, workerOf, 0, chunks));
+            for (int d = 0; d < BUCKETS; d++) {
+                for (int c = 0; c < chunks; c++) {
+                    if (count[c][d] > 0) run.report(workerOf[c], SortListener.SCATTER, dst, start[c][d], start[c][d] + count[c][d]);
+                }
+            }
+            int[] t = src; src = dst; dst = t;
+        }
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+    }
+
+    public static void bitonicSort(int[] a, ParallelSortListener l) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        bitonicSort(a, pool, defaultGrain(a.length, pool), l);
+    }
+
+    /** O(n log² n) compare-exchanges, but every stage is a set of independent pairs. */
+    public static void bitonicSort(int[] a, ForkJoinPool pool, int grain, ParallelSortListener l) {
+        if (a.length < 2) return;
+        pool.invoke(new BitonicSort(new Run(a, pool, grain, l), 0, a.length, true));
+    }
+
+    // What every task of one sort shares
+    private static final class Run {
+        final int[] a;
+        final ForkJoinPool pool;
+        final int grain;
+        final ParallelSortListener l;
+
+        Run(int[] a, ForkJoinPool pool, int grain, ParallelSortListener l) {
+            this.a = a;
+            this.pool = pool;
+            this.grain = Math.max(1, grain);
+            this.l = l;
+        }
+
+        int worker() {
+            return Thread.currentThread() instanceof ForkJoinWorkerThread w && w.getPool() == pool ? w.getPoolIndex() : -1;
+        }
+
+        void report(byte action, int lo, int hi) {
+            report(worker(), action, a, lo, hi);
+        }
+
+        synchronized void report(int worker, byte action, int[] array, int lo, int hi) {
+            l.onRange(worker, action, array, lo, hi);
+        }
+    }
+
+    private static final class MergeTask extends RecursiveAction {
+        final Run run;
+        final int[] buf;
+        final int lo, hi;
+
+        MergeTask(Run run, int[] buf, int lo, int hi) {
+            this.run = run;
+            this.buf = buf;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            int[] a = run.a;
+            if (hi - lo <= run.grain) {
+                Arrays.sort(a, lo, hi);
+                run.report(SortListener.LEAF, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new MergeTask(run, buf, lo, mid), new MergeTask(run, buf, mid, hi));
+            if (a[mid - 1] > a[mid]) {
+                // Left half to the buffer, then merge it with the right half back into place
+                System.arraycopy(a, lo, buf, lo, mid - lo);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) a[k++] = buf[i] <= a[j] ? buf[i++] : a[j++];
+                while (i < mid) a[k++] = buf[i++];
+            }
+            run.report(SortListener.MERGE, lo, hi);
+        }
+    }
+
+    private static final class QuickTask extends RecursiveAction {
+        final Run run;
+        final int lo, hi;
+
+        QuickTask(Run run, int lo, int hi) {
+            this.run = run;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            int[] a = run.a;
+            if (hi - lo <= run.grain) {
+                Arrays.sort(a, lo, hi);
+                run.report(SortListener.LEAF, lo, hi);
+                return;
+            }
+            int split = partition(a, lo, hi);
+            run.report(SortListener.PARTITION, lo, hi);
+            invokeAll(new QuickTask(run, lo, split), new QuickTask(run, split, hi));
+        }
+
+        // Hoare partition around the median of three (moved to lo); both sides come out non-empty
+        private static int partition(int[] a, int lo, int hi) {
+            int mid = (lo + hi) >>> 1, last = hi - 1;
+            int m = a[lo] < a[mid]
+                ? (a[mid] < a[last] ? mid : (a[lo] < a[last] ? last : lo))
+                : (a[lo] < a[last] ? lo : (a[mid] < a[last] ? last : mid));
+            swap(a, lo, m);
+            int pivot = a[lo];
+            int i = lo - 1, j = hi;
+            while (true) {
+                do i++; while (a[i] < pivot);
+                do j--; while (a[j] > pivot);
+                if (i >= j) return j + 1;
+                swap(a, i, j);
+            }
+        }
+    }
+
+    // One radix phase (count or scatter) over chunks [c0, c1)
+    private static final class RadixTask extends RecursiveAction {
+        final Run run;
+        final boolean scatter;
+        final int[] src, dst;
+        final int shift;
+        final int[][] count, start;
+        final int[] workerOf;
+        final int c0, c1;
+
+        RadixTask(Run run, boolean scatter, int[] src, int[] dst, int shift, int[][] count, int[][] start, int[] workerOf, int c0, int c1) {
+            this.run = run;
+            this.scatter = scatter;
+            this.src = src;
+            this.dst = dst;
+            this.shift = shift;
+            this.count = count;
+            this.start = start;
+            this.workerOf = workerOf;
+            this.c0 = c0;
+            this.c1 = c1;
+        }
+
+        @Override
+        protected void compute() {
+            if (c1 - c0 > 1) {
+                int mid = (c0 + c1) >>> 1;
+                invokeAll(new RadixTask(run, scatter, src, dst, shift, count, start, workerOf, c0, mid),
+                          new RadixTask(run, scatter, src, dst, shift, count, start, workerOf, mid, c1));
+                return;
+            }
+            int chunks = count.length, n = src.length;
+            int lo = (int) ((long) c0 * n / chunks), hi = (int) ((long) (c0 + 1) * n / chunks);
+            if (!scatter) {
+                int[] hist = count[c0];
+                Arrays.fill(hist, 0);
+                for (int i = lo; i < hi; i++) hist[digit(src[i], shift)]++;
+                return;
+            }
+            workerOf[c0] = run.worker();
+            int[] next = start[c0].clone();
+            for (int i = lo; i < hi; i++) dst[next[digit(src[i], shift)]++] = src[i];
+        }
+
+        // Sign bit flipped, so negative keys order before positive ones
+        private static int digit(int v, int shift) {
+            return ((v ^ Integer.MIN_VALUE) >>> shift) & (BUCKETS - 1);
+        }
+    }
+
+    // Sorts a[lo..lo+n) in direction 'up': the halves in opposite directions, then a bitonic merge
+    private static final class BitonicSort extends RecursiveAction {
+        final Run run;
+        final int lo, n;
+        final boolean up;
+
+        BitonicSort(Run run, int lo, int n, boolean up) {
+            this.run = run;
+            this.lo = lo;
+            this.n = n;
+            this.up = up;
+        }
+
+        @Override
+        protected void compute() {
+            if (n <= run.grain) {
+                sortLeaf(run, lo, lo + n, up);
+                return;
+            }
+            int m = n / 2;
+            invokeAll(new BitonicSort(run, lo, m, !up), new BitonicSort(run, lo + m, n - m, up));
+            new BitonicMerge(run, lo, n, up).compute();
+        }
+    }
+
+    // Merges the bitonic sequence a[lo..lo+n); with m the largest power of two below n, pairs (i, i+m) first
+    private static final class BitonicMerge extends RecursiveAction {
+        final Run run;
+        final int lo, n;
+        final boolean up;
+
+        BitonicMerge(Run run, int lo, int n, boolean up) {
+            this.run = run;
+            this.lo = lo;
+            this.n = n;
+            this.up = up;
+        }
+
+        @Override
+        protected void compute() {
+            if (n <= run.grain) {
+                sortLeaf(run, lo, lo + n, up); // same result as merging: the input is bitonic
+                return;
+            }
+            int m = Integer.highestOneBit(n - 1);
+            new Exchange(run, lo, lo + n - m, m, up).compute();
+            invokeAll(new BitonicMerge(run, lo, m, up), new BitonicMerge(run, lo + m, n - m, up));
+        }
+    }
+
+    // Compare-exchanges (i, i+m) for i in [from, to); the two ranges it writes belong to no other block
+    private static final class Exchange extends RecursiveAction {
+        final Run run;
+        final int from, to, m;
+        final boolean up;
+
+        Exchange(Run run, int from, int to, int m, boolean up) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+            this.m = m;
+            this.up = up;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > run.grain) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Exchange(run, from, mid, m, up), new Exchange(run, mid, to, m, up));
+                return;
+            }
+            int[] a = run.a;
+            for (int i = from; i < to; i++) {
+                if ((a[i] > a[i + m]) == up) swap(a, i, i + m);
+            }
+            run.report(SortListener.EXCHANGE, from, to);
+            run.report(SortListener.EXCHANGE, from + m, to + m);
+        }
+    }
+
+    private static void sortLeaf(Run run, int lo, int hi, boolean up) {
+        int[] a = run.a;
+        Arrays.sort(a, lo, hi);
+        if (!up) {
+            for (int i = lo, j = hi - 1; i < j; i++, j--) swap(a, i, j);
+        }
+        run.report(SortListener.LEAF, lo, hi);
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i]; a[i] = a[j]; a[j] = t;
+    }
+}
@@ -0,0 +1,18 @@
+package algobot.core;
+
+/**
+ * Blocks of work of a {@link ParallelSortEngine} run. Calls come from the pool's workers but never overlap,
+ * and the ranges of blocks that ran at the same time are disjoint, so replaying the calls in order rebuilds
+ * every intermediate array.
+ */
+public interface ParallelSortListener {
+    /**
+     * Worker {@code worker} (its pool index, or -1 for a thread outside the pool) has finished writing
+     * {@code a[lo..hi)}, which now holds the range's new contents. {@code action} is one of the
+     * {@link SortListener} block codes (LEAF, PARTITION, MERGE, SCATTER, EXCHANGE).
+     */
+    default void onRange(int worker, byte action, int[] a, int lo, int hi) {}
+
+    /** The sort now holds {@code ints} ints of extra memory besides the array; reported from the calling thread. */
+    default void onAux(long ints) {}
+}
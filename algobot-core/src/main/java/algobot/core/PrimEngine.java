@@ -0,0 +1,58 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Prim's algorithm on the CSR arcs with an indexed heap keyed by each outside node's cheapest
+ * link into the tree (O(E log V)). Iteration n extracts the cheapest cut edge; the arcs of the node
+ * it adds are then offered to the frontier.
+ */
+public final class PrimEngine {
+
+    private PrimEngine() {}
+
+    /** Returns the MST edge indices in the order they were added (fewer than n-1 when disconnected). */
+    public static int[] run(CsrGraph g, int source, MstListener l) {
+        int n = g.n;
+        boolean[] inTree = new boolean[n];
+        double[] key = new double[n];
+        int[] linkEdge = new int[n], linkFrom = new int[n];
+        Arrays.fill(key, Double.POSITIVE_INFINITY);
+        IndexedDaryHeap heap = new IndexedDaryHeap(n, DijkstraEngine.HEAP_ARITY);
+
+        int[] picked = new int[Math.max(0, n - 1)];
+        int count = 0;
+        double total = 0.0;
+        inTree[source] = true;
+        offerArcs(g, source, inTree, key, linkEdge, linkFrom, heap, l);
+        for (int iteration = 1; count < n - 1; iteration++) {
+            l.onIteration(iteration);
+            if (heap.isEmpty()) break;
+            int v = heap.poll();
+            int e = linkEdge[v];
+            inTree[v] = true;
+            total += g.weight[e];
+            picked[count++] = e;
+            l.onAccept(e, linkFrom[v], v, total);
+            if (count < n - 1) offerArcs(g, v, inTree, key, linkEdge, linkFrom, heap, l);
+        }
+        return Arrays.copyOf(picked, count);
+    }
+
+    private static void offerArcs(CsrGraph g, int u, boolean[] inTree, double[] key, int[] linkEdge,
+                                  int[] linkFrom, IndexedDaryHeap heap, MstListener l) {
+        for (int k = g.offsets[u]; k < g.offsets[u + 1]; k++) {
+            int v = g.targets[k];
+            if (inTree[v]) continue;
+            double w = g.weights[k];
+            boolean improved = w < key[v];
+            if (improved) {
+                key[v] = w;
+                linkEdge[v] = g.arcEdge[k];
+                linkFrom[v] = u;
+                heap.offer(v, w);
+            }
+            l.onFrontier(g.arcEdge[k], u, v, improved);
+        }
+    }
+}
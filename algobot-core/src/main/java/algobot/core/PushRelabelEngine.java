@@ -0,0 +1,171 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Highest-label push-relabel max flow with the gap heuristic. Active nodes are kept in per-height
+ * buckets and discharged highest first; excess that cannot reach the sink climbs above {@code n} and
+ * drains back to the source, so the result is a flow, not just a preflow.
+ * <p>
+ * Push-relabel has no augmenting paths of its own. To keep the same step events as the path-based
+ * engines, the final flow is decomposed into source-to-sink paths, each reported through
+ * {@link FlowListener#onAugment}; flow cycles carry no value and are cancelled silently.
+ */
+public final class PushRelabelEngine {
+    private static final double EPS = EdmondsKarpEngine.EPS;
+
+    private PushRelabelEngine() {}
+
+    /** Runs to completion on {@code g} (which keeps the final flow) and returns the max flow. */
+    public static double run(FlowNetwork g, int s, int t, FlowListener l) {
+        int n = g.n;
+        if (s == t) {
+            l.onFinish(0, g.residualReachable(s));
+            return 0;
+        }
+        int maxHeight = 2 * n;
+        int[] height = new int[n];
+        double[] excess = new double[n];
+        int[] it = new int[n];
+        int[] count = new int[maxHeight + 1];   // nodes per height, for the gap heuristic
+        int[] bucket = new int[maxHeight + 1];  // active nodes per height, linked through 'next'
+        int[] next = new int[n];
+        Arrays.fill(bucket, -1);
+        System.arraycopy(g.start, 0, it, 0, n);
+
+        height[s] = n;
+        count[0] = n - 1;
+        count[n] = 1;
+        int top = 0;
+        for (int a = g.start[s]; a < g.start[s + 1]; a++) {
+            double c = g.residual[a];
+            int v = g.head[a];
+            if (c <= EPS || v == s) continue;
+            push(g, a, c, excess, l);
+            if (v != s && v != t && excess[v] - c <= EPS) { next[v] = bucket[0]; bucket[0] = v; }
+        }
+
+        while (true) {
+            while (top >= 0 && bucket[top] < 0) top--;
+            if (top < 0) break;
+            int u = bucket[top];
+            bucket[top] = next[u];
+
+            // Discharge u
+            while (excess[u] > EPS) {
+                if (it[u] == g.start[u + 1]) {
+                    int old = height[u];
+                    int h = maxHeight;
+                    for (int a = g.start[u]; a < g.start[u + 1]; a++) {
+                        if (g.residual[a] > EPS) h = Math.min(h, height[g.head[a]] + 1);
+                    }
+                    count[old]--;
+                    if (count[old] == 0 && old < n) {
+                        // Gap: nothing between old and n can reach the sink any more
+                        for (int v = 0; v < n; v++) {
+                            if (v != s && height[v] > old && height[v] < n) {
+                                count[height[v]]--;
+                                height[v] = n + 1;
+                                count[n + 1]++;
+                                it[v] = g.start[v];
+                            }
+                        }
+                        h = Math.max(h, n + 1);
+                    }
+                    height[u] = h;
+                    count[h]++;
+                    it[u] = g.start[u];
+                    l.onRelabel(u, h);
+                    if (h >= maxHeight) break; // unreachable with a consistent preflow
+                    continue;
+                }
+                int a = it[u];
+                int v = g.head[a];
+                if (g.residual[a] > EPS && height[u] == height[v] + 1) {
+                    boolean wasIdle = excess[v] <= EPS;
+                    push(g, a, Math.min(excess[u], g.residual[a]), excess, l);
+                    if (wasIdle && v != s && v != t) {
+                        next[v] = bucket[height[v]];
+                        bucket[height[v]] = v;
+                    }
+                } else {
+                    it[u]++;
+                }
+            }
+            // Any node that became active sits at height[u] - 1, below u
+            top = Math.max(top, Math.min(height[u], maxHeight));
+        }
+
+        double maxFlow = excess[t];
+        decompose(g, s, t, l);
+        l.onFinish(maxFlow, g.residualReachable(s));
+        return maxFlow;
+    }
+
+    private static void push(FlowNetwork g, int a, double amount, double[] excess, FlowListener l) {
+        int u = g.tail(a), v = g.head[a];
+        g.residual[a] -= amount;
+        g.residual[g.twin[a]] += amount;
+        excess[u] -= amount;
+        excess[v] += amount;
+        l.onPush(u, v, amount);
+    }
+
+    // Splits the flow into source-to-sink paths (reported as augments) without touching g's residuals
+    private static void decompose(FlowNetwork g, int s, int t, FlowListener l) {
+        int n = g.n;
+        double[] left = new double[g.head.length]; // flow still to be assigned, on forward arcs
+        for (int a = 0; a < left.length; a++) {
+            if (g.arcEdge[a] >= 0) left[a] = g.residual[g.twin[a]];
+        }
+        int[] it = new int[n];
+        System.arraycopy(g.start, 0, it, 0, n);
+        int[] onPath = new int[n];   // position on the current walk, or -1
+        Arrays.fill(onPath, -1);
+        int[] pathArcs = new int[n];
+        double total = 0;
+
+        while (true) {
+            int u = s, len = 0;
+            onPath[s] = 0;
+            boolean stuck = false;
+            while (u != t) {
+                int end = g.start[u + 1];
+                while (it[u] < end && left[it[u]] <= EPS) it[u]++;
+                if (it[u] == end) { stuck = true; break; }
+                int a = it[u];
+                int v = g.head[a];
+                if (onPath[v] >= 0) {
+                    // Cycle v .. u -> v: cancel it and continue from v
+                    int from = onPath[v];
+                    double c = left[a];
+                    for (int k = from; k < len; k++) c = Math.min(c, left[pathArcs[k]]);
+                    left[a] -= c;
+                    for (int k = from; k < len; k++) {
+                        left[pathArcs[k]] -= c;
+                        onPath[g.head[pathArcs[k]]] = -1;
+                    }
+                    onPath[v] = from;
+                    len = from;
+                    u = v;
+                    continue;
+                }
+                pathArcs[len++] = a;
+                onPath[v] = len;
+                u = v;
+            }
+            for (int k = 0; k < len; k++) onPath[g.head[pathArcs[k]]] = -1;
+            onPath[s] = -1;
+            if (stuck) {
+                if (len == 0) break;             // the source has no flow left
+                left[pathArcs[len - 1]] = 0;     // rounding dust that leads nowhere
+                continue;
+            }
+            double aug = Double.POSITIVE_INFINITY;
+            for (int k = 0; k < len; k++) aug = Math.min(aug, left[pathArcs[k]]);
+            for (int k = 0; k < len; k++) left[pathArcs[k]] -= aug;
+            total += aug;
+            g.reportAugment(s, pathArcs, len, aug, total, l);
+        }
+    }
+}
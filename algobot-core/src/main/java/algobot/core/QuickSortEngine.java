@@ -0,0 +1,61 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Iterative quick sort (Lomuto partition, last element as pivot).
+ * Sorts the array in place and reports every compare, swap and fixed pivot to the listener.
+ */
+public final class QuickSortEngine {
+
+    private QuickSortEngine() {}
+
+    public static void sort(int[] arr, SortListener l) {
+        int[] stack = new int[64];
+        l.onAux(stack.length);
+        int top = 0;
+        stack[top++] = 0; stack[top++] = arr.length - 1;
+        while (top > 0) {
+            int r = stack[--top], l0 = stack[--top];
+            if (l0 >= r) {
+                if (l0 == r) l.onStep(SortListener.PIVOT_FIXED, -1, -1, -1, (byte) 0, l0, l0, 0);
+                continue;
+            }
+            int pivot = arr[r];
+            l.onStep(SortListener.PIVOT, -1, -1, r, SortListener.SPECIAL_AUX, 0, -1, pivot);
+            int i = l0 - 1;
+            for (int j = l0; j < r; j++) {
+                l.onStep(SortListener.COMPARE, j, r, r, (byte) (SortListener.SPECIAL_I | SortListener.SPECIAL_AUX), 0, -1, 0);
+                if (arr[j] <= pivot) {
+                    i++;
+                    swap(arr, i, j, l);
+                    l.onStep(SortListener.SWAP, i, j, r, (byte) (SortListener.SPECIAL_I | SortListener.SPECIAL_AUX), 0, -1, 0);
+                }
+            }
+            swap(arr, i + 1, r, l);
+            l.onStep(SortListener.PIVOT_FIXED, i + 1, r, r, (byte) 0, i + 1, i + 1, 0);
+            int p = i + 1;
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                l.onAux(stack.length);
+            }
+            // push larger segment first to reduce stack depth
+            int leftSize = p - 1 - l0, rightSize = r - (p + 1);
+            if (leftSize > rightSize) {
+                if (l0 < p - 1) { stack[top++] = l0; stack[top++] = p - 1; }
+                if (p + 1 < r) { stack[top++] = p + 1; stack[top++] = r; }
+            } else {
+                if (p + 1 < r) { stack[top++] = p + 1; stack[top++] = r; }
+                if (l0 < p - 1) { stack[top++] = l0; stack[top++] = p - 1; }
+            }
+        }
+        l.onStep(SortListener.DONE, -1, -1, -1, (byte) 0, 0, arr.length - 1, 0);
+    }
+
+    static void swap(int[] arr, int a, int b, SortListener l) {
+        if (a == b) return;
+        int va = arr[a], vb = arr[b];
+        arr[a] = vb; l.onWrite(a, va, vb);
+        arr[b] = va; l.onWrite(b, vb, va);
+    }
+}
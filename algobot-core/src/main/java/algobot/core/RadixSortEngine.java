@@ -0,0 +1,41 @@
+package algobot.core;
+
+/**
+ * LSD radix sort, base 10, for non-negative values.
+ * Writes are reported against the output buffer so a viewer sees buckets filling up;
+ * the buffer is cleared (written to 0) at the start of every digit pass.
+ */
+public final class RadixSortEngine {
+
+    private RadixSortEngine() {}
+
+    /** BUCKET steps carry {@code exp * 10 + digit} as their argument, PASS steps carry {@code exp}. */
+    public static void sort(int[] arr, SortListener l) {
+        int n = arr.length;
+        if (n == 0) return;
+        int max = arr[0];
+        for (int v : arr) if (v > max) max = v;
+        int[] output = new int[n];
+        l.onAux(n + 10L); // the buffer and one pass's digit counts; 'shown' is only for the listener
+        int[] shown = arr.clone(); // what the listener currently displays
+        for (int exp = 1; max / exp > 0; exp *= 10) {
+            int[] count = new int[10];
+            for (int v : arr) count[(v / exp) % 10]++;
+            for (int i = 1; i < 10; i++) count[i] += count[i - 1];
+            for (int k = 0; k < n; k++) {
+                if (shown[k] != 0) { l.onWrite(k, shown[k], 0); shown[k] = 0; }
+                output[k] = 0;
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                int digit = (arr[i] / exp) % 10;
+                int pos = --count[digit];
+                output[pos] = arr[i];
+                if (shown[pos] != arr[i]) { l.onWrite(pos, shown[pos], arr[i]); shown[pos] = arr[i]; }
+                l.onStep(SortListener.BUCKET, i, -1, -1, (byte) 0, 0, -1, exp * 10 + digit);
+            }
+            System.arraycopy(output, 0, arr, 0, n);
+            l.onStep(SortListener.PASS, -1, -1, -1, (byte) 0, 0, n - 1, exp);
+        }
+        l.onStep(SortListener.DONE, -1, -1, -1, (byte) 0, 0, n - 1, 0);
+    }
+}
@@ -0,0 +1,43 @@
+package algobot.core;
+
+/**
+ * Iterative bottom-up sum segment tree over 0-based positions (point assign, inclusive range sum).
+ */
+public final class SegmentTree {
+
+    private final int n;
+    private final int size;
+    private final int[] tree;
+
+    public SegmentTree(int n) {
+        this.n = n;
+        int s = 1;
+        while (s < n) s <<= 1;
+        size = s;
+        tree = new int[2 * s];
+    }
+
+    public int length() { return n; }
+
+    /** Value stored at a position (a leaf). */
+    public int get(int idx) { return tree[size + idx]; }
+
+    public void set(int idx, int val) {
+        if (idx < 0 || idx >= n) return;
+        int pos = size + idx;
+        tree[pos] = val;
+        for (pos >>= 1; pos >= 1; pos >>= 1) tree[pos] = tree[2 * pos] + tree[2 * pos + 1];
+    }
+
+    public int query(int l, int r) {
+        if (l < 0) l = 0;
+        if (r >= n) r = n - 1;
+        if (l > r) return 0;
+        int res = 0;
+        for (int left = size + l, right = size + r; left <= right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) res += tree[left++];
+            if ((right & 1) == 0) res += tree[right--];
+        }
+        return res;
+    }
+}
@@ -0,0 +1,63 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Shell sort: gapped insertion sort (by swaps, so every step shows two bars trading places) over a
+ * decreasing gap sequence ending in 1. Each pass starts with a GAP step carrying the gap.
+ */
+public final class ShellSortEngine {
+
+    /** Gap sequences: Shell's n/2, n/4, ...; Knuth's (3^k - 1) / 2; Ciura's measured gaps, extended by ×2.25. */
+    public enum Gaps { SHELL, KNUTH, CIURA }
+
+    private static final int[] CIURA_GAPS = {1, 4, 10, 23, 57, 132, 301, 701, 1750};
+
+    private ShellSortEngine() {}
+
+    public static void sort(int[] arr, SortListener l) {
+        sort(arr, Gaps.CIURA, l);
+    }
+
+    public static void sort(int[] arr, Gaps gaps, SortListener l) {
+        int n = arr.length;
+        for (int h : gaps(gaps, n)) {
+            l.onStep(SortListener.GAP, -1, -1, -1, (byte) 0, 0, -1, h);
+            for (int i = h; i < n; i++) {
+                for (int j = i; j >= h; j -= h) {
+                    l.onStep(SortListener.COMPARE, j - h, j, -1, SortListener.SPECIAL_J, 0, -1, h);
+                    if (arr[j - h] <= arr[j]) break;
+                    QuickSortEngine.swap(arr, j - h, j, l);
+                    l.onStep(SortListener.SWAP, j - h, j, -1, SortListener.SPECIAL_J, 0, -1, h);
+                }
+            }
+        }
+        l.onStep(SortListener.DONE, -1, -1, -1, (byte) 0, 0, n - 1, 0);
+    }
+
+    /** The gaps below n in the order they are used (largest first); always ends with 1. */
+    public static int[] gaps(Gaps gaps, int n) {
+        int[] g = new int[32];
+        int count = 0;
+        switch (gaps) {
+            case SHELL -> {
+                for (int h = n / 2; h > 0; h /= 2) g[count++] = h;
+            }
+            case KNUTH -> {
+                for (long h = 1; h < Math.max(2, (n + 2) / 3); h = 3 * h + 1) g[count++] = (int) h;
+            }
+            case CIURA -> {
+                for (long h = 1, k = 0; h < Math.max(2, n); k++) {
+                    g[count++] = (int) h;
+                    h = k + 1 < CIURA_GAPS.length ? CIURA_GAPS[(int) k + 1] : (long) (h * 2.25);
+                }
+            }
+        }
+        if (count == 0) g[count++] = 1;
+        g = Arrays.copyOf(g, count);
+        if (g[0] < g[count - 1]) { // ascending generators: use them largest first
+            for (int i = 0, j = count - 1; i < j; i++, j--) { int t = g[i]; g[i] = g[j]; g[j] = t; }
+        }
+        return g;
+    }
+}
@@ -0,0 +1,122 @@
+package algobot.core;
+
+/**
+ * Bubble, insertion and selection sort as resumable state machines. Each {@link #step} does one comparison
+ * (and the swap it calls for) or moves on to the next pass, so a viewer can run them a step at a time and
+ * let the user edit the array between steps; {@link #sort} runs one to completion. Steps are reported to
+ * the listener like an engine's: COMPARE, SWAP with its two writes, and DONE at the end.
+ */
+public final class SimpleSortStepper {
+
+    public enum Kind { BUBBLE, INSERTION, SELECTION }
+
+    public final Kind kind;
+    private int i, j;        // highlighted pair: compared bars (bubble), scan position (insertion, selection)
+    private int outer;       // bubble pass / insertion outer index / selection outer index
+    private int min = -1;    // selection: index of the smallest value seen in this scan
+    private int editedFrom = -1;
+    private boolean finished;
+
+    public SimpleSortStepper(Kind kind) {
+        this.kind = kind;
+        switch (kind) {
+            case INSERTION -> { outer = 1; j = 0; }
+            case SELECTION -> { min = 0; j = 1; }
+            default -> {}
+        }
+    }
+
+    public static void sort(int[] arr, Kind kind, SortListener l) {
+        SimpleSortStepper s = new SimpleSortStepper(kind);
+        while (s.step(arr, l)) {}
+    }
+
+    public int i() { return i; }
+    public int j() { return j; }
+    public int outer() { return outer; }
+    public int min() { return min; }
+    public boolean isFinished() { return finished; }
+
+    /** arr[index] was changed between steps: the passes start over (bubble resumes no later than index). */
+    public void edited(int index) {
+        editedFrom = editedFrom < 0 ? index : Math.min(editedFrom, index);
+    }
+
+    /** Runs one step; false once the array is sorted (the step that finds out reports DONE). */
+    public boolean step(int[] arr, SortListener l) {
+        if (finished) return false;
+        if (editedFrom >= 0) {
+            outer = 0;
+            if (kind == Kind.BUBBLE) i = Math.min(i, editedFrom);
+            editedFrom = -1;
+        }
+        boolean more = switch (kind) {
+            case BUBBLE -> bubble(arr, l);
+            case INSERTION -> insertion(arr, l);
+            case SELECTION -> selection(arr, l);
+        };
+        if (!more) {
+            finished = true;
+            l.onStep(SortListener.DONE, -1, -1, -1, (byte) 0, 0, arr.length - 1, 0);
+        }
+        return more;
+    }
+
+    private boolean bubble(int[] arr, SortListener l) {
+        int n = arr.length;
+        if (outer >= n - 1) return false;
+        if (i >= n - 1 - outer) {
+            outer++;
+            i = 0;
+            return true;
+        }
+        j = i + 1;
+        compareSwap(arr, i, j, l, arr[i] > arr[j]);
+        i++;
+        return true;
+    }
+
+    // j scans backwards, swapping the key down until it is in place
+    private boolean insertion(int[] arr, SortListener l) {
+        int n = arr.length;
+        if (outer >= n) return false;
+        boolean swap = j >= 0 && arr[j] > arr[j + 1];
+        if (j >= 0) compareSwap(arr, j, j + 1, l, swap);
+        if (swap) {
+            j--;
+        } else {
+            outer++;
+            j = outer - 1;
+        }
+        i = j;
+        return true;
+    }
+
+    // j scans the unsorted part; at its end the minimum is swapped into place
+    private boolean selection(int[] arr, SortListener l) {
+        int n = arr.length;
+        if (outer >= n - 1) return false;
+        if (j >= n) {
+            if (min != outer) {
+                QuickSortEngine.swap(arr, min, outer, l);
+                l.onStep(SortListener.SWAP, min, outer, -1, (byte) 0, 0, outer, 0);
+            }
+            outer++;
+            min = outer;
+            j = outer + 1;
+            return true;
+        }
+        l.onStep(SortListener.COMPARE, j, min, min, SortListener.SPECIAL_AUX, 0, outer - 1, 0);
+        if (arr[j] < arr[min]) min = j;
+        j++;
+        i = min;
+        return true;
+    }
+
+    private static void compareSwap(int[] arr, int a, int b, SortListener l, boolean swap) {
+        l.onStep(SortListener.COMPARE, a, b, -1, (byte) 0, 0, -1, 0);
+        if (!swap) return;
+        QuickSortEngine.swap(arr, a, b, l);
+        l.onStep(SortListener.SWAP, a, b, -1, (byte) 0, 0, -1, 0);
+    }
+}
@@ -0,0 +1,46 @@
+package algobot.core;
+
+/**
+ * Receives the steps of a sort engine.
+ * Writes describe the array as it should be displayed (for radix sort that is the output buffer
+ * while a pass is filling it); every write is reported before the step it belongs to.
+ */
+public interface SortListener {
+    // action codes
+    byte COMPARE = 0;
+    byte SWAP = 1;
+    byte WRITE = 2;
+    byte PIVOT = 3;
+    byte PIVOT_FIXED = 4;
+    byte BUCKET = 5;
+    byte PASS = 6;
+    byte DONE = 7;
+    // ParallelSortEngine blocks: a worker finished writing a range of the array
+    byte LEAF = 8;
+    byte PARTITION = 9;
+    byte MERGE = 10;
+    byte SCATTER = 11;
+    byte EXCHANGE = 12;
+    // TimSort, introsort, heap, shell and counting sort
+    byte RUN = 13;        // natural run [i..j] found (arg 1: it was descending and has been reversed)
+    byte INSERT = 14;     // binary insertion: a[i] moved down to j, the bars in between shifted up (arg of them)
+    byte MERGE_RUNS = 15; // merging run [i..aux-1] with run [aux..j] begins
+    byte GALLOP = 16;     // galloping mode wrote [i..j] in one go
+    byte SIFT = 17;       // heap: sift-down from i in a heap of arg elements
+    byte GAP = 18;        // shell sort: pass with gap arg begins
+    byte COUNT = 19;      // counting sort: a[i] (= arg) counted
+    byte FALLBACK = 20;   // introsort: [i..j] handed to heap sort (arg 0) or insertion sort (arg 1)
+
+    // which of i/j/aux are "special" (pivot, compared element...) for a step
+    byte SPECIAL_I = 1;
+    byte SPECIAL_J = 2;
+    byte SPECIAL_AUX = 4;
+
+    void onWrite(int index, int oldValue, int newValue);
+
+    /** One visible step. Use sortedLo > sortedHi for an empty sorted interval. */
+    void onStep(byte action, int i, int j, int aux, byte specialMask, int sortedLo, int sortedHi, int arg);
+
+    /** The engine now holds {@code ints} ints of extra memory besides the array (buffers, counts, stacks). */
+    default void onAux(long ints) {}
+}
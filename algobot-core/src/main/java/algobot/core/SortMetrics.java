@@ -0,0 +1,143 @@
+package algobot.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Operation counts of one sort run: comparisons, swaps, array writes (a swap is two), peak auxiliary
+ * memory in ints, and the mean stride between successive array accesses, a rough locality measure
+ * (short strides stay within cache lines, long ones do not).
+ * <p>
+ * Engine runs feed it as a {@link SortListener}; only the step actions count, because engine writes
+ * describe what is displayed (radix sort clears its buffer for the viewer) rather than what the algorithm
+ * writes. Auxiliary memory is what the engines report through {@code onAux}. Parallel runs feed it as a
+ * {@link ParallelSortListener}: blocks count as writes of their range; their comparisons happen inside
+ * the workers and are not reported.
+ */
+public final class SortMetrics implements SortListener, ParallelSortListener {
+
+    private static final String CSV_HEADER = "algorithm,n,comparisons,swaps,writes,aux_ints,mean_stride,finished";
+
+    public final String algorithm;
+    public final int n;
+    private long comparisons, swaps, writes, auxInts;
+    private long accesses, strideSum;
+    private int lastIndex = -1;
+    private boolean finished;
+
+    public SortMetrics(String algorithm, int n) {
+        this.algorithm = algorithm;
+        this.n = n;
+    }
+
+    public void compare(int i, int j) {
+        comparisons++;
+        access(i);
+        access(j);
+    }
+
+    public void swap(int i, int j) {
+        swaps++;
+        writes += 2;
+        access(i);
+        access(j);
+    }
+
+    public void write(int i) {
+        writes++;
+        access(i);
+    }
+
+    /** Sequential writes of a[lo..hi]. */
+    public void writeRange(int lo, int hi) {
+        if (hi < lo) return;
+        access(lo);
+        writes += hi - lo + 1;
+        accesses += hi - lo;
+        strideSum += hi - lo;
+        lastIndex = hi;
+    }
+
+    /** Extra memory the sort holds at some point; the peak is kept. */
+    public void useAux(long ints) {
+        auxInts = Math.max(auxInts, ints);
+    }
+
+    public void finish() { finished = true; }
+
+    private void access(int i) {
+        if (i < 0) return;
+        if (lastIndex >= 0) strideSum += Math.abs(i - lastIndex);
+        accesses++;
+        lastIndex = i;
+    }
+
+    @Override
+    public void onWrite(int index, int oldValue, int newValue) {}
+
+    @Override
+    public void onAux(long ints) { useAux(ints); }
+
+    @Override
+    public void onRange(int worker, byte action, int[] a, int lo, int hi) {
+        onStep(action, lo, hi - 1, worker, (byte) 0, 1, 0, hi - lo);
+    }
+
+    @Override
+    public void onStep(byte action, int i, int j, int aux, byte specialMask, int sortedLo, int sortedHi, int arg) {
+        switch (action) {
+            case COMPARE -> compare(i, j);
+            case SWAP -> swap(i, j);
+            case PIVOT_FIXED -> { if (i >= 0 && i != j) swap(i, j); } // the pivot moves into place
+            case WRITE -> write(i);
+            case INSERT -> writeRange(j, i); // a[i] lands at j, the bars in between move up one
+            case GALLOP -> writeRange(i, j);
+            case BUCKET -> write(i); // a[i] goes to its bucket slot in the buffer
+            case PASS -> writeRange(sortedLo, sortedHi); // buffer copied back
+            case LEAF, PARTITION, MERGE, SCATTER, EXCHANGE -> writeRange(i, j);
+            case DONE -> finish();
+            default -> {}
+        }
+    }
+
+    public long comparisons() { return comparisons; }
+    public long swaps() { return swaps; }
+    public long writes() { return writes; }
+    public long auxInts() { return auxInts; }
+    public boolean finished() { return finished; }
+
+    /** Mean index distance between consecutive accesses; 1 for a linear scan. */
+    public double meanStride() {
+        return accesses > 1 ? (double) strideSum / (accesses - 1) : 0;
+    }
+
+    public String toCsv() {
+        return String.format(Locale.US, "%s,%d,%d,%d,%d,%d,%.3f,%b",
+            algorithm, n, comparisons, swaps, writes, auxInts, meanStride(), finished);
+    }
+
+    public String toJson() {
+        return String.format(Locale.US,
+            "{\"algorithm\":\"%s\",\"n\":%d,\"comparisons\":%d,\"swaps\":%d,\"writes\":%d,\"auxInts\":%d,\"meanStride\":%.3f,\"finished\":%b}",
+            algorithm.replace("\\", "\\\\").replace("\"", "\\\""), n, comparisons, swaps, writes, auxInts, meanStride(), finished);
+    }
+
+    /** Writes the runs as a JSON array when the file name ends in .json, else as CSV with a header. */
+    public static void write(Path file, List<SortMetrics> runs) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")) {
+            sb.append("[\n");
+            for (int k = 0; k < runs.size(); k++) {
+                sb.append("  ").append(runs.get(k).toJson()).append(k + 1 < runs.size() ? ",\n" : "\n");
+            }
+            sb.append("]\n");
+        } else {
+            sb.append(CSV_HEADER).append('\n');
+            for (SortMetrics m : runs) sb.append(m.toCsv()).append('\n');
+        }
+        Files.writeString(file, sb);
+    }
+}
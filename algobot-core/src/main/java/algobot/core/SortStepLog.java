@@ -0,0 +1,185 @@
+package algobot.core;
+
+import java.util.Arrays;
+
+/**
+ * Compact recording of a precomputed sort run.
+ * Instead of a full array snapshot per step only the writes (index, old, new) are kept,
+ * together with the highlight indices and a sorted interval, all in growable primitive arrays.
+ * A full snapshot is taken every {@code checkpointInterval} steps so any step can be reached
+ * by restoring the nearest checkpoint and replaying at most one interval of deltas; nearby steps
+ * are reached by applying or reverting the deltas in between.
+ * Explanation text is not stored; callers build it from the action code on replay.
+ * <p>
+ * One thread may record while another replays: every step below {@link #size()} is complete and
+ * visible to the reader, because the step count is published last.
+ */
+public class SortStepLog implements SortListener {
+    private final int[] initial;
+    private final int[] working; // array state as of the last recorded step
+    private final int checkpointInterval;
+
+    private volatile int size = 0; // written only by the recording thread, after the step's data
+    private byte[] action = new byte[64];
+    private byte[] special = new byte[64];
+    private int[] idxI = new int[64], idxJ = new int[64], idxAux = new int[64];
+    private int[] sortedLo = new int[64], sortedHi = new int[64];
+    private int[] arg = new int[64];
+    private int[] writeEnd = new int[64]; // writes of step k are [writeEnd[k-1], writeEnd[k])
+
+    private int writeCount = 0;
+    private int[] writeIdx = new int[256], writeOld = new int[256], writeNew = new int[256];
+
+    private int[][] checkpoints = new int[8][];
+    private int checkpointCount = 0;
+
+    public SortStepLog(int[] values) {
+        this.initial = values.clone();
+        this.working = values.clone();
+        // one snapshot per n steps keeps checkpoint memory ~ steps*4 bytes and seek cost <= n deltas
+        this.checkpointInterval = Math.max(1024, values.length);
+    }
+
+    public int length() { return working.length; }
+
+    /**
+     * Record a single write; attached to the next step that is committed. The old value kept for
+     * {@link #revertStep} is taken from the log's own copy of the array rather than {@code oldValue},
+     * so reverting restores exactly the state the log replayed, whatever the caller reported.
+     */
+    @Override
+    public void onWrite(int index, int oldValue, int value) {
+        int old = working[index];
+        if (old == value) return;
+        if (writeCount == writeIdx.length) {
+            int cap = writeIdx.length * 2;
+            writeIdx = Arrays.copyOf(writeIdx, cap);
+            writeOld = Arrays.copyOf(writeOld, cap);
+            writeNew = Arrays.copyOf(writeNew, cap);
+        }
+        writeIdx[writeCount] = index;
+        writeOld[writeCount] = old;
+        writeNew[writeCount] = value;
+        writeCount++;
+        working[index] = value;
+    }
+
+    /** Commit a step; pending writes belong to it. */
+    @Override
+    public void onStep(byte act, int i, int j, int aux, byte specialMask, int lo, int hi, int argument) {
+        if (size == action.length) grow();
+        if (size % checkpointInterval == 0) {
+            if (checkpointCount == checkpoints.length) checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+            // state *before* this step's writes
+            checkpoints[checkpointCount++] = snapshotBeforePending();
+        }
+        action[size] = act;
+        special[size] = specialMask;
+        idxI[size] = i; idxJ[size] = j; idxAux[size] = aux;
+        sortedLo[size] = lo; sortedHi[size] = hi;
+        arg[size] = argument;
+        writeEnd[size] = writeCount;
+        size++;
+    }
+
+    private int[] snapshotBeforePending() {
+        int[] snap = working.clone();
+        int from = size == 0 ? 0 : writeEnd[size - 1];
+        for (int k = writeCount - 1; k >= from; k--) snap[writeIdx[k]] = writeOld[k];
+        return snap;
+    }
+
+    private void grow() {
+        int cap = action.length * 2;
+        action = Arrays.copyOf(action, cap);
+        special = Arrays.copyOf(special, cap);
+        idxI = Arrays.copyOf(idxI, cap);
+        idxJ = Arrays.copyOf(idxJ, cap);
+        idxAux = Arrays.copyOf(idxAux, cap);
+        sortedLo = Arrays.copyOf(sortedLo, cap);
+        sortedHi = Arrays.copyOf(sortedHi, cap);
+        arg = Arrays.copyOf(arg, cap);
+        writeEnd = Arrays.copyOf(writeEnd, cap);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public byte action(int step) { return action[step]; }
+    public int i(int step) { return idxI[step]; }
+    public int j(int step) { return idxJ[step]; }
+    public int aux(int step) { return idxAux[step]; }
+    public int sortedLo(int step) { return sortedLo[step]; }
+    public int sortedHi(int step) { return sortedHi[step]; }
+    public int arg(int step) { return arg[step]; }
+
+    public boolean isSpecial(int step, int index) {
+        byte m = special[step];
+        return ((m & SPECIAL_I) != 0 && idxI[step] == index)
+            || ((m & SPECIAL_J) != 0 && idxJ[step] == index)
+            || ((m & SPECIAL_AUX) != 0 && idxAux[step] == index);
+    }
+
+    public boolean isSorted(int step, int index) {
+        return index >= sortedLo[step] && index <= sortedHi[step];
+    }
+
+    /** Range of write records belonging to a step (use with writeIndex/writeValue/writeOldValue). */
+    public int writesFrom(int step) { return step == 0 ? 0 : writeEnd[step - 1]; }
+    public int writesTo(int step) { return writeEnd[step]; }
+    public int writeIndex(int k) { return writeIdx[k]; }
+    public int writeValue(int k) { return writeNew[k]; }
+    public int writeOldValue(int k) { return writeOld[k]; }
+
+    /** Apply the writes of one step to an array that currently holds the state before that step. */
+    public void applyStep(int step, int[] target) {
+        for (int k = writesFrom(step), e = writesTo(step); k < e; k++) target[writeIdx[k]] = writeNew[k];
+    }
+
+    /** Undo the writes of one step on an array that currently holds the state after that step. */
+    public void revertStep(int step, int[] target) {
+        for (int k = writesTo(step) - 1, e = writesFrom(step); k >= e; k--) target[writeIdx[k]] = writeOld[k];
+    }
+
+    /** Array contents after the given step has been applied (step = -1 gives the initial input). */
+    public int[] valuesAt(int step) {
+        int[] out = new int[initial.length];
+        restore(step, out);
+        return out;
+    }
+
+    /**
+     * Moves {@code target} from the state after step {@code from} to the state after step {@code to}
+     * (-1 for the input): by applying or reverting the deltas in between, or from the checkpoint at or
+     * before {@code to} when that replays fewer steps.
+     */
+    public void seek(int from, int to, int[] target) {
+        int replay = to < 0 ? 0 : to + 1 - checkpointOf(to) * checkpointInterval;
+        if (Math.abs(to - from) <= replay) {
+            for (int s = from + 1; s <= to; s++) applyStep(s, target);
+            for (int s = from; s > to; s--) revertStep(s, target);
+        } else {
+            restore(to, target);
+        }
+    }
+
+    private int checkpointOf(int step) { return Math.min(step / checkpointInterval, checkpointCount - 1); }
+
+    private void restore(int step, int[] target) {
+        if (step < 0) {
+            System.arraycopy(initial, 0, target, 0, initial.length);
+            return;
+        }
+        int cp = checkpointOf(step);
+        System.arraycopy(checkpoints[cp], 0, target, 0, target.length);
+        for (int s = cp * checkpointInterval; s <= step; s++) applyStep(s, target);
+    }
+
+    /** Rough retained size in bytes, handy when comparing against the old snapshot-per-step lists. */
+    public long approximateBytes() {
+        long perStep = 2L + 4L * 7;
+        long perWrite = 12L;
+        long cps = (long) checkpointCount * working.length * 4L;
+        return perStep * action.length + perWrite * writeIdx.length + cps + 8L * working.length;
+    }
+}
@@ -0,0 +1,319 @@
+package algobot.core;
+
+/**
+ * TimSort as in the JDK's object sort: natural runs are found (descending ones reversed), short runs are
+ * extended to minRun by binary insertion, and runs are merged from a stack that keeps the run lengths
+ * growing like Fibonacci numbers. Merges copy the shorter run aside and switch to galloping (exponential
+ * search, then a block copy) once one run wins {@code minGallop} times in a row; minGallop adapts to
+ * how well galloping pays off. Arrays shorter than {@value #MIN_MERGE} are sorted by binary insertion alone.
+ * <p>
+ * Steps: RUN per run found, INSERT per binary insertion, MERGE_RUNS per merge, WRITE per element a merge
+ * places one at a time, GALLOP per block, COMPARE per comparison. A compare against the run copied aside
+ * has -1 for that side, since the copy is not part of the array.
+ */
+public final class TimSortEngine {
+
+    static final int MIN_MERGE = 32;
+    static final int MIN_GALLOP = 7;
+
+    private final int[] a;
+    private final SortListener l;
+    private final int[] tmp;
+    private int minGallop = MIN_GALLOP;
+    private final int[] runBase = new int[49], runLen = new int[49]; // enough for any int length
+    private int stackSize = 0;
+
+    private TimSortEngine(int[] a, SortListener l) {
+        this.a = a;
+        this.l = l;
+        this.tmp = new int[(a.length >>> 1) + 1];
+    }
+
+    public static void sort(int[] arr, SortListener l) {
+        int n = arr.length;
+        if (n > 1) {
+            TimSortEngine ts = new TimSortEngine(arr, l);
+            l.onAux(ts.tmp.length + ts.runBase.length + ts.runLen.length);
+            ts.sort();
+        }
+        l.onStep(SortListener.DONE, -1, -1, -1, (byte) 0, 0, n - 1, 0);
+    }
+
+    private void sort() {
+        int n = a.length;
+        if (n < MIN_MERGE) {
+            binaryInsertionSort(0, n, countRunAndMakeAscending(0, n));
+            return;
+        }
+        int minRun = minRunLength(n);
+        int lo = 0, remaining = n;
+        do {
+            int len = countRunAndMakeAscending(lo, n);
+            if (len < minRun) {
+                int force = Math.min(remaining, minRun);
+                binaryInsertionSort(lo, lo + force, lo + len);
+                len = force;
+            }
+            runBase[stackSize] = lo;
+            runLen[stackSize] = len;
+            stackSize++;
+            mergeCollapse();
+            lo += len;
+            remaining -= len;
+        } while (remaining != 0);
+        while (stackSize > 1) {
+            int k = stackSize - 2;
+            if (k > 0 && runLen[k - 1] < runLen[k + 1]) k--;
+            mergeAt(k);
+        }
+    }
+
+    /** n itself below MIN_MERGE, else a length in [MIN_MERGE/2, MIN_MERGE] so that n / minRun is (close to) a power of two. */
+    static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    // Length of the run starting at lo; a strictly descending run is reversed so the sort stays stable
+    private int countRunAndMakeAscending(int lo, int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            l.onStep(SortListener.RUN, lo, lo, -1, (byte) 0, 0, -1, 0);
+            return 1;
+        }
+        boolean descending = compare(runHi, lo) && a[runHi] < a[lo];
+        runHi++;
+        if (descending) {
+            while (runHi < hi && compare(runHi, runHi - 1) && a[runHi] < a[runHi - 1]) runHi++;
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                QuickSortEngine.swap(a, i, j, l);
+                l.onStep(SortListener.SWAP, i, j, -1, (byte) 0, 0, -1, 0);
+            }
+        } else {
+            while (runHi < hi && compare(runHi, runHi - 1) && a[runHi] >= a[runHi - 1]) runHi++;
+        }
+        l.onStep(SortListener.RUN, lo, runHi - 1, -1, (byte) 0, 0, -1, descending ? 1 : 0);
+        return runHi - lo;
+    }
+
+    // a[lo..start) is sorted; inserts a[start..hi) one by one, finding each place by binary search
+    private void binaryInsertionSort(int lo, int hi, int start) {
+        for (int i = start; i < hi; i++) {
+            int pivot = a[i];
+            int left = lo, right = i;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                compare(i, mid);
+                if (pivot < a[mid]) right = mid;
+                else left = mid + 1; // equal keys stay behind, for stability
+            }
+            if (left == i) continue;
+            for (int k = i; k > left; k--) {
+                int old = a[k];
+                a[k] = a[k - 1];
+                l.onWrite(k, old, a[k]);
+            }
+            int old = a[left];
+            a[left] = pivot;
+            l.onWrite(left, old, pivot);
+            l.onStep(SortListener.INSERT, i, left, -1, SortListener.SPECIAL_J, 0, -1, i - left);
+        }
+    }
+
+    // Keeps runLen[k-2] > runLen[k-1] + runLen[k] and runLen[k-1] > runLen[k] for the top runs
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int k = stackSize - 2;
+            if (k > 0 && runLen[k - 1] <= runLen[k] + runLen[k + 1]
+                || k > 1 && runLen[k - 2] <= runLen[k] + runLen[k - 1]) {
+                if (runLen[k - 1] < runLen[k + 1]) k--;
+            } else if (runLen[k] > runLen[k + 1]) {
+                break;
+            }
+            mergeAt(k);
+        }
+    }
+
+    // Merges stack runs k and k+1, skipping the prefix of run k and the suffix of run k+1 that are already in place
+    private void mergeAt(int k) {
+        int base1 = runBase[k], len1 = runLen[k];
+        int base2 = runBase[k + 1], len2 = runLen[k + 1];
+        runLen[k] = len1 + len2;
+        if (k == stackSize - 3) {
+            runBase[k + 1] = runBase[k + 2];
+            runLen[k + 1] = runLen[k + 2];
+        }
+        stackSize--;
+        l.onStep(SortListener.MERGE_RUNS, base1, base2 + len2 - 1, base2, SortListener.SPECIAL_AUX, 0, -1, minGallop);
+
+        int skip = gallop(a[base2], base2, a, base1, len1, true, false);
+        base1 += skip;
+        len1 -= skip;
+        if (len1 == 0) return;
+        len2 = gallop(a[base1 + len1 - 1], base1 + len1 - 1, a, base2, len2, false, true);
+        if (len2 == 0) return;
+        if (len1 <= len2) mergeLo(base1, len1, base2, len2);
+        else mergeHi(base1, len1, base2, len2);
+    }
+
+    // Run 1 is the shorter: copy it aside and fill the array from the left
+    private void mergeLo(int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base1, tmp, 0, len1);
+        int c1 = 0, c2 = base2, dest = base1, end2 = base2 + len2;
+        outer:
+        while (true) {
+            int count1 = 0, count2 = 0;
+            do {
+                compare(c2, -1);
+                if (a[c2] < tmp[c1]) {
+                    write(dest++, a[c2++]);
+                    count2++;
+                    count1 = 0;
+                    if (c2 == end2) break outer;
+                } else {
+                    write(dest++, tmp[c1++]);
+                    count1++;
+                    count2 = 0;
+                    if (c1 == len1) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+            do {
+                count1 = gallop(a[c2], c2, tmp, c1, len1 - c1, true, false);
+                if (count1 > 0) {
+                    copy(tmp, c1, dest, count1);
+                    dest += count1;
+                    c1 += count1;
+                    if (c1 == len1) break outer;
+                }
+                write(dest++, a[c2++]);
+                if (c2 == end2) break outer;
+                count2 = gallop(tmp[c1], -1, a, c2, end2 - c2, false, false);
+                if (count2 > 0) {
+                    copy(a, c2, dest, count2);
+                    dest += count2;
+                    c2 += count2;
+                    if (c2 == end2) break outer;
+                }
+                write(dest++, tmp[c1++]);
+                if (c1 == len1) break outer;
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2; // leaving gallop mode costs: make re-entry harder
+        }
+        if (c1 < len1) copy(tmp, c1, dest, len1 - c1); // run 2 ran out; the rest of run 2 would already be in place
+    }
+
+    // Run 2 is the shorter: copy it aside and fill the array from the right
+    private void mergeHi(int base1, int len1, int base2, int len2) {
+        System.arraycopy(a, base2, tmp, 0, len2);
+        int c1 = base1 + len1 - 1, c2 = len2 - 1, dest = base2 + len2 - 1;
+        outer:
+        while (true) {
+            int count1 = 0, count2 = 0;
+            do {
+                compare(c1, -1);
+                if (tmp[c2] < a[c1]) {
+                    write(dest--, a[c1--]);
+                    count1++;
+                    count2 = 0;
+                    if (c1 < base1) break outer;
+                } else {
+                    write(dest--, tmp[c2--]);
+                    count2++;
+                    count1 = 0;
+                    if (c2 < 0) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+            do {
+                count1 = c1 - base1 + 1 - gallop(tmp[c2], -1, a, base1, c1 - base1 + 1, true, true);
+                if (count1 > 0) {
+                    dest -= count1;
+                    c1 -= count1;
+                    copy(a, c1 + 1, dest + 1, count1);
+                    if (c1 < base1) break outer;
+                }
+                write(dest--, tmp[c2--]);
+                if (c2 < 0) break outer;
+                count2 = c2 + 1 - gallop(a[c1], c1, tmp, 0, c2 + 1, false, true);
+                if (count2 > 0) {
+                    dest -= count2;
+                    c2 -= count2;
+                    copy(tmp, c2 + 1, dest + 1, count2);
+                    if (c2 < 0) break outer;
+                }
+                write(dest--, a[c1--]);
+                if (c1 < base1) break outer;
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2;
+        }
+        if (c2 >= 0) copy(tmp, 0, dest - c2, c2 + 1);
+    }
+
+    /**
+     * Number of elements of r[base..base+len) that go before {@code key}: those {@code <= key} when
+     * {@code right} (the key belongs to the later run), else those {@code < key}. Gallops from the start,
+     * or from the end when {@code fromEnd}, doubling the step, then binary-searches the last interval.
+     * {@code keyPos} is where the key sits in the array (-1 if it is in the copy).
+     */
+    private int gallop(int key, int keyPos, int[] r, int base, int len, boolean right, boolean fromEnd) {
+        int lastOfs = 0, ofs = 1, lo, hi;
+        if (!fromEnd) {
+            while (ofs <= len && before(r[base + ofs - 1], key, right, keyPos, r, base + ofs - 1)) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+            }
+            lo = lastOfs;
+            hi = Math.min(ofs, len);
+        } else {
+            while (ofs <= len && !before(r[base + len - ofs], key, right, keyPos, r, base + len - ofs)) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+            }
+            lo = len - Math.min(ofs, len);
+            hi = len - lastOfs;
+        }
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (before(r[base + mid], key, right, keyPos, r, base + mid)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private boolean before(int v, int key, boolean right, int keyPos, int[] r, int index) {
+        compare(keyPos, r == a ? index : -1);
+        return right ? v <= key : v < key;
+    }
+
+    // Reports a comparison and returns true, so it can sit inside a loop condition
+    private boolean compare(int i, int j) {
+        l.onStep(SortListener.COMPARE, i, j, -1, SortListener.SPECIAL_I, 0, -1, 0);
+        return true;
+    }
+
+    private void write(int index, int value) {
+        int old = a[index];
+        a[index] = value;
+        l.onWrite(index, old, value);
+        l.onStep(SortListener.WRITE, index, -1, -1, SortListener.SPECIAL_I, 0, -1, value);
+    }
+
+    // Block copy of a galloping step; when src is the array itself the ranges may overlap
+    private void copy(int[] src, int from, int dest, int count) {
+        boolean backwards = src == a && from < dest;
+        for (int k = 0; k < count; k++) {
+            int at = backwards ? count - 1 - k : k;
+            int old = a[dest + at];
+            a[dest + at] = src[from + at];
+            l.onWrite(dest + at, old, a[dest + at]);
+        }
+        l.onStep(SortListener.GALLOP, dest, dest + count - 1, -1, (byte) 0, 0, -1, count);
+    }
+}
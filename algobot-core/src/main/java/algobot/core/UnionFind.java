@@ -0,0 +1,55 @@
+package algobot.core;
+
+/**
+ * Disjoint-set union over {@code 0..n-1} on plain int arrays: union by size and iterative path halving,
+ * so nothing is boxed and no call recurses however long a chain gets.
+ */
+public final class UnionFind {
+
+    private final int[] parent;
+    private final int[] size;
+    private int components;
+
+    public UnionFind(int n) {
+        parent = new int[n];
+        size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        components = n;
+    }
+
+    public int capacity() { return parent.length; }
+
+    /** Number of disjoint sets left. */
+    public int components() { return components; }
+
+    public int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]]; // halve the path as we go
+            x = parent[x];
+        }
+        return x;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /** Merges the sets of {@code a} and {@code b}; false if they were already one set. */
+    public boolean union(int a, int b) {
+        int ra = find(a), rb = find(b);
+        if (ra == rb) return false;
+        if (size[ra] < size[rb]) { int t = ra; ra = rb; rb = t; }
+        parent[rb] = ra;
+        size[ra] += size[rb];
+        components--;
+        return true;
+    }
+
+    /** Size of the set containing {@code x}. */
+    public int sizeOf(int x) {
+        return size[find(x)];
+    }
+}
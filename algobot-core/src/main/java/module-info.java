@@ -0,0 +1,3 @@
+module algobot.core {
+    exports algobot.core;
+}